@@ -21,21 +21,36 @@ import java.awt.image.RenderedImage;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.InetSocketAddress;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.imageio.ImageIO;
@@ -75,6 +90,38 @@ public abstract class CachedPyramidSet extends DefaultPyramidSet {
      */
     public static final String PROPERTY_NIO = "nio_query";
 
+    /**
+     * Number property used on tiled servers to define the memory budget in bytes
+     * of decoded tiles kept in cache. Default value is {@link #DEFAULT_CACHE_SIZE}.
+     * Read when the first tile is cached.
+     */
+    public static final String PROPERTY_CACHE_SIZE = "tile_cache_size";
+
+    /**
+     * {@link Path} or {@link File} property used on tiled servers to store encoded tiles
+     * on disk. Tiles are identified by server URL, so a directory may be shared by several
+     * servers. No disk cache by default.
+     * Read when the first tile is cached.
+     */
+    public static final String PROPERTY_DISK_CACHE = "tile_disk_cache";
+
+    /**
+     * Integer property used on tiled servers to define the maximum number of concurrent
+     * tile downloads from the same host. Default value is {@link #DEFAULT_HOST_CONNECTIONS}.
+     * Read on first download from a host.
+     */
+    public static final String PROPERTY_HOST_CONNECTIONS = "host_connections";
+
+    /**
+     * Default memory budget of decoded tiles cache : 64Mb.
+     */
+    public static final long DEFAULT_CACHE_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * Default maximum number of concurrent tile downloads per host.
+     */
+    public static final int DEFAULT_HOST_CONNECTIONS = 6;
+
     protected static final Logger LOGGER = Logging.getLogger("org.geotoolkit.client.map");
 
     //NIO netty bootstrap.
@@ -94,30 +141,132 @@ public abstract class CachedPyramidSet extends DefaultPyramidSet {
         return BOOTSTRAP;
     }
 
+    //executor shared by all pyramid sets to fetch tiles.
+    private static ExecutorService EXECUTOR;
+
+    /**
+     * Get the executor used to fetch tiles asynchronously.
+     * Unless an other executor is defined, a bounded pool of daemon threads shared by all pyramid sets.
+     *
+     * @return executor, never null
+     */
+    public static synchronized ExecutorService getExecutor(){
+        if(EXECUTOR == null){
+            final int nbThread = Math.max(4, Runtime.getRuntime().availableProcessors()*2);
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(nbThread, nbThread,
+                    60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                private final AtomicInteger inc = new AtomicInteger();
+                @Override
+                public Thread newThread(Runnable r) {
+                    final Thread t = new Thread(r, "Tile fetcher "+inc.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+            executor.allowCoreThreadTimeOut(true);
+            EXECUTOR = executor;
+        }
+        return EXECUTOR;
+    }
+
+    /**
+     * Replace the executor used to fetch tiles asynchronously by all pyramid sets.
+     * Previous executor is not shut down.
+     *
+     * @param executor new executor, null to restore default executor
+     */
+    public static synchronized void setExecutor(ExecutorService executor){
+        EXECUTOR = executor;
+    }
+
+    //download permits per host, shared by all pyramid sets
+    private static final ConcurrentMap<String,Semaphore> HOST_PERMITS = new ConcurrentHashMap<String, Semaphore>();
+
 
     /**
-     * Cache the last queried tiles
+     * Cache the last queried tiles, created on first use.
      */
-    private final Cache<String, RenderedImage> tileCache;
+    private Cache<String, RenderedImage> tileCache;
+    private TileDiskCache diskCache;
+    /**
+     * Tiles being fetched, used to share a single download between identical requests.
+     */
+    private final ConcurrentMap<String, TileTask> pending = new ConcurrentHashMap<String, TileTask>();
     protected final Client server;
     protected final boolean useURLQueries;
     protected final boolean cacheImages;
+    /**
+     * Server identity prepended to tile identifiers, tiles of the disk cache may come from other servers.
+     */
+    private final String serverId;
 
     public CachedPyramidSet(Client server, boolean useURLQueries, boolean cacheImages) {
         this.server = server;
         this.useURLQueries = useURLQueries;
         this.cacheImages = cacheImages;
-        if (cacheImages) {
-            tileCache = new Cache<String, RenderedImage>(30, 30, false);
-        } else {
-            tileCache = null;
-        }
+        final URL url = (server == null) ? null : server.getURL();
+        this.serverId = (url == null) ? "" : url.toString() + '_';
     }
 
     protected Client getServer() {
         return server;
     }
 
+    /**
+     * Get the cache of decoded tiles, configured from server properties on first call.
+     *
+     * @return tile cache, or null if images are not cached
+     */
+    private synchronized Cache<String, RenderedImage> getTileCache() {
+        if (tileCache == null && cacheImages) {
+            long size = DEFAULT_CACHE_SIZE;
+            Object dir = null;
+            if (server != null) {
+                final Object value = server.getUserProperty(PROPERTY_CACHE_SIZE);
+                if (value instanceof Number) {
+                    size = ((Number) value).longValue();
+                }
+                dir = server.getUserProperty(PROPERTY_DISK_CACHE);
+            }
+            tileCache = new TileCache(size);
+            if (dir instanceof File) {
+                dir = ((File) dir).toPath();
+            }
+            if (dir instanceof Path) {
+                try {
+                    diskCache = new TileDiskCache((Path) dir);
+                } catch (IOException ex) {
+                    LOGGER.log(Level.WARNING, "Tile disk cache disabled : "+ex.getMessage(), ex);
+                }
+            }
+        }
+        return tileCache;
+    }
+
+    /**
+     * Get the download permits of the server host.
+     *
+     * @return permits, or null if downloads are not limited
+     */
+    private Semaphore getHostPermits() {
+        if (server == null) return null;
+        final URL url = server.getURL();
+        if (url == null || url.getHost() == null) return null;
+        final String host = url.getHost() + ':' + url.getPort();
+        Semaphore permits = HOST_PERMITS.get(host);
+        if (permits == null) {
+            int nb = DEFAULT_HOST_CONNECTIONS;
+            final Object value = server.getUserProperty(PROPERTY_HOST_CONNECTIONS);
+            if (value instanceof Number) {
+                nb = Math.max(1, ((Number) value).intValue());
+            }
+            permits = new Semaphore(nb, true);
+            final Semaphore previous = HOST_PERMITS.putIfAbsent(host, permits);
+            if (previous != null) permits = previous;
+        }
+        return permits;
+    }
+
     public abstract Request getTileRequest(Pyramid pyramid, Mosaic mosaic, int col, int row, Map hints) throws DataStoreException;
 
     public ImageTile getTile(Pyramid pyramid, Mosaic mosaic, int col, int row, Map hints) throws DataStoreException {
@@ -138,59 +287,144 @@ public abstract class CachedPyramidSet extends DefaultPyramidSet {
         }
     }
 
-    private static String toId(Pyramid pyramid, Mosaic mosaic, int col, int row, Map hints) {
+    private String toId(Pyramid pyramid, Mosaic mosaic, int col, int row, Map hints) {
         final String pyramidId = pyramid.getIdentifier();
         final String mosaicId = mosaic.getIdentifier();
 
-        final StringBuilder sb = new StringBuilder(pyramidId).append('_').append(mosaicId).append('_').append(col).append('_').append(row);
+        final StringBuilder sb = new StringBuilder(serverId).append(pyramidId).append('_').append(mosaicId).append('_').append(col).append('_').append(row);
 
+        //same tile may be requested in several formats
+        final Object format = (hints == null) ? null : hints.get(Pyramids.HINT_FORMAT);
+        if (format != null) {
+            sb.append('_').append(format);
+        }
         return sb.toString();
     }
 
     private RenderedImage getTileImage(Pyramid pyramid, Mosaic mosaic, int col, int row, Map hints) throws DataStoreException {
+        final Future<RenderedImage> future = fetchTile(pyramid, mosaic, col, row, hints, false);
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DataStoreException(ex.getMessage(), ex);
+        } catch (CancellationException ex) {
+            throw new DataStoreException("Tile fetching has been cancelled.", ex);
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof DataStoreException) {
+                throw (DataStoreException) cause;
+            }
+            throw new DataStoreException(cause.getMessage(), cause);
+        }
+    }
 
+    /**
+     * Fetch a tile image asynchronously, using the shared executor (see {@link #getExecutor() }).
+     * Concurrent requests for the same tile share a single download, and at most
+     * {@link #PROPERTY_HOST_CONNECTIONS} downloads run at the same time on a host.
+     *
+     * @return future image, result is null if tile could not be read
+     * @throws IllegalStateException if this pyramid set does not cache images
+     */
+    public Future<RenderedImage> fetchTile(Pyramid pyramid, Mosaic mosaic, int col, int row, Map hints) {
+        if (!cacheImages) {
+            throw new IllegalStateException("Tiles can be fetched only when images are cached.");
+        }
+        return fetchTile(pyramid, mosaic, col, row, hints, true);
+    }
+
+    /**
+     * @param async true to run download in the shared executor, false to run it in current thread
+     */
+    private Future<RenderedImage> fetchTile(Pyramid pyramid, Mosaic mosaic, int col, int row, Map hints, boolean async) {
         final String tileId = toId(pyramid, mosaic, col, row, hints);
 
         //use the cache if available
-        RenderedImage value = tileCache.peek(tileId);
-        if (value == null) {
-            Cache.Handler<RenderedImage> handler = tileCache.lock(tileId);
-            try {
-                value = handler.peek();
-                if (value == null) {
-                    final Request request = getTileRequest(pyramid, mosaic, col, row, hints);
-                    InputStream stream = null;
-                    ImageInputStream iis = null;
-                    try {
-                        stream = request.getResponseStream();
-                        iis = new MemoryCacheImageInputStream(stream);
-                        value = ImageIO.read(iis);
-                    } catch (IOException ex) {
-                        LOGGER.log(Level.INFO, ex.getMessage());
-                    } finally {
-                        if(iis != null && value == null){
-                            try {
-                                iis.close();
-                            } catch (IOException ex) {
-                                LOGGER.log(Level.WARNING, ex.getMessage(), ex);
-                            }
-                        }
-                        if(stream != null){
-                            try {
-                                stream.close();
-                            } catch (IOException ex) {
-                                LOGGER.log(Level.WARNING, ex.getMessage(), ex);
-                            }
-                        }
-                    }
-                }
-            } finally {
-                handler.putAndUnlock(value);
+        final RenderedImage value = getTileCache().peek(tileId);
+        if (value != null) {
+            return CompletableFuture.completedFuture(value);
+        }
+
+        TileTask task = new TileTask(tileId, pyramid, mosaic, col, row, hints, async);
+        final TileTask previous = pending.putIfAbsent(tileId, task);
+        if (previous != null) {
+            //same tile is already being fetched
+            task = previous;
+            if (!async && previous.queued) {
+                //do not wait for a task which may still be in executor queue,
+                //does nothing if task is already running
+                previous.run();
+            }
+        } else if (async) {
+            getExecutor().execute(task);
+        } else {
+            task.run();
+        }
+        return task;
+    }
+
+    /**
+     * Download, decode and cache a single tile.
+     */
+    private RenderedImage loadTile(String tileId, Pyramid pyramid, Mosaic mosaic, int col, int row, Map hints) throws DataStoreException {
+        final Cache<String, RenderedImage> cache = getTileCache();
+        RenderedImage value = cache.peek(tileId);
+        if (value != null) return value;
+
+        byte[] data = (diskCache == null) ? null : diskCache.get(tileId);
+        if (data == null) {
+            data = download(getTileRequest(pyramid, mosaic, col, row, hints));
+            if (data == null) return null;
+            if (diskCache != null) {
+                diskCache.put(tileId, data);
             }
         }
+
+        try {
+            value = ImageIO.read(new MemoryCacheImageInputStream(new ByteArrayInputStream(data)));
+        } catch (IOException ex) {
+            LOGGER.log(Level.INFO, ex.getMessage());
+        }
+        if (value != null) {
+            cache.put(tileId, value);
+        }
         return value;
     }
 
+    /**
+     * Read the encoded tile returned by the request, holding a download permit of the host.
+     *
+     * @return encoded tile, null if download failed
+     */
+    private byte[] download(final Request request) throws DataStoreException {
+        final Semaphore permits = getHostPermits();
+        if (permits != null) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new DataStoreException(ex.getMessage(), ex);
+            }
+        }
+        try (InputStream stream = request.getResponseStream()) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(16384);
+            final byte[] buffer = new byte[8192];
+            int nb;
+            while ((nb = stream.read(buffer)) >= 0) {
+                out.write(buffer, 0, nb);
+            }
+            return out.toByteArray();
+        } catch (IOException ex) {
+            LOGGER.log(Level.INFO, ex.getMessage());
+            return null;
+        } finally {
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+
     public BlockingQueue<Object> getTiles(Pyramid pyramid, Mosaic mosaic, Collection<? extends Point> locations, Map hints) throws DataStoreException {
 
         if (!cacheImages || !useURLQueries) {
@@ -230,7 +464,7 @@ public abstract class CachedPyramidSet extends DefaultPyramidSet {
         for (Point p : locations) {
             //check the cache if we have the image already
             final String tid = toId(pyramid, mosaic, p.x, p.y, hints);
-            final RenderedImage image = tileCache.get(tid);
+            final RenderedImage image = getTileCache().peek(tid);
 
             if (queue.isCancelled()) {
                 queue.offer(Mosaic.END_OF_QUEUE); //end sentinel
@@ -330,18 +564,24 @@ public abstract class CachedPyramidSet extends DefaultPyramidSet {
     }
 
     /**
-     * Use standard java IO with a thread pool.
+     * Use standard java IO with the shared executor.
      */
     private void queryUsingIO(final CancellableQueue queue,
             final List<ImagePack> downloadList){
 
-        final int processors = Runtime.getRuntime().availableProcessors();
-        final ExecutorService es = Executors.newFixedThreadPool(processors*2);
+        final ExecutorService es = getExecutor();
+        final List<Future<?>> futures = new ArrayList<Future<?>>(downloadList.size());
 
+        //running downloads are not interrupted, they may be shared with other tile requests,
+        //they check the queue state instead and stop before adding their tile
         queue.addPropertyChangeListener(new PropertyChangeListener() {
                     @Override
                     public void propertyChange(PropertyChangeEvent evt) {
-                        es.shutdownNow();
+                        synchronized (futures) {
+                            for (Future<?> future : futures) {
+                                future.cancel(false);
+                            }
+                        }
                     }
                 });
 
@@ -357,16 +597,17 @@ public abstract class CachedPyramidSet extends DefaultPyramidSet {
                     } catch (InterruptedException ex) {
                         LOGGER.log(Level.INFO, ex.getMessage(), ex);
                     }
-                    es.shutdown();
                 }
             }
         };
 
         for(final ImagePack pack : downloadList){
-            es.submit(new Runnable() {
+            if (queue.isCancelled()) break;
+            final Future<?> future = es.submit(new Runnable() {
                 @Override
                 public void run() {
                     try{
+                        if (queue.isCancelled()) return;
                         final ImageTile tr;
                         try {
                             tr = pack.readNow();
@@ -388,6 +629,9 @@ public abstract class CachedPyramidSet extends DefaultPyramidSet {
                     }
                 }
             });
+            synchronized (futures) {
+                futures.add(future);
+            }
         }
 
     }
@@ -405,8 +649,8 @@ public abstract class CachedPyramidSet extends DefaultPyramidSet {
             //check the cache if we have the image already
             final String tid = toId(pyramid,mosaic, p.x, p.y, hints);
             RenderedImage image = null;
-            if(tileCache != null){
-                image = tileCache.get(tid);
+            if(cacheImages){
+                image = getTileCache().peek(tid);
             }
 
             if (queue.isCancelled()) {
@@ -435,6 +679,33 @@ public abstract class CachedPyramidSet extends DefaultPyramidSet {
         return queue;
     }
 
+    /**
+     * Fetch a single tile, removed from pending tiles once done.
+     * Task may be run by several threads, only the first one does the work.
+     */
+    private final class TileTask extends FutureTask<RenderedImage> {
+
+        private final String tileId;
+        private final boolean queued;
+
+        TileTask(final String tileId, final Pyramid pyramid, final Mosaic mosaic,
+                final int col, final int row, final Map hints, final boolean queued) {
+            super(new Callable<RenderedImage>() {
+                @Override
+                public RenderedImage call() throws Exception {
+                    return loadTile(tileId, pyramid, mosaic, col, row, hints);
+                }
+            });
+            this.tileId = tileId;
+            this.queued = queued;
+        }
+
+        @Override
+        protected void done() {
+            pending.remove(tileId, this);
+        }
+    }
+
     /**
      * Used is NIO queries, act as an information container for each query.
      */
@@ -481,10 +752,10 @@ public abstract class CachedPyramidSet extends DefaultPyramidSet {
             if(img == null){
                 try {
                     img = ImageIO.read(new ByteArrayInputStream(buffer.array()));
-                    if(tileCache != null){
-                        final String tid = toId(pyramid, mosaic, pt.x, pt.y, null);
+                    if(cacheImages && img != null){
+                        final String tid = toId(pyramid, mosaic, pt.x, pt.y, hints);
                         //store it in the cache
-                        tileCache.put(tid, img);
+                        getTileCache().put(tid, img);
                     }
                 } catch (Exception ex) {
                     LOGGER.log(Level.WARNING, ex.getMessage(), ex);
@@ -0,0 +1,54 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.client.map;
+
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import org.apache.sis.util.collection.Cache;
+
+/**
+ * A cache of decoded tiles, bounded by the memory used by tile pixels.
+ * Tiles exceeding the budget are retained by weak references.
+ *
+ * @module
+ */
+final class TileCache extends Cache<String, RenderedImage> {
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxBytes memory budget in bytes for tiles retained by strong references.
+     */
+    TileCache(final long maxBytes) {
+        super(64, Math.max(1, maxBytes >> 10), false);
+    }
+
+    /**
+     * Returns an estimation of an entry cost, in kilobytes of pixel data.
+     */
+    @Override
+    protected int cost(final RenderedImage value) {
+        if (value == null) return 1;
+        final SampleModel sm = value.getSampleModel();
+        long bits = 0;
+        for (int size : sm.getSampleSize()) {
+            bits += size;
+        }
+        final long bytes = ((long) value.getWidth()) * value.getHeight() * bits / 8;
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, bytes >> 10));
+    }
+}
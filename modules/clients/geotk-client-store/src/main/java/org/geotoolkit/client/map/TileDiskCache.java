@@ -0,0 +1,114 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.client.map;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.logging.Level;
+
+import static org.geotoolkit.client.map.CachedPyramidSet.LOGGER;
+
+/**
+ * Store encoded tiles in a directory, one file per tile.
+ * Files are written in a temporary file first, then moved, so that
+ * concurrent readers never see a partially written tile.
+ *
+ * @module
+ */
+final class TileDiskCache {
+
+    /**
+     * Longer file names are replaced by a digest of the tile identifier.
+     */
+    private static final int MAX_NAME_LENGTH = 200;
+
+    private final Path directory;
+
+    TileDiskCache(final Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    /**
+     * Read an encoded tile.
+     *
+     * @param tileId tile identifier
+     * @return encoded tile, or null if tile is not in cache or can not be read
+     */
+    byte[] get(final String tileId) {
+        final Path file = toPath(tileId);
+        try {
+            return Files.readAllBytes(file);
+        } catch (NoSuchFileException ex) {
+            return null;
+        } catch (IOException ex) {
+            LOGGER.log(Level.FINE, ex.getMessage(), ex);
+            return null;
+        }
+    }
+
+    /**
+     * Store an encoded tile, failures are logged and ignored.
+     *
+     * @param tileId tile identifier
+     * @param data encoded tile
+     */
+    void put(final String tileId, final byte[] data) {
+        final Path file = toPath(tileId);
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, "tile", ".tmp");
+            Files.write(temp, data);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            LOGGER.log(Level.INFO, ex.getMessage(), ex);
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    LOGGER.log(Level.FINE, e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private Path toPath(final String tileId) {
+        try {
+            String name = URLEncoder.encode(tileId, "UTF-8");
+            if (name.length() > MAX_NAME_LENGTH) {
+                //identifiers contain the server url, which may exceed file system limits
+                final byte[] digest = MessageDigest.getInstance("SHA-256").digest(tileId.getBytes(StandardCharsets.UTF_8));
+                final StringBuilder sb = new StringBuilder(digest.length * 2);
+                for (byte b : digest) {
+                    sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+                }
+                name = sb.toString();
+            }
+            return directory.resolve(name);
+        } catch (UnsupportedEncodingException | NoSuchAlgorithmException ex) {
+            //should never happen, UTF-8 and SHA-256 are always supported
+            throw new IllegalStateException(ex);
+        }
+    }
+}
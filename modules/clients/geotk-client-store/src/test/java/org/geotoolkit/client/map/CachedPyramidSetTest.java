@@ -0,0 +1,305 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.client.map;
+
+import java.awt.Dimension;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.awt.image.RenderedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import org.apache.sis.geometry.GeneralDirectPosition;
+import org.apache.sis.referencing.CommonCRS;
+import org.apache.sis.storage.DataStoreException;
+import org.geotoolkit.client.Request;
+import org.geotoolkit.coverage.io.CoverageStoreException;
+import org.geotoolkit.data.multires.AbstractMosaic;
+import org.geotoolkit.data.multires.DefaultPyramid;
+import org.geotoolkit.data.multires.Mosaic;
+import org.geotoolkit.data.multires.Pyramid;
+import org.geotoolkit.data.multires.Pyramids;
+import org.geotoolkit.data.multires.Tile;
+import org.geotoolkit.security.DefaultClientSecurity;
+import org.geotoolkit.security.MockClient;
+import org.geotoolkit.security.MockRequest;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test tile fetching of cached pyramid sets, without network.
+ *
+ * @module
+ */
+public class CachedPyramidSetTest extends org.geotoolkit.test.TestBase {
+
+    private static final byte[] PNG;
+    static {
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB), "png", out);
+            PNG = out.toByteArray();
+        } catch (IOException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    /**
+     * Decoded tiles are kept in memory.
+     */
+    @Test
+    public void memoryCacheTest() throws Exception {
+        final MockPyramidSet set = new MockPyramidSet(client("http://memory.test.com"));
+
+        final RenderedImage image = set.fetchTile(set.pyramid, set.mosaic, 0, 0, null).get();
+        assertNotNull(image);
+        assertSame(image, set.fetchTile(set.pyramid, set.mosaic, 0, 0, null).get());
+        assertSame(image, set.getTile(set.pyramid, set.mosaic, 0, 0, null).getInput());
+        assertEquals(1, set.downloads.get());
+
+        assertNotNull(set.fetchTile(set.pyramid, set.mosaic, 1, 0, null).get());
+        assertEquals(2, set.downloads.get());
+    }
+
+    /**
+     * Concurrent requests of a tile share a single download.
+     */
+    @Test
+    public void coalescingTest() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final MockPyramidSet set = new MockPyramidSet(client("http://coalescing.test.com")) {
+            @Override
+            void downloading() throws IOException {
+                await(release);
+            }
+        };
+
+        final Future<RenderedImage> f1 = set.fetchTile(set.pyramid, set.mosaic, 0, 0, null);
+        final Future<RenderedImage> f2 = set.fetchTile(set.pyramid, set.mosaic, 0, 0, null);
+        release.countDown();
+        assertNotNull(f1.get());
+        assertSame(f1.get(), f2.get());
+        assertEquals(1, set.downloads.get());
+    }
+
+    /**
+     * Concurrent downloads from a host are limited by the host connections property.
+     */
+    @Test
+    public void hostPermitsTest() throws Exception {
+        final MockClient client = client("http://permits.test.com");
+        client.setUserProperty(CachedPyramidSet.PROPERTY_HOST_CONNECTIONS, 2);
+
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger max = new AtomicInteger();
+        final MockPyramidSet set = new MockPyramidSet(client) {
+            @Override
+            void downloading() throws IOException {
+                max.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException ex) {
+                    throw new IOException(ex);
+                } finally {
+                    running.decrementAndGet();
+                }
+            }
+        };
+
+        final List<Future<RenderedImage>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(set.fetchTile(set.pyramid, set.mosaic, i, 0, null));
+        }
+        for (Future<RenderedImage> future : futures) {
+            assertNotNull(future.get());
+        }
+        assertEquals(8, set.downloads.get());
+        assertTrue(max.get() >= 1);
+        assertTrue(max.get() <= 2);
+    }
+
+    /**
+     * Encoded tiles are stored on disk, identified by server and format.
+     */
+    @Test
+    public void diskCacheTest() throws Exception {
+        final Path dir = Files.createTempDirectory("tiles");
+        try {
+            final MockClient client = client("http://disk.test.com");
+            client.setUserProperty(CachedPyramidSet.PROPERTY_DISK_CACHE, dir);
+
+            final MockPyramidSet set1 = new MockPyramidSet(client);
+            assertNotNull(set1.fetchTile(set1.pyramid, set1.mosaic, 0, 0, null).get());
+            assertEquals(1, set1.downloads.get());
+
+            //new memory cache, tile is read from disk
+            final MockPyramidSet set2 = new MockPyramidSet(client);
+            assertNotNull(set2.fetchTile(set2.pyramid, set2.mosaic, 0, 0, null).get());
+            assertEquals(0, set2.downloads.get());
+
+            //other format
+            final Map<String,Object> hints = Collections.singletonMap(Pyramids.HINT_FORMAT, "image/jpeg");
+            assertNotNull(set2.fetchTile(set2.pyramid, set2.mosaic, 0, 0, hints).get());
+            assertEquals(1, set2.downloads.get());
+
+            //other server using the same directory
+            final MockClient other = client("http://other.test.com");
+            other.setUserProperty(CachedPyramidSet.PROPERTY_DISK_CACHE, dir);
+            final MockPyramidSet set3 = new MockPyramidSet(other);
+            assertNotNull(set3.fetchTile(set3.pyramid, set3.mosaic, 0, 0, null).get());
+            assertEquals(1, set3.downloads.get());
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach((Path p) -> p.toFile().delete());
+            }
+        }
+    }
+
+    /**
+     * Cancelling a tile queue skips queued downloads, running ones are not interrupted.
+     */
+    @Test
+    public void cancelTest() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        CachedPyramidSet.setExecutor(executor);
+        try {
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            final AtomicBoolean interrupted = new AtomicBoolean();
+            final MockPyramidSet set = new MockPyramidSet(client("http://cancel.test.com")) {
+                @Override
+                void downloading() throws IOException {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        interrupted.set(true);
+                        throw new IOException(ex);
+                    }
+                }
+            };
+
+            final List<Point> locations = Arrays.asList(
+                    new Point(0, 0), new Point(1, 0), new Point(2, 0), new Point(3, 0), new Point(4, 0));
+            final BlockingQueue<Object> queue = set.getTiles(set.pyramid, set.mosaic, locations, null);
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            ((CancellableQueue) queue).cancel();
+            release.countDown();
+
+            //running download completes and is cached
+            assertNotNull(set.fetchTile(set.pyramid, set.mosaic, 0, 0, null).get());
+            executor.submit(() -> {}).get();
+
+            assertFalse(interrupted.get());
+            assertEquals(1, set.downloads.get());
+            assertTrue(queue.isEmpty());
+        } finally {
+            CachedPyramidSet.setExecutor(null);
+            executor.shutdownNow();
+        }
+    }
+
+    private static MockClient client(String url) throws MalformedURLException {
+        return new MockClient(new URL(url), DefaultClientSecurity.NO_SECURITY);
+    }
+
+    private static void await(CountDownLatch latch) throws IOException {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    /**
+     * Pyramid set of a single mosaic, tiles are small PNG images.
+     */
+    private static class MockPyramidSet extends CachedPyramidSet {
+
+        private final AtomicInteger downloads = new AtomicInteger();
+        private final DefaultPyramid pyramid;
+        private final Mosaic mosaic;
+
+        MockPyramidSet(MockClient client) {
+            super(client, false, true);
+            pyramid = new DefaultPyramid("pyramid", CommonCRS.WGS84.normalizedGeographic());
+            mosaic = new MockMosaic(this, pyramid);
+            pyramid.getMosaicsInternal().add(mosaic);
+            getPyramids().add(pyramid);
+        }
+
+        /**
+         * Called when a tile is downloaded.
+         */
+        void downloading() throws IOException {
+        }
+
+        @Override
+        public Request getTileRequest(Pyramid pyramid, Mosaic mosaic, int col, int row, Map hints) throws DataStoreException {
+            return new MockRequest((MockClient) server) {
+                @Override
+                public InputStream getResponseStream() throws IOException {
+                    downloads.incrementAndGet();
+                    downloading();
+                    return new ByteArrayInputStream(PNG);
+                }
+            };
+        }
+    }
+
+    private static final class MockMosaic extends AbstractMosaic {
+
+        private final MockPyramidSet set;
+
+        MockMosaic(MockPyramidSet set, Pyramid pyramid) {
+            super("mosaic", pyramid, new GeneralDirectPosition(-180, 90), new Dimension(8, 4), new Dimension(4, 4), 1);
+            this.set = set;
+        }
+
+        @Override
+        protected boolean isWritable() throws CoverageStoreException {
+            return false;
+        }
+
+        @Override
+        public Tile getTile(int col, int row, Map hints) throws DataStoreException {
+            return set.getTile(getPyramid(), this, col, row, hints);
+        }
+    }
+}
@@ -51,6 +51,10 @@ public class MockClient extends AbstractClient{
         super(appendSecurity(security));
     }
 
+    public MockClient(final URL url, final ClientSecurity security) throws MalformedURLException {
+        super(appendURL(url, security));
+    }
+
     @Override
     public GenericName getIdentifier() {
         return null;
@@ -71,4 +75,10 @@ public class MockClient extends AbstractClient{
         return param;
     }
 
+    private static ParameterValueGroup appendURL(final URL url, final ClientSecurity security){
+        ParameterValueGroup param = appendSecurity(security);
+        param.parameter("url").setValue(url);
+        return param;
+    }
+
 }
@@ -50,6 +50,14 @@ public interface MapLayer extends MapItem {
      */
     public static final String USERKEY_STYLED_FEATURE = "styled_feature";
 
+    /**
+     * Use this key in the User map properties and add a Boolean.TRUE
+     * to indicate that features painting order does not matter, like for
+     * features which do not overlap each other.
+     * Multi-threaded renderers may then compose the layer in any order.
+     */
+    public static final String USERKEY_ORDER_INSENSITIVE = "order_insensitive";
+
     /**
      * Convinient method to test if the current layer is well knowned, it means
      * using conventional types : Features or Coverages. Other layer types
@@ -64,11 +64,23 @@ public final class GO2Hints extends Static {
      * Configure the multithreading support. This usually makes the canvas
      * build several buffered images to render each layer separately.
      * This raises memory concumption.
+     * Feature layers without text symbolizers are painted by several threads,
+     * each one in its own buffer.
      *
      * WARNING : experimental
      */
     public static final Key KEY_MULTI_THREAD = new NamedKey(Boolean.class, "GO2 - MultiThread");
 
+    /**
+     * Keep feature geometries transformed in the objective CRS between repaints.
+     * Geometries are cached per map layer and resolution level, until the
+     * layer data changes.
+     * This raises memory consumption.
+     *
+     * Default value is false.
+     */
+    public static final Key KEY_GEOMETRY_CACHE = new NamedKey(Boolean.class, "GO2 - Geometry cache");
+
     /**
      * Configure the generalization, false by default in stateless mode, true
      * in statefull mode.
@@ -33,6 +33,7 @@ import java.awt.image.RenderedImage;
 import java.awt.image.WritableRenderedImage;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -55,7 +56,6 @@ import org.apache.sis.util.ArgumentChecks;
 import static org.apache.sis.util.ArgumentChecks.*;
 import org.apache.sis.util.NullArgumentException;
 import org.apache.sis.util.Utilities;
-import org.apache.sis.util.collection.Cache;
 import org.apache.sis.util.logging.Logging;
 import org.geotoolkit.coverage.Coverage;
 import org.geotoolkit.coverage.grid.GridCoverage;
@@ -77,6 +77,7 @@ import org.geotoolkit.display2d.primitive.SearchAreaJ2D;
 import org.geotoolkit.display2d.primitive.iso.ISOGeometryJ2D;
 import org.geotoolkit.display2d.style.CachedRule;
 import org.geotoolkit.display2d.style.CachedSymbolizer;
+import org.geotoolkit.display2d.style.SymbolizerCache;
 import org.geotoolkit.display2d.style.renderer.SymbolizerRendererService;
 import org.geotoolkit.factory.FactoryFinder;
 import org.geotoolkit.factory.Hints;
@@ -149,10 +150,33 @@ public final class GO2Utilities {
 
     public static final GeometryFactory JTS_FACTORY = new GeometryFactory();
 
-    private static final Cache<Symbolizer,CachedSymbolizer> CACHE = new Cache<Symbolizer, CachedSymbolizer>(50,50,true);
+    private static final SymbolizerCache CACHE = new SymbolizerCache(1000);
 
-    private static final Map<Class<? extends CachedSymbolizer>,SymbolizerRendererService> RENDERERS =
-            new HashMap<Class<? extends CachedSymbolizer>, SymbolizerRendererService>();
+    /**
+     * Renderers by cached symbolizer class, immutable after class initialization.
+     */
+    private static final Map<Class<? extends CachedSymbolizer>,SymbolizerRendererService> RENDERERS;
+
+    /**
+     * Renderer lookups, resolved once for each cached symbolizer or symbolizer class.
+     */
+    private static final ClassValue<SymbolizerRendererService> RENDERERS_BY_CACHED = new ClassValue<SymbolizerRendererService>() {
+        @Override
+        protected SymbolizerRendererService computeValue(final Class<?> type) {
+            return findRendererForCachedClass(type);
+        }
+    };
+    private static final ClassValue<SymbolizerRendererService> RENDERERS_BY_SYMBOLIZER = new ClassValue<SymbolizerRendererService>() {
+        @Override
+        protected SymbolizerRendererService computeValue(final Class<?> type) {
+            for(SymbolizerRendererService renderer : RENDERERS.values()){
+                if(renderer.getSymbolizerClass().isAssignableFrom(type)){
+                    return renderer;
+                }
+            }
+            return null;
+        }
+    };
 
     private static final double SE_EPSILON = 1e-6;
 
@@ -189,10 +213,12 @@ public final class GO2Utilities {
         fillColorToleranceTable(0, 2, blackColorsList, new double[]{0, 0, 0, 255}, COLOR_TOLERANCE);
         BLACK_COLORS = blackColorsList.toArray(new double[0][]);
 
+        final Map<Class<? extends CachedSymbolizer>,SymbolizerRendererService> renderers = new HashMap<>();
         final ServiceLoader<SymbolizerRendererService> loader = ServiceLoader.load(SymbolizerRendererService.class);
         for(SymbolizerRendererService renderer : loader){
-            RENDERERS.put(renderer.getCachedSymbolizerClass(), renderer);
+            renderers.put(renderer.getCachedSymbolizerClass(), renderer);
         }
+        RENDERERS = Collections.unmodifiableMap(renderers);
 
         final Hints hints = new Hints();
         hints.put(Hints.STYLE_FACTORY, MutableStyleFactory.class);
@@ -642,25 +668,13 @@ public final class GO2Utilities {
     ////////////////////////////////////////////////////////////////////////////
 
     public static SymbolizerRendererService findRenderer(final CachedSymbolizer symbol){
-        final Class<? extends CachedSymbolizer> type = symbol.getClass();
-        SymbolizerRendererService candidate = RENDERERS.get(type);
-        if (candidate != null) {
-            return candidate;
-        }
-        candidate = findRendererForCachedClass(type.getSuperclass());
-        if (candidate != null) {
-            return candidate;
-        }
-        return null;
+        return RENDERERS_BY_CACHED.get(symbol.getClass());
     }
 
     private static SymbolizerRendererService findRendererForCachedClass(Class<?> type) {
         while (type != null) {
             SymbolizerRendererService candidate = RENDERERS.get(type);
             if (candidate != null) {
-//                synchronized (RENDERERS) {
-//                    RENDERERS.put(type, candidate);
-//                }
                 return candidate;
             }
             // Checks interfaces implemented by this class.
@@ -676,12 +690,7 @@ public final class GO2Utilities {
     }
 
     public static SymbolizerRendererService findRenderer(final Class<? extends Symbolizer> type){
-        for(SymbolizerRendererService renderer : RENDERERS.values()){
-            if(renderer.getSymbolizerClass().isAssignableFrom(type)){
-                return renderer;
-            }
-        }
-        return null;
+        return RENDERERS_BY_SYMBOLIZER.get(type);
     }
 
     /**
@@ -1277,7 +1286,7 @@ public final class GO2Utilities {
             for(final Rule rule : rules){
                 //test if the scale is valid for this rule
                 if(rule.getMinScaleDenominator()-SE_EPSILON <= scale && rule.getMaxScaleDenominator()+SE_EPSILON > scale){
-                    validRules.add(getCached(rule,type));
+                    validRules.add(getCached(rule,type,style));
                 }
             }
         }
@@ -1306,7 +1315,7 @@ public final class GO2Utilities {
             for(final Rule rule : rules){
                 //test if the scale is valid for this rule
                 if(rule.getMinScaleDenominator()-SE_EPSILON <= scale && rule.getMaxScaleDenominator()+SE_EPSILON > scale){
-                    validRules.add(getCached(rule,expected));
+                    validRules.add(getCached(rule,expected,style));
                 }
             }
         }
@@ -1398,42 +1407,49 @@ public final class GO2Utilities {
         return new CachedRule(rule,expected);
     }
 
-    public static CachedSymbolizer getCached(Symbolizer symbol,final FeatureType expected){
-        CachedSymbolizer value;
+    public static CachedRule getCached(final Rule rule,final FeatureType expected, final Style owner){
+        return new CachedRule(rule,expected,owner);
+    }
 
-        if(expected != null){
-            //optimize the symbolizer before caching it
-            final StyleVisitor sv = new PrepareStyleVisitor(Feature.class, expected);
-            symbol = (Symbolizer)symbol.accept(sv, null);
-        }
+    public static CachedSymbolizer getCached(final Symbolizer symbol,final FeatureType expected){
+        return getCached(symbol, expected, null);
+    }
 
-        final SymbolizerRendererService renderer = findRenderer(symbol.getClass());
-        if(renderer != null){
-            value = renderer.createCachedSymbolizer(symbol);
-        } else {
-            throw new IllegalStateException("No renderer for the style "+ symbol);
+    /**
+     * Get the cached symbolizer for the given symbolizer, creating it if needed.
+     *
+     * @param symbol source symbolizer
+     * @param expected feature type, used to optimize the symbolizer, can be null
+     * @param owner style containing the symbolizer, cached value is dropped when
+     *        this style changes, can be null
+     * @return CachedSymbolizer, never null
+     */
+    public static CachedSymbolizer getCached(final Symbolizer symbol,final FeatureType expected, final Style owner){
+        CachedSymbolizer value = CACHE.get(symbol, expected);
+        if(value == null){
+            Symbolizer prepared = symbol;
+            if(expected != null){
+                //optimize the symbolizer before caching it
+                final StyleVisitor sv = new PrepareStyleVisitor(Feature.class, expected);
+                prepared = (Symbolizer)symbol.accept(sv, null);
+            }
+
+            final SymbolizerRendererService renderer = findRenderer(prepared.getClass());
+            if(renderer != null){
+                value = renderer.createCachedSymbolizer(prepared);
+            } else {
+                throw new IllegalStateException("No renderer for the style "+ prepared);
+            }
+            value = CACHE.put(symbol, expected, owner, value);
         }
         return value;
+    }
 
-
-//        CachedSymbolizer value = CACHE.peek(symbol);
-//        if (value == null) {
-//            Cache.Handler<CachedSymbolizer> handler = CACHE.lock(symbol);
-//            try {
-//                value = handler.peek();
-//                if (value == null) {
-//                    final SymbolizerRendererService renderer = findRenderer(symbol.getClass());
-//                    if(renderer != null){
-//                        value = renderer.createCachedSymbolizer(symbol,expected);
-//                    } else {
-//                        throw new IllegalStateException("No renderer for the style "+ symbol);
-//                    }
-//                }
-//            } finally {
-//                handler.putAndUnlock(value);
-//            }
-//        }
-//        return value;
+    /**
+     * @return the shared cache of symbolizers, giving access to usage metrics.
+     */
+    public static SymbolizerCache getSymbolizerCache(){
+        return CACHE;
     }
 
     public static void clearCache(){
@@ -17,6 +17,7 @@
 package org.geotoolkit.display2d;
 
 import java.awt.Color;
+import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Point;
 import java.awt.Rectangle;
@@ -29,20 +30,34 @@ import java.awt.image.SampleModel;
 import java.awt.image.WritableRaster;
 import java.io.IOException;
 import java.text.NumberFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.LongConsumer;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import javax.media.jai.RasterFactory;
 import org.apache.sis.coverage.grid.GridGeometry;
 import org.apache.sis.geometry.Envelopes;
+import org.apache.sis.geometry.GeneralEnvelope;
 import org.apache.sis.image.PixelIterator;
 import org.apache.sis.measure.NumberRange;
 import org.apache.sis.storage.DataStoreException;
+import org.apache.sis.util.ArgumentChecks;
 import org.apache.sis.util.iso.Names;
 import org.geotoolkit.coverage.io.GridCoverageReader;
 import org.geotoolkit.data.multires.AbstractTileGenerator;
@@ -71,6 +86,7 @@ import org.geotoolkit.storage.coverage.DefaultImageTile;
 import org.geotoolkit.storage.coverage.ImageTile;
 import org.geotoolkit.storage.coverage.PyramidalCoverageResource;
 import org.geotoolkit.style.MutableStyle;
+import org.opengis.geometry.DirectPosition;
 import org.opengis.geometry.Envelope;
 import org.opengis.referencing.operation.TransformException;
 import org.opengis.style.FeatureTypeStyle;
@@ -84,10 +100,20 @@ import org.opengis.style.Symbolizer;
  */
 public class MapContextTileGenerator extends AbstractTileGenerator {
 
+    /**
+     * Maximum number of tiles given to a single write operation.
+     */
+    private static final int WRITE_BATCH_SIZE = 64;
+
     private CanvasDef canvasDef;
     private SceneDef sceneDef;
     private final double[] empty;
 
+    private Executor executor = null;
+    private int metatileSize = 1;
+    private int writeQueueCapacity = 256;
+    private boolean pruneUniformTiles = false;
+
     public MapContextTileGenerator(MapContext context, Hints hints) {
         this(new SceneDef(context, hints), new CanvasDef());
     }
@@ -129,6 +155,80 @@ public class MapContextTileGenerator extends AbstractTileGenerator {
 
     }
 
+    /**
+     * Set the executor used to render tiles.
+     * Tiles are written by the thread calling {@link #generate }.
+     *
+     * @param executor rendering executor, null for the common fork join pool
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @return rendering executor, null for the common fork join pool
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Set the number of tiles, on each axis, rendered in a single image.
+     * Large metatiles reduce the rendering overhead of each tile and avoid
+     * cutting labels at tiles borders, but require more memory.
+     *
+     * @param metatileSize number of tiles on each axis, default is 1
+     */
+    public void setMetatileSize(int metatileSize) {
+        ArgumentChecks.ensureStrictlyPositive("metatileSize", metatileSize);
+        this.metatileSize = metatileSize;
+    }
+
+    /**
+     * @return number of tiles on each axis rendered in a single image
+     */
+    public int getMetatileSize() {
+        return metatileSize;
+    }
+
+    /**
+     * Set the maximum number of rendered tiles waiting to be written.
+     * Rendering threads wait when this queue is full.
+     *
+     * @param writeQueueCapacity queue capacity, default is 256
+     */
+    public void setWriteQueueCapacity(int writeQueueCapacity) {
+        ArgumentChecks.ensureStrictlyPositive("writeQueueCapacity", writeQueueCapacity);
+        this.writeQueueCapacity = writeQueueCapacity;
+    }
+
+    /**
+     * @return maximum number of rendered tiles waiting to be written
+     */
+    public int getWriteQueueCapacity() {
+        return writeQueueCapacity;
+    }
+
+    /**
+     * Enable pruning of the pyramid. When a tile is empty or of a single color,
+     * tiles below it in the pyramid are not rendered, they are skipped if empty
+     * and copied otherwise.
+     * This assumes that no data is hidden at low scales and that tiles of
+     * the pyramid mosaics are aligned.
+     *
+     * @param pruneUniformTiles true to prune children of uniform tiles, default is false
+     */
+    public void setPruneUniformTiles(boolean pruneUniformTiles) {
+        this.pruneUniformTiles = pruneUniformTiles;
+    }
+
+    /**
+     * @return true if children of uniform tiles are not rendered
+     */
+    public boolean isPruneUniformTiles() {
+        return pruneUniformTiles;
+    }
+
     @Override
     public Tile generateTile(Pyramid pyramid, Mosaic mosaic, Point tileCoord) throws DataStoreException {
 
@@ -319,7 +419,363 @@ public class MapContextTileGenerator extends AbstractTileGenerator {
                 }
             }
         } else {
-            super.generate(pyramid, env, resolutions, listener);
+            generateTiles(pyramid, env, resolutions, listener);
+        }
+    }
+
+    /**
+     * Render tiles by metatiles, from the lowest to the highest resolution.
+     * Rendering is done by the executor, the calling thread writes tiles
+     * and submits new metatiles when rendering threads are available.
+     */
+    private void generateTiles(Pyramid pyramid, Envelope env, NumberRange resolutions,
+            ProcessListener listener) throws DataStoreException, InterruptedException {
+
+        if (env != null) {
+            try {
+                env = Envelopes.transform(env, pyramid.getCoordinateReferenceSystem());
+            } catch (TransformException ex) {
+                throw new DataStoreException(ex.getMessage(), ex);
+            }
+        }
+
+        final Executor exec = (executor != null) ? executor : ForkJoinPool.commonPool();
+        final int maxTasks = 2 * Runtime.getRuntime().availableProcessors();
+        final Semaphore tasks = new Semaphore(maxTasks);
+        final BlockingQueue<Tile> queue = new ArrayBlockingQueue<>(writeQueueCapacity);
+        final Progress progress = new Progress(countTiles(pyramid, env, resolutions), listener);
+        final Thread writer = Thread.currentThread();
+        final AtomicBoolean canceled = new AtomicBoolean();
+
+        //parent levels must be done before their children for pruning
+        final Mosaic[] mosaics = pyramid.getMosaics().toArray(new Mosaic[0]);
+        Arrays.sort(mosaics, (Mosaic o1, Mosaic o2) -> Double.compare(o2.getScale(), o1.getScale()));
+        final List<Level> parents = new ArrayList<>();
+
+        //uniform tiles of the last level have no child to prune
+        Mosaic last = null;
+        for (final Mosaic mosaic : mosaics) {
+            if (resolutions == null || resolutions.contains(mosaic.getScale())) last = mosaic;
+        }
+
+        try {
+            for (final Mosaic mosaic : mosaics) {
+                if (resolutions != null && !resolutions.contains(mosaic.getScale())) continue;
+
+                final Level level = new Level(mosaic, pruneUniformTiles && mosaic != last);
+                final Rectangle rect = Pyramids.getTilesInEnvelope(mosaic, env);
+                final AtomicReference<Throwable> error = new AtomicReference<>();
+
+                submit:
+                for (int y = rect.y, yn = rect.y + rect.height; y < yn; y += metatileSize) {
+                    for (int x = rect.x, xn = rect.x + rect.width; x < xn; x += metatileSize) {
+                        if (error.get() != null) break submit;
+
+                        final Rectangle block = new Rectangle(x, y,
+                                Math.min(metatileSize, xn - x), Math.min(metatileSize, yn - y));
+
+                        if (pruneUniformTiles && copyUniformTiles(parents, level, block, queue, progress)) {
+                            continue;
+                        }
+
+                        //wait for a rendering thread, writing tiles meanwhile
+                        while (!tasks.tryAcquire()) {
+                            write(mosaic, queue, 100, progress);
+                        }
+                        final Runnable task = () -> {
+                            try {
+                                if (canceled.get()) return;
+                                final List<Tile> tiles = renderMetatile(level, block);
+                                if (Thread.currentThread() == writer) {
+                                    //executor runs tasks in the caller thread, which is the queue consumer
+                                    for (Tile tile : tiles) {
+                                        while (!queue.offer(tile)) {
+                                            write(mosaic, queue, 0, progress);
+                                        }
+                                    }
+                                } else {
+                                    for (Tile tile : tiles) {
+                                        //the writer may have stopped, do not wait on the queue forever
+                                        while (!queue.offer(tile, 100, TimeUnit.MILLISECONDS)) {
+                                            if (canceled.get()) return;
+                                        }
+                                    }
+                                }
+                            } catch (Throwable ex) {
+                                error.compareAndSet(null, ex);
+                            } finally {
+                                tasks.release();
+                            }
+                        };
+                        try {
+                            exec.execute(task);
+                        } catch (RuntimeException ex) {
+                            tasks.release();
+                            throw ex;
+                        }
+                        write(mosaic, queue, 0, progress);
+                    }
+                }
+
+                //wait for all rendering tasks of this level
+                while (!tasks.tryAcquire(maxTasks)) {
+                    write(mosaic, queue, 100, progress);
+                }
+                tasks.release(maxTasks);
+                write(mosaic, queue, 0, progress);
+                rethrow(error);
+
+                if (level.recordUniforms) {
+                    parents.add(level);
+                }
+                progress.fire();
+            }
+        } catch (Throwable ex) {
+            //stop pending rendering tasks and wait for the running ones before leaving,
+            //no one will consume the queue anymore
+            canceled.set(true);
+            queue.clear();
+            tasks.acquireUninterruptibly(maxTasks);
+            queue.clear();
+            throw ex;
+        }
+    }
+
+    /**
+     * Queue copies of the parent uniform tiles if all tiles of the block are
+     * under a uniform tile.
+     *
+     * @return true if the block does not need to be rendered
+     */
+    private boolean copyUniformTiles(List<Level> parents, Level level, Rectangle block,
+            BlockingQueue<Tile> queue, Progress progress) throws DataStoreException, InterruptedException {
+        if (parents.isEmpty()) return false;
+
+        final Uniform[] uniforms = new Uniform[block.width * block.height];
+        for (int y = 0; y < block.height; y++) {
+            for (int x = 0; x < block.width; x++) {
+                final Uniform uniform = level.findParentUniform(parents, block.x + x, block.y + y);
+                if (uniform == null) return false;
+                uniforms[y * block.width + x] = uniform;
+            }
+        }
+
+        for (int y = 0; y < block.height; y++) {
+            for (int x = 0; x < block.width; x++) {
+                final Uniform uniform = uniforms[y * block.width + x];
+                final Point coord = new Point(block.x + x, block.y + y);
+                if (uniform.empty && skipEmptyTiles) {
+                    progress.increment();
+                } else {
+                    //this thread is the queue consumer, it must not wait on it
+                    final Tile tile = new DefaultImageTile(uniform.getImage(level.mosaic.getTileSize()), coord);
+                    while (!queue.offer(tile)) {
+                        write(level.mosaic, queue, 0, progress);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Render a block of tiles in a single image and cut it into tiles.
+     * Skipped empty tiles are returned as tiles without image, to be counted.
+     */
+    private List<Tile> renderMetatile(Level level, Rectangle block) throws PortrayalException {
+        final Mosaic mosaic = level.mosaic;
+        final Dimension tileSize = mosaic.getTileSize();
+
+        final GeneralEnvelope blockEnv = new GeneralEnvelope(Pyramids.computeTileEnvelope(mosaic, block.x, block.y));
+        blockEnv.add(Pyramids.computeTileEnvelope(mosaic, block.x + block.width - 1, block.y + block.height - 1));
+
+        final CanvasDef canvas = new CanvasDef(
+                new Dimension(block.width * tileSize.width, block.height * tileSize.height),
+                canvasDef.getBackground());
+        final BufferedImage image = DefaultPortrayalService.portray(canvas, sceneDef, new ViewDef(blockEnv));
+        final ColorModel cm = image.getColorModel();
+        final WritableRaster imageRaster = image.getRaster();
+        final List<Tile> tiles = new ArrayList<>(block.width * block.height);
+
+        for (int y = 0; y < block.height; y++) {
+            for (int x = 0; x < block.width; x++) {
+                final BufferedImage data;
+                if (block.width == 1 && block.height == 1) {
+                    data = image;
+                } else {
+                    //copy tile, tiles must not share the metatile raster
+                    final WritableRaster raster = imageRaster.createCompatibleWritableRaster(tileSize.width, tileSize.height);
+                    raster.setRect(-x * tileSize.width, -y * tileSize.height, imageRaster);
+                    data = new BufferedImage(cm, raster, cm.isAlphaPremultiplied(), null);
+                }
+                final Point coord = new Point(block.x + x, block.y + y);
+
+                final boolean isEmpty = (skipEmptyTiles || pruneUniformTiles) && BufferedImages.isAll(data, empty);
+                if (level.recordUniforms) {
+                    if (isEmpty) {
+                        level.uniforms.put(key(coord.x, coord.y), new Uniform(data, empty, true));
+                    } else {
+                        final double[] first = data.getRaster().getPixel(0, 0, (double[]) null);
+                        if (BufferedImages.isAll(data, first)) {
+                            level.uniforms.put(key(coord.x, coord.y), new Uniform(data, first, false));
+                        }
+                    }
+                }
+                tiles.add((isEmpty && skipEmptyTiles) ? new DefaultImageTile(null, coord) : new DefaultImageTile(data, coord));
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * Write queued tiles.
+     *
+     * @param timeout maximum time to wait for a first tile, in milliseconds
+     */
+    private static void write(Mosaic mosaic, BlockingQueue<Tile> queue, long timeout, Progress progress)
+            throws DataStoreException, InterruptedException {
+        final List<Tile> batch = new ArrayList<>(WRITE_BATCH_SIZE);
+        Tile tile = (timeout > 0) ? queue.poll(timeout, TimeUnit.MILLISECONDS) : queue.poll();
+        while (tile != null) {
+            progress.increment();
+            //tiles without image are skipped empty tiles
+            if (((ImageTile) tile).getInput() != null) {
+                batch.add(tile);
+            }
+            if (batch.size() == WRITE_BATCH_SIZE) {
+                mosaic.writeTiles(batch.stream(), null);
+                batch.clear();
+            }
+            tile = queue.poll();
+        }
+        if (!batch.isEmpty()) {
+            mosaic.writeTiles(batch.stream(), null);
+        }
+    }
+
+    private static void rethrow(AtomicReference<Throwable> error) throws DataStoreException {
+        final Throwable ex = error.get();
+        if (ex instanceof DataStoreException) {
+            throw (DataStoreException) ex;
+        } else if (ex instanceof Error) {
+            throw (Error) ex;
+        } else if (ex != null) {
+            throw new DataStoreException(ex.getMessage(), ex);
+        }
+    }
+
+    private static long key(long x, long y) {
+        return (x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Pyramid level being generated and its uniform tiles.
+     */
+    private static final class Level {
+
+        private final Mosaic mosaic;
+        private final boolean recordUniforms;
+        private final double minX;
+        private final double maxY;
+        private final double spanX;
+        private final double spanY;
+        private final Map<Long,Uniform> uniforms = new ConcurrentHashMap<>();
+
+        private Level(Mosaic mosaic, boolean recordUniforms) {
+            this.mosaic = mosaic;
+            this.recordUniforms = recordUniforms;
+            final DirectPosition ul = mosaic.getUpperLeftCorner();
+            final Dimension tileSize = mosaic.getTileSize();
+            minX = ul.getOrdinate(0);
+            maxY = ul.getOrdinate(1);
+            spanX = mosaic.getScale() * tileSize.width;
+            spanY = mosaic.getScale() * tileSize.height;
+        }
+
+        /**
+         * Search a uniform tile in the parent levels containing the center of the given tile.
+         */
+        private Uniform findParentUniform(List<Level> parents, int col, int row) {
+            final double cx = minX + (col + 0.5) * spanX;
+            final double cy = maxY - (row + 0.5) * spanY;
+            for (Level parent : parents) {
+                if (parent.uniforms.isEmpty()) continue;
+                final long x = (long) Math.floor((cx - parent.minX) / parent.spanX);
+                final long y = (long) Math.floor((parent.maxY - cy) / parent.spanY);
+                final Uniform uniform = parent.uniforms.get(key(x, y));
+                if (uniform != null) return uniform;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A tile made of a single color.
+     * Only the color and the image model are kept, images are created when copied.
+     */
+    private static final class Uniform {
+
+        private final ColorModel colorModel;
+        private final SampleModel sampleModel;
+        private final double[] pixel;
+        private final boolean empty;
+
+        private Uniform(BufferedImage image, double[] pixel, boolean empty) {
+            this.colorModel = image.getColorModel();
+            this.sampleModel = image.getSampleModel();
+            this.pixel = pixel;
+            this.empty = empty;
+        }
+
+        /**
+         * @return image filled with the uniform color, at the requested size
+         */
+        private BufferedImage getImage(Dimension size) {
+            final ColorModel cm = colorModel;
+            final WritableRaster raster = Raster.createWritableRaster(
+                    sampleModel.createCompatibleSampleModel(size.width, size.height), null);
+            for (int y = 0; y < size.height; y++) {
+                for (int x = 0; x < size.width; x++) {
+                    raster.setPixel(x, y, pixel);
+                }
+            }
+            return new BufferedImage(cm, raster, cm.isAlphaPremultiplied(), null);
+        }
+    }
+
+    /**
+     * Send progress events, at most every few seconds.
+     */
+    private static final class Progress {
+
+        private final long total;
+        private final ProcessListener listener;
+        private final String msg;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong tempo = new AtomicLong(System.currentTimeMillis());
+
+        private Progress(long total, ProcessListener listener) {
+            this.total = total;
+            this.listener = listener;
+            this.msg = " / "+ NumberFormat.getIntegerInstance(Locale.FRANCE).format(total);
+        }
+
+        private void increment() {
+            count.incrementAndGet();
+            if (listener != null) {
+                final long time = System.currentTimeMillis();
+                if (tempo.updateAndGet((long operand) -> ((time-operand) > 3000) ? time : operand) == time) {
+                    fire();
+                }
+            }
+        }
+
+        private void fire() {
+            if (listener != null) {
+                final long v = count.get();
+                final NumberFormat format = NumberFormat.getIntegerInstance(Locale.FRANCE);
+                listener.progressing(new ProcessEvent(DUMMY, format.format(v)+msg, (float) (( ((double)v)/((double)total) )*100.0)  ));
+            }
         }
     }
 
@@ -0,0 +1,210 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.display2d.container.stateless;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import org.apache.sis.storage.FeatureSet;
+import org.apache.sis.storage.event.ChangeEvent;
+import org.apache.sis.storage.event.ChangeListener;
+import org.apache.sis.util.Utilities;
+import org.apache.sis.util.collection.Cache;
+import org.geotoolkit.data.FeatureCollection;
+import org.geotoolkit.data.FeatureStoreContentEvent;
+import org.geotoolkit.map.FeatureMapLayer;
+import org.geotoolkit.storage.StorageListener;
+import org.locationtech.jts.geom.Geometry;
+import org.opengis.filter.expression.Expression;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+
+/**
+ * Cache of feature geometries transformed in the objective CRS, shared by all
+ * the canvas rendering a feature map layer.
+ * Geometries are stored by feature id and resolution level, so panning or
+ * rendering adjacent tiles at the same scale does not transform them again.
+ * <br/>
+ * The cache is cleared each time the layer resource or session fires a
+ * {@link FeatureStoreContentEvent}. The total number of cached coordinates is
+ * bounded, geometries above this limit are only softly referenced.
+ *
+ * @module
+ * @see org.geotoolkit.display2d.GO2Hints#KEY_GEOMETRY_CACHE
+ */
+public final class ObjectiveGeometryCache implements ChangeListener<ChangeEvent> {
+
+    private static final Map<FeatureMapLayer,ObjectiveGeometryCache> CACHES = new WeakHashMap<>();
+
+    /**
+     * Maximum number of coordinates strongly referenced by a layer cache.
+     */
+    private static final int COST_LIMIT = 1000000;
+
+    /**
+     * Number of resolution levels for a factor 2 of resolution.
+     */
+    private static final double LEVELS_PER_OCTAVE = 2.0;
+
+    private final Cache<Key,Geometry> geometries = new Cache<Key,Geometry>(1024, COST_LIMIT, true){
+        @Override
+        protected int cost(final Geometry value) {
+            return value.getNumPoints();
+        }
+    };
+
+    private final List<Level> levels = new ArrayList<>();
+    private final StorageListener.Weak weakListener = new StorageListener.Weak(this);
+    private int version = 0;
+
+    private ObjectiveGeometryCache(final FeatureMapLayer layer) {
+        final FeatureSet resource = layer.getResource();
+        weakListener.registerSource(resource);
+        if (resource instanceof FeatureCollection) {
+            weakListener.registerSource(((FeatureCollection)resource).getSession());
+        }
+    }
+
+    /**
+     * Get the cache of the given layer, creating it if needed.
+     *
+     * @param layer feature map layer
+     * @return ObjectiveGeometryCache, never null
+     */
+    public static ObjectiveGeometryCache forLayer(final FeatureMapLayer layer) {
+        synchronized (CACHES) {
+            ObjectiveGeometryCache cache = CACHES.get(layer);
+            if (cache == null) {
+                cache = new ObjectiveGeometryCache(layer);
+                CACHES.put(layer, cache);
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * Get the level for geometries in the given objective CRS at the given resolution.
+     * Geometries of a level are dropped when the cache is cleared.
+     *
+     * @param objectiveCRS objective CRS
+     * @param resolution objective resolution
+     * @return level object to give to {@link #get(Object, String, Expression) }
+     */
+    public synchronized Object level(final CoordinateReferenceSystem objectiveCRS, final double resolution) {
+        final int index = (int) Math.floor(LEVELS_PER_OCTAVE * Math.log(resolution) / Math.log(2));
+        for (Level level : levels) {
+            if (level.index == index && Utilities.equalsIgnoreMetadata(level.crs, objectiveCRS)) {
+                return level;
+            }
+        }
+        final Level level = new Level(objectiveCRS, index, version);
+        levels.add(level);
+        return level;
+    }
+
+    /**
+     * Get a cached objective geometry.
+     *
+     * @param level level returned by {@link #level(CoordinateReferenceSystem, double) }
+     * @param featureId feature identifier
+     * @param geomExp geometry expression, null for the default geometry
+     * @return Geometry or null if not in the cache
+     */
+    public Geometry get(final Object level, final String featureId, final Expression geomExp) {
+        return geometries.get(new Key(level, featureId, geomExp));
+    }
+
+    /**
+     * Store an objective geometry.
+     *
+     * @param level level returned by {@link #level(CoordinateReferenceSystem, double) }
+     * @param featureId feature identifier
+     * @param geomExp geometry expression, null for the default geometry
+     * @param geometry geometry in objective CRS
+     */
+    public void put(final Object level, final String featureId, final Expression geomExp, final Geometry geometry) {
+        synchronized (this) {
+            if (((Level) level).version != version) {
+                //cache has been cleared since this level was created
+                return;
+            }
+        }
+        geometries.put(new Key(level, featureId, geomExp), geometry);
+    }
+
+    /**
+     * Drop all cached geometries.
+     */
+    public synchronized void clear() {
+        version++;
+        levels.clear();
+        geometries.clear();
+    }
+
+    @Override
+    public void changeOccured(final ChangeEvent event) {
+        if (event instanceof FeatureStoreContentEvent) {
+            clear();
+        }
+    }
+
+    private static final class Level {
+
+        private final CoordinateReferenceSystem crs;
+        private final int index;
+        private final int version;
+
+        private Level(final CoordinateReferenceSystem crs, final int index, final int version) {
+            this.crs = crs;
+            this.index = index;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Levels are compared by identity, they are unique in a cache.
+     */
+    private static final class Key {
+
+        private final Object level;
+        private final String featureId;
+        private final Expression geomExp;
+
+        private Key(final Object level, final String featureId, final Expression geomExp) {
+            this.level = level;
+            this.featureId = featureId;
+            this.geomExp = geomExp;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(level) + 31 * featureId.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj instanceof Key) {
+                final Key other = (Key) obj;
+                return level == other.level
+                    && featureId.equals(other.featureId)
+                    && Objects.equals(geomExp, other.geomExp);
+            }
+            return false;
+        }
+    }
+}
@@ -19,9 +19,11 @@ package org.geotoolkit.display2d.container.stateless;
 import org.locationtech.jts.geom.Polygon;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
+import org.geotoolkit.display2d.GO2Hints;
 import org.geotoolkit.display2d.canvas.RenderingContext2D;
 import org.geotoolkit.geometry.jts.transform.CoordinateSequenceMathTransformer;
 import org.geotoolkit.geometry.jts.transform.GeometryCSTransformer;
+import org.geotoolkit.map.FeatureMapLayer;
 import org.geotoolkit.map.MapLayer;
 import org.apache.sis.internal.referencing.j2d.AffineTransform2D;
 import org.apache.sis.util.Classes;
@@ -61,6 +63,13 @@ public class StatelessContextParams<T extends MapLayer> {
     public Rectangle2D displayClipRect;
     public Polygon displayClip;
 
+    /**
+     * Objective geometries cache and current level in this cache,
+     * null if {@link GO2Hints#KEY_GEOMETRY_CACHE} is not active.
+     */
+    public ObjectiveGeometryCache geometryCache;
+    public Object geometryCacheLevel;
+
     public StatelessContextParams(final AbstractCanvas2D canvas, final T layer){
         this.canvas = canvas;
         this.layer = layer;
@@ -97,6 +106,15 @@ public class StatelessContextParams<T extends MapLayer> {
                 displayClipRect.getWidth()+2*CLIP_PIXEL_MARGIN,
                 displayClipRect.getHeight()+2*CLIP_PIXEL_MARGIN);
         displayClip = JTS.toGeometry(context.getCanvasDisplayBounds());
+
+        if(layer instanceof FeatureMapLayer
+                && Boolean.TRUE.equals(canvas.getRenderingHint(GO2Hints.KEY_GEOMETRY_CACHE))){
+            geometryCache = ObjectiveGeometryCache.forLayer((FeatureMapLayer)layer);
+            geometryCacheLevel = geometryCache.level(objectiveCRS, context.getResolution()[0]);
+        }else{
+            geometryCache = null;
+            geometryCacheLevel = null;
+        }
     }
 
 }
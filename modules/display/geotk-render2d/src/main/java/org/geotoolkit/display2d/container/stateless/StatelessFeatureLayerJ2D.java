@@ -16,20 +16,29 @@
  */
 package org.geotoolkit.display2d.container.stateless;
 
+import java.awt.AlphaComposite;
 import java.awt.Graphics2D;
 import java.awt.Image;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.awt.image.ColorModel;
 import java.awt.image.SampleModel;
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -122,6 +131,26 @@ import org.opengis.style.TextSymbolizer;
  */
 public class StatelessFeatureLayerJ2D extends StatelessMapLayerJ2D<FeatureMapLayer> implements ChangeListener<ChangeEvent> {
 
+    /**
+     * Number of features given to a rendering thread at once when
+     * {@link GO2Hints#KEY_MULTI_THREAD} is active.
+     */
+    private static final int PARALLEL_CHUNK_SIZE = 1024;
+
+    /**
+     * Number of threads used to render feature chunks.
+     */
+    private static final int PARALLEL_NB_THREAD = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Threads rendering feature chunks, shared by all layers.
+     */
+    private static final ExecutorService PARALLEL_EXECUTOR = Executors.newFixedThreadPool(PARALLEL_NB_THREAD, (Runnable r) -> {
+        final Thread thread = new Thread(r, "Feature layer rendering");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     protected StorageListener.Weak weakSessionListener = new StorageListener.Weak(this);
 
     protected final StatelessContextParams params;
@@ -968,6 +997,88 @@ public class StatelessFeatureLayerJ2D extends StatelessMapLayerJ2D<FeatureMapLay
 
     }
 
+    /**
+     * Paint a chunk of features in a private buffer, with its own rendering
+     * context and renderers so it can run concurrently with other painters.
+     */
+    private final class ChunkPainter implements Callable<Boolean>, Iterator<ProjectedObject> {
+
+        private final BufferedImage buffer;
+        private final RenderingContext2D context;
+        private final DefaultCachedRule renderers;
+        private final ProjectedFeature projected;
+        private List<Feature> chunk;
+        private int index;
+
+        /**
+         * Must be created by the rendering thread, renderers creation is not concurrent.
+         */
+        ChunkPainter(final RenderingContext2D parent, final CachedRule[] rules, final BufferedImage buffer) {
+            this.buffer = buffer;
+            this.context = parent.create(buffer.createGraphics());
+            //rules are sorted by the cached rule, work on a copy
+            this.renderers = new DefaultCachedRule(rules.clone(), context);
+
+            final StatelessContextParams<FeatureMapLayer> params = new StatelessContextParams<>(getCanvas(), item);
+            params.update(context);
+            if(symbolsMargin>0 && params.objectiveJTSEnvelope!=null){
+                params.objectiveJTSEnvelope = new org.locationtech.jts.geom.Envelope(params.objectiveJTSEnvelope);
+                params.objectiveJTSEnvelope.expandBy(symbolsMargin);
+            }
+            this.projected = new ProjectedFeature(params);
+        }
+
+        @Override
+        public Boolean call() throws PortrayalException {
+            index = 0;
+            //performance routine, only one symbol to render
+            if(renderers.rules.length == 1
+               && (renderers.rules[0].getFilter() == null || renderers.rules[0].getFilter() == Filter.INCLUDE)
+               && renderers.rules[0].symbolizers().length == 1){
+                return renderers.renderers[0][0].portray(this);
+            }
+
+            final CanvasMonitor monitor = context.getMonitor();
+            boolean dataRendered = false;
+            while(hasNext()){
+                if(monitor.stopRequested()) return dataRendered;
+                dataRendered |= portray(renderers, next());
+            }
+            return dataRendered;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < chunk.size();
+        }
+
+        @Override
+        public ProjectedFeature next() {
+            projected.setCandidate(chunk.get(index++));
+            return projected;
+        }
+
+        /**
+         * Paint the buffer on the given context and clear it for the next chunk.
+         */
+        void merge(final RenderingContext2D target) {
+            target.switchToDisplayCRS();
+            final Graphics2D g = target.getGraphics();
+            g.setComposite(ALPHA_COMPOSITE_1F);
+            g.drawImage(buffer, 0, 0, null);
+
+            final Graphics2D clear = buffer.createGraphics();
+            clear.setComposite(AlphaComposite.Clear);
+            clear.fillRect(0, 0, buffer.getWidth(), buffer.getHeight());
+            clear.dispose();
+        }
+
+        void dispose() {
+            context.getGraphics().dispose();
+            recycleBufferedImage(buffer);
+        }
+    }
+
     /**
      * @return the valid rules at this scale, selection rules will be mixed in.
      */
@@ -1131,6 +1242,9 @@ public class StatelessFeatureLayerJ2D extends StatelessMapLayerJ2D<FeatureMapLay
             }
         }else{
             try{
+                if(isParallelRendering(rules)){
+                    return renderByObjectOrderParallel(candidates, context, rules, params);
+                }
                 return renderByObjectOrder(candidates, context, rules, params);
             }catch(PortrayalException ex){
                 monitor.exceptionOccured(ex, Level.WARNING);
@@ -1177,38 +1291,143 @@ public class StatelessFeatureLayerJ2D extends StatelessMapLayerJ2D<FeatureMapLay
             boolean dataRendered = false;
             while(statefullIterator.hasNext()){
                 if(monitor.stopRequested()) return dataRendered;
-                final ProjectedObject projectedCandidate = statefullIterator.next();
+                dataRendered |= portray(renderers, statefullIterator.next());
+            }
 
-                boolean painted = false;
-                for(int i=0; i<renderers.elseRuleIndex; i++){
-                    final CachedRule rule = renderers.rules[i];
-                    final Filter ruleFilter = rule.getFilter();
-                    //test if the rule is valid for this feature
-                    if (ruleFilter == null || ruleFilter.evaluate(projectedCandidate.getCandidate())) {
-                        painted = true;
-                        for (final SymbolizerRenderer renderer : renderers.renderers[i]) {
-                            dataRendered |= renderer.portray(projectedCandidate);
-                        }
+            return dataRendered;
+        }finally{
+            try {
+                statefullIterator.close();
+            } catch (IOException ex) {
+                getLogger().log(Level.WARNING, null, ex);
+            }
+        }
+    }
+
+    /**
+     * Paint a single object with the first matching rules, or with the 'else'
+     * rules if none matched.
+     *
+     * @return true if something has been painted
+     */
+    private static boolean portray(final DefaultCachedRule renderers, final ProjectedObject projectedCandidate)
+            throws PortrayalException {
+        boolean dataRendered = false;
+        boolean painted = false;
+        for(int i=0; i<renderers.elseRuleIndex; i++){
+            final CachedRule rule = renderers.rules[i];
+            final Filter ruleFilter = rule.getFilter();
+            //test if the rule is valid for this feature
+            if (ruleFilter == null || ruleFilter.evaluate(projectedCandidate.getCandidate())) {
+                painted = true;
+                for (final SymbolizerRenderer renderer : renderers.renderers[i]) {
+                    dataRendered |= renderer.portray(projectedCandidate);
+                }
+            }
+        }
+
+        //the feature hasn't been painted, paint it with the 'else' rules
+        if(!painted){
+            for(int i=renderers.elseRuleIndex; i<renderers.rules.length; i++){
+                final CachedRule rule = renderers.rules[i];
+                final Filter ruleFilter = rule.getFilter();
+                //test if the rule is valid for this feature
+                if (ruleFilter == null || ruleFilter.evaluate(projectedCandidate.getCandidate())) {
+                    for (final SymbolizerRenderer renderer : renderers.renderers[i]) {
+                        dataRendered |= renderer.portray(projectedCandidate);
                     }
                 }
+            }
+        }
+        return dataRendered;
+    }
 
-                //the feature hasn't been painted, paint it with the 'else' rules
-                if(!painted){
-                    for(int i=renderers.elseRuleIndex; i<renderers.rules.length; i++){
-                        final CachedRule rule = renderers.rules[i];
-                        final Filter ruleFilter = rule.getFilter();
-                        //test if the rule is valid for this feature
-                        if (ruleFilter == null || ruleFilter.evaluate(projectedCandidate.getCandidate())) {
-                            for (final SymbolizerRenderer renderer : renderers.renderers[i]) {
-                                dataRendered |= renderer.portray(projectedCandidate);
-                            }
-                        }
+    /**
+     * Render by object order using several threads.
+     * Features are read by chunks, each chunk is painted by a {@link ChunkPainter}
+     * in its own buffer. Buffers are merged in the reading order unless the layer
+     * has the {@link MapLayer#USERKEY_ORDER_INSENSITIVE} property, in which case
+     * each painter accumulates several chunks and is merged once at the end.
+     *
+     * @param candidates
+     * @param context
+     * @param rules
+     * @param params
+     * @throws PortrayalException
+     */
+    protected final boolean renderByObjectOrderParallel(final FeatureSet candidates,
+            final RenderingContext2D context, final CachedRule[] rules,
+            final StatelessContextParams params) throws PortrayalException{
+        final CanvasMonitor monitor = context.getMonitor();
+        final boolean ordered = !Boolean.TRUE.equals(item.getUserProperty(MapLayer.USERKEY_ORDER_INSENSITIVE));
+        //one more painter in ordered mode, so threads keep working while the oldest buffer is merged
+        final int maxPainters = ordered ? PARALLEL_NB_THREAD+1 : PARALLEL_NB_THREAD;
+
+        final GraphicIterator statefullIterator;
+        try {
+            statefullIterator = getIterator(candidates, context, params);
+        } catch (DataStoreException ex) {
+            throw new PortrayalException(ex.getMessage(), ex);
+        }
+
+        final Rectangle bounds = context.getCanvasDisplayBounds();
+        final ColorModel cm = ColorModel.getRGBdefault();
+        final SampleModel sm = cm.createCompatibleSampleModel(bounds.width, bounds.height);
+
+        final List<ChunkPainter> painters = new ArrayList<>();
+        final Deque<ChunkPainter> idle = new ArrayDeque<>();
+        final Deque<ChunkPainter> busy = new ArrayDeque<>();
+        final Deque<Future<Boolean>> pending = new ArrayDeque<>();
+
+        boolean dataRendered = false;
+        try{
+            final FeatureIterator ite = statefullIterator.ite;
+            while(ite.hasNext() && !monitor.stopRequested()){
+                final List<Feature> chunk = new ArrayList<>(PARALLEL_CHUNK_SIZE);
+                while(chunk.size() < PARALLEL_CHUNK_SIZE && ite.hasNext()){
+                    chunk.add(ite.next());
+                }
+
+                ChunkPainter painter = idle.poll();
+                if(painter == null){
+                    if(painters.size() < maxPainters){
+                        painter = new ChunkPainter(context, rules, createBufferedImage(cm, sm));
+                        painters.add(painter);
+                    }else{
+                        //wait for the oldest chunk
+                        dataRendered |= waitFor(pending.poll());
+                        painter = busy.poll();
+                        if(ordered) painter.merge(context);
                     }
                 }
+                painter.chunk = chunk;
+                pending.add(PARALLEL_EXECUTOR.submit(painter));
+                busy.add(painter);
             }
 
+            while(!pending.isEmpty()){
+                dataRendered |= waitFor(pending.poll());
+                final ChunkPainter painter = busy.poll();
+                if(ordered) painter.merge(context);
+            }
+            if(!ordered){
+                for(ChunkPainter painter : painters){
+                    painter.merge(context);
+                }
+            }
             return dataRendered;
         }finally{
+            //buffers can not be released while a thread is still painting in it
+            for(Future<Boolean> future : pending){
+                try {
+                    future.get();
+                } catch (InterruptedException | ExecutionException ex) {
+                    getLogger().log(Level.FINE, null, ex);
+                }
+            }
+            for(ChunkPainter painter : painters){
+                painter.dispose();
+            }
             try {
                 statefullIterator.close();
             } catch (IOException ex) {
@@ -1217,6 +1436,45 @@ public class StatelessFeatureLayerJ2D extends StatelessMapLayerJ2D<FeatureMapLay
         }
     }
 
+    /**
+     * Wait for a chunk to be painted.
+     *
+     * @return true if something has been painted
+     */
+    private static boolean waitFor(final Future<Boolean> future) throws PortrayalException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new PortrayalException(ex);
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if(cause instanceof PortrayalException){
+                throw (PortrayalException) cause;
+            }
+            throw new PortrayalException(cause);
+        }
+    }
+
+    /**
+     * Test if the layer can be painted with {@link #renderByObjectOrderParallel }.
+     * Text symbolizers are excluded since labels are collected in a single
+     * label renderer shared by all rendering contexts.
+     */
+    private boolean isParallelRendering(final CachedRule[] rules){
+        if(!GO2Hints.MULTI_THREAD_ON.equals(canvas.getRenderingHint(GO2Hints.KEY_MULTI_THREAD))){
+            return false;
+        }
+        for(CachedRule rule : rules){
+            for(CachedSymbolizer symbolizer : rule.symbolizers()){
+                if(symbolizer.getSource() instanceof TextSymbolizer){
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     /**
      * render by symbol order.
      * @param candidates
@@ -126,6 +126,10 @@ public class ProjectedFeature extends DefaultProjectedObject<Feature> {
         //check that the geometry is set
         if(!proj.isSet()){
             proj.setDataGeometry(GO2Utilities.getGeometry(candidate, geomExp),dataCRS);
+            if(params.geometryCache != null){
+                final FeatureId id = getFeatureId();
+                proj.setCacheKey((id == null) ? null : id.getID(), geomExp);
+            }
         }
 
         return proj;
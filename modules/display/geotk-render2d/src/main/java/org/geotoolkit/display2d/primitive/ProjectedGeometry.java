@@ -21,6 +21,7 @@ import org.locationtech.jts.geom.Envelope;
 import java.awt.Shape;
 import java.util.Arrays;
 import java.util.logging.Level;
+import org.geotoolkit.display2d.container.stateless.ObjectiveGeometryCache;
 import org.geotoolkit.display2d.container.stateless.StatelessContextParams;
 import org.geotoolkit.geometry.jts.awt.JTSGeometryJ2D;
 import org.geotoolkit.geometry.isoonjts.JTSUtils;
@@ -30,6 +31,7 @@ import org.geotoolkit.geometry.jts.transform.CoordinateSequenceWrapTransformer;
 import org.geotoolkit.geometry.jts.transform.GeometryCSTransformer;
 import org.geotoolkit.internal.referencing.CRSUtilities;
 import org.apache.sis.referencing.CRS;
+import org.opengis.filter.expression.Expression;
 import org.opengis.geometry.Geometry;
 import org.opengis.referencing.crs.CoordinateReferenceSystem;
 import org.opengis.referencing.operation.MathTransform2D;
@@ -69,6 +71,10 @@ public class ProjectedGeometry  {
 
     private boolean geomSet = false;
 
+    //identifier of the geometry in the objective geometry cache
+    private String cacheFeatureId = null;
+    private Expression cacheGeomExp = null;
+
     private CoordinateReferenceSystem dataCRS = null;
 
     public ProjectedGeometry(final StatelessContextParams params){
@@ -89,6 +95,8 @@ public class ProjectedGeometry  {
         this.displayGeometryISO     = null;
         this.displayShape           = null;
         this.geomSet                = copy.geomSet;
+        this.cacheFeatureId         = copy.cacheFeatureId;
+        this.cacheGeomExp           = copy.cacheGeomExp;
     }
 
     public void setDataGeometry(final org.locationtech.jts.geom.Geometry geom, CoordinateReferenceSystem dataCRS){
@@ -112,6 +120,18 @@ public class ProjectedGeometry  {
         }
     }
 
+    /**
+     * Identify the data geometry in the objective geometry cache of the context parameters.
+     * Has no effect if the cache is not active.
+     *
+     * @param featureId feature identifier, null to disable caching for this geometry
+     * @param geomExp geometry expression
+     */
+    public void setCacheKey(final String featureId, final Expression geomExp){
+        this.cacheFeatureId = featureId;
+        this.cacheGeomExp = geomExp;
+    }
+
     public MathTransform2D getDataToDisplay() {
         return dataToDisplay;
     }
@@ -133,6 +153,8 @@ public class ProjectedGeometry  {
         dataGeometryISO = null;
         dataGeometryJTS = null;
         dataShape = null;
+        cacheFeatureId = null;
+        cacheGeomExp = null;
     }
 
     public void clearObjectiveCache(){
@@ -180,8 +202,15 @@ public class ProjectedGeometry  {
                 //we assume data and objective are in the same crs
                 objBase = dataGeometryJTS;
             }else{
-                final GeometryCSTransformer transformer = new GeometryCSTransformer(new CoordinateSequenceMathTransformer(dataToObjective));
-                objBase = transformer.transform(getDataGeometryJTS());
+                final ObjectiveGeometryCache cache = (cacheFeatureId == null) ? null : params.geometryCache;
+                objBase = (cache == null) ? null : cache.get(params.geometryCacheLevel, cacheFeatureId, cacheGeomExp);
+                if(objBase == null){
+                    final GeometryCSTransformer transformer = new GeometryCSTransformer(new CoordinateSequenceMathTransformer(dataToObjective));
+                    objBase = transformer.transform(getDataGeometryJTS());
+                    if(cache != null){
+                        cache.put(params.geometryCacheLevel, cacheFeatureId, cacheGeomExp, objBase);
+                    }
+                }
             }
 
 
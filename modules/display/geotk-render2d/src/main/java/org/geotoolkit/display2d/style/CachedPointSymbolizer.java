@@ -95,20 +95,26 @@ public class CachedPointSymbolizer extends CachedSymbolizer<PointSymbolizer>{
         if(cacheWithoutRotation != null){
             if(withRotation){
                 //means the graphic is static, so we can cache fixed size images
-                BufferedImage buffer = cacheWithRotation.get(coeff);
-                if(buffer == null){
-                    buffer = cachedGraphic.getImage(candidate, null, coeff, withRotation, hints);
-                    cacheWithRotation.put(coeff, buffer);
+                //cached symbolizers are shared between rendering threads
+                synchronized(cacheWithRotation){
+                    BufferedImage buffer = cacheWithRotation.get(coeff);
+                    if(buffer == null){
+                        buffer = cachedGraphic.getImage(candidate, null, coeff, withRotation, hints);
+                        cacheWithRotation.put(coeff, buffer);
+                    }
+                    return buffer;
                 }
-                return buffer;
             }else{
                 //means the graphic is static, so we can cache fixed size images
-                BufferedImage buffer = cacheWithoutRotation.get(coeff);
-                if(buffer == null){
-                    buffer = cachedGraphic.getImage(candidate, null, coeff, withRotation, hints);
-                    cacheWithoutRotation.put(coeff, buffer);
+                //cached symbolizers are shared between rendering threads
+                synchronized(cacheWithoutRotation){
+                    BufferedImage buffer = cacheWithoutRotation.get(coeff);
+                    if(buffer == null){
+                        buffer = cachedGraphic.getImage(candidate, null, coeff, withRotation, hints);
+                        cacheWithoutRotation.put(coeff, buffer);
+                    }
+                    return buffer;
                 }
-                return buffer;
             }
         }
 
@@ -26,6 +26,7 @@ import org.opengis.feature.Feature;
 import org.opengis.feature.FeatureType;
 import org.opengis.filter.Filter;
 import org.opengis.style.Rule;
+import org.opengis.style.Style;
 import org.opengis.style.Symbolizer;
 
 /**
@@ -41,13 +42,22 @@ public class CachedRule extends Cache<Rule>{
     private final Filter preparedFilter;
 
     public CachedRule(final Rule source,final FeatureType expected){
+        this(source, expected, null);
+    }
+
+    /**
+     * @param source rule to cache
+     * @param expected feature type, used to optimize the rule, can be null
+     * @param owner style containing the rule, can be null
+     */
+    public CachedRule(final Rule source,final FeatureType expected, final Style owner){
         super(source);
 
         final List<? extends Symbolizer> ruleSymbols = source.symbolizers();
         final CachedSymbolizer[] array = new CachedSymbolizer[ruleSymbols.size()];
         int i=0;
         for(Symbolizer symbol : ruleSymbols){
-            final CachedSymbolizer cs = GO2Utilities.getCached(symbol,expected);
+            final CachedSymbolizer cs = GO2Utilities.getCached(symbol,expected,owner);
             if(cs != null){
                 array[i] = cs;
                 i++;
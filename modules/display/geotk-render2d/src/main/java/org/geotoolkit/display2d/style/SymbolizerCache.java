@@ -0,0 +1,317 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.display2d.style;
+
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.sis.util.ArgumentChecks;
+import org.geotoolkit.sld.MutableLayerStyle;
+import org.geotoolkit.style.MutableFeatureTypeStyle;
+import org.geotoolkit.style.StyleListener;
+import org.geotoolkit.util.collection.CollectionChangeEvent;
+import org.opengis.feature.FeatureType;
+import org.opengis.style.Symbolizer;
+
+/**
+ * Concurrent cache of {@link CachedSymbolizer}, shared by all rendering threads.
+ * <br/>
+ * Symbolizers are identified by instance and by the feature type they were
+ * prepared for. When the cache grows above its maximum size, the least recently
+ * used entries are removed. Entries registered with a mutable style are removed
+ * as soon as this style fires a change event.
+ * <br/>
+ * Cached symbolizers are fully evaluated before being shared.
+ *
+ * @module
+ */
+public final class SymbolizerCache {
+
+    private final Map<Key,Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Number of cache entries for each style, listener is registered
+     * on the style while it owns entries.
+     */
+    private final Map<MutableLayerStyle,Integer> owners = new IdentityHashMap<>();
+    private final StyleListener listener = new Invalidator();
+
+    private final AtomicLong clock = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile int maximumSize;
+
+    /**
+     * @param maximumSize maximum number of cached symbolizers
+     */
+    public SymbolizerCache(final int maximumSize) {
+        setMaximumSize(maximumSize);
+    }
+
+    /**
+     * @return maximum number of cached symbolizers
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Change the maximum number of cached symbolizers.
+     * Extra entries are removed on next insertion.
+     *
+     * @param maximumSize new maximum size, must be positive
+     */
+    public void setMaximumSize(final int maximumSize) {
+        ArgumentChecks.ensureStrictlyPositive("maximumSize", maximumSize);
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Get a cached symbolizer.
+     *
+     * @param symbol source symbolizer
+     * @param expected feature type the symbolizer has been prepared for, can be null
+     * @return CachedSymbolizer or null if not in the cache
+     */
+    public CachedSymbolizer get(final Symbolizer symbol, final FeatureType expected) {
+        final Entry entry = entries.get(new Key(symbol, expected));
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        entry.lastAccess = clock.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * Store a cached symbolizer. If another thread already stored a value
+     * for the same symbolizer, this previous value is returned.
+     *
+     * @param symbol source symbolizer
+     * @param expected feature type the symbolizer has been prepared for, can be null
+     * @param owner style containing the symbolizer, can be null
+     * @param value cached symbolizer
+     * @return the cached symbolizer to use
+     */
+    public CachedSymbolizer put(final Symbolizer symbol, final FeatureType expected,
+            final Object owner, final CachedSymbolizer value) {
+        //evaluate now, lazy evaluation is not thread safe
+        value.evaluate();
+
+        final MutableLayerStyle style = (owner instanceof MutableLayerStyle) ? (MutableLayerStyle) owner : null;
+        final Entry entry = new Entry(value, style, clock.incrementAndGet());
+        final Entry previous = ((ConcurrentHashMap<Key,Entry>) entries).putIfAbsent(new Key(symbol, expected), entry);
+        if (previous != null) {
+            return previous.value;
+        }
+        if (style != null) {
+            register(style);
+        }
+        if (entries.size() > maximumSize) {
+            evict();
+        }
+        return value;
+    }
+
+    /**
+     * Remove all symbolizers of the given style.
+     *
+     * @param style style to invalidate
+     */
+    public void invalidate(final Object style) {
+        for (final Iterator<Map.Entry<Key,Entry>> ite = entries.entrySet().iterator(); ite.hasNext();) {
+            final Map.Entry<Key,Entry> candidate = ite.next();
+            final Entry entry = candidate.getValue();
+            if (entry.owner == style && entries.remove(candidate.getKey(), entry)) {
+                unregister(entry.owner);
+            }
+        }
+    }
+
+    /**
+     * Remove all cached symbolizers.
+     * Metrics are not reset.
+     */
+    public void clear() {
+        for (Map.Entry<Key,Entry> candidate : entries.entrySet()) {
+            final Entry entry = candidate.getValue();
+            if (entries.remove(candidate.getKey(), entry) && entry.owner != null) {
+                unregister(entry.owner);
+            }
+        }
+    }
+
+    /**
+     * @return number of cached symbolizers
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return number of successful lookups
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of failed lookups
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of symbolizers removed because the cache was full
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return ratio of successful lookups, between 0 and 1, NaN if the cache was never used
+     */
+    public double getHitRate() {
+        final long hit = hits.sum();
+        final long total = hit + misses.sum();
+        return (total == 0) ? Double.NaN : (double) hit / total;
+    }
+
+    @Override
+    public String toString() {
+        return "SymbolizerCache[size=" + size() + ", hits=" + getHitCount()
+                + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + ']';
+    }
+
+    /**
+     * Remove the least recently used entries, a quarter of the cache at once
+     * to avoid sorting entries on each insertion.
+     */
+    private synchronized void evict() {
+        final int max = maximumSize;
+        if (entries.size() <= max) return;
+
+        final List<Map.Entry<Key,Entry>> candidates = new ArrayList<>(entries.entrySet());
+        Collections.sort(candidates, (Map.Entry<Key,Entry> e1, Map.Entry<Key,Entry> e2)
+                -> Long.compare(e1.getValue().lastAccess, e2.getValue().lastAccess));
+        int toRemove = candidates.size() - max + max / 4;
+        for (int i = 0; i < candidates.size() && toRemove > 0; i++) {
+            final Map.Entry<Key,Entry> candidate = candidates.get(i);
+            final Entry entry = candidate.getValue();
+            if (entries.remove(candidate.getKey(), entry)) {
+                evictions.increment();
+                toRemove--;
+                if (entry.owner != null) {
+                    unregister(entry.owner);
+                }
+            }
+        }
+    }
+
+    private void register(final MutableLayerStyle style) {
+        synchronized (owners) {
+            final Integer count = owners.get(style);
+            if (count == null) {
+                style.addListener(listener);
+                owners.put(style, 1);
+            } else {
+                owners.put(style, count + 1);
+            }
+        }
+    }
+
+    private void unregister(final MutableLayerStyle style) {
+        synchronized (owners) {
+            final Integer count = owners.get(style);
+            if (count == null) {
+                return;
+            } else if (count == 1) {
+                owners.remove(style);
+                style.removeListener(listener);
+            } else {
+                owners.put(style, count - 1);
+            }
+        }
+    }
+
+    /**
+     * Invalidate entries of a style when it changes.
+     */
+    private final class Invalidator implements StyleListener {
+
+        @Override
+        public void featureTypeStyleChange(final CollectionChangeEvent<MutableFeatureTypeStyle> event) {
+            invalidate(event.getSource());
+        }
+
+        @Override
+        public void propertyChange(final PropertyChangeEvent evt) {
+            invalidate(evt.getSource());
+        }
+    }
+
+    private static final class Entry {
+
+        private final CachedSymbolizer value;
+        private final MutableLayerStyle owner;
+        private volatile long lastAccess;
+
+        private Entry(final CachedSymbolizer value, final MutableLayerStyle owner, final long lastAccess) {
+            this.value = value;
+            this.owner = owner;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    /**
+     * Symbolizers and feature types are compared by identity.
+     */
+    private static final class Key {
+
+        private final Symbolizer symbol;
+        private final FeatureType expected;
+
+        private Key(final Symbolizer symbol, final FeatureType expected) {
+            this.symbol = symbol;
+            this.expected = expected;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(symbol) + System.identityHashCode(expected);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj instanceof Key) {
+                final Key other = (Key) obj;
+                return symbol == other.symbol && expected == other.expected;
+            }
+            return false;
+        }
+    }
+}
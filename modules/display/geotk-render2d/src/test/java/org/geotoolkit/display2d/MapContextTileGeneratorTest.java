@@ -0,0 +1,216 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.display2d;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Point;
+import java.awt.image.RenderedImage;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.sis.geometry.GeneralDirectPosition;
+import org.apache.sis.referencing.CommonCRS;
+import org.apache.sis.feature.builder.AttributeRole;
+import org.apache.sis.feature.builder.FeatureTypeBuilder;
+import org.apache.sis.storage.DataStoreException;
+import org.geotoolkit.coverage.io.CoverageStoreException;
+import org.geotoolkit.data.FeatureStoreUtilities;
+import org.geotoolkit.data.multires.AbstractMosaic;
+import org.geotoolkit.data.multires.DefaultPyramid;
+import org.geotoolkit.data.multires.Mosaic;
+import org.geotoolkit.data.multires.Pyramid;
+import org.geotoolkit.data.multires.Tile;
+import org.geotoolkit.display2d.service.CanvasDef;
+import org.geotoolkit.display2d.service.SceneDef;
+import org.geotoolkit.geometry.jts.JTS;
+import org.geotoolkit.map.MapBuilder;
+import org.geotoolkit.map.MapContext;
+import org.geotoolkit.storage.coverage.ImageTile;
+import org.geotoolkit.style.MutableStyleFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Polygon;
+import org.opengis.feature.Feature;
+import org.opengis.feature.FeatureType;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+
+/**
+ * Test pyramid generation of non raster contexts.
+ *
+ * @module
+ */
+public class MapContextTileGeneratorTest extends org.geotoolkit.test.TestBase {
+
+    private static final MutableStyleFactory SF = GO2Utilities.STYLE_FACTORY;
+    private static final CoordinateReferenceSystem CRS84 = CommonCRS.WGS84.normalizedGeographic();
+    private static final Dimension TILE_SIZE = new Dimension(64, 64);
+    private static final int NB_LEVEL = 3;
+
+    /**
+     * Pruned tiles must be equal to rendered tiles, with the default executor.
+     */
+    @Test
+    public void pruneUniformTilesTest() throws Exception {
+        comparePruned(null);
+    }
+
+    /**
+     * Pruned tiles must be equal to rendered tiles, with rendering done by the writing thread.
+     */
+    @Test
+    public void pruneUniformTilesCallerThreadTest() throws Exception {
+        comparePruned(Runnable::run);
+    }
+
+    /**
+     * Rendering tasks must not stay blocked on the write queue when writing fails.
+     */
+    @Test
+    public void writeFailureTest() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            generate(executor, false, true);
+            Assert.fail("Write error should have been thrown.");
+        } catch (DataStoreException ex) {
+            //expected
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+    }
+
+    private static void comparePruned(Executor executor) throws Exception {
+        final DefaultPyramid expected = generate(null, false, false);
+        final DefaultPyramid pruned = generate(executor, true, false);
+
+        for (int i = 0; i < NB_LEVEL; i++) {
+            final MemoryMosaic expectedMosaic = (MemoryMosaic) expected.getMosaics().get(i);
+            final MemoryMosaic prunedMosaic = (MemoryMosaic) pruned.getMosaics().get(i);
+            final Dimension gridSize = expectedMosaic.getGridSize();
+            Assert.assertEquals(gridSize.width * gridSize.height, expectedMosaic.tiles.size());
+            Assert.assertEquals(expectedMosaic.tiles.keySet(), prunedMosaic.tiles.keySet());
+
+            for (Map.Entry<Point,RenderedImage> entry : expectedMosaic.tiles.entrySet()) {
+                assertSameImage(entry.getValue(), prunedMosaic.tiles.get(entry.getKey()));
+            }
+        }
+    }
+
+    /**
+     * Generate a pyramid of a world covering polygon and a small polygon.
+     */
+    private static DefaultPyramid generate(Executor executor, boolean prune, boolean failWrite) throws Exception {
+        final FeatureTypeBuilder ftb = new FeatureTypeBuilder();
+        ftb.setName("test");
+        ftb.addAttribute(Polygon.class).setName("geom").setCRS(CRS84).addRole(AttributeRole.DEFAULT_GEOMETRY);
+        final FeatureType type = ftb.build();
+
+        final MapContext context = MapBuilder.createContext();
+        context.layers().add(MapBuilder.createFeatureLayer(FeatureStoreUtilities.collection(
+                polygon(type, -180, -90, 180, 90)), SF.style(SF.polygonSymbolizer(null, SF.fill(Color.BLUE), null))));
+        context.layers().add(MapBuilder.createFeatureLayer(FeatureStoreUtilities.collection(
+                polygon(type, 10, 10, 30, 30)), SF.style(SF.polygonSymbolizer(null, SF.fill(Color.RED), null))));
+
+        final DefaultPyramid pyramid = new DefaultPyramid(CRS84);
+        final GeneralDirectPosition upperLeft = new GeneralDirectPosition(CRS84);
+        upperLeft.setOrdinate(0, -180);
+        upperLeft.setOrdinate(1, 90);
+        for (int i = 0; i < NB_LEVEL; i++) {
+            final int n = 1 << i;
+            pyramid.getMosaicsInternal().add(new MemoryMosaic(pyramid, upperLeft,
+                    new Dimension(2 * n, n), 180.0 / TILE_SIZE.width / n, failWrite));
+        }
+
+        final MapContextTileGenerator generator = new MapContextTileGenerator(
+                new SceneDef(context), new CanvasDef(null, Color.WHITE));
+        generator.setExecutor(executor);
+        generator.setPruneUniformTiles(prune);
+        //a small queue forces rendering tasks to wait for the writer
+        generator.setWriteQueueCapacity(1);
+        generator.generate(pyramid, null, null, null);
+        return pyramid;
+    }
+
+    private static Feature polygon(FeatureType type, double minX, double minY, double maxX, double maxY) {
+        final Polygon poly = GO2Utilities.JTS_FACTORY.createPolygon(new Coordinate[]{
+            new Coordinate(minX, minY),
+            new Coordinate(minX, maxY),
+            new Coordinate(maxX, maxY),
+            new Coordinate(maxX, minY),
+            new Coordinate(minX, minY)});
+        JTS.setCRS(poly, CRS84);
+        final Feature feature = type.newInstance();
+        feature.setPropertyValue("geom", poly);
+        return feature;
+    }
+
+    private static void assertSameImage(RenderedImage expected, RenderedImage image) {
+        Assert.assertNotNull(image);
+        Assert.assertEquals(expected.getWidth(), image.getWidth());
+        Assert.assertEquals(expected.getHeight(), image.getHeight());
+        final int[] expectedPixel = new int[expected.getSampleModel().getNumBands()];
+        final int[] pixel = new int[image.getSampleModel().getNumBands()];
+        Assert.assertEquals(expectedPixel.length, pixel.length);
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                Assert.assertArrayEquals(expected.getData().getPixel(x, y, expectedPixel), image.getData().getPixel(x, y, pixel));
+            }
+        }
+    }
+
+    /**
+     * Mosaic keeping written tiles in memory.
+     */
+    private static final class MemoryMosaic extends AbstractMosaic {
+
+        private final Map<Point,RenderedImage> tiles = new ConcurrentHashMap<>();
+        private final boolean failWrite;
+
+        private MemoryMosaic(Pyramid pyramid, GeneralDirectPosition upperLeft, Dimension gridSize, double scale, boolean failWrite) {
+            super(pyramid, upperLeft, gridSize, TILE_SIZE, scale);
+            this.failWrite = failWrite;
+        }
+
+        @Override
+        protected boolean isWritable() throws CoverageStoreException {
+            return true;
+        }
+
+        @Override
+        protected void writeTile(Tile tile) throws DataStoreException {
+            if (failWrite) {
+                throw new DataStoreException("Write failure.");
+            }
+            try {
+                tiles.put(tile.getPosition(), ((ImageTile) tile).getImage());
+            } catch (IOException ex) {
+                throw new DataStoreException(ex.getMessage(), ex);
+            }
+        }
+
+        @Override
+        public Tile getTile(int col, int row, Map hints) throws DataStoreException {
+            throw new DataStoreException("Not supported.");
+        }
+    }
+}
@@ -27,9 +27,12 @@ import org.geotoolkit.display2d.style.CachedGraphic;
 import org.geotoolkit.display2d.style.CachedMark;
 import org.geotoolkit.display2d.style.CachedPointSymbolizer;
 import org.geotoolkit.display2d.style.CachedStroke;
+import org.geotoolkit.display2d.style.CachedSymbolizer;
+import org.geotoolkit.display2d.style.SymbolizerCache;
 import org.geotoolkit.display2d.style.VisibilityState;
 import org.geotoolkit.factory.FactoryFinder;
 import org.geotoolkit.style.DefaultStyleFactory;
+import org.geotoolkit.style.MutableStyle;
 import org.geotoolkit.style.MutableStyleFactory;
 import org.geotoolkit.style.StyleConstants;
 import org.geotoolkit.style.function.DefaultInterpolate;
@@ -256,4 +259,38 @@ public class StyleCacheTest extends org.geotoolkit.test.TestBase {
 
     }
 
+    @Test
+    public void symbolizerCacheTest() throws Exception {
+
+        final PointSymbolizer point = SF.pointSymbolizer(SF.graphic(), null);
+        final MutableStyle style = SF.style(point);
+
+        //same symbolizer must return the same cache
+        final CachedSymbolizer cached1 = GO2Utilities.getCached(point, null, style);
+        final CachedSymbolizer cached2 = GO2Utilities.getCached(point, null, style);
+        assertSame(cached1, cached2);
+
+        //a style change must drop its cached symbolizers
+        style.setName("modified");
+        final CachedSymbolizer cached3 = GO2Utilities.getCached(point, null, style);
+        assertNotSame(cached1, cached3);
+
+        //test size limit
+        final SymbolizerCache cache = new SymbolizerCache(2);
+        final PointSymbolizer p1 = SF.pointSymbolizer(SF.graphic(), null);
+        final PointSymbolizer p2 = SF.pointSymbolizer(SF.graphic(), null);
+        final PointSymbolizer p3 = SF.pointSymbolizer(SF.graphic(), null);
+        cache.put(p1, null, null, GO2Utilities.getCached(p1, null));
+        cache.put(p2, null, null, GO2Utilities.getCached(p2, null));
+        assertNotNull(cache.get(p1, null));
+        cache.put(p3, null, null, GO2Utilities.getCached(p3, null));
+        assertTrue(cache.size() <= 2);
+        assertEquals(1, cache.getEvictionCount());
+        //most recently used symbolizers are kept
+        assertNotNull(cache.get(p3, null));
+        assertEquals(2, cache.getHitCount());
+        assertNull(cache.get(p2, null));
+        assertEquals(1, cache.getMissCount());
+    }
+
 }
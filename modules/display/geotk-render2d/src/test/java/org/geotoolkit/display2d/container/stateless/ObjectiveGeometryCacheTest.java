@@ -0,0 +1,77 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.display2d.container.stateless;
+
+import org.apache.sis.feature.builder.AttributeRole;
+import org.apache.sis.feature.builder.FeatureTypeBuilder;
+import org.apache.sis.referencing.CommonCRS;
+import org.geotoolkit.data.FeatureStoreUtilities;
+import org.geotoolkit.display2d.GO2Utilities;
+import org.geotoolkit.map.FeatureMapLayer;
+import org.geotoolkit.map.MapBuilder;
+import org.geotoolkit.style.DefaultStyleFactory;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Point;
+import org.opengis.feature.Feature;
+import org.opengis.feature.FeatureType;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+
+/**
+ * Test objective geometries cache.
+ *
+ * @module
+ */
+public class ObjectiveGeometryCacheTest extends org.geotoolkit.test.TestBase {
+
+    @Test
+    public void testCache() {
+        final CoordinateReferenceSystem crs = CommonCRS.WGS84.normalizedGeographic();
+
+        final FeatureTypeBuilder ftb = new FeatureTypeBuilder();
+        ftb.setName("test");
+        ftb.addAttribute(Point.class).setName("geom").setCRS(crs).addRole(AttributeRole.DEFAULT_GEOMETRY);
+        final FeatureType type = ftb.build();
+        final Feature feature = type.newInstance();
+        feature.setPropertyValue("geom", GO2Utilities.JTS_FACTORY.createPoint(new Coordinate(0, 0)));
+
+        final FeatureMapLayer layer = MapBuilder.createFeatureLayer(
+                FeatureStoreUtilities.collection(feature), new DefaultStyleFactory().style());
+        final ObjectiveGeometryCache cache = ObjectiveGeometryCache.forLayer(layer);
+        assertSame(cache, ObjectiveGeometryCache.forLayer(layer));
+
+        //close resolutions share the same level
+        final Object level = cache.level(crs, 1.0);
+        assertSame(level, cache.level(crs, 1.2));
+        assertNotSame(level, cache.level(crs, 2.0));
+
+        final Geometry geom = GO2Utilities.JTS_FACTORY.createPoint(new Coordinate(10, 20));
+        cache.put(level, "id-1", null, geom);
+        assertSame(geom, cache.get(level, "id-1", null));
+        assertNull(cache.get(level, "id-2", null));
+        assertNull(cache.get(cache.level(crs, 2.0), "id-1", null));
+
+        //geometries of previous levels must not come back after a clear
+        cache.clear();
+        assertNull(cache.get(level, "id-1", null));
+        cache.put(level, "id-1", null, geom);
+        assertNull(cache.get(level, "id-1", null));
+        assertNotSame(level, cache.level(crs, 1.0));
+    }
+}
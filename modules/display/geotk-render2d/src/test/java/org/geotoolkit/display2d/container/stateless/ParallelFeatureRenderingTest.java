@@ -0,0 +1,137 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.display2d.container.stateless;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.sis.feature.builder.AttributeRole;
+import org.apache.sis.feature.builder.FeatureTypeBuilder;
+import org.apache.sis.geometry.GeneralEnvelope;
+import org.apache.sis.referencing.CommonCRS;
+import org.geotoolkit.data.FeatureCollection;
+import org.geotoolkit.data.FeatureStoreUtilities;
+import org.geotoolkit.display2d.GO2Hints;
+import org.geotoolkit.display2d.GO2Utilities;
+import org.geotoolkit.display2d.service.CanvasDef;
+import org.geotoolkit.display2d.service.DefaultPortrayalService;
+import org.geotoolkit.display2d.service.SceneDef;
+import org.geotoolkit.display2d.service.ViewDef;
+import org.geotoolkit.factory.Hints;
+import org.geotoolkit.geometry.jts.JTS;
+import org.geotoolkit.map.MapBuilder;
+import org.geotoolkit.map.MapContext;
+import org.geotoolkit.style.MutableFeatureTypeStyle;
+import org.geotoolkit.style.MutableRule;
+import org.geotoolkit.style.MutableStyle;
+import org.geotoolkit.style.MutableStyleFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Polygon;
+import org.opengis.feature.Feature;
+import org.opengis.feature.FeatureType;
+import org.opengis.filter.FilterFactory2;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+
+/**
+ * Test rendering of feature layers by several threads.
+ *
+ * @module
+ */
+public class ParallelFeatureRenderingTest extends org.geotoolkit.test.TestBase {
+
+    private static final FilterFactory2 FF = GO2Utilities.FILTER_FACTORY;
+    private static final MutableStyleFactory SF = GO2Utilities.STYLE_FACTORY;
+    private static final CoordinateReferenceSystem CRS84 = CommonCRS.WGS84.normalizedGeographic();
+
+    /**
+     * Parallel rendering must give the same image than sequential rendering.
+     * Features overlap and are more numerous than a rendering chunk, each one is
+     * painted with two symbolizers, so the order of chunks and symbolizers is visible.
+     */
+    @Test
+    public void parallelRenderingTest() throws Exception {
+        final FeatureTypeBuilder ftb = new FeatureTypeBuilder();
+        ftb.setName("test");
+        ftb.addAttribute(Integer.class).setName("category");
+        ftb.addAttribute(Polygon.class).setName("geom").setCRS(CRS84).addRole(AttributeRole.DEFAULT_GEOMETRY);
+        final FeatureType type = ftb.build();
+
+        final List<Feature> features = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            final double x = (i * 7) % 90;
+            final double y = (i * 13) % 90;
+            final Polygon poly = GO2Utilities.JTS_FACTORY.createPolygon(new Coordinate[]{
+                new Coordinate(x, y),
+                new Coordinate(x, y + 10),
+                new Coordinate(x + 10, y + 10),
+                new Coordinate(x + 10, y),
+                new Coordinate(x, y)});
+            JTS.setCRS(poly, CRS84);
+            final Feature feature = type.newInstance();
+            feature.setPropertyValue("category", i % 2);
+            feature.setPropertyValue("geom", poly);
+            features.add(feature);
+        }
+        final FeatureCollection collection = FeatureStoreUtilities.collection(type, features);
+
+        final MutableRule rule0 = SF.rule(
+                SF.polygonSymbolizer(null, SF.fill(Color.RED), null),
+                SF.lineSymbolizer(SF.stroke(Color.BLUE, 2), null));
+        rule0.setFilter(FF.equals(FF.property("category"), FF.literal(0)));
+        final MutableRule rule1 = SF.rule(
+                SF.polygonSymbolizer(null, SF.fill(Color.GREEN), null),
+                SF.lineSymbolizer(SF.stroke(Color.BLACK, 1), null));
+        rule1.setFilter(FF.equals(FF.property("category"), FF.literal(1)));
+        final MutableFeatureTypeStyle fts = SF.featureTypeStyle();
+        fts.rules().add(rule0);
+        fts.rules().add(rule1);
+        final MutableStyle style = SF.style();
+        style.featureTypeStyles().add(fts);
+
+        final MapContext context = MapBuilder.createContext();
+        context.layers().add(MapBuilder.createFeatureLayer(collection, style));
+
+        final BufferedImage sequential = render(context, false);
+        final BufferedImage parallel = render(context, true);
+
+        for (int y = 0; y < sequential.getHeight(); y++) {
+            for (int x = 0; x < sequential.getWidth(); x++) {
+                Assert.assertEquals("pixel ("+x+","+y+")", sequential.getRGB(x, y), parallel.getRGB(x, y));
+            }
+        }
+    }
+
+    private static BufferedImage render(MapContext context, boolean parallel) throws Exception {
+        //no antialiasing, pixels must be equal after buffers merge
+        final Hints hints = new Hints(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        if (parallel) {
+            hints.put(GO2Hints.KEY_MULTI_THREAD, GO2Hints.MULTI_THREAD_ON);
+        }
+        final GeneralEnvelope env = new GeneralEnvelope(CRS84);
+        env.setRange(0, 0, 100);
+        env.setRange(1, 0, 100);
+        return DefaultPortrayalService.portray(
+                new CanvasDef(new Dimension(200, 200), Color.WHITE),
+                new SceneDef(context, hints),
+                new ViewDef(env));
+    }
+}
@@ -86,6 +86,14 @@ public class MosaicImageReadParam extends ImageReadParam {
      */
     private boolean nullForEmptyImage;
 
+    /**
+     * If {@code true}, the {@linkplain MosaicImageReader mosaic image reader} is allowed
+     * to read many tiles concurrently.
+     *
+     * @see #isConcurrentReadAllowed
+     */
+    private boolean concurrentReadAllowed;
+
     /**
      * The tile readers obtained from the {@link MosaicImageReader} given at construction time,
      * or an empty map if none. Values are the parameters to be given to those readers, created
@@ -179,6 +187,33 @@ public class MosaicImageReadParam extends ImageReadParam {
         nullForEmptyImage = allowed;
     }
 
+    /**
+     * Returns {@code true} if the {@linkplain MosaicImageReader mosaic image reader} is allowed
+     * to read many tiles concurrently. The default value is {@code false}.
+     *
+     * @return {@code true} if tiles may be read concurrently.
+     */
+    public boolean isConcurrentReadAllowed() {
+        return concurrentReadAllowed;
+    }
+
+    /**
+     * Sets whatever the {@linkplain MosaicImageReader mosaic image reader} is allowed to read
+     * many tiles concurrently. If {@code true}, tiles are grouped by input, each group is read
+     * in a background thread with its own {@link ImageReader} instances, and the results are
+     * copied in the destination image as they complete. This is efficient for mosaics made of
+     * many small compressed tiles, where most of the time is spent in decoding.
+     * <p>
+     * This mode is ignored if a {@linkplain #setController controller} is installed, or if
+     * the read can be delegated to a single tile. If tiles overlap, the order in which the
+     * overlapping areas are written is unspecified.
+     *
+     * @param allowed {@code true} if tiles may be read concurrently.
+     */
+    public void setConcurrentReadAllowed(final boolean allowed) {
+        concurrentReadAllowed = allowed;
+    }
+
     /**
      * Returns the policy for {@link MosaicImageReader#getImageTypes computing image types}.
      * If no policy has been specified, then this method returns {@code null}. In the later
@@ -26,12 +26,20 @@ import java.awt.image.Raster;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
+import javax.imageio.IIOException;
 import javax.imageio.IIOParamController;
 import javax.imageio.ImageReadParam;
 import javax.imageio.ImageReader;
@@ -85,11 +93,33 @@ public class MosaicImageReader extends ImageReader implements LogProducer, Close
         int.class
     };
 
+    /**
+     * Number of threads used for concurrent tile reads.
+     */
+    private static final int NB_READ_THREAD = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Threads which read tiles when {@link MosaicImageReadParam#isConcurrentReadAllowed()}
+     * is {@code true}. Daemon threads, to not prevent the application to exit.
+     */
+    private static final ExecutorService READ_EXECUTOR = Executors.newFixedThreadPool(NB_READ_THREAD, (Runnable r) -> {
+        final Thread thread = new Thread(r, "MosaicImageReader tile reader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     /**
      * The cached {@link ImageReader} instances.
      */
     final TileReaderPool readers;
 
+    /**
+     * The cached {@link ImageReader} instances for concurrent reads which are not currently
+     * in use. Each concurrent task borrows its own pool, so a tile reader is never used by
+     * two threads at the same time. Accesses must be synchronized on this deque.
+     */
+    private final Deque<TileReaderPool> idleReaders = new ArrayDeque<>();
+
     /**
      * The reader currently under process of reading, or {@code null} if none. Used by
      * {@link #abort} only. Changes must be performed inside a {@code synchronized(this)} block.
@@ -256,6 +286,11 @@ public class MosaicImageReader extends ImageReader implements LogProducer, Close
             Logging.unexpectedException(LOGGER, MosaicImageReader.class, "setInput", e);
         }
         readers.setProviders(providers);
+        synchronized (idleReaders) {
+            for (final TileReaderPool pool : idleReaders) {
+                pool.setProviders(providers);
+            }
+        }
     }
 
     /**
@@ -368,6 +403,11 @@ public class MosaicImageReader extends ImageReader implements LogProducer, Close
     public void setLocale(final Locale locale) throws IllegalArgumentException {
         super.setLocale(locale); // May thrown an exception.
         readers.setLocale(locale);
+        synchronized (idleReaders) {
+            for (final TileReaderPool pool : idleReaders) {
+                pool.setLocale(locale);
+            }
+        }
     }
 
     /**
@@ -1099,6 +1139,16 @@ public class MosaicImageReader extends ImageReader implements LogProducer, Close
             startTime = 0;
             status = 0;
         }
+        /*
+         * In concurrent mode, the loop below only computes the regions to read, grouped by
+         * tile input. The groups are read in background threads after the loop.
+         */
+        final Map<Object,List<TileRead>> groups;
+        if (image != null && controller == null && tiles.size() > 1 && mosaicParam.isConcurrentReadAllowed()) {
+            groups = new LinkedHashMap<>();
+        } else {
+            groups = null;
+        }
         /*
          * Now read every tiles... The log record will be logged in the "finally" block in
          * every case, in order to help debugging in case of failure.
@@ -1211,6 +1261,15 @@ public class MosaicImageReader extends ImageReader implements LogProducer, Close
                     format(table, subsampling.width,   subsampling.height);
                     table.nextLine();
                 }
+                if (groups != null) {
+                    List<TileRead> group = groups.get(tile.getInput());
+                    if (group == null) {
+                        group = new ArrayList<>();
+                        groups.put(tile.getInput(), group);
+                    }
+                    group.add(new TileRead(tile, regionToRead, subsampling, destinationOffset));
+                    continue;
+                }
                 final ImageReader reader = getTileReader(tile);
                 final ImageReadParam tileParam = mosaicParam.getCachedTileParameters(reader);
                 final BufferedImage output;
@@ -1255,6 +1314,11 @@ public class MosaicImageReader extends ImageReader implements LogProducer, Close
                     image.setData(data);
                 }
             }
+            if (groups != null && !abortRequested()) {
+                if (readConcurrently(new ArrayList<>(groups.values()), image, mosaicParam)) {
+                    processReadAborted();
+                }
+            }
             status = 0; // Success.
         } finally {
             /*
@@ -1281,6 +1345,192 @@ public class MosaicImageReader extends ImageReader implements LogProducer, Close
         return image;
     }
 
+    /**
+     * A tile to be read by {@link #readConcurrently}, together with the parameters computed
+     * by {@link #read(int, ImageReadParam)}.
+     */
+    private static final class TileRead {
+        /** The tile to read. */
+        final Tile tile;
+
+        /** The region to read, in tile coordinates. */
+        final Rectangle region;
+
+        /** The subsampling to apply on the tile. */
+        final int xSubsampling, ySubsampling;
+
+        /** Location in the destination image where to copy the tile. */
+        final Point destination;
+
+        TileRead(final Tile tile, final Rectangle region, final Dimension subsampling, final Point destination) {
+            this.tile         = tile;
+            this.region       = new Rectangle(region);
+            this.xSubsampling = subsampling.width;
+            this.ySubsampling = subsampling.height;
+            this.destination  = new Point(destination);
+        }
+    }
+
+    /**
+     * Reads in a background thread all tiles of the same input, in order.
+     * Exceptions are stored instead than thrown, in order to be reported
+     * by {@link #readConcurrently} in the order of tiles.
+     */
+    private final class GroupRead implements Callable<GroupRead> {
+        /** Index of this group in the list of groups. */
+        final int index;
+
+        /** The tiles to read. */
+        final List<TileRead> reads;
+
+        /** Parameters from which to derive the tile parameters. */
+        private final MosaicImageReadParam mosaicParam;
+
+        /** The images read for each tile, or {@code null} for tiles not read. */
+        final BufferedImage[] results;
+
+        /** The exception thrown while reading, or {@code null} if none. */
+        Throwable failure;
+
+        GroupRead(final int index, final List<TileRead> reads, final MosaicImageReadParam mosaicParam) {
+            this.index       = index;
+            this.reads       = reads;
+            this.mosaicParam = mosaicParam;
+            this.results     = new BufferedImage[reads.size()];
+        }
+
+        @Override
+        public GroupRead call() {
+            TileReaderPool pool;
+            synchronized (idleReaders) {
+                pool = idleReaders.poll();
+            }
+            try {
+                if (pool == null) {
+                    pool = new TileReaderPool();
+                    pool.setProviders(readers.providers);
+                    pool.setLocale(locale);
+                }
+                final Map<ImageReader,ImageReadParam> parameters = new IdentityHashMap<>();
+                for (int i=0; i<results.length; i++) {
+                    if (abortRequested()) {
+                        break;
+                    }
+                    final TileRead read = reads.get(i);
+                    final ImageReader reader = read.tile.getImageReader(pool, true, true);
+                    ImageReadParam tileParam = parameters.get(reader);
+                    if (tileParam == null) {
+                        tileParam = mosaicParam.getTileParameters(reader);
+                        if (tileParam.canSetSourceRenderSize()) {
+                            tileParam.setSourceRenderSize(null);
+                        }
+                        parameters.put(reader, tileParam);
+                    }
+                    tileParam.setSourceRegion(read.region);
+                    tileParam.setSourceSubsampling(read.xSubsampling, read.ySubsampling, 0, 0);
+                    results[i] = reader.read(read.tile.getImageIndex(), tileParam);
+                }
+            } catch (Throwable e) {
+                failure = e;
+            } finally {
+                if (pool != null) {
+                    synchronized (idleReaders) {
+                        idleReaders.push(pool);
+                    }
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Reads the given groups of tiles in background threads and copies the results in the
+     * given image as they complete. At most two groups per thread are pending at any time.
+     * If some reads failed, the exception of the first failed tile (in iteration order) is
+     * thrown with the other exceptions as suppressed ones.
+     *
+     * @param  groups      The tiles to read, grouped by input.
+     * @param  image       The destination image.
+     * @param  mosaicParam Parameters from which to derive the tile parameters.
+     * @return {@code true} if the read has been aborted.
+     * @throws IOException if an error occurs during reading.
+     */
+    private boolean readConcurrently(final List<List<TileRead>> groups, final BufferedImage image,
+            final MosaicImageReadParam mosaicParam) throws IOException
+    {
+        final CompletionService<GroupRead> service = new ExecutorCompletionService<>(READ_EXECUTOR);
+        final List<GroupRead> failed = new ArrayList<>();
+        final int maxPending = 2 * NB_READ_THREAD;
+        int next = 0, pending = 0;
+        boolean stop = false;
+        while (true) {
+            while (!stop && pending < maxPending && next < groups.size()) {
+                service.submit(new GroupRead(next, groups.get(next), mosaicParam));
+                next++;
+                pending++;
+            }
+            if (pending == 0) {
+                break;
+            }
+            final GroupRead done;
+            try {
+                done = service.take().get();
+            } catch (InterruptedException e) {
+                abort(); // Stop the pending groups as soon as possible.
+                /*
+                 * Wait for the groups still running. Otherwise they would give back
+                 * their reader pool after this reader may have been disposed.
+                 */
+                while (pending != 0) {
+                    try {
+                        service.take();
+                        pending--;
+                    } catch (InterruptedException ignore) {
+                        // Keep waiting, the interrupt status is restored below.
+                    }
+                }
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(e.getLocalizedMessage());
+            } catch (ExecutionException e) {
+                throw new AssertionError(e); // Should never happen since GroupRead catches everything.
+            }
+            pending--;
+            if (done.failure != null) {
+                failed.add(done);
+                stop = true;
+            } else {
+                for (int i=0; i<done.results.length; i++) {
+                    final BufferedImage output = done.results[i];
+                    if (output != null) {
+                        Raster data = output.getRaster();
+                        data = Raster.createRaster(data.getSampleModel(), data.getDataBuffer(), done.reads.get(i).destination);
+                        image.setData(data);
+                    }
+                }
+            }
+            if (abortRequested()) {
+                stop = true;
+            }
+        }
+        if (!failed.isEmpty()) {
+            /*
+             * Groups are submitted in order and we waited for all of them, so every group
+             * before the first failed one has been read: the reported exception does not
+             * depend on threads scheduling.
+             */
+            Collections.sort(failed, (GroupRead g1, GroupRead g2) -> Integer.compare(g1.index, g2.index));
+            final Throwable cause = failed.get(0).failure;
+            for (int i=1; i<failed.size(); i++) {
+                cause.addSuppressed(failed.get(i).failure);
+            }
+            if (cause instanceof IOException)      throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error)            throw (Error) cause;
+            throw new IIOException(cause.getLocalizedMessage(), cause);
+        }
+        return next < groups.size() || abortRequested();
+    }
+
     /**
      * Logs the given record to the given logger.
      */
@@ -1344,6 +1594,11 @@ public class MosaicImageReader extends ImageReader implements LogProducer, Close
     @Override
     public void close() throws IOException {
         readers.close();
+        synchronized (idleReaders) {
+            for (final TileReaderPool pool : idleReaders) {
+                pool.close();
+            }
+        }
     }
 
     /**
@@ -1362,6 +1617,12 @@ public class MosaicImageReader extends ImageReader implements LogProducer, Close
             Logging.unexpectedException(LOGGER, MosaicImageReader.class, "dispose", e);
         }
         readers.dispose();
+        synchronized (idleReaders) {
+            for (final TileReaderPool pool : idleReaders) {
+                pool.dispose();
+            }
+            idleReaders.clear();
+        }
         super.dispose();
     }
 
@@ -222,6 +222,38 @@ public final strictfp class MosaicReadWriteTest extends ImageTestBase {
         reader.dispose();
     }
 
+    /**
+     * Reads the input mosaic with {@linkplain MosaicImageReadParam#setConcurrentReadAllowed(boolean)
+     * concurrent reads} enabled. The result shall be the same than sequential reads.
+     *
+     * @throws IOException If an I/O error occurred.
+     */
+    @Test
+    public void testConcurrentRead() throws IOException {
+        final MosaicImageReader reader = new MosaicImageReader();
+        reader.setInput(sourceMosaic);
+        MosaicImageReadParam param = reader.getDefaultReadParam();
+        param.setConcurrentReadAllowed(true);
+        image = reader.read(0, param);
+        assertEquals("Width",    4*S, image.getWidth ());
+        assertEquals("Height",   2*S, image.getHeight());
+        assertCurrentChecksumEquals("testConcurrentRead", IMAGE_CHECKSUMS);
+
+        param = reader.getDefaultReadParam();
+        param.setConcurrentReadAllowed(true);
+        param.setSourceSubsampling(4, 2, 0, 0);
+        image = reader.read(0, param);
+        assertEquals("Checksum", 329430756L, Commons.checksum(image));
+
+        param = reader.getDefaultReadParam();
+        param.setConcurrentReadAllowed(true);
+        param.setSourceRegion(new Rectangle(S/2, S/4, 3*S, S+S/2));
+        image = reader.read(0, param);
+        assertEquals("Checksum", 4259662989L, Commons.checksum(image));
+
+        reader.dispose();
+    }
+
     /**
      * Returns the builder to use for creating the target mosaic. The subsampling levels to create
      * must be supplied in argument. Some tests do not create tiles at the finest subsampling in
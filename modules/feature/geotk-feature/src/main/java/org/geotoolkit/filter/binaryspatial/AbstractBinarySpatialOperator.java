@@ -18,6 +18,8 @@
 package org.geotoolkit.filter.binaryspatial;
 
 import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.measure.Unit;
@@ -29,6 +31,7 @@ import static org.apache.sis.util.ArgumentChecks.*;
 import org.apache.sis.util.ObjectConverters;
 import org.apache.sis.util.UnconvertibleObjectException;
 import org.apache.sis.util.Utilities;
+import org.apache.sis.util.collection.Cache;
 import org.apache.sis.util.logging.Logging;
 import org.geotoolkit.coverage.Coverage;
 import org.geotoolkit.coverage.io.CoverageStoreException;
@@ -36,11 +39,15 @@ import org.geotoolkit.coverage.io.GridCoverageReader;
 import org.geotoolkit.geometry.isoonjts.spatialschema.geometry.AbstractJTSGeometry;
 import org.geotoolkit.geometry.jts.JTS;
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
 import org.opengis.feature.Feature;
 import org.opengis.feature.FeatureAssociationRole;
 import org.opengis.feature.PropertyNotFoundException;
 import org.opengis.feature.PropertyType;
 import org.opengis.filter.expression.Expression;
+import org.opengis.filter.expression.Literal;
 import org.opengis.filter.expression.PropertyName;
 import org.opengis.filter.spatial.BinarySpatialOperator;
 import org.opengis.referencing.NoSuchAuthorityCodeException;
@@ -62,6 +69,13 @@ public abstract class AbstractBinarySpatialOperator<E extends Expression,F exten
 
     protected static final Logger LOGGER = Logging.getLogger("org.geotoolkit.filter.binaryspatial");
     protected static final CoordinateReferenceSystem MERCATOR;
+    private static final PreparedGeometryFactory PREPARED_FACTORY = new PreparedGeometryFactory();
+
+    /**
+     * Transforms between coordinate reference systems, shared by all filters.
+     */
+    private static final Cache<Map.Entry<CoordinateReferenceSystem,CoordinateReferenceSystem>,MathTransform> TRANSFORMS =
+            new Cache<>(12, 50, false);
 
     static{
         try {
@@ -75,6 +89,10 @@ public abstract class AbstractBinarySpatialOperator<E extends Expression,F exten
     protected final E left;
     protected final F right;
 
+    //cache literal operands geometry
+    private transient volatile PreparedLiteral preparedLeft;
+    private transient volatile PreparedLiteral preparedRight;
+
     protected AbstractBinarySpatialOperator(final E left, final F right){
         ensureNonNull("left", left);
         ensureNonNull("right", right);
@@ -145,6 +163,177 @@ public abstract class AbstractBinarySpatialOperator<E extends Expression,F exten
         return candidate;
     }
 
+    /**
+     * Find the transform between given coordinate reference systems.
+     * Transforms are cached, this method should be used instead of
+     * {@link CRS#findOperation} when evaluating features.
+     */
+    protected static MathTransform findTransform(final CoordinateReferenceSystem source, final CoordinateReferenceSystem target)
+            throws FactoryException {
+        final Map.Entry<CoordinateReferenceSystem,CoordinateReferenceSystem> key = new AbstractMap.SimpleImmutableEntry<>(source, target);
+        MathTransform trs = TRANSFORMS.peek(key);
+        if (trs == null) {
+            final Cache.Handler<MathTransform> handler = TRANSFORMS.lock(key);
+            try {
+                trs = handler.peek();
+                if (trs == null) {
+                    trs = CRS.findOperation(source, target, null).getMathTransform();
+                }
+            } finally {
+                handler.putAndUnlock(trs);
+            }
+        }
+        return trs;
+    }
+
+    /**
+     * Evaluate both operands and reproject them to the same CRS if needed and if possible.
+     * The right operand is reprojected, like {@link #toSameCRS(Geometry, Geometry)}.
+     *
+     * A literal operand is converted, reprojected and prepared only once for each
+     * CRS of the other operand. The prepared geometry is returned only if it can
+     * be tested against the other operand.
+     *
+     * @param object evaluated object
+     * @return operands geometries, or null if one of them is null
+     */
+    protected Operands toSameCRS(final Object object)
+            throws NoSuchAuthorityCodeException, FactoryException, TransformException{
+
+        final boolean leftLiteral = left instanceof Literal;
+        final boolean rightLiteral = right instanceof Literal;
+
+        if (rightLiteral && !leftLiteral) {
+            final Geometry leftGeom = toGeometry(object, left);
+            final PreparedLiteral literal = getPreparedLiteral(false);
+            if (leftGeom == null || literal == null) return null;
+            final PreparedGeometry prepared = literal.get(JTS.findCoordinateReferenceSystem(leftGeom));
+            return new Operands(leftGeom, prepared.getGeometry(), null, isPreparable(leftGeom) ? prepared : null);
+
+        } else if (leftLiteral && !rightLiteral) {
+            Geometry rightGeom = toGeometry(object, right);
+            final PreparedLiteral literal = getPreparedLiteral(true);
+            if (rightGeom == null || literal == null) return null;
+            final CoordinateReferenceSystem rightCRS = JTS.findCoordinateReferenceSystem(rightGeom);
+            if (literal.crs != null && rightCRS != null && !Utilities.equalsIgnoreMetadata(literal.crs, rightCRS)) {
+                rightGeom = JTS.transform(rightGeom, findTransform(rightCRS, literal.crs));
+            }
+            final PreparedGeometry prepared = literal.get(null);
+            return new Operands(prepared.getGeometry(), rightGeom, isPreparable(rightGeom) ? prepared : null, null);
+        }
+
+        final Geometry leftGeom = toGeometry(object, left);
+        final Geometry rightGeom = toGeometry(object, right);
+        if (leftGeom == null || rightGeom == null) return null;
+        final Geometry[] values = toSameCRS(leftGeom, rightGeom);
+        return new Operands(values[0], values[1], null, null);
+    }
+
+    private PreparedLiteral getPreparedLiteral(final boolean isLeft) throws FactoryException {
+        PreparedLiteral literal = isLeft ? preparedLeft : preparedRight;
+        if (literal == null) {
+            final Geometry geom = toGeometry(null, isLeft ? left : right);
+            if (geom == null) return null;
+            literal = new PreparedLiteral(geom);
+            if (isLeft) preparedLeft = literal;
+            else        preparedRight = literal;
+        }
+        return literal;
+    }
+
+    /**
+     * Prepared geometries do not support heterogeneous geometry collections.
+     */
+    private static boolean isPreparable(final Geometry geom) {
+        return geom.getClass() != GeometryCollection.class;
+    }
+
+    /**
+     * Both operands geometries, in the same CRS.
+     */
+    protected static final class Operands {
+
+        /**
+         * Left and right geometries.
+         */
+        public final Geometry left, right;
+
+        /**
+         * Prepared left or right geometry, null if operand is not a literal.
+         * At most one of them is not null.
+         */
+        public final PreparedGeometry preparedLeft, preparedRight;
+
+        private Operands(final Geometry left, final Geometry right,
+                final PreparedGeometry preparedLeft, final PreparedGeometry preparedRight) {
+            this.left = left;
+            this.right = right;
+            this.preparedLeft = preparedLeft;
+            this.preparedRight = preparedRight;
+        }
+
+        /**
+         * Test if operands intersect, using prepared geometry if any.
+         */
+        public boolean intersects() {
+            if (preparedLeft != null) return preparedLeft.intersects(right);
+            if (preparedRight != null) return preparedRight.intersects(left);
+            return left.intersects(right);
+        }
+
+        /**
+         * Test if left operand contains the right one, using prepared geometry if any.
+         */
+        public boolean contains() {
+            if (preparedLeft != null) return preparedLeft.contains(right);
+            if (preparedRight != null) return preparedRight.within(left);
+            return left.contains(right);
+        }
+
+        /**
+         * Test if left operand is within the right one, using prepared geometry if any.
+         */
+        public boolean within() {
+            if (preparedRight != null) return preparedRight.contains(left);
+            if (preparedLeft != null) return preparedLeft.within(right);
+            return left.within(right);
+        }
+    }
+
+    /**
+     * Literal geometry, prepared in the last requested CRS.
+     */
+    private static final class PreparedLiteral {
+
+        private final PreparedGeometry prepared;
+        private final CoordinateReferenceSystem crs;
+        private volatile Map.Entry<CoordinateReferenceSystem,PreparedGeometry> last;
+
+        private PreparedLiteral(final Geometry geom) throws FactoryException {
+            this.prepared = PREPARED_FACTORY.create(geom);
+            this.crs = JTS.findCoordinateReferenceSystem(geom);
+        }
+
+        /**
+         * Get literal geometry in given CRS.
+         *
+         * @param target wanted CRS, null for literal CRS
+         */
+        PreparedGeometry get(final CoordinateReferenceSystem target) throws FactoryException, TransformException {
+            if (target == null || crs == null || Utilities.equalsIgnoreMetadata(crs, target)) {
+                return prepared;
+            }
+            final Map.Entry<CoordinateReferenceSystem,PreparedGeometry> entry = last;
+            if (entry != null && (entry.getKey() == target || Utilities.equalsIgnoreMetadata(entry.getKey(), target))) {
+                return entry.getValue();
+            }
+            final Geometry geom = JTS.transform(prepared.getGeometry(), findTransform(crs, target));
+            final PreparedGeometry result = PREPARED_FACTORY.create(geom);
+            last = new AbstractMap.SimpleImmutableEntry<>(target, result);
+            return result;
+        }
+    }
+
     /**
      * Reproject geometries to the same CRS if needed and if possible.
      */
@@ -166,11 +355,54 @@ public abstract class AbstractBinarySpatialOperator<E extends Expression,F exten
         //we choose to reproject the right operand.
         //there is no special reason to make this choice but we must make one.
         //perhaps there could be a way to determine a the best crs ?
-        final MathTransform trs = CRS.findOperation(rightCRS, leftCRS, null).getMathTransform();
+        final MathTransform trs = findTransform(rightCRS, leftCRS);
 
         return new Geometry[]{leftGeom, JTS.transform(rightGeom, trs)};
     }
 
+    /**
+     * Evaluate both operands and reproject them to a CRS compatible with the requested unit,
+     * like {@link #toSameCRS(Geometry, Geometry, Unit)}.
+     *
+     * A literal operand is converted and reprojected only once for each matching CRS.
+     *
+     * @param object evaluated object
+     * @return Array[leftGeometry, rightGeometry, matchingCRS], or null if one of the geometries is null
+     */
+    protected Object[] toSameCRS(final Object object, final Unit unit)
+            throws NoSuchAuthorityCodeException, FactoryException, TransformException{
+
+        final boolean leftLiteral = left instanceof Literal;
+        final boolean rightLiteral = right instanceof Literal;
+
+        if (leftLiteral != rightLiteral) {
+            final Geometry geom = toGeometry(object, leftLiteral ? right : left);
+            final PreparedLiteral literal = getPreparedLiteral(leftLiteral);
+            if (geom == null || literal == null) return null;
+
+            if (literal.crs == null) {
+                //literal CRS is undefined, it can not be cached in another CRS
+                final Geometry literalGeom = literal.get(null).getGeometry();
+                return leftLiteral ? toSameCRS(literalGeom, geom, unit) : toSameCRS(geom, literalGeom, unit);
+            }
+
+            final CoordinateReferenceSystem geomCRS = JTS.findCoordinateReferenceSystem(geom);
+            final CoordinateReferenceSystem matchingCRS = leftLiteral ?
+                    findMatchingCRS(literal.crs, geomCRS, unit) :
+                    findMatchingCRS(geomCRS, literal.crs, unit);
+            final Geometry literalMatch = literal.get(matchingCRS).getGeometry();
+            final Geometry geomMatch = reproject(geom, (geomCRS == null) ? literal.crs : geomCRS, matchingCRS);
+            return leftLiteral ?
+                    new Object[]{literalMatch, geomMatch, matchingCRS} :
+                    new Object[]{geomMatch, literalMatch, matchingCRS};
+        }
+
+        final Geometry leftGeom = toGeometry(object, left);
+        final Geometry rightGeom = toGeometry(object, right);
+        if (leftGeom == null || rightGeom == null) return null;
+        return toSameCRS(leftGeom, rightGeom, unit);
+    }
+
     /**
      * Reproject one or both geometries to the same crs, the matching crs
      * will be compatible with the requested unit.
@@ -181,73 +413,64 @@ public abstract class AbstractBinarySpatialOperator<E extends Expression,F exten
 
         final CoordinateReferenceSystem leftCRS = JTS.findCoordinateReferenceSystem(leftGeom);
         final CoordinateReferenceSystem rightCRS = JTS.findCoordinateReferenceSystem(rightGeom);
+        final CoordinateReferenceSystem matchingCRS = findMatchingCRS(leftCRS, rightCRS, unit);
 
-        if(leftCRS == null && rightCRS == null){
+        if(matchingCRS == null){
             //bother geometries doesn't have a defined SRID, we assume that both
             //are in the same CRS
             return new Object[]{leftGeom, rightGeom, null};
+        }
+
+        //a geometry without CRS is assumed to be in the same CRS as the other one
+        return new Object[]{
+            reproject(leftGeom, (leftCRS == null) ? rightCRS : leftCRS, matchingCRS),
+            reproject(rightGeom, (rightCRS == null) ? leftCRS : rightCRS, matchingCRS),
+            matchingCRS};
+    }
+
+    /**
+     * Find the CRS in which both geometries are compared, it will be compatible
+     * with the requested unit. A null CRS is assumed to be the same as the other one.
+     *
+     * @return matching CRS, or null if both CRS are undefined
+     */
+    private static CoordinateReferenceSystem findMatchingCRS(final CoordinateReferenceSystem leftCRS,
+            final CoordinateReferenceSystem rightCRS, final Unit unit) throws TransformException{
+
+        if(leftCRS == null && rightCRS == null){
+            return null;
         } else if (leftCRS == null || rightCRS == null || Utilities.equalsIgnoreMetadata(leftCRS, rightCRS)) {
             //both are in the same CRS
-
             final CoordinateReferenceSystem geomCRS = (leftCRS == null) ? rightCRS : leftCRS;
-
             if(geomCRS.getCoordinateSystem().getAxis(0).getUnit().isCompatible(unit)){
                 //the geometries crs is compatible with the requested unit, nothing to reproject
-                return new Object[]{leftGeom,rightGeom,geomCRS};
-            }else{
-                //the crs unit is not compatible, we must reproject both geometries to a more appropriate crs
-                if(Units.METRE.isCompatible(unit)){
-                    //in that case we reproject to mercator EPSG:3395
-                    final MathTransform trs = CRS.findOperation(geomCRS, MERCATOR, null).getMathTransform();
-
-                    return new Object[]{
-                        JTS.transform(leftGeom,trs),
-                        JTS.transform(rightGeom,trs),
-                        MERCATOR};
-
-                }else{
-                    //we can not find a matching projection in this case
-                    throw new TransformException("Could not find a matching CRS for both geometries for unit :" + unit);
-                }
+                return geomCRS;
             }
-
         }else{
             //both have different CRS, try to find the most appropriate crs amoung both
-
-            final CoordinateReferenceSystem matchingCRS;
-            final Geometry leftMatch;
-            final Geometry rightMatch;
-
             if(leftCRS.getCoordinateSystem().getAxis(0).getUnit().isCompatible(unit)){
-                matchingCRS = leftCRS;
-                final MathTransform trs = CRS.findOperation(rightCRS, matchingCRS, null).getMathTransform();
-                rightMatch = JTS.transform(rightGeom, trs);
-                leftMatch = leftGeom;
+                return leftCRS;
             }else if(rightCRS.getCoordinateSystem().getAxis(0).getUnit().isCompatible(unit)){
-                matchingCRS = rightCRS;
-                final MathTransform trs = CRS.findOperation(leftCRS, matchingCRS, null).getMathTransform();
-                leftMatch = JTS.transform(leftGeom, trs);
-                rightMatch = rightGeom;
-            }else{
-                //the crs unit is not compatible, we must reproject both geometries to a more appropriate crs
-                if(Units.METRE.isCompatible(unit)){
-                    //in that case we reproject to mercator EPSG:3395
-                    matchingCRS = MERCATOR;
-
-                    MathTransform trs = CRS.findOperation(leftCRS, matchingCRS, null).getMathTransform();
-                    leftMatch = JTS.transform(leftGeom, trs);
-                    trs = CRS.findOperation(rightCRS, matchingCRS, null).getMathTransform();
-                    rightMatch = JTS.transform(rightGeom, trs);
-
-                }else{
-                    //we can not find a matching projection in this case
-                    throw new TransformException("Could not find a matching CRS for both geometries for unit :" + unit);
-                }
+                return rightCRS;
             }
+        }
 
-            return new Object[]{leftMatch,rightMatch,matchingCRS};
+        //the crs unit is not compatible, we must reproject both geometries to a more appropriate crs
+        if(Units.METRE.isCompatible(unit)){
+            //in that case we reproject to mercator EPSG:3395
+            return MERCATOR;
+        }else{
+            //we can not find a matching projection in this case
+            throw new TransformException("Could not find a matching CRS for both geometries for unit :" + unit);
         }
+    }
 
+    private static Geometry reproject(final Geometry geom, final CoordinateReferenceSystem source,
+            final CoordinateReferenceSystem target) throws FactoryException, TransformException{
+        if (Utilities.equalsIgnoreMetadata(source, target)) {
+            return geom;
+        }
+        return JTS.transform(geom, findTransform(source, target));
     }
 
     private static Object findFirstGeometry(Feature ca){
@@ -46,28 +46,25 @@ public class DefaultContains extends AbstractBinarySpatialOperator<Expression,Ex
      */
     @Override
     public boolean evaluate(final Object object) {
-        Geometry leftGeom = toGeometry(object, left);
-        Geometry rightGeom = toGeometry(object, right);
-
-        if(leftGeom == null || rightGeom == null){
-            return false;
-        }
-
-        final Geometry[] values;
+        final Operands values;
         try {
-            values = toSameCRS(leftGeom, rightGeom);
+            values = toSameCRS(object);
         } catch (FactoryException | TransformException ex) {
             Logging.getLogger("org.geotoolkit.filter.binaryspatial").log(Level.WARNING, null, ex);
             return false;
         }
-        leftGeom = values[0];
-        rightGeom = values[1];
+
+        if(values == null){
+            return false;
+        }
+        final Geometry leftGeom = values.left;
+        final Geometry rightGeom = values.right;
 
         final Envelope envLeft = leftGeom.getEnvelopeInternal();
         final Envelope envRight = rightGeom.getEnvelopeInternal();
 
         if (envLeft.contains(envRight)) {
-            return leftGeom.contains(rightGeom);
+            return values.contains();
         }
 
         return false;
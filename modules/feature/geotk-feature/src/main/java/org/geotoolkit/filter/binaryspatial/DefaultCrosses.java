@@ -46,22 +46,19 @@ public class DefaultCrosses extends AbstractBinarySpatialOperator<Expression,Exp
      */
     @Override
     public boolean evaluate(final Object object) {
-        Geometry leftGeom = toGeometry(object, left);
-        Geometry rightGeom = toGeometry(object, right);
-
-        if(leftGeom == null || rightGeom == null){
-            return false;
-        }
-
-        final Geometry[] values;
+        final Operands values;
         try {
-            values = toSameCRS(leftGeom, rightGeom);
+            values = toSameCRS(object);
         } catch (FactoryException | TransformException ex) {
             Logging.getLogger("org.geotoolkit.filter.binaryspatial").log(Level.WARNING, null, ex);
             return false;
         }
-        leftGeom = values[0];
-        rightGeom = values[1];
+
+        if(values == null){
+            return false;
+        }
+        final Geometry leftGeom = values.left;
+        final Geometry rightGeom = values.right;
 
         final Envelope envLeft = leftGeom.getEnvelopeInternal();
         final Envelope envRight = rightGeom.getEnvelopeInternal();
@@ -71,22 +71,19 @@ public class DefaultDWithin extends AbstractBinarySpatialOperator<Expression,Exp
      */
     @Override
     public boolean evaluate(final Object object) {
-        final Geometry leftGeom = toGeometry(object, left);
-        final Geometry rightGeom = toGeometry(object, right);
-
-        if(leftGeom == null || rightGeom == null){
-            return false;
-        }
-
         try {
-            final Object[] values = toSameCRS(leftGeom, rightGeom, unit);
+            final Object[] values = toSameCRS(object, unit);
+
+            if(values == null){
+                return false;
+            }
 
+            final Geometry leftMatch = (Geometry) values[0];
+            final Geometry rightMatch = (Geometry) values[1];
             if(values[2] == null){
                 //no matching crs was found, assume both have the same and valid unit
-                return leftGeom.isWithinDistance(rightGeom, distance);
+                return leftMatch.isWithinDistance(rightMatch, distance);
             }else{
-                final Geometry leftMatch = (Geometry) values[0];
-                final Geometry rightMatch = (Geometry) values[1];
                 final CoordinateReferenceSystem crs = (CoordinateReferenceSystem) values[2];
                 final UnitConverter converter = unit.getConverterTo(crs.getCoordinateSystem().getAxis(0).getUnit());
 
@@ -17,6 +17,11 @@
  */
 package org.geotoolkit.filter.binaryspatial;
 
+import java.util.Collections;
+import java.util.Map;
+import org.apache.sis.referencing.CRS;
+import org.apache.sis.referencing.CommonCRS;
+import org.geotoolkit.geometry.jts.JTS;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.LinearRing;
@@ -35,6 +40,7 @@ import org.opengis.filter.spatial.Intersects;
 import org.opengis.filter.spatial.Overlaps;
 import org.opengis.filter.spatial.Touches;
 import org.opengis.filter.spatial.Within;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
 import static org.junit.Assert.*;
 import static org.geotoolkit.filter.FilterTestConstants.*;
 
@@ -262,4 +268,60 @@ public class BinarySpatialTest extends org.geotoolkit.test.TestBase {
 
     }
 
+    /**
+     * Test filters with a literal operand in a different CRS than the evaluated geometries.
+     */
+    @Test
+    public void testLiteralReprojected() throws Exception {
+        final CoordinateReferenceSystem crs84 = CommonCRS.defaultGeographic();
+        final CoordinateReferenceSystem mercator = CRS.forCode("EPSG:3395");
+
+        final Geometry area = (Geometry) GEOM_CONTAINS.clone();
+        JTS.setCRS(area, crs84);
+
+        final Geometry inside = GF.createPoint(new Coordinate(5, 5));
+        final Geometry outside = GF.createPoint(new Coordinate(30, 5));
+        JTS.setCRS(inside, crs84);
+        JTS.setCRS(outside, crs84);
+        final Map<String,Object> candidateIn = Collections.singletonMap("testGeometry", (Object) JTS.transform(inside, mercator));
+        final Map<String,Object> candidateOut = Collections.singletonMap("testGeometry", (Object) JTS.transform(outside, mercator));
+
+        final Intersects intersect = FF.intersects(FF.property("testGeometry"), FF.literal(area));
+        final Within within = FF.within(FF.property("testGeometry"), FF.literal(area));
+        final Contains contains = FF.contains(FF.literal(area), FF.property("testGeometry"));
+        final Disjoint disjoint = FF.disjoint(FF.property("testGeometry"), FF.literal(area));
+
+        //evaluate twice to use cached geometries
+        for (int i = 0; i < 2; i++) {
+            assertTrue(intersect.evaluate(candidateIn));
+            assertFalse(intersect.evaluate(candidateOut));
+            assertTrue(within.evaluate(candidateIn));
+            assertFalse(within.evaluate(candidateOut));
+            assertTrue(contains.evaluate(candidateIn));
+            assertFalse(contains.evaluate(candidateOut));
+            assertFalse(disjoint.evaluate(candidateIn));
+            assertTrue(disjoint.evaluate(candidateOut));
+        }
+
+        //distance filters, the literal is reprojected in the metric CRS of the candidates
+        final Geometry center = GF.createPoint(new Coordinate(5, 5));
+        final Geometry near = GF.createPoint(new Coordinate(5, 5.001));
+        final Geometry far = GF.createPoint(new Coordinate(5, 5.1));
+        JTS.setCRS(center, crs84);
+        JTS.setCRS(near, crs84);
+        JTS.setCRS(far, crs84);
+        final Map<String,Object> candidateNear = Collections.singletonMap("testGeometry", (Object) JTS.transform(near, mercator));
+        final Map<String,Object> candidateFar = Collections.singletonMap("testGeometry", (Object) JTS.transform(far, mercator));
+
+        final DWithin dwithin = FF.dwithin(FF.property("testGeometry"), FF.literal(center), 1000, "m");
+        final Beyond beyond = FF.beyond(FF.literal(center), FF.property("testGeometry"), 1000, "m");
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(dwithin.evaluate(candidateNear));
+            assertFalse(dwithin.evaluate(candidateFar));
+            assertFalse(beyond.evaluate(candidateNear));
+            assertTrue(beyond.evaluate(candidateFar));
+        }
+    }
+
 }
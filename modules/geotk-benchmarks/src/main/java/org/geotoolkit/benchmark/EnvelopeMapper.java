@@ -0,0 +1,92 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.benchmark;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import org.apache.sis.geometry.GeneralEnvelope;
+import org.geotoolkit.index.tree.TreeElementMapper;
+import org.opengis.geometry.Envelope;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+
+/**
+ * {@link TreeElementMapper} keeping in memory the tree identifiers of envelopes
+ * given as {@code double[]} in {@code xmin, ymin, xmax, ymax} order.
+ */
+final class EnvelopeMapper implements TreeElementMapper<double[]> {
+
+    private final CoordinateReferenceSystem crs;
+    private final Map<double[],Integer> identifiers = new IdentityHashMap<>();
+    private final Map<Integer,double[]> objects = new HashMap<>();
+    private boolean isClosed;
+
+    EnvelopeMapper(final CoordinateReferenceSystem crs) {
+        this.crs = crs;
+    }
+
+    @Override
+    public int getTreeIdentifier(final double[] object) {
+        final Integer id = identifiers.get(object);
+        if (id == null) throw new IllegalStateException("impossible to found treeIdentifier.");
+        return id;
+    }
+
+    @Override
+    public Envelope getEnvelope(final double[] object) {
+        final GeneralEnvelope env = new GeneralEnvelope(crs);
+        env.setEnvelope(object);
+        return env;
+    }
+
+    @Override
+    public void setTreeIdentifier(final double[] object, final int treeIdentifier) {
+        identifiers.put(object, treeIdentifier);
+        objects.put(treeIdentifier, object);
+    }
+
+    @Override
+    public double[] getObjectFromTreeIdentifier(final int treeIdentifier) {
+        return objects.get(treeIdentifier);
+    }
+
+    @Override
+    public Map<Integer, double[]> getFullMap() {
+        return objects;
+    }
+
+    @Override
+    public void clear() {
+        identifiers.clear();
+        objects.clear();
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() throws IOException {
+        isClosed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return isClosed;
+    }
+}
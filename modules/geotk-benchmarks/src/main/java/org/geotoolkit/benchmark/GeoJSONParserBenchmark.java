@@ -0,0 +1,101 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.geotoolkit.data.geojson.binding.GeoJSONFeatureCollection;
+import org.geotoolkit.data.geojson.utils.GeoJSONParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parse a whole feature collection, either eagerly or lazily by iterating over the features.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GeoJSONParserBenchmark {
+
+    @Param({"false", "true"})
+    public boolean lazy;
+
+    @Param({"50000"})
+    public int count;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("geojson-benchmark", ".json");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("{\"type\":\"FeatureCollection\",\"features\":[");
+            for (int i = 0; i < count; i++) {
+                final double x = (i % 1000) * 0.1;
+                final double y = (i / 1000) * 0.1;
+                if (i != 0) writer.write(',');
+                writer.write(String.format(Locale.US,
+                        "{\"type\":\"Feature\",\"id\":%d,\"properties\":{\"name\":\"feature %d\",\"value\":%d},"
+                      + "\"geometry\":{\"type\":\"Polygon\",\"coordinates\":[[[%f,%f],[%f,%f],[%f,%f],[%f,%f],[%f,%f]]]}}",
+                        i, i, i, x, y, x + 0.05, y, x + 0.05, y + 0.05, x, y + 0.05, x, y));
+            }
+            writer.write("]}");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int parse() throws IOException {
+        final GeoJSONFeatureCollection collection = (GeoJSONFeatureCollection) GeoJSONParser.parse(file, lazy);
+        if (!lazy) {
+            return collection.getFeatures().size();
+        }
+        int n = 0;
+        try {
+            while (collection.hasNext()) {
+                collection.next();
+                n++;
+            }
+        } finally {
+            collection.close();
+        }
+        return n;
+    }
+}
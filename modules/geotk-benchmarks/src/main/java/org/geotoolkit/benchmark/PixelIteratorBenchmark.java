@@ -0,0 +1,95 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.benchmark;
+
+import java.awt.Dimension;
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.util.concurrent.TimeUnit;
+import org.geotoolkit.image.io.large.WritableLargeRenderedImage;
+import org.geotoolkit.image.iterator.PixelIterator;
+import org.geotoolkit.image.iterator.PixelIteratorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Read all samples of a tiled image with default and row major iterators.
+ * Byte and float images are traveled by direct iterators, integer images by generic ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PixelIteratorBenchmark {
+
+    @Param({"BYTE", "FLOAT", "INT"})
+    public String dataType;
+
+    @Param({"DEFAULT", "ROW_MAJOR"})
+    public String order;
+
+    @Param({"2048"})
+    public int size;
+
+    private WritableLargeRenderedImage image;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final int type;
+        switch (dataType) {
+            case "BYTE"  : type = DataBuffer.TYPE_BYTE;  break;
+            case "FLOAT" : type = DataBuffer.TYPE_FLOAT; break;
+            default      : type = DataBuffer.TYPE_INT;   break;
+        }
+        final ColorModel cm = new ComponentColorModel(ColorSpace.getInstance(ColorSpace.CS_sRGB),
+                false, false, Transparency.OPAQUE, type);
+        image = new WritableLargeRenderedImage(0, 0, size, size, new Dimension(256, 256), 0, 0,
+                cm, cm.createCompatibleSampleModel(256, 256));
+        final PixelIterator writer = PixelIteratorFactory.createDefaultWriteableIterator(image, image);
+        int i = 0;
+        while (writer.next()) {
+            writer.setSample(i++ & 0xFF);
+        }
+    }
+
+    @Benchmark
+    public double iterate() {
+        final PixelIterator it = "ROW_MAJOR".equals(order)
+                ? PixelIteratorFactory.createRowMajorIterator(image)
+                : PixelIteratorFactory.createDefaultIterator(image);
+        double sum = 0;
+        while (it.next()) {
+            sum += it.getSampleDouble();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.benchmark;
+
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.sis.internal.referencing.j2d.AffineTransform2D;
+import org.geotoolkit.image.interpolation.InterpolationCase;
+import org.geotoolkit.image.interpolation.Resample;
+import org.geotoolkit.image.interpolation.ResampleBorderComportement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opengis.referencing.operation.MathTransform;
+import org.opengis.referencing.operation.TransformException;
+
+/**
+ * Resample a gray scale image through a rotation, for each supported interpolation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ResampleBenchmark {
+
+    @Param({"NEIGHBOR", "BILINEAR", "BICUBIC", "LANCZOS"})
+    public InterpolationCase interpolation;
+
+    /**
+     * Number of worker threads, 0 to resample on the calling thread.
+     */
+    @Param({"0", "4"})
+    public int threads;
+
+    @Param({"1024"})
+    public int size;
+
+    private BufferedImage source;
+    private BufferedImage target;
+    private MathTransform destToSource;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        source = new BufferedImage(size, size, BufferedImage.TYPE_BYTE_GRAY);
+        target = new BufferedImage(size, size, BufferedImage.TYPE_BYTE_GRAY);
+        final WritableRaster raster = source.getRaster();
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                raster.setSample(x, y, 0, (x * 7 + y * 13) & 0xFF);
+            }
+        }
+        destToSource = new AffineTransform2D(AffineTransform.getRotateInstance(Math.PI / 12, size / 2.0, size / 2.0));
+        if (threads > 0) executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (executor != null) executor.shutdown();
+    }
+
+    @Benchmark
+    public BufferedImage resample() throws TransformException {
+        final Resample resample = new Resample(destToSource, target, source, interpolation,
+                ResampleBorderComportement.FILL_VALUE, new double[1]);
+        if (executor == null) {
+            resample.fillImage();
+        } else {
+            resample.fillImage(true, executor);
+        }
+        return target;
+    }
+}
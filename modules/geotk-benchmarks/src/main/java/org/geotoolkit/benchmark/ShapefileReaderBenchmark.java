@@ -0,0 +1,112 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.benchmark;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import org.apache.sis.storage.DataStoreException;
+import org.geotoolkit.data.shapefile.shp.ShapeType;
+import org.geotoolkit.data.shapefile.shp.ShapefileReader;
+import org.geotoolkit.data.shapefile.shp.ShapefileWriter;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sequential scan of all geometries of a polygon shapefile,
+ * through a buffered channel or a memory mapped buffer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ShapefileReaderBenchmark {
+
+    @Param({"false", "true"})
+    public boolean memoryMapped;
+
+    @Param({"100000"})
+    public int count;
+
+    private Path directory;
+    private Path shp;
+    private Path shx;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, DataStoreException {
+        directory = Files.createTempDirectory("shapefile-benchmark");
+        shp = directory.resolve("polygons.shp");
+        shx = directory.resolve("polygons.shx");
+
+        final GeometryFactory gf = new GeometryFactory();
+        final Geometry[] polygons = new Geometry[count];
+        for (int i = 0; i < count; i++) {
+            final double x = (i % 1000) * 0.1;
+            final double y = (i / 1000) * 0.1;
+            polygons[i] = gf.createPolygon(new Coordinate[]{
+                new Coordinate(x, y), new Coordinate(x + 0.05, y), new Coordinate(x + 0.05, y + 0.05),
+                new Coordinate(x + 0.02, y + 0.08), new Coordinate(x, y + 0.05), new Coordinate(x, y)});
+        }
+        try (FileChannel shpChannel = FileChannel.open(shp, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileChannel shxChannel = FileChannel.open(shx, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            new ShapefileWriter(shpChannel, shxChannel).write(gf.createGeometryCollection(polygons), ShapeType.POLYGON);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(shp);
+        Files.deleteIfExists(shx);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public int scan() throws IOException, DataStoreException {
+        int points = 0;
+        try (FileChannel shpChannel = FileChannel.open(shp, StandardOpenOption.READ);
+             FileChannel shxChannel = FileChannel.open(shx, StandardOpenOption.READ)) {
+            final ShapefileReader reader = new ShapefileReader(shpChannel, shxChannel, true, memoryMapped, false, null);
+            try {
+                while (reader.hasNext()) {
+                    points += ((Geometry) reader.nextRecord().shape()).getNumPoints();
+                }
+            } finally {
+                reader.close();
+            }
+        }
+        return points;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.sis.geometry.GeneralEnvelope;
+import org.apache.sis.referencing.CommonCRS;
+import org.geotoolkit.index.tree.StoreIndexException;
+import org.geotoolkit.index.tree.Tree;
+import org.geotoolkit.index.tree.hilbert.FileHilbertRTree;
+import org.geotoolkit.index.tree.star.FileStarRTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+
+/**
+ * Insertion and search in the file R-trees.
+ * Insertion benchmark builds a whole tree, search benchmark queries small random windows.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class TreeBenchmark {
+
+    @Param({"STAR", "HILBERT"})
+    public String tree;
+
+    @Param({"100000"})
+    public int count;
+
+    @Param({"20"})
+    public int maxElements;
+
+    private final CoordinateReferenceSystem crs = CommonCRS.WGS84.normalizedGeographic();
+    private double[][] envelopes;
+    private Path searchFile;
+    private Tree<double[]> searchTree;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, StoreIndexException {
+        random = new Random(42);
+        envelopes = new double[count][];
+        for (int i = 0; i < count; i++) {
+            final double x = random.nextDouble() * 359 - 180;
+            final double y = random.nextDouble() * 179 - 90;
+            envelopes[i] = new double[]{x, y, x + random.nextDouble(), y + random.nextDouble()};
+        }
+        searchFile = Files.createTempFile("tree-benchmark", ".bin");
+        searchTree = build(searchFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        searchTree.close();
+        Files.deleteIfExists(searchFile);
+    }
+
+    private Tree<double[]> build(final Path file) throws IOException, StoreIndexException {
+        final EnvelopeMapper mapper = new EnvelopeMapper(crs);
+        final Tree<double[]> result = "HILBERT".equals(tree)
+                ? new FileHilbertRTree<>(file, maxElements, 2, crs, mapper)
+                : new FileStarRTree<>(file, maxElements, crs, mapper);
+        for (final double[] envelope : envelopes) {
+            result.insert(envelope);
+        }
+        result.flush();
+        return result;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public int insert() throws IOException, StoreIndexException {
+        final Path file = Files.createTempFile("tree-benchmark", ".bin");
+        try (Tree<double[]> result = build(file)) {
+            return result.getElementsNumber();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public int search() throws StoreIndexException {
+        final double x = random.nextDouble() * 350 - 180;
+        final double y = random.nextDouble() * 170 - 90;
+        final GeneralEnvelope window = new GeneralEnvelope(crs);
+        window.setEnvelope(x, y, x + 10, y + 10);
+        return searchTree.searchID(window).length;
+    }
+}
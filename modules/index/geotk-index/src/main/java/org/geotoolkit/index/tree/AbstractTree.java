@@ -18,6 +18,10 @@ package org.geotoolkit.index.tree;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
 import org.apache.sis.util.ArgumentChecks;
 import org.apache.sis.util.Classes;
 import org.opengis.geometry.Envelope;
@@ -78,6 +82,22 @@ public abstract class AbstractTree<E> implements Tree<E> {
      */
     private Node root;
 
+    /**
+     * Lock which let many searches run in parallel with a single writer,
+     * only used in concurrent mode (see {@link #setConcurrent(boolean) }).
+     */
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * {@code true} if searches are not serialized.
+     */
+    private volatile boolean concurrent;
+
+    /**
+     * Nested write operation depth, only accessed while holding this tree monitor.
+     */
+    private int writeDepth;
+
     /**
      * Tree fundation implementation.
      *
@@ -102,13 +122,37 @@ public abstract class AbstractTree<E> implements Tree<E> {
      * {@inheritDoc}
      */
     @Override
-    public synchronized int[] searchID(final Envelope regionSearch) throws StoreIndexException {
+    public int[] searchID(final Envelope regionSearch) throws StoreIndexException {
         ArgumentChecks.ensureNonNull("Envelope regionSearch", regionSearch);
+        final double[] regSearch = TreeUtilities.getCoords(regionSearch);
+        while (concurrent) {
+            final long stamp = lock.readLock();
+            try {
+                //-- mode may have been changed while waiting lock
+                if (concurrent) return searchID(regSearch, true);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        synchronized (this) {
+            return searchID(regSearch, false);
+        }
+    }
+
+    /**
+     * Search all tree identifiers of data which intersect region search.
+     *
+     * @param regSearch area of search.
+     * @param concurrentRead {@code true} if caller holds read lock, {@code false} if it holds tree monitor.
+     * @return tree identifiers of selected data.
+     * @throws StoreIndexException if problem during Node reading.
+     */
+    private int[] searchID(final double[] regSearch, final boolean concurrentRead) throws StoreIndexException {
         final Node root = getRoot();
-         final double[] regSearch = TreeUtilities.getCoords(regionSearch);
         if (root != null && !root.isEmpty()) {
             try {
-                return treeAccess.search(root.getNodeId(), regSearch);
+                return concurrentRead ? treeAccess.concurrentSearch(root.getNodeId(), regSearch)
+                                      : treeAccess.search(root.getNodeId(), regSearch);
             } catch (IOException ex) {
                 throw new StoreIndexException(this.getClass().getName()+" impossible to find stored elements at "
                         +Arrays.toString(regSearch)+" region search area.", ex);
@@ -123,6 +167,10 @@ public abstract class AbstractTree<E> implements Tree<E> {
     @Override
     public TreeIdentifierIterator search(final Envelope regionSearch) throws StoreIndexException {
         ArgumentChecks.ensureNonNull("Envelope regionSearch", regionSearch);
+        if (concurrent) {
+            //-- lazy iterator reads Nodes out of any lock, results are computed at once.
+            return new ArrayIdentifierIterator(searchID(regionSearch));
+        }
         final double[] regSearch = TreeUtilities.getCoords(regionSearch);
         return new TreeIntegerIdentifierIterator(treeAccess, regSearch);
     }
@@ -132,6 +180,7 @@ public abstract class AbstractTree<E> implements Tree<E> {
      */
     @Override
     public synchronized int insert(final E object) throws IllegalArgumentException , StoreIndexException{
+        final long stamp = beginWrite();
         try {
             ArgumentChecks.ensureNonNull("insert : object", object);
             final Envelope env = treeEltMap.getEnvelope(object);
@@ -147,13 +196,16 @@ public abstract class AbstractTree<E> implements Tree<E> {
             return treeIdentifier - 1;
         } catch (IOException ex) {
             throw new StoreIndexException(ex);
+        } finally {
+            endWrite(stamp);
         }
     }
 
     /**
      * {@inheritDoc}
      */
-    public void insert(final int identifier, final double... coordinates) throws IllegalArgumentException, StoreIndexException {
+    public synchronized void insert(final int identifier, final double... coordinates) throws IllegalArgumentException, StoreIndexException {
+        final long stamp = beginWrite();
         try {
             eltCompteur++;
             Node root = getRoot();
@@ -170,7 +222,76 @@ public abstract class AbstractTree<E> implements Tree<E> {
             }
         } catch (IOException ex) {
             throw new StoreIndexException(this.getClass().getName()+"Tree.insert(), impossible to add element.", ex);
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    /**
+     * Replace all tree content by the given elements, building a packed tree bottom-up.<br/><br/>
+     *
+     * Much faster than successive {@link #insert(int, double...)} calls for a large
+     * element set, and resulting Nodes are fuller and less overlapping.
+     * Elements are ordered following {@link #isHilbertPacked()}.<br/><br/>
+     *
+     * Note : given identifiers are stored as is, they should already be
+     * known by {@link TreeElementMapper} (see {@link TreeElementMapper#setTreeIdentifier(java.lang.Object, int) }).<br/><br/>
+     *
+     * In concurrent mode, elements are read and sorted while tree is still searchable,
+     * searches are only blocked while new Nodes are written.
+     *
+     * @param entries tree identifier and boundary coordinates of each element.
+     * @return inserted element number.
+     * @throws IllegalArgumentException if an identifier is not strictly positive,
+     * or if a boundary has a wrong length or contains NaN value. In this case tree is left unchanged.
+     * @throws StoreIndexException if problem during Node writing.
+     */
+    public int bulkLoad(final Iterator<? extends Map.Entry<Integer, double[]>> entries)
+            throws IllegalArgumentException, StoreIndexException {
+        ArgumentChecks.ensureNonNull("bulkLoad : entries", entries);
+        final int boundLength = crs.getCoordinateSystem().getDimension() << 1;
+        final PackedTreeLoader loader = new PackedTreeLoader(treeAccess, maxElementPerNode, boundLength >> 1, isHilbertPacked());
+        int maxIdentifier = 0;
+        while (entries.hasNext()) {
+            final Map.Entry<Integer, double[]> entry = entries.next();
+            final int identifier = entry.getKey();
+            final double[] coordinates = entry.getValue();
+            ArgumentChecks.ensureStrictlyPositive("bulkLoad : identifier", identifier);
+            ArgumentChecks.ensureNonNull("bulkLoad : coordinates", coordinates);
+            if (coordinates.length != boundLength)
+                throw new IllegalArgumentException("bulkLoad : coordinates length should be "+boundLength+", found "+coordinates.length);
+            for (double d : coordinates)
+                if (Double.isNaN(d))
+                    throw new IllegalArgumentException("coordinates contain at least one NAN value");
+            loader.add(identifier, coordinates);
+            if (identifier > maxIdentifier) maxIdentifier = identifier;
+        }
+        loader.sort();
+        final int count = loader.size();
+        synchronized (this) {
+            final long stamp = beginWrite();
+            try {
+                setRoot(null);
+                setRoot(loader.build());
+                eltCompteur    = count;
+                treeIdentifier = maxIdentifier + 1;
+            } catch (IOException ex) {
+                throw new StoreIndexException(this.getClass().getName()+" bulkLoad(), impossible to write packed tree.", ex);
+            } finally {
+                endWrite(stamp);
+            }
         }
+        return count;
+    }
+
+    /**
+     * Return {@code true} if {@link #bulkLoad(java.util.Iterator) } should order
+     * elements along Hilbert curve, or {@code false} for Sort-Tile-Recursive order.
+     *
+     * @return {@code false} by default.
+     */
+    protected boolean isHilbertPacked() {
+        return false;
     }
 
     /**
@@ -427,6 +548,7 @@ public abstract class AbstractTree<E> implements Tree<E> {
      */
     @Override
     public synchronized boolean remove(final E object) throws StoreIndexException {
+        final long stamp = beginWrite();
         try {
             ArgumentChecks.ensureNonNull("Object to remove", object);
             final Envelope env = treeEltMap.getEnvelope(object);
@@ -436,10 +558,12 @@ public abstract class AbstractTree<E> implements Tree<E> {
 
         } catch (IOException ex) {
             throw new StoreIndexException(ex);
+        } finally {
+            endWrite(stamp);
         }
     }
 
-    public boolean remove(final int entry, Envelope entryEnvelope) throws StoreIndexException {
+    public synchronized boolean remove(final int entry, Envelope entryEnvelope) throws StoreIndexException {
             ArgumentChecks.ensureNonNull("Envelope for the entry to remove", entryEnvelope);
             if (!Utilities.equalsIgnoreMetadata(crs, entryEnvelope.getCoordinateReferenceSystem()))
                 throw new IllegalArgumentException("During insertion element should have same CoordinateReferenceSystem as Tree.");
@@ -458,11 +582,12 @@ public abstract class AbstractTree<E> implements Tree<E> {
      * @return true if data have been correctively removed else false.
      * @throws IOException if problem during hard drive writing.
      */
-    protected boolean remove(final int identifier, final double... coordinates) throws StoreIndexException {
+    protected synchronized boolean remove(final int identifier, final double... coordinates) throws StoreIndexException {
         ArgumentChecks.ensureNonNull("remove : object", identifier);
         ArgumentChecks.ensureNonNull("remove : coordinates", coordinates);
         final Node root = getRoot();
         if (root != null) {
+            final long stamp = beginWrite();
             try {
                 final boolean removed = removeNode(root, identifier, coordinates);
                 return removed;
@@ -470,6 +595,8 @@ public abstract class AbstractTree<E> implements Tree<E> {
                 throw new StoreIndexException(this.getClass().getName()
                         +"impossible to remove object : "+identifier
                         +" at coordinates : "+Arrays.toString(coordinates), ex);
+            } finally {
+                endWrite(stamp);
             }
         }
         return false;
@@ -542,16 +669,21 @@ public abstract class AbstractTree<E> implements Tree<E> {
      * {@inheritDoc}
      */
     @Override
-    public void setRoot(final Node root) throws StoreIndexException{
-        this.root = root;
-        if (root == null) {
-            try {
-               treeAccess.rewind();
-            } catch (IOException ex) {
-                throw new StoreIndexException("Impossible to rewind treeAccess during setRoot(null).", ex);
+    public synchronized void setRoot(final Node root) throws StoreIndexException{
+        final long stamp = beginWrite();
+        try {
+            this.root = root;
+            if (root == null) {
+                try {
+                   treeAccess.rewind();
+                } catch (IOException ex) {
+                    throw new StoreIndexException("Impossible to rewind treeAccess during setRoot(null).", ex);
+                }
+                treeIdentifier = 1;
+                eltCompteur = 0;
             }
-            treeIdentifier = 1;
-            eltCompteur = 0;
+        } finally {
+            endWrite(stamp);
         }
     }
 
@@ -576,7 +708,15 @@ public abstract class AbstractTree<E> implements Tree<E> {
      */
     @Override
     public int getElementsNumber() {
-        return eltCompteur;
+        final long stamp = lock.tryOptimisticRead();
+        final int number = eltCompteur;
+        if (lock.validate(stamp)) return number;
+        final long readStamp = lock.readLock();
+        try {
+            return eltCompteur;
+        } finally {
+            lock.unlockRead(readStamp);
+        }
     }
 
     /**
@@ -598,11 +738,16 @@ public abstract class AbstractTree<E> implements Tree<E> {
      * {@inheritDoc }.
      */
     @Override
-    public void close() throws IOException {
-        treeAccess.setTreeIdentifier(treeIdentifier);
-        treeAccess.setEltNumber(eltCompteur);
-        treeAccess.close();
-        treeEltMap.close();
+    public synchronized void close() throws IOException {
+        final long stamp = concurrent ? lock.writeLock() : 0L;
+        try {
+            treeAccess.setTreeIdentifier(treeIdentifier);
+            treeAccess.setEltNumber(eltCompteur);
+            treeAccess.close();
+            treeEltMap.close();
+        } finally {
+            if (stamp != 0L) lock.unlockWrite(stamp);
+        }
     }
 
     /**
@@ -610,6 +755,7 @@ public abstract class AbstractTree<E> implements Tree<E> {
      */
     @Override
     public synchronized void flush() throws StoreIndexException {
+        final long stamp = beginWrite();
         try {
             treeAccess.setTreeIdentifier(treeIdentifier);
             treeAccess.setEltNumber(eltCompteur);
@@ -617,6 +763,8 @@ public abstract class AbstractTree<E> implements Tree<E> {
             treeEltMap.flush();
         } catch (IOException ex) {
             throw new StoreIndexException("FileBasicRTree : close(). Impossible to close TreeAccessFile.", ex);
+        } finally {
+            endWrite(stamp);
         }
     }
 
@@ -637,8 +785,88 @@ public abstract class AbstractTree<E> implements Tree<E> {
      */
     @Override
     public double[] getExtent() throws StoreIndexException {
-        final Node node = getRoot();
-        return (node == null) ? null : node.getBoundary().clone();
+        final long stamp = lock.tryOptimisticRead();
+        try {
+            final Node node = getRoot();
+            final double[] extent = (node == null) ? null : node.getBoundary().clone();
+            if (lock.validate(stamp)) return extent;
+        } catch (RuntimeException ex) {
+            //-- root has been modified during reading, read again under lock.
+            if (lock.validate(stamp)) throw ex;
+        }
+        final long readStamp = lock.readLock();
+        try {
+            final Node node = getRoot();
+            return (node == null) ? null : node.getBoundary().clone();
+        } finally {
+            lock.unlockRead(readStamp);
+        }
+    }
+
+    /**
+     * Enable or disable concurrent mode.<br/><br/>
+     *
+     * In concurrent mode, many {@link #searchID(org.opengis.geometry.Envelope) } calls
+     * run in parallel, each writing operation (insertion, deletion, bulk loading, flush)
+     * blocks them until it ends. Other mode serializes all operations on tree.<br/>
+     * {@link #search(org.opengis.geometry.Envelope) } computes all results at once in concurrent mode.
+     *
+     * @param concurrent {@code true} to enable concurrent searches.
+     * @throws StoreIndexException if problem during pending Node writing.
+     */
+    public synchronized void setConcurrent(final boolean concurrent) throws StoreIndexException {
+        if (this.concurrent == concurrent) return;
+        if (writeDepth != 0)
+            throw new IllegalStateException("setConcurrent : mode can not be changed during a writing operation.");
+        final long stamp = lock.writeLock();
+        try {
+            treeAccess.flushNodes();
+            this.concurrent = concurrent;
+        } catch (IOException ex) {
+            throw new StoreIndexException(this.getClass().getName()+" setConcurrent(), impossible to write Nodes.", ex);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Return {@code true} if concurrent mode is enabled.
+     *
+     * @return {@code true} if searches may run in parallel.
+     * @see #setConcurrent(boolean)
+     */
+    public boolean isConcurrent() {
+        return concurrent;
+    }
+
+    /**
+     * Begin a writing operation, caller must hold this tree monitor.<br/>
+     * In concurrent mode, outermost writing operation acquires write lock.
+     *
+     * @return write lock stamp, or 0 if lock has not been acquired.
+     */
+    private long beginWrite() {
+        assert Thread.holdsLock(this);
+        return (writeDepth++ == 0 && concurrent) ? lock.writeLock() : 0L;
+    }
+
+    /**
+     * End a writing operation begun by {@link #beginWrite() }.<br/>
+     * Outermost writing operation makes written Nodes visible to concurrent searches then releases write lock.
+     *
+     * @param stamp stamp returned by {@link #beginWrite() }.
+     * @throws StoreIndexException if problem during Node writing.
+     */
+    private void endWrite(final long stamp) throws StoreIndexException {
+        if (--writeDepth == 0 && stamp != 0L) {
+            try {
+                treeAccess.flushNodes();
+            } catch (IOException ex) {
+                throw new StoreIndexException(this.getClass().getName()+" impossible to write Nodes.", ex);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
     }
 
     /**
@@ -664,4 +892,40 @@ public abstract class AbstractTree<E> implements Tree<E> {
     protected Node createNode(final double[] boundary, final byte properties, final int parentId, final int siblingId, final int childId) throws IllegalArgumentException {
         return treeAccess.createNode(boundary, properties, parentId, siblingId, childId);
     }
+
+    /**
+     * {@link TreeIdentifierIterator} over already computed search results.
+     */
+    private static final class ArrayIdentifierIterator implements TreeIdentifierIterator {
+
+        /**
+         * Search results.
+         */
+        private final int[] identifiers;
+
+        /**
+         * Index of next returned identifier.
+         */
+        private int index;
+
+        ArrayIdentifierIterator(final int[] identifiers) {
+            this.identifiers = identifiers;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < identifiers.length;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) throw new NoSuchElementException("No more tree identifier.");
+            return identifiers[index++];
+        }
+
+        @Override
+        public Integer next() {
+            return nextInt();
+        }
+    }
 }
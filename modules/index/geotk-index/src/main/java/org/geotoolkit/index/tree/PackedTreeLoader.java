@@ -0,0 +1,363 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.index.tree;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.geotoolkit.internal.tree.TreeAccess;
+import static org.geotoolkit.internal.tree.TreeUtilities.*;
+
+/**
+ * Build a packed tree bottom-up from a set of elements known in advance.<br/><br/>
+ *
+ * Elements are first ordered, either by Sort-Tile-Recursive slicing or along a
+ * <a href="http://en.wikipedia.org/wiki/Hilbert_curve">Hilbert curve</a>, then
+ * grouped by {@code maxElements} to fill leaves. Upper levels are built the same way
+ * from leaf boundaries until a single root remains. Each Node is created once, and
+ * leaf data Nodes are created just after their leaf, so {@link TreeAccess} writes
+ * are mostly sequential.<br/><br/>
+ *
+ * Note : elements are buffered in primitive arrays before packing,
+ * which cost {@code 4 + 16 * dimension} bytes per element.
+ *
+ * @module
+ * @see AbstractTree#bulkLoad(java.util.Iterator)
+ */
+final class PackedTreeLoader {
+
+    /**
+     * Below this length a range is sorted by insertion.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * Cells number along each axis of the grid used to compute Hilbert values.
+     */
+    private static final int HILBERT_GRID = 1 << 16;
+
+    /**
+     * Object in which Nodes are written.
+     */
+    private final TreeAccess treeAccess;
+
+    /**
+     * Maximum element number per Node.
+     */
+    private final int maxElements;
+
+    /**
+     * Space dimension.
+     */
+    private final int dimension;
+
+    /**
+     * {@code true} to order elements along Hilbert curve, {@code false} for STR order.
+     */
+    private final boolean hilbert;
+
+    /**
+     * Buffered element identifiers.
+     */
+    private int[] identifiers;
+
+    /**
+     * Buffered element boundaries, {@code 2 * dimension} values per element.
+     */
+    private double[] boundaries;
+
+    /**
+     * Buffered element number.
+     */
+    private int size;
+
+    /**
+     * Element order within leaves, computed by {@link #sort()}.
+     */
+    private int[] leafOrder;
+
+    /**
+     * Create a loader which write Nodes into given {@link TreeAccess}.
+     *
+     * @param treeAccess object in which Nodes are written.
+     * @param maxElements maximum element number per Node.
+     * @param dimension space dimension.
+     * @param hilbert {@code true} to order elements along Hilbert curve, {@code false} for STR order.
+     */
+    PackedTreeLoader(final TreeAccess treeAccess, final int maxElements, final int dimension, final boolean hilbert) {
+        this.treeAccess  = treeAccess;
+        this.maxElements = maxElements;
+        this.dimension   = dimension;
+        this.hilbert     = hilbert;
+        this.identifiers = new int[1024];
+        this.boundaries  = new double[1024 * 2 * dimension];
+    }
+
+    /**
+     * Buffer an element.
+     *
+     * @param identifier element tree identifier, strictly positive.
+     * @param coordinates element boundary.
+     */
+    void add(final int identifier, final double[] coordinates) {
+        final int boundLength = dimension << 1;
+        if (size == identifiers.length) {
+            final int newLength = size + (size >> 1);
+            identifiers = Arrays.copyOf(identifiers, newLength);
+            boundaries  = Arrays.copyOf(boundaries, newLength * boundLength);
+        }
+        identifiers[size] = identifier;
+        System.arraycopy(coordinates, 0, boundaries, size * boundLength, boundLength);
+        size++;
+    }
+
+    /**
+     * Return buffered element number.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Compute element order within leaves.<br/>
+     * Does not access {@link TreeAccess}, so it may be called before {@link #build()}
+     * while tree is still searched, to shorten time during which Nodes are written.
+     */
+    void sort() {
+        if (leafOrder == null && size > maxElements) leafOrder = sort(boundaries, size);
+    }
+
+    /**
+     * Write all buffered elements in tree architecture.<br/>
+     * {@link TreeAccess} should have been rewound before, so that root Node identifier is 1.
+     *
+     * @return tree root Node, or {@code null} if no element has been buffered.
+     * @throws IOException if problem during Node writing.
+     */
+    Node build() throws IOException {
+        if (size == 0) return null;
+        final int boundLength = dimension << 1;
+        final Node root = treeAccess.createNode(null, IS_LEAF, 0, 0, 0);
+        assert root.getNodeId() == 1 : "PackedTreeLoader : root Node should be the first created Node.";
+
+        if (size <= maxElements) {
+            final Node[] data = new Node[size];
+            for (int i = 0; i < size; i++) {
+                data[i] = treeAccess.createNode(Arrays.copyOfRange(boundaries, i * boundLength, (i + 1) * boundLength),
+                                                IS_DATA, root.getNodeId(), 0, -identifiers[i]);
+            }
+            root.addChildren(data);
+            return root;
+        }
+
+        //-- leaves
+        sort();
+        int[] order = leafOrder;
+        leafOrder = null;
+        List<Node> level = new ArrayList<Node>((size + maxElements - 1) / maxElements);
+        for (int i = 0; i < size; i += maxElements) {
+            final int end = Math.min(i + maxElements, size);
+            final Node leaf = treeAccess.createNode(null, IS_LEAF, 0, 0, 0);
+            final Node[] data = new Node[end - i];
+            for (int j = i; j < end; j++) {
+                final int k = order[j];
+                data[j - i] = treeAccess.createNode(Arrays.copyOfRange(boundaries, k * boundLength, (k + 1) * boundLength),
+                                                    IS_DATA, leaf.getNodeId(), 0, -identifiers[k]);
+            }
+            leaf.addChildren(data);
+            level.add(leaf);
+        }
+        identifiers = null;
+        boundaries  = null;
+        size        = 0;
+
+        //-- upper levels
+        while (level.size() > maxElements) {
+            final int count = level.size();
+            final double[] nodeBounds = new double[count * boundLength];
+            for (int i = 0; i < count; i++) {
+                System.arraycopy(level.get(i).getBoundary(), 0, nodeBounds, i * boundLength, boundLength);
+            }
+            order = sort(nodeBounds, count);
+            final List<Node> upper = new ArrayList<Node>((count + maxElements - 1) / maxElements);
+            for (int i = 0; i < count; i += maxElements) {
+                final int end = Math.min(i + maxElements, count);
+                final Node parent = treeAccess.createNode(null, IS_OTHER, 0, 0, 0);
+                final Node[] children = new Node[end - i];
+                for (int j = i; j < end; j++) {
+                    children[j - i] = level.get(order[j]);
+                }
+                parent.addChildren(children);
+                upper.add(parent);
+            }
+            level = upper;
+        }
+        root.setProperties(IS_OTHER);
+        root.addChildren(level.toArray(new Node[level.size()]));
+        return root;
+    }
+
+    /**
+     * Return element indexes ordered so that each consecutive group of
+     * {@code maxElements} indexes define a Node.
+     *
+     * @param bounds element boundaries, {@code 2 * dimension} values per element.
+     * @param count element number.
+     * @return ordered element indexes.
+     */
+    private int[] sort(final double[] bounds, final int count) {
+        final int[] order = new int[count];
+        for (int i = 0; i < count; i++) order[i] = i;
+        final double[] keys = new double[count];
+        if (hilbert) {
+            computeHilbertValues(bounds, count, keys);
+            sort(order, 0, count, keys);
+        } else {
+            sortTileRecursive(order, 0, count, bounds, 0, keys);
+        }
+        return order;
+    }
+
+    /**
+     * Sort-Tile-Recursive ordering.<br/>
+     * Elements are sorted on current axis median, then cut in slices which
+     * are recursively ordered on next axis. Slice lengths are multiple of
+     * {@code maxElements}, so Node groups never overlap two slices.
+     */
+    private void sortTileRecursive(final int[] order, final int from, final int to,
+            final double[] bounds, final int axis, final double[] keys) {
+        final int count = to - from;
+        final int boundLength = dimension << 1;
+        for (int i = from; i < to; i++) {
+            final int k = order[i] * boundLength;
+            keys[order[i]] = (bounds[k + axis] + bounds[k + axis + dimension]) * 0.5;
+        }
+        sort(order, from, to, keys);
+        if (axis == dimension - 1 || count <= maxElements) return;
+
+        final int pages     = (count + maxElements - 1) / maxElements;
+        final int slices    = (int) Math.ceil(Math.pow(pages, 1.0 / (dimension - axis)));
+        final int sliceSize = maxElements * ((pages + slices - 1) / slices);
+        for (int s = from; s < to; s += sliceSize) {
+            sortTileRecursive(order, s, Math.min(s + sliceSize, to), bounds, axis + 1, keys);
+        }
+    }
+
+    /**
+     * Compute Hilbert value of each element median on a regular grid over
+     * all element area. Only the two first axis are used.
+     */
+    private void computeHilbertValues(final double[] bounds, final int count, final double[] keys) {
+        final int boundLength = dimension << 1;
+        final int axisNumber  = Math.min(dimension, 2);
+        final double[] min = new double[axisNumber];
+        final double[] max = new double[axisNumber];
+        Arrays.fill(min, Double.POSITIVE_INFINITY);
+        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        for (int i = 0; i < count; i++) {
+            for (int d = 0; d < axisNumber; d++) {
+                final double median = (bounds[i * boundLength + d] + bounds[i * boundLength + d + dimension]) * 0.5;
+                if (median < min[d]) min[d] = median;
+                if (median > max[d]) max[d] = median;
+            }
+        }
+        final int[] cell = new int[2];
+        for (int i = 0; i < count; i++) {
+            for (int d = 0; d < axisNumber; d++) {
+                final double span = max[d] - min[d];
+                if (span > 0) {
+                    final double median = (bounds[i * boundLength + d] + bounds[i * boundLength + d + dimension]) * 0.5;
+                    cell[d] = Math.min(HILBERT_GRID - 1, (int) ((median - min[d]) / span * HILBERT_GRID));
+                } else {
+                    cell[d] = 0;
+                }
+            }
+            keys[i] = hilbertValue(cell[0], cell[1]);
+        }
+    }
+
+    /**
+     * Return distance along Hilbert curve of the given grid cell.
+     *
+     * @param x cell coordinate on first axis.
+     * @param y cell coordinate on second axis.
+     * @return Hilbert value.
+     */
+    private static long hilbertValue(int x, int y) {
+        long d = 0;
+        for (int s = HILBERT_GRID >> 1; s > 0; s >>= 1) {
+            final int rx = (x & s) > 0 ? 1 : 0;
+            final int ry = (y & s) > 0 ? 1 : 0;
+            d += (long) s * s * ((3 * rx) ^ ry);
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = HILBERT_GRID - 1 - x;
+                    y = HILBERT_GRID - 1 - y;
+                }
+                final int t = x;
+                x = y;
+                y = t;
+            }
+        }
+        return d;
+    }
+
+    /**
+     * Sort indexes in range [from, to[ from their key value.
+     */
+    private static void sort(final int[] order, int from, int to, final double[] keys) {
+        while (to - from > INSERTION_SORT_THRESHOLD) {
+            //-- median of three pivot
+            final int mid = (from + to) >>> 1;
+            if (keys[order[mid]]    < keys[order[from]]) swap(order, mid, from);
+            if (keys[order[to - 1]] < keys[order[from]]) swap(order, to - 1, from);
+            if (keys[order[to - 1]] < keys[order[mid]])  swap(order, to - 1, mid);
+            final double pivot = keys[order[mid]];
+            int i = from, j = to - 1;
+            while (i <= j) {
+                while (keys[order[i]] < pivot) i++;
+                while (keys[order[j]] > pivot) j--;
+                if (i <= j) swap(order, i++, j--);
+            }
+            //-- recurse on smaller part to bound stack depth
+            if (j - from < to - i) {
+                sort(order, from, j + 1, keys);
+                from = i;
+            } else {
+                sort(order, i, to, keys);
+                to = j + 1;
+            }
+        }
+        for (int i = from + 1; i < to; i++) {
+            final int v = order[i];
+            final double k = keys[v];
+            int j = i - 1;
+            while (j >= from && keys[order[j]] > k) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = v;
+        }
+    }
+
+    private static void swap(final int[] order, final int i, final int j) {
+        final int t = order[i];
+        order[i] = order[j];
+        order[j] = t;
+    }
+}
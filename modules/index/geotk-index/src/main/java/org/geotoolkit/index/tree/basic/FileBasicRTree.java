@@ -19,6 +19,7 @@ package org.geotoolkit.index.tree.basic;
 import java.io.IOException;
 import java.nio.file.Path;
 import org.geotoolkit.internal.tree.TreeAccessFile;
+import org.geotoolkit.internal.tree.TreeAccessMappedFile;
 import org.geotoolkit.index.tree.StoreIndexException;
 import org.geotoolkit.index.tree.TreeElementMapper;
 import org.geotoolkit.internal.tree.TreeUtilities;
@@ -116,4 +117,41 @@ public final class FileBasicRTree<E> extends BasicRTree<E> {
             final int byteBufferLength) throws IOException, StoreIndexException {
         super(new TreeAccessFile(input, TreeUtilities.BASIC_NUMBER, TreeUtilities.VERSION_NUMBER, byteBufferLength), treeEltMap);
     }
+
+    /**
+     * Create a new {@link BasicRTree} implementation which store Tree architecture into stream at {@link Path} location.<br><br>
+     *
+     * Note : when memory mapped, Nodes are read and written directly in mapped file segments,
+     * which avoid a system call per access on big tree files.
+     *
+     * @param outPut File which contain path where Tree information will be stored.
+     * @param maxElements maximum children value permit per Node.
+     * @param crs Tree {@link CoordinateReferenceSystem}.
+     * @param choice made to split : {@link SplitCase#LINEAR} or {@link SplitCase#QUADRATIC}.
+     * @param treeEltMap object which store tree identifier and data.
+     * @param memoryMapped {@code true} to memory map tree file.
+     * @throws StoreIndexException
+     * @throws IOException if problem during head file writing.
+     * @see TreeAccessMappedFile
+     */
+    public FileBasicRTree(final Path outPut, final int maxElements, final CoordinateReferenceSystem crs,
+            final SplitCase choice, final TreeElementMapper<E> treeEltMap, final boolean memoryMapped) throws StoreIndexException, IOException {
+        super(memoryMapped ? new TreeAccessMappedFile(outPut, TreeUtilities.BASIC_NUMBER, TreeUtilities.VERSION_NUMBER, maxElements, choice, crs, TreeAccessMappedFile.DEFAULT_SEGMENT_LENGTH)
+                           : new TreeAccessFile(outPut, TreeUtilities.BASIC_NUMBER, TreeUtilities.VERSION_NUMBER, maxElements, choice, crs), treeEltMap);
+    }
+
+    /**
+     * Open a {@link BasicRTree} implementation from an already filled file which contain {@link BasicRTree} architecture.
+     *
+     * @param input File already filled by old {@link BasicRTree} implementation.
+     * @param treeEltMap object which store tree identifier and data.
+     * @param memoryMapped {@code true} to memory map tree file.
+     * @throws IOException if problem during head reading from already filled file.
+     * @throws StoreIndexException if file isn't already filled by {@link BasicRTree} implementation.
+     * @see TreeAccessMappedFile
+     */
+    public FileBasicRTree(final Path input, final TreeElementMapper<E> treeEltMap, final boolean memoryMapped) throws IOException, StoreIndexException {
+        super(memoryMapped ? new TreeAccessMappedFile(input, TreeUtilities.BASIC_NUMBER, TreeUtilities.VERSION_NUMBER)
+                           : new TreeAccessFile(input, TreeUtilities.BASIC_NUMBER, TreeUtilities.VERSION_NUMBER), treeEltMap);
+    }
 }
@@ -110,4 +110,43 @@ public final class FileHilbertRTree<E> extends HilbertRTree<E> {
     public FileHilbertRTree(final Path input, final TreeElementMapper<E> treeEltMap, final int bytebufferLength) throws StoreIndexException, IOException, ClassNotFoundException {
         super(new HilbertTreeAccessFile(input, TreeUtilities.HILBERT_NUMBER, TreeUtilities.VERSION_NUMBER, bytebufferLength), treeEltMap);
     }
+
+    /**
+     * Create a new {@link HilbertRTree} implementation which store Tree architecture into a file at {@link Path} location.<br/><br/>
+     *
+     * Note : when memory mapped, Nodes are read and written directly in mapped file segments,
+     * which avoid a system call per access on big tree files.
+     *
+     * @param outPut File which contain path where Tree information will be stored.
+     * @param maxElements maximum children value permit per Node.
+     * @param hilbertOrder maximum hilbert order value permit for each tree leaf.
+     * @param crs Tree {@link CoordinateReferenceSystem}.
+     * @param treeEltMap object which store tree identifier and data.
+     * @param memoryMapped {@code true} to memory map tree file.
+     * @throws StoreIndexException if problem during root Node affectation.
+     * @throws IOException if problem during file head writing.
+     * @see HilbertRTree
+     * @see TreeElementMapper
+     */
+    public FileHilbertRTree(final Path outPut, final int maxElements, final int hilbertOrder,
+            final CoordinateReferenceSystem crs, final TreeElementMapper<E> treeEltMap, final boolean memoryMapped) throws StoreIndexException, IOException {
+        super(new HilbertTreeAccessFile(outPut, TreeUtilities.HILBERT_NUMBER, TreeUtilities.VERSION_NUMBER, maxElements, hilbertOrder, crs, memoryMapped), treeEltMap);
+    }
+
+    /**
+     * Open a {@link HilbertRTree} implementation from an already filled file from {@link Path} location
+     * which contain {@link HilbertRTree} architecture.
+     *
+     * @param input File already filled by old {@link HilbertRTree} implementation.
+     * @param treeEltMap object which store tree identifier and data.
+     * @param memoryMapped {@code true} to memory map tree file.
+     * @throws IOException if problem during head reading from already filled file.
+     * @throws StoreIndexException if file isn't already filled by {@link HilbertRTree} implementation.
+     * @throws ClassNotFoundException if there is a problem during {@link CoordinateReferenceSystem} invert serialization.
+     * @see HilbertRTree
+     * @see TreeElementMapper
+     */
+    public FileHilbertRTree(final Path input, final TreeElementMapper<E> treeEltMap, final boolean memoryMapped) throws StoreIndexException, IOException, ClassNotFoundException {
+        super(new HilbertTreeAccessFile(input, TreeUtilities.HILBERT_NUMBER, TreeUtilities.VERSION_NUMBER, memoryMapped), treeEltMap);
+    }
 }
@@ -61,6 +61,15 @@ public strictfp class HilbertRTree<E> extends AbstractTree<E> {
         treeIdentifier = treeAccess.getTreeIdentifier();
     }
 
+    /**
+     * {@inheritDoc }.<br/><br/>
+     * Note : Hilbert tree is packed along Hilbert curve.
+     */
+    @Override
+    protected boolean isHilbertPacked() {
+        return true;
+    }
+
     /**
      * {@inheritDoc }.<br/><br/>
      * Note : in this implementation, a fully leaf Node is split before be overflowed
@@ -17,6 +17,7 @@
 package org.geotoolkit.index.tree.hilbert;
 
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -59,6 +60,22 @@ final class HilbertTreeAccessFile extends HilbertChannelTreeAccess {
                 StandardOpenOption.WRITE), magicNumber, versionNumber, byteBufferLength);
     }
 
+    /**
+     * Build a {@link Tree} from a already filled file at {@link Path} location.
+     *
+     * @param input {@code File} which already contains {@link Node} architecture.
+     * @param magicNumber {@code Integer} single {@link Tree} code.
+     * @param versionNumber tree version.
+     * @param memoryMapped {@code true} to read and write Nodes directly in memory mapped file segments.
+     * @throws IOException if problem during read or write Node.
+     * @throws ClassNotFoundException if there is a problem during {@link CoordinateReferenceSystem} invert serialization.
+     */
+    HilbertTreeAccessFile(final Path input, final int magicNumber, final double versionNumber, final boolean memoryMapped) throws IOException, ClassNotFoundException {
+        super(FileChannel.open(input, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE), magicNumber, versionNumber, DEFAULT_BUFFER_LENGTH);
+        if (memoryMapped) mapNodes((FileChannel) inOutChannel, DEFAULT_SEGMENT_LENGTH);
+    }
+
     /**
      * Build and insert {@link Node} architecture in a file at {@link Path} location.<br/>
      * If file is not empty, data within it will be overwrite.<br/>
@@ -97,4 +114,24 @@ final class HilbertTreeAccessFile extends HilbertChannelTreeAccess {
         super(Files.newByteChannel(outPut, StandardOpenOption.CREATE, StandardOpenOption.READ,
                 StandardOpenOption.WRITE), magicNumber, versionNumber, maxElements, hilbertOrder, crs, byteBufferLength);
     }
+
+    /**
+     * Build and insert {@link Node} architecture in a file at {@link Path} location.<br/>
+     * If file is not empty, data within it will be overwrite.<br/>
+     * If file does not exist a file will be create.
+     *
+     * @param outPut {@code File} where {@link Node} architecture which will be write.
+     * @param magicNumber {@code Integer} single {@link Tree} code.
+     * @param versionNumber version number.
+     * @param hilbertOrder maximum hilbert order value permit for each tree leaf.
+     * @param crs
+     * @param memoryMapped {@code true} to read and write Nodes directly in memory mapped file segments.
+     * @throws IOException if problem during read or write Node.
+     */
+    HilbertTreeAccessFile(final Path outPut, final int magicNumber, final double versionNumber,
+            final int maxElements, final int hilbertOrder, final CoordinateReferenceSystem crs, final boolean memoryMapped) throws IOException {
+        super(FileChannel.open(outPut, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE), magicNumber, versionNumber, maxElements, hilbertOrder, crs, DEFAULT_BUFFER_LENGTH);
+        if (memoryMapped) mapNodes((FileChannel) inOutChannel, DEFAULT_SEGMENT_LENGTH);
+    }
 }
@@ -19,6 +19,7 @@ package org.geotoolkit.index.tree.star;
 import java.io.IOException;
 import java.nio.file.Path;
 import org.geotoolkit.internal.tree.TreeAccessFile;
+import org.geotoolkit.internal.tree.TreeAccessMappedFile;
 import org.geotoolkit.index.tree.StoreIndexException;
 import org.geotoolkit.index.tree.TreeElementMapper;
 import org.geotoolkit.internal.tree.TreeUtilities;
@@ -104,4 +105,43 @@ public class FileStarRTree<E> extends StarRTree<E> {
     public FileStarRTree(final Path input, final TreeElementMapper<E> treeEltMap, final int byteBufferLength) throws IOException, StoreIndexException {
         super(new TreeAccessFile(input, TreeUtilities.STAR_NUMBER, TreeUtilities.VERSION_NUMBER), treeEltMap);
     }
+
+    /**
+     * Create a new {@link StarRTree} implementation which store Tree architecture into stream at {@link Path} location.<br><br>
+     *
+     * Note : when memory mapped, Nodes are read and written directly in mapped file segments,
+     * which avoid a system call per access on big tree files.
+     *
+     * @param outPut File which contain path where Tree information will be stored.
+     * @param maxElements maximum children value permit per Node.
+     * @param crs Tree {@link CoordinateReferenceSystem}.
+     * @param treeEltMap object which store tree identifier and data.
+     * @param memoryMapped {@code true} to memory map tree file.
+     * @throws StoreIndexException
+     * @throws IOException if problem during head file writing.
+     * @see StarRTree
+     * @see TreeElementMapper
+     * @see TreeAccessMappedFile
+     */
+    public FileStarRTree(final Path outPut, final int maxElements, final CoordinateReferenceSystem crs, final TreeElementMapper<E> treeEltMap, final boolean memoryMapped) throws StoreIndexException, IOException {
+        super(memoryMapped ? new TreeAccessMappedFile(outPut, TreeUtilities.STAR_NUMBER, TreeUtilities.VERSION_NUMBER, maxElements, crs)
+                           : new TreeAccessFile(outPut, TreeUtilities.STAR_NUMBER, TreeUtilities.VERSION_NUMBER, maxElements, crs), treeEltMap);
+    }
+
+    /**
+     * Open a {@link StarRTree} implementation from an already filled file which contain {@link StarRTree} architecture.
+     *
+     * @param input File already filled by old {@link StarRTree} implementation.
+     * @param treeEltMap object which store tree identifier and data.
+     * @param memoryMapped {@code true} to memory map tree file.
+     * @throws IOException if problem during head reading from already filled file.
+     * @throws StoreIndexException if file isn't already filled by {@link StarRTree} implementation.
+     * @see StarRTree
+     * @see TreeElementMapper
+     * @see TreeAccessMappedFile
+     */
+    public FileStarRTree(final Path input, final TreeElementMapper<E> treeEltMap, final boolean memoryMapped) throws IOException, StoreIndexException {
+        super(memoryMapped ? new TreeAccessMappedFile(input, TreeUtilities.STAR_NUMBER, TreeUtilities.VERSION_NUMBER)
+                           : new TreeAccessFile(input, TreeUtilities.STAR_NUMBER, TreeUtilities.VERSION_NUMBER), treeEltMap);
+    }
 }
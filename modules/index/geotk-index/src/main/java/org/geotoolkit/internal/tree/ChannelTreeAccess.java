@@ -21,10 +21,13 @@ import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.Channel;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.util.Arrays;
 import org.apache.sis.referencing.CRS;
+import org.apache.sis.util.ArraysExt;
 import org.opengis.referencing.crs.CoordinateReferenceSystem;
 import org.opengis.util.FactoryException;
 import org.geotoolkit.index.tree.Node;
@@ -44,6 +47,13 @@ public abstract strictfp class ChannelTreeAccess extends TreeAccess {
      */
     private static final int CRS_POSITION = 34;
 
+    /**
+     * Default length in Byte unit of each mapped file segment, when Nodes are memory mapped.
+     *
+     * @see #mapNodes(java.nio.channels.FileChannel, int)
+     */
+    public static final int DEFAULT_SEGMENT_LENGTH = 64 * 1024 * 1024;
+
     /**
      * boundary table value length of each Node.
      */
@@ -68,9 +78,10 @@ public abstract strictfp class ChannelTreeAccess extends TreeAccess {
     protected int rwIndex;
 
     /**
-     * {@link ByteBuffer} to read and write Node from file on hard disk.
+     * {@link ByteBuffer} to read and write Node from file on hard disk.<br/>
+     * When Nodes are memory mapped, it is the mapped segment which contains the last accessed Node.
      */
-    protected final ByteBuffer byteBuffer;
+    protected ByteBuffer byteBuffer;
 
     /**
      * ByteBuffer Length.
@@ -82,6 +93,21 @@ public abstract strictfp class ChannelTreeAccess extends TreeAccess {
      */
     protected SeekableByteChannel inOutChannel;
 
+    /**
+     * Mapped file segments, or {@code null} if Nodes are read and written through {@link #byteBuffer}.
+     */
+    private MappedByteBuffer[] segments;
+
+    /**
+     * Node number per mapped segment.
+     */
+    private int nodesPerSegment;
+
+    /**
+     * Length in Byte unit of a full mapped segment, multiple of {@link #nodeSize}.
+     */
+    private int segmentLength;
+
     //------------------------- Reading mode -----------------------------------
     /**
      * Build a {@link Tree} from a already filled {@link Channel}, in other words, open in reading mode.<br/><br/>
@@ -327,6 +353,53 @@ public abstract strictfp class ChannelTreeAccess extends TreeAccess {
         root = null;
     }
 
+    /**
+     * Read and write all Nodes directly in memory mapped segments of the given channel,
+     * instead of copying them through a {@link ByteBuffer}.<br/><br/>
+     *
+     * Node file is mapped in segments of {@code segmentLength} bytes, which are mapped
+     * lazily and grown as Nodes are written after the end of the file.<br/>
+     * Should be called at the end of subclass constructors, before any Node writing.
+     *
+     * @param channel channel which has been given at construction, opened in read and write mode.
+     * @param segmentLength length in Byte unit of each mapped segment.
+     * @throws IOException if problem during channel access.
+     */
+    protected final void mapNodes(final FileChannel channel, final int segmentLength) throws IOException {
+        assert channel == inOutChannel : "mapNodes : channel should be the one given at construction.";
+        assert writeBufferLimit == 0 : "mapNodes : Nodes have already been written through ByteBuffer.";
+        this.nodesPerSegment = Math.max(1, segmentLength / nodeSize);
+        this.segmentLength   = nodesPerSegment * nodeSize;
+        this.segments        = new MappedByteBuffer[4];
+    }
+
+    /**
+     * Return mapped segment at the given index, mapping or growing it if it is shorter than given length.
+     *
+     * @param index segment index.
+     * @param minLength minimum segment length in Byte unit.
+     * @return mapped segment.
+     * @throws IOException if problem during mapping.
+     */
+    private MappedByteBuffer getSegment(final int index, final int minLength) throws IOException {
+        if (index >= segments.length) {
+            segments = Arrays.copyOf(segments, Math.max(index + 1, segments.length << 1));
+        }
+        MappedByteBuffer segment = segments[index];
+        if (segment == null || segment.capacity() < minLength) {
+            final FileChannel channel = (FileChannel) inOutChannel;
+            final long start = beginPosition + (long) index * segmentLength;
+            //-- map whole existing file part, else double mapped length to limit file growing operations
+            long length = (segment == null) ? channel.size() - start : 2L * segment.capacity();
+            length = Math.max(minLength, length);
+            length = ((length + nodeSize - 1) / nodeSize) * nodeSize;
+            length = Math.min(segmentLength, length);
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, start, length);
+            segments[index] = segment;
+        }
+        return segment;
+    }
+
     /**
      * Adjust buffer position relative to filechanel which contain data,
      * and prepare bytebuffer position and limit for reading or writing action.
@@ -335,6 +408,13 @@ public abstract strictfp class ChannelTreeAccess extends TreeAccess {
      * @throws IOException
      */
     protected void adjustBuffer(final int nodeID) throws IOException {
+        if (segments != null) {
+            final int offset = ((nodeID - 1) % nodesPerSegment) * nodeSize;
+            byteBuffer = getSegment((nodeID - 1) / nodesPerSegment, offset + nodeSize);
+            byteBuffer.limit(offset + nodeSize);
+            byteBuffer.position(offset);
+            return;
+        }
         assert inOutChannel.position() == currentBufferPosition;
         rwIndex = beginPosition + (nodeID - 1) * nodeSize;
         if (rwIndex < currentBufferPosition || (rwIndex + nodeSize) > currentBufferPosition + bufferLength) { //-- pense ici
@@ -399,6 +479,110 @@ public abstract strictfp class ChannelTreeAccess extends TreeAccess {
         }
     }
 
+    /**
+     * {@inheritDoc }
+     * <br>
+     * Nodes are red from their own views of mapped segments, or by positional
+     * reads on the {@link FileChannel}, so that {@link #byteBuffer} is never used.
+     */
+    @Override
+    public int[] concurrentSearch(final int nodeID, final double[] regionSearch) throws IOException {
+        final boolean mapped = segments != null;
+        if (!mapped && !(inOutChannel instanceof FileChannel)) {
+            return search(nodeID, regionSearch);
+        }
+        final ByteBuffer record = mapped ? null : ByteBuffer.allocate(nodeSize);
+        ByteBuffer[] views = mapped ? new ByteBuffer[4] : null;
+        final double[] boundary = new double[boundLength];
+        int[] result = new int[100];
+        int count = 0;
+        int[] stack = new int[32];
+        int top = 0;
+        stack[top++] = nodeID;
+        while (top > 0) {
+            final int id = stack[--top];
+            final ByteBuffer buffer;
+            final int offset;
+            if (mapped) {
+                final int index = (id - 1) / nodesPerSegment;
+                offset = ((id - 1) % nodesPerSegment) * nodeSize;
+                if (index >= views.length) views = Arrays.copyOf(views, Math.max(index + 1, views.length << 1));
+                if (views[index] == null || views[index].capacity() < offset + nodeSize) {
+                    views[index] = segmentView(index, offset + nodeSize);
+                }
+                buffer = views[index];
+            } else {
+                record.clear();
+                final FileChannel channel = (FileChannel) inOutChannel;
+                final long position = beginPosition + (long) (id - 1) * nodeSize;
+                while (record.hasRemaining()) {
+                    if (channel.read(record, position + record.position()) < 0) {
+                        throw new IOException("Unexpected end of file while reading Node " + id);
+                    }
+                }
+                buffer = record;
+                offset = 0;
+            }
+            for (int i = 0; i < boundLength; i++) {
+                boundary[i] = buffer.getDouble(offset + i * 8);
+            }
+            // step properties (1 byte) and parent ID (int : 4 byte)
+            final int sibling = buffer.getInt(offset + boundLength * 8 + 5);
+            final int child   = buffer.getInt(offset + boundLength * 8 + 9);
+            if (sibling != 0) {
+                if (top == stack.length) stack = Arrays.copyOf(stack, top << 1);
+                stack[top++] = sibling;
+            }
+            // empty Hilbert cells have NaN boundaries and no child.
+            if (!ArraysExt.hasNaN(boundary) && intersects(boundary, regionSearch, true)) {
+                if (child > 0) {
+                    if (top == stack.length) stack = Arrays.copyOf(stack, top << 1);
+                    stack[top++] = child;
+                } else {
+                    if (child == 0)
+                        throw new IllegalStateException("child index should never be 0.");
+                    if (count == result.length) result = Arrays.copyOf(result, count << 1);
+                    result[count++] = -child;
+                }
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Return a view over the whole mapped segment at the given index, independent of
+     * {@link #byteBuffer} position and limit, mapping segment if needed.
+     *
+     * @param index segment index.
+     * @param minLength minimum segment length in Byte unit.
+     * @return view over mapped segment.
+     * @throws IOException if problem during mapping.
+     */
+    private synchronized ByteBuffer segmentView(final int index, final int minLength) throws IOException {
+        final ByteBuffer view = getSegment(index, minLength).duplicate();
+        view.clear();
+        return view;
+    }
+
+    /**
+     * {@inheritDoc }
+     * <br>
+     * Write Nodes which are still in {@link #byteBuffer} into the channel.
+     */
+    @Override
+    public void flushNodes() throws IOException {
+        if (segments != null || writeBufferLimit == 0) return;
+        if (!(inOutChannel instanceof FileChannel)) return;
+        final ByteBuffer window = byteBuffer.duplicate();
+        window.position(0);
+        window.limit(writeBufferLimit);
+        final FileChannel channel = (FileChannel) inOutChannel;
+        while (window.hasRemaining()) {
+            channel.write(window, currentBufferPosition + window.position());
+        }
+        writeBufferLimit = 0;
+    }
+
     /**
      * {@inheritDoc }
      */
@@ -453,6 +637,7 @@ public abstract strictfp class ChannelTreeAccess extends TreeAccess {
     @Override
     public synchronized void rewind() throws IOException {
         super.rewind();
+        if (segments != null) return;
         byteBuffer.position(0);
         byteBuffer.limit(writeBufferLimit);
         inOutChannel.position(currentBufferPosition);
@@ -480,6 +665,15 @@ public abstract strictfp class ChannelTreeAccess extends TreeAccess {
     @Override
     public void close() throws IOException {
         flush();
+        if (segments != null) {
+            segments = null;
+            //-- remove segment growing padding after last Node
+            try {
+                ((FileChannel) inOutChannel).truncate(beginPosition + (long) (nodeId - 1) * nodeSize);
+            } catch (IOException ex) {
+                //-- some platforms refuse to truncate a mapped file, padding is never red.
+            }
+        }
         //close
         inOutChannel.close();
     }
@@ -490,6 +684,20 @@ public abstract strictfp class ChannelTreeAccess extends TreeAccess {
     @Override
     public void flush() throws IOException {
 
+        if (segments != null) {
+            for (MappedByteBuffer segment : segments) {
+                if (segment != null) segment.force();
+            }
+            // write nodeID
+            final ByteBuffer headBuffer = ByteBuffer.allocate(12);
+            headBuffer.putInt(nodeId);
+            headBuffer.putInt(treeIdentifier);
+            headBuffer.putInt(eltNumber);
+            headBuffer.flip();
+            ((FileChannel) inOutChannel).write(headBuffer, 22);
+            return;
+        }
+
         byteBuffer.position(0);
         byteBuffer.limit(writeBufferLimit);
         inOutChannel.position(currentBufferPosition);
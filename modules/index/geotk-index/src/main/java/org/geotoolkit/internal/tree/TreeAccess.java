@@ -158,6 +158,32 @@ public abstract class TreeAccess {
      */
     public abstract void internalSearch(int nodeID) throws IOException;
 
+    /**
+     * Find all values stored in Tree which intersect region search, without
+     * modifying any state of this {@link TreeAccess}, so that many searches may run in parallel.<br/>
+     * Caller must guarantee that no Node is written during search.<br/><br/>
+     *
+     * Default implementation fall back on {@link #search(int, double[]) }.
+     *
+     * @param nodeID Node identifier where search begin.
+     * @param regionSearch area of search.
+     * @return integer table which contain all tree identifier from selected data.
+     * @throws IOException if read Exception in {@link TreeAccessFile} implementation.
+     * @see #flushNodes()
+     */
+    public int[] concurrentSearch(final int nodeID, final double[] regionSearch) throws IOException {
+        return search(nodeID, regionSearch);
+    }
+
+    /**
+     * Make all previously written Nodes visible to {@link #concurrentSearch(int, double[]) }.<br/>
+     * In {@link TreeAccessMemory} implementation method is empty.
+     *
+     * @throws IOException if write Exception in {@link TreeAccessFile} implementation.
+     */
+    public void flushNodes() throws IOException {
+    }
+
     /**
      * Read Node at specified Node identifier.
      *
@@ -0,0 +1,114 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.internal.tree;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.geotoolkit.index.tree.Node;
+import org.geotoolkit.index.tree.basic.SplitCase;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+
+/**
+ * {@link TreeAccess} implementation.<br>
+ * Store all {@link Node} architecture use by {@link Tree} on disk drive,
+ * and read or write Nodes directly in memory mapped file segments.<br><br>
+ *
+ * File format is the same as {@link TreeAccessFile}, so a tree written with
+ * one implementation may be opened with the other.
+ *
+ * @module
+ * @see ChannelTreeAccess#mapNodes(java.nio.channels.FileChannel, int)
+ */
+public class TreeAccessMappedFile extends ChannelTreeAccess {
+
+    /**
+     * Number of Integer per Node.
+     *
+     * @see TreeAccessFile#INT_NUMBER
+     */
+    private static final int INT_NUMBER = 4;
+
+    /**
+     * Build a {@link Tree} from an already filled file at {@link Path} location.
+     *
+     * @param input {@code File} which already contains {@link Node} architecture.
+     * @param magicNumber {@code Integer} single {@link Tree} code.
+     * @param versionNumber tree version.
+     * @throws IOException if problem during read or write Node.
+     */
+    public TreeAccessMappedFile(final Path input, final int magicNumber, final double versionNumber) throws IOException {
+        this(input, magicNumber, versionNumber, DEFAULT_SEGMENT_LENGTH);
+    }
+
+    /**
+     * Build a {@link Tree} from an already filled file at {@link Path} location.
+     *
+     * @param input {@code File} which already contains {@link Node} architecture.
+     * @param magicNumber {@code Integer} single {@link Tree} code.
+     * @param versionNumber tree version.
+     * @param segmentLength length in Byte unit of each mapped file segment.
+     * @throws IOException if problem during read or write Node.
+     */
+    public TreeAccessMappedFile(final Path input, final int magicNumber, final double versionNumber,
+            final int segmentLength) throws IOException {
+        super(FileChannel.open(input, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE),
+                magicNumber, versionNumber, DEFAULT_BUFFER_LENGTH, INT_NUMBER);
+        mapNodes((FileChannel) inOutChannel, segmentLength);
+    }
+
+    /**
+     * Build and insert {@link Node} architecture in a file at {@link Path} location.<br>
+     * If file is not empty, data within it will be overwrite.<br>
+     * If file does not exist a file will be create.
+     *
+     * @param outPut {@code File} where {@link Node} architecture which will be write.
+     * @param magicNumber {@code Integer} single {@link Tree} code.
+     * @param versionNumber version number.
+     * @param maxElements element number per cell.
+     * @param crs
+     * @throws IOException if problem during read or write Node.
+     */
+    public TreeAccessMappedFile(final Path outPut, final int magicNumber, final double versionNumber,
+            final int maxElements, final CoordinateReferenceSystem crs) throws IOException {
+        this(outPut, magicNumber, versionNumber, maxElements, null, crs, DEFAULT_SEGMENT_LENGTH);
+    }
+
+    /**
+     * Build and insert {@link Node} architecture in a file at {@link Path} location.<br>
+     * If file is not empty, data within it will be overwrite.<br>
+     * If file does not exist a file will be create.
+     *
+     * @param outPut {@code File} where {@link Node} architecture which will be write.
+     * @param magicNumber {@code Integer} single {@link Tree} code.
+     * @param versionNumber version number.
+     * @param maxElements element number per cell.
+     * @param splitMade define how to split a {@link Node}, only use by {@link BasicRTree}, may be {@code null} for other tree.
+     * @param crs
+     * @param segmentLength length in Byte unit of each mapped file segment.
+     * @throws IOException if problem during read or write Node.
+     */
+    public TreeAccessMappedFile(final Path outPut, final int magicNumber, final double versionNumber, final int maxElements,
+            final SplitCase splitMade, final CoordinateReferenceSystem crs, final int segmentLength) throws IOException {
+        super(FileChannel.open(outPut, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING),
+                magicNumber, versionNumber, maxElements, 0, splitMade, crs, DEFAULT_BUFFER_LENGTH, INT_NUMBER);
+        mapNodes((FileChannel) inOutChannel, segmentLength);
+    }
+}
@@ -17,6 +17,7 @@
 package org.geotoolkit.internal.tree;
 
 import java.io.IOException;
+import java.util.Arrays;
 import org.geotoolkit.index.tree.Node;
 import static org.geotoolkit.internal.tree.TreeUtilities.intersects;
 import org.geotoolkit.index.tree.basic.SplitCase;
@@ -85,6 +86,38 @@ public class TreeAccessMemory extends TreeAccess {
         }
     }
 
+    /**
+     * {@inheritDoc }
+     * <br>
+     * Nodes are red directly from {@link #tabNode}, without synchronization.
+     */
+    @Override
+    public int[] concurrentSearch(final int nodeID, final double[] regionSearch) throws IOException {
+        final Node[] nodes = tabNode;
+        int[] result = new int[100];
+        int count = 0;
+        int[] stack = new int[32];
+        int top = 0;
+        stack[top++] = nodeID;
+        while (top > 0) {
+            final Node candidate = nodes[stack[--top] - 1];
+            if (!candidate.isEmpty() && intersects(regionSearch, candidate.getBoundary(), true)) {
+                if (candidate.isData()) {
+                    if (count == result.length) result = Arrays.copyOf(result, count << 1);
+                    result[count++] = -candidate.getChildId();// childID is value in data
+                } else {
+                    int sibl = candidate.getChildId();
+                    while (sibl != 0) {
+                        if (top == stack.length) stack = Arrays.copyOf(stack, top << 1);
+                        stack[top++] = sibl;
+                        sibl = nodes[sibl - 1].getSiblingId();
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
     /**
      * {@inheritDoc }.
      */
@@ -20,7 +20,13 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import org.apache.sis.geometry.GeneralEnvelope;
 import org.apache.sis.util.ArgumentChecks;
 import org.junit.Test;
@@ -28,6 +34,7 @@ import static org.geotoolkit.internal.tree.TreeUtilities.*;
 import static org.geotoolkit.index.tree.TreeTest.createEntry;
 import org.geotoolkit.internal.tree.TreeAccess;
 import org.junit.Assert;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import org.opengis.referencing.crs.CoordinateReferenceSystem;
 import org.opengis.referencing.cs.CoordinateSystem;
@@ -368,6 +375,123 @@ public abstract class AbstractTreeTest extends TreeTest {
         assertTrue(compareLists(lData, Arrays.asList(getResult(tabSearch))));
     }
 
+    /**
+     * Test that a bulk loaded tree contains all elements, stays conform
+     * and accept further insertions.
+     */
+    @Test
+    public void bulkLoadTest() throws StoreIndexException, IOException {
+        tree.setRoot(null);
+        tEM.clear();
+        final Map<Integer, double[]> entries = new LinkedHashMap<Integer, double[]>();
+        for (int i = 0; i < lSize; i++) {
+            final double[] envData = lData.get(i).clone();
+            tEM.setTreeIdentifier(envData, i + 1);
+            entries.put(i + 1, envData);
+        }
+        assertEquals(lSize, ((AbstractTree) tree).bulkLoad(entries.entrySet().iterator()));
+        assertEquals(lSize, tree.getElementsNumber());
+
+        tAF = ((AbstractTree) tree).getTreeAccess();
+        checkNode(tree.getRoot(), lData);
+
+        final GeneralEnvelope rG = new GeneralEnvelope(crs);
+        rG.setEnvelope(getExtent(lData));
+        assertTrue(compareLists(lData, Arrays.asList(getResult(tree.searchID(rG)))));
+
+        final double[] extra = lData.get(0).clone();
+        assertEquals(lSize + 1, tree.insert(extra));
+        assertEquals(lSize + 1, tree.searchID(rG).length);
+    }
+
+    /**
+     * Test that many searches running in parallel with a single writer in concurrent mode
+     * never see a partially written tree : each search result only contains distinct
+     * identifiers of already inserted elements, and never loses an element previously found.
+     */
+    @Test
+    public void concurrentSearchTest() throws Exception {
+        final AbstractTree concurrentTree = (AbstractTree) tree;
+        concurrentTree.setRoot(null);
+        tEM.clear();
+        concurrentTree.setConcurrent(true);
+        try {
+            final GeneralEnvelope rG = new GeneralEnvelope(crs);
+            rG.setEnvelope(getExtent(lData));
+            final AtomicBoolean writing = new AtomicBoolean(true);
+            final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+            final Thread[] readers = new Thread[4];
+            for (int r = 0; r < readers.length; r++) {
+                readers[r] = new Thread() {
+                    @Override
+                    public void run() {
+                        try {
+                            int previous = 0;
+                            boolean last;
+                            do {
+                                last = !writing.get();
+                                final int[] result = tree.searchID(rG);
+                                final Set<Integer> distinct = new HashSet<Integer>();
+                                for (int id : result) {
+                                    assertTrue("identifier out of range : "+id, id >= 1 && id <= lSize);
+                                    assertTrue("identifier found twice : "+id, distinct.add(id));
+                                }
+                                assertTrue("search result lose elements", result.length >= previous);
+                                previous = result.length;
+                            } while (!last);
+                            assertEquals(lSize, previous);
+                        } catch (Throwable ex) {
+                            failure.compareAndSet(null, ex);
+                        }
+                    }
+                };
+                readers[r].start();
+            }
+            try {
+                for (int i = 0; i < lSize; i++) {
+                    tree.insert(lData.get(i).clone());
+                }
+            } finally {
+                writing.set(false);
+                for (Thread reader : readers) reader.join();
+            }
+            if (failure.get() != null) throw new AssertionError(failure.get());
+            assertTrue(compareLists(lData, Arrays.asList(getResult(tree.searchID(rG)))));
+        } finally {
+            concurrentTree.setConcurrent(false);
+        }
+    }
+
+    /**
+     * Test that concurrent search skips the nodes left empty by deletions, like the
+     * empty cells of {@link org.geotoolkit.index.tree.hilbert.HilbertRTree} whose
+     * boundaries are NaN, and returns the same elements as a sequential search.
+     */
+    @Test
+    public void concurrentSearchAfterRemoveTest() throws Exception {
+        final AbstractTree concurrentTree = (AbstractTree) tree;
+        concurrentTree.setRoot(null);
+        insert();
+        final List<double[]> remaining = new ArrayList<double[]>(lData);
+        Collections.shuffle(remaining);
+        for (int i = remaining.size() - 1; i >= lSize / 3; i--) {
+            assertTrue(tree.remove(remaining.remove(i)));
+        }
+        tree.flush();
+
+        final GeneralEnvelope rG = new GeneralEnvelope(crs);
+        rG.setEnvelope(minMax.clone());
+        final int[] sequential = tree.searchID(rG);
+        concurrentTree.setConcurrent(true);
+        try {
+            final int[] concurrent = tree.searchID(rG);
+            assertTrue(compareID(sequential, concurrent));
+            assertTrue(compareLists(remaining, Arrays.asList(getResult(concurrent))));
+        } finally {
+            concurrentTree.setConcurrent(false);
+        }
+    }
+
     /**
      * Return result given by {@link TreeElementMapper} from tree identifier table given in parameter.
      *
@@ -0,0 +1,48 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.index.tree.hilbert;
+
+import java.io.File;
+import java.io.IOException;
+import org.geotoolkit.index.tree.FileTreeElementMapperTest;
+import org.geotoolkit.index.tree.StoreIndexException;
+import org.geotoolkit.referencing.crs.PredefinedCRS;
+
+/**
+ * Create a HilbertRTree Test suite in a Cartesian 2D space, stored on hard drive
+ * through memory mapped file.
+ *
+ * @module
+ * @see PredefinedCRS#CARTESIAN_2D
+ */
+public final class MappedHilbert2DTest extends HilbertTest {
+
+    /**
+     * Create a HilbertRTree Test suite in a Cartesian 2D space stored in a memory mapped file.
+     *
+     * @throws StoreIndexException should never thrown.
+     * @throws IOException should never thrown.
+     */
+    public MappedHilbert2DTest() throws StoreIndexException, IOException {
+        super(PredefinedCRS.CARTESIAN_2D);
+        final File inOutFile      = File.createTempFile("mappedHilbert", "tree", tempDir);
+        final File treeMapperFile = File.createTempFile("mapper", "test", tempDir);
+
+        tEM  = new FileTreeElementMapperTest(crs, treeMapperFile);
+        tree = new FileHilbertRTree(inOutFile.toPath(), 4, 2, crs, tEM, true);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.index.tree.star;
+
+import java.io.File;
+import java.io.IOException;
+import org.geotoolkit.index.tree.AbstractTreeTest;
+import org.geotoolkit.index.tree.FileTreeElementMapperTest;
+import org.geotoolkit.index.tree.StoreIndexException;
+import org.geotoolkit.referencing.crs.PredefinedCRS;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Create a StarRTree Test suite in a Cartesian 2D space, stored on hard drive
+ * through memory mapped file, filled then closed and opened again.
+ *
+ * @module
+ * @see PredefinedCRS#CARTESIAN_2D
+ */
+public final class MappedStar2DTest extends AbstractTreeTest {
+
+    /**
+     * Create a StarRTree Test suite from a memory mapped file already filled by tree architecture.
+     *
+     * @throws StoreIndexException should never thrown.
+     * @throws IOException should never thrown.
+     */
+    public MappedStar2DTest() throws StoreIndexException, IOException {
+        super(PredefinedCRS.CARTESIAN_2D);
+        final File inOutFile      = File.createTempFile("mappedStar", "tree", tempDir);
+        final File treeMapperFile = File.createTempFile("mapper", "test", tempDir);
+
+        tEM  = new FileTreeElementMapperTest(crs, treeMapperFile);
+        tree = new FileStarRTree(inOutFile.toPath(), 4, crs, tEM, true);
+        insert();
+        tree.close();
+        tEM.close();
+        assertTrue(tree.isClosed());
+
+        tEM  = new FileTreeElementMapperTest(crs, treeMapperFile);
+        tree = new FileStarRTree(inOutFile.toPath(), tEM, true);
+    }
+}
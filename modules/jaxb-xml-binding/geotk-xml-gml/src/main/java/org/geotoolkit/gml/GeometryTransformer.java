@@ -588,7 +588,20 @@ public class GeometryTransformer implements Supplier<Geometry> {
     }
 
     protected CoordinateReferenceSystem findCRS(final String srsName) {
-        final boolean longitudeFirst = isLongitudeFirst();
+        return findCRS(srsName, isLongitudeFirst());
+    }
+
+    /**
+     * Decode the referencing system identified by given GML srsName. Decoded
+     * systems are cached, so this method can be used by other GML decoders
+     * without paying the cost of a lookup for each geometry.
+     *
+     * @param srsName The srsName attribute value of a GML geometry.
+     * @param longitudeFirst True to force {@link AxesConvention#RIGHT_HANDED} convention on the result.
+     * @return The referencing system, never null.
+     * @throws UnconvertibleObjectException If no system can be found for given name.
+     */
+    public static CoordinateReferenceSystem findCRS(final String srsName, final boolean longitudeFirst) {
         try {
             return CRS_CACHE.getOrCreate(new AbstractMap.SimpleImmutableEntry<>(srsName, longitudeFirst), () -> GeometryTransformer.loadCRS(srsName, longitudeFirst));
         } catch (Exception ex) {
@@ -0,0 +1,493 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.feature.xml.jaxp;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.geotoolkit.geometry.jts.JTS;
+import org.geotoolkit.gml.GeometryTransformer;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+
+import static javax.xml.stream.XMLStreamConstants.*;
+
+/**
+ * Decodes GML 3.1 and 3.2 geometries directly from a {@link XMLStreamReader}.
+ * Ordinates found in pos, posList, coordinates and coord elements are copied
+ * in JTS coordinate sequences, without building the JAXB binding of the geometry.
+ * Elements of other geometry types (curves, surfaces, rings, solids...) are
+ * decoded by the given {@link Fallback}, even when they are members of a
+ * geometry supported by this class.
+ *
+ * @module
+ */
+final class GeometryStreamReader {
+
+    /**
+     * Decodes the geometry element on which the reader is positioned. When this
+     * method returns, the reader must be positioned on the event following the
+     * geometry end element, as done by JAXB unmarshallers.
+     */
+    @FunctionalInterface
+    interface Fallback {
+        Geometry read() throws XMLStreamException;
+    }
+
+    private static final String GML_31 = "http://www.opengis.net/gml";
+    private static final String GML_32 = "http://www.opengis.net/gml/3.2";
+
+    private static final GeometryFactory GF = new GeometryFactory();
+
+    /**
+     * Local names of the geometry elements decoded by this class.
+     */
+    private static final Set<String> GEOMETRIES = new HashSet<>(Arrays.asList(
+            "Point", "LineString", "LinearRing", "Polygon", "Envelope",
+            "MultiPoint", "MultiLineString", "MultiCurve", "MultiPolygon", "MultiSurface", "MultiGeometry"));
+
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+
+    private final XMLStreamReader reader;
+
+    private final boolean longitudeFirst;
+
+    private final Fallback fallback;
+
+    /**
+     * Set when the fallback left the reader on the event following a geometry end element.
+     */
+    private boolean advanced;
+
+    GeometryStreamReader(final XMLStreamReader reader, final boolean longitudeFirst, final Fallback fallback) {
+        this.reader = reader;
+        this.longitudeFirst = longitudeFirst;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Returns {@code true} if the element of given name can be decoded by this class.
+     */
+    static boolean isSupported(final QName name) {
+        final String namespace = name.getNamespaceURI();
+        return (GML_31.equals(namespace) || GML_32.equals(namespace)) && GEOMETRIES.contains(name.getLocalPart());
+    }
+
+    /**
+     * Reads the geometry element on which the reader is positioned. Like JAXB
+     * unmarshallers, the reader is left on the event following the end element.
+     *
+     * @return The decoded geometry, with its coordinate reference system if a srsName is defined.
+     */
+    Geometry read() throws XMLStreamException {
+        final Geometry geometry = readGeometry(null, 0);
+        if (!advanced) {
+            reader.next();
+        }
+        return geometry;
+    }
+
+    /**
+     * Reads the geometry element on which the reader is positioned. Unless the
+     * fallback was used, the reader is left on the geometry end element.
+     *
+     * @param srsName srsName inherited from the enclosing geometry, or null.
+     * @param dimension srsDimension inherited from the enclosing geometry, or 0.
+     */
+    private Geometry readGeometry(String srsName, int dimension) throws XMLStreamException {
+        if (!isSupported(reader.getName())) {
+            final Geometry geometry = fallback.read();
+            advanced = true;
+            return geometry;
+        }
+        final String localName = reader.getLocalName();
+        final String srs = reader.getAttributeValue(null, "srsName");
+        if (srs != null && !srs.isEmpty()) {
+            srsName = srs;
+        }
+        dimension = readDimension(dimension);
+
+        final Geometry geometry;
+        switch (localName) {
+            case "Point":      geometry = GF.createPoint(readPositions(dimension).toSequence()); break;
+            case "LineString": geometry = GF.createLineString(readPositions(dimension).toSequence()); break;
+            case "LinearRing": geometry = GF.createLinearRing(readPositions(dimension).toSequence()); break;
+            case "Envelope":   geometry = readEnvelope(dimension); break;
+            case "Polygon":    geometry = readPolygon(srsName, dimension); break;
+            case "MultiPoint": {
+                final List<Geometry> members = readMembers(srsName, dimension, "pointMember", "pointMembers");
+                geometry = GF.createMultiPoint(toArray(members, Point.class, localName));
+                break;
+            }
+            case "MultiLineString":
+            case "MultiCurve": {
+                final List<Geometry> members = readMembers(srsName, dimension, "lineStringMember", "curveMember", "curveMembers");
+                geometry = GF.createMultiLineString(toArray(members, LineString.class, localName));
+                break;
+            }
+            case "MultiPolygon":
+            case "MultiSurface": {
+                final List<Geometry> members = readMembers(srsName, dimension, "polygonMember", "surfaceMember", "surfaceMembers");
+                geometry = GF.createMultiPolygon(toArray(members, Polygon.class, localName));
+                break;
+            }
+            case "MultiGeometry": {
+                final List<Geometry> members = readMembers(srsName, dimension, "geometryMember", "geometryMembers");
+                geometry = GF.createGeometryCollection(members.toArray(new Geometry[members.size()]));
+                break;
+            }
+            default: throw new XMLStreamException("Unsupported geometry type : " + localName);
+        }
+
+        if (srsName != null) {
+            JTS.setCRS(geometry, GeometryTransformer.findCRS(srsName, longitudeFirst));
+        }
+        return geometry;
+    }
+
+    private Polygon readPolygon(final String srsName, final int dimension) throws XMLStreamException {
+        LinearRing exterior = null;
+        final List<Geometry> interiors = new ArrayList<>();
+        while (nextTag() == START_ELEMENT) {
+            final String localName = reader.getLocalName();
+            if ("exterior".equals(localName) || "outerBoundaryIs".equals(localName)) {
+                final List<Geometry> rings = new ArrayList<>(1);
+                readProperty(srsName, dimension, rings);
+                if (rings.size() != 1 || !(rings.get(0) instanceof LinearRing)) {
+                    throw new XMLStreamException("Cannot create a polygon, because its exterior is not a ring");
+                }
+                exterior = (LinearRing) rings.get(0);
+            } else if ("interior".equals(localName) || "innerBoundaryIs".equals(localName)) {
+                readProperty(srsName, dimension, interiors);
+            } else {
+                skipElement();
+            }
+        }
+        if (exterior == null) {
+            throw new XMLStreamException("Cannot create a polygon, because it has no exterior ring", reader.getLocation());
+        }
+        return GF.createPolygon(exterior, toArray(interiors, LinearRing.class, "Polygon"));
+    }
+
+    private Geometry readEnvelope(final int dimension) throws XMLStreamException {
+        final Positions positions = readPositions(dimension);
+        if (positions.size == 0) {
+            return GF.createPolygon((LinearRing) null, null);
+        } else if (positions.size != 2) {
+            throw new XMLStreamException("An envelope must be defined by two corners, but found " + positions.size);
+        }
+        final double[] values = positions.values;
+        return JTS.toGeometry(new Envelope(values[0], values[3], values[1], values[4]));
+    }
+
+    /**
+     * Reads the geometries contained in the member properties of a geometry collection.
+     * Other child elements (name, description, boundedBy...) are ignored.
+     */
+    private List<Geometry> readMembers(final String srsName, final int dimension, final String... properties)
+            throws XMLStreamException
+    {
+        final List<Geometry> members = new ArrayList<>();
+        while (nextTag() == START_ELEMENT) {
+            if (Arrays.asList(properties).contains(reader.getLocalName())) {
+                readProperty(srsName, dimension, members);
+            } else {
+                skipElement();
+            }
+        }
+        return members;
+    }
+
+    /**
+     * Reads all geometries contained in the property element on which the reader
+     * is positioned. Properties referencing their value with xlink:href are empty.
+     * The reader is left on the property end element.
+     */
+    private void readProperty(final String srsName, final int dimension, final List<Geometry> target)
+            throws XMLStreamException
+    {
+        while (nextTag() == START_ELEMENT) {
+            target.add(readGeometry(srsName, dimension));
+        }
+    }
+
+    /**
+     * Reads the positions of the primitive geometry element on which the reader is
+     * positioned. The reader is left on the geometry end element.
+     */
+    private Positions readPositions(final int dimension) throws XMLStreamException {
+        final Positions positions = new Positions();
+        while (nextTag() == START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "pos":
+                case "lowerCorner":
+                case "upperCorner": {
+                    final int start = positions.ordinates;
+                    parseOrdinates(reader.getElementText(), positions);
+                    positions.group(start, positions.ordinates - start);
+                    break;
+                }
+                case "posList": {
+                    final int dim = readDimension(dimension);
+                    final int start = positions.ordinates;
+                    parseOrdinates(reader.getElementText(), positions);
+                    positions.group(start, dim > 0 ? dim : 2);
+                    break;
+                }
+                case "coordinates": {
+                    parseCoordinates(dimension, positions);
+                    break;
+                }
+                case "coord": {
+                    final int start = positions.ordinates;
+                    while (nextTag() == START_ELEMENT) {
+                        positions.append(parseDouble(reader.getElementText()));
+                    }
+                    positions.group(start, positions.ordinates - start);
+                    break;
+                }
+                case "pointProperty":
+                case "pointRep": {
+                    final List<Geometry> points = new ArrayList<>(1);
+                    readProperty(null, dimension, points);
+                    for (Geometry point : points) {
+                        positions.add(((Point) point).getCoordinateSequence());
+                    }
+                    break;
+                }
+                default: skipElement();
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Reads a GML 2 coordinates element. If a tuple separator is found, each tuple
+     * is a position. Otherwise values are grouped according to the srsDimension.
+     */
+    private void parseCoordinates(final int dimension, final Positions positions) throws XMLStreamException {
+        final String decimal = getAttribute("decimal", ".");
+        final String cs = getAttribute("cs", ",");
+        final String ts = getAttribute("ts", " ");
+        final String text = reader.getElementText().trim();
+        if (text.isEmpty()) {
+            return;
+        }
+        final Pattern tupleSeparator = ts.trim().isEmpty() ? WHITESPACES : Pattern.compile(Pattern.quote(ts));
+        final Pattern valueSeparator = cs.trim().isEmpty() ? WHITESPACES : Pattern.compile(Pattern.quote(cs));
+        final String[] tuples = tupleSeparator.split(text);
+        if (valueSeparator.split(tuples[0].trim()).length > 1) {
+            for (String tuple : tuples) {
+                final int start = positions.ordinates;
+                for (String value : valueSeparator.split(tuple.trim())) {
+                    positions.append(parseDouble(value.replace(decimal, ".")));
+                }
+                positions.group(start, positions.ordinates - start);
+            }
+        } else {
+            final int start = positions.ordinates;
+            for (String value : tuples) {
+                positions.append(parseDouble(value.replace(decimal, ".")));
+            }
+            positions.group(start, dimension > 0 ? dimension : 2);
+        }
+    }
+
+    /**
+     * Appends the white space separated decimal values of given text in the positions buffer.
+     */
+    private static void parseOrdinates(final String text, final Positions positions) throws XMLStreamException {
+        final int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && Character.isWhitespace(text.charAt(i))) i++;
+            final int start = i;
+            while (i < length && !Character.isWhitespace(text.charAt(i))) i++;
+            if (i > start) {
+                positions.append(parseDouble(text.substring(start, i)));
+            }
+        }
+    }
+
+    private static double parseDouble(final String value) throws XMLStreamException {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new XMLStreamException("Invalid coordinate value : " + value, ex);
+        }
+    }
+
+    private int readDimension(final int inherited) throws XMLStreamException {
+        final String dimension = reader.getAttributeValue(null, "srsDimension");
+        if (dimension == null || dimension.isEmpty()) {
+            return inherited;
+        }
+        try {
+            return Integer.parseInt(dimension.trim());
+        } catch (NumberFormatException ex) {
+            throw new XMLStreamException("Invalid srsDimension : " + dimension, ex);
+        }
+    }
+
+    private String getAttribute(final String name, final String defaultValue) {
+        final String value = reader.getAttributeValue(null, name);
+        return (value == null || value.isEmpty()) ? defaultValue : value;
+    }
+
+    /**
+     * Moves to the next start or end element, taking in account that the
+     * fallback may have already moved the reader after a geometry end element.
+     */
+    private int nextTag() throws XMLStreamException {
+        if (advanced) {
+            advanced = false;
+            final int event = reader.getEventType();
+            if (event == START_ELEMENT || event == END_ELEMENT) {
+                return event;
+            }
+        }
+        return reader.nextTag();
+    }
+
+    /**
+     * Skips the element on which the reader is positioned, leaving the reader on its end element.
+     */
+    private void skipElement() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            final int event = reader.next();
+            if (event == START_ELEMENT) {
+                depth++;
+            } else if (event == END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static <T extends Geometry> T[] toArray(final List<Geometry> members, final Class<T> type, final String container)
+            throws XMLStreamException
+    {
+        final T[] array = (T[]) Array.newInstance(type, members.size());
+        for (int i = 0; i < array.length; i++) {
+            final Geometry member = members.get(i);
+            if (!type.isInstance(member)) {
+                throw new XMLStreamException("Cannot create a " + container + ", because some of its components are not of type "
+                        + type.getSimpleName() + " : " + member.getGeometryType());
+            }
+            array[i] = type.cast(member);
+        }
+        return array;
+    }
+
+    /**
+     * Growable buffer of positions. Ordinates are stored by groups of three,
+     * the third one being NaN for 2D positions.
+     */
+    private static final class Positions {
+
+        /** Values not yet grouped in positions, then positions ordinates. */
+        double[] values = new double[48];
+
+        /** Number of values appended since creation, grouped or not. */
+        int ordinates;
+
+        /** Number of complete positions. */
+        int size;
+
+        /** 3 if at least one position has a third dimension, 2 otherwise. */
+        int dimension = 2;
+
+        void append(final double value) {
+            if (ordinates == values.length) {
+                values = Arrays.copyOf(values, ordinates * 2);
+            }
+            values[ordinates++] = value;
+        }
+
+        /**
+         * Groups the values appended since given index in positions of given dimension.
+         */
+        void group(final int start, final int dim) throws XMLStreamException {
+            final int count = ordinates - start;
+            if (count == 0) {
+                return;
+            }
+            if (dim < 2 || dim > 3) {
+                throw new XMLStreamException("Only 2D and 3D positions accepted, but received dimension: " + dim);
+            }
+            if (count % dim != 0) {
+                throw new XMLStreamException("Number of values (" + count + ") is not a multiple of the dimension (" + dim + ")");
+            }
+            final int n = count / dim;
+            if (dim == 3) {
+                dimension = 3;
+            } else {
+                // Spread 2D positions in place, from the last one to avoid overwriting values.
+                ordinates = start + n * 3;
+                if (ordinates > values.length) {
+                    values = Arrays.copyOf(values, Math.max(ordinates, values.length * 2));
+                }
+                for (int i = n - 1; i >= 0; i--) {
+                    final double x = values[start + i*2];
+                    final double y = values[start + i*2 + 1];
+                    values[start + i*3]     = x;
+                    values[start + i*3 + 1] = y;
+                    values[start + i*3 + 2] = Double.NaN;
+                }
+            }
+            size += n;
+        }
+
+        void add(final CoordinateSequence sequence) {
+            for (int i = 0, n = sequence.size(); i < n; i++) {
+                append(sequence.getX(i));
+                append(sequence.getY(i));
+                append(sequence.getDimension() > 2 ? sequence.getOrdinate(i, 2) : Double.NaN);
+            }
+            size += sequence.size();
+            if (sequence.getDimension() > 2) {
+                dimension = 3;
+            }
+        }
+
+        CoordinateSequence toSequence() {
+            final CoordinateSequence sequence = GF.getCoordinateSequenceFactory().create(size, dimension);
+            for (int i = 0, j = 0; i < size; i++) {
+                sequence.setOrdinate(i, 0, values[j++]);
+                sequence.setOrdinate(i, 1, values[j++]);
+                if (dimension == 3) {
+                    sequence.setOrdinate(i, 2, values[j]);
+                }
+                j++;
+            }
+            return sequence;
+        }
+    }
+}
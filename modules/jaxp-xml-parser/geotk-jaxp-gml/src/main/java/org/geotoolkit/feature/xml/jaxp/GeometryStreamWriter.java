@@ -0,0 +1,248 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.feature.xml.jaxp;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.geotoolkit.internal.jaxb.CoordinateReferenceSystemAdapter;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.MultiPoint;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+
+/**
+ * Encodes JTS geometries directly in a {@link XMLStreamWriter}, reading ordinates
+ * from the geometry coordinate sequences. The produced GML is the same as the one
+ * marshalled by JAXB for the 3.1.1 and 3.2.1 versions. Only non empty points,
+ * line strings, polygons and their multi-geometries in a two dimensional
+ * referencing system are supported, see {@link #isSupported(Geometry, CoordinateReferenceSystem)}.
+ *
+ * @module
+ */
+final class GeometryStreamWriter {
+
+    private final String gmlNamespace;
+
+    /**
+     * True for GML 3.2.1, which requires identifiers on geometries and
+     * writes a position element for each line string point.
+     */
+    private final boolean gml32;
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    private XMLStreamWriter writer;
+    private String srsName;
+    private String idPrefix;
+    private int idIndex;
+
+    GeometryStreamWriter(final String gmlVersion, final String gmlNamespace) {
+        this.gmlNamespace = gmlNamespace;
+        this.gml32 = "3.2.1".equals(gmlVersion);
+    }
+
+    /**
+     * Returns {@code true} if given geometry can be written by this class.
+     * Other geometries must be marshalled with JAXB.
+     */
+    static boolean isSupported(final Geometry geometry, final CoordinateReferenceSystem crs) {
+        if (crs == null || crs.getCoordinateSystem() == null || crs.getCoordinateSystem().getDimension() != 2
+                || geometry.isEmpty() || CoordinateReferenceSystemAdapter.getSrsName(crs) == null) {
+            return false;
+        }
+        final Class<?> type = geometry.getClass();
+        final Class<?> memberType;
+        if (type == Point.class || type == LineString.class || type == Polygon.class) {
+            return true;
+        } else if (type == MultiPoint.class) {
+            memberType = Point.class;
+        } else if (type == MultiLineString.class) {
+            memberType = LineString.class;
+        } else if (type == MultiPolygon.class) {
+            memberType = Polygon.class;
+        } else {
+            return false;
+        }
+        for (int i = 0, n = geometry.getNumGeometries(); i < n; i++) {
+            final Geometry member = geometry.getGeometryN(i);
+            if (member.getClass() != memberType || member.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes given geometry. Caller must ensure the geometry is supported.
+     *
+     * @param writer The stream where to write the geometry.
+     * @param geometry The geometry to write.
+     * @param crs The geometry referencing system, used for the srsName attributes.
+     * @param gid Prefix of the generated GML 3.2.1 identifiers.
+     * @param gidInc Index of the next generated identifier.
+     * @return Index of the next generated identifier after this geometry.
+     */
+    int write(final XMLStreamWriter writer, final Geometry geometry, final CoordinateReferenceSystem crs,
+            final String gid, final int gidInc) throws XMLStreamException
+    {
+        this.writer   = writer;
+        this.srsName  = CoordinateReferenceSystemAdapter.getSrsName(crs);
+        this.idPrefix = gid;
+        this.idIndex  = gidInc;
+        try {
+            if (geometry instanceof Point) {
+                writePoint((Point) geometry);
+            } else if (geometry instanceof LineString) {
+                writeLineString((LineString) geometry);
+            } else if (geometry instanceof Polygon) {
+                writePolygon((Polygon) geometry);
+            } else if (geometry instanceof MultiPoint) {
+                writeStart("MultiPoint");
+                for (int i = 0, n = geometry.getNumGeometries(); i < n; i++) {
+                    writer.writeStartElement("gml", "pointMember", gmlNamespace);
+                    writePoint((Point) geometry.getGeometryN(i));
+                    writer.writeEndElement();
+                }
+                writer.writeEndElement();
+            } else if (geometry instanceof MultiLineString) {
+                writeStart("MultiCurve");
+                for (int i = 0, n = geometry.getNumGeometries(); i < n; i++) {
+                    writer.writeStartElement("gml", "curveMember", gmlNamespace);
+                    writeLineString((LineString) geometry.getGeometryN(i));
+                    writer.writeEndElement();
+                }
+                writer.writeEndElement();
+            } else if (geometry instanceof MultiPolygon) {
+                writeStart("MultiSurface");
+                for (int i = 0, n = geometry.getNumGeometries(); i < n; i++) {
+                    writer.writeStartElement("gml", "surfaceMember", gmlNamespace);
+                    writePolygon((Polygon) geometry.getGeometryN(i));
+                    writer.writeEndElement();
+                }
+                writer.writeEndElement();
+            } else {
+                throw new IllegalArgumentException("Unsupported geometry type : " + geometry.getGeometryType());
+            }
+            return idIndex;
+        } finally {
+            this.writer = null;
+        }
+    }
+
+    /**
+     * Writes the start element of a geometry, with its srsName and its GML 3.2.1 identifier.
+     */
+    private void writeStart(final String localName) throws XMLStreamException {
+        writer.writeStartElement("gml", localName, gmlNamespace);
+        writer.writeAttribute("srsName", srsName);
+        if (gml32) {
+            writer.writeAttribute("gml", gmlNamespace, "id", idPrefix + (idIndex++));
+        }
+    }
+
+    private void writePoint(final Point point) throws XMLStreamException {
+        writeStart("Point");
+        writePosition(point.getCoordinateSequence(), 0);
+        writer.writeEndElement();
+    }
+
+    private void writeLineString(final LineString line) throws XMLStreamException {
+        writeStart("LineString");
+        final CoordinateSequence sequence = line.getCoordinateSequence();
+        if (gml32) {
+            for (int i = 0, n = sequence.size(); i < n; i++) {
+                writePosition(sequence, i);
+            }
+        } else {
+            writePositionList(sequence);
+        }
+        writer.writeEndElement();
+    }
+
+    private void writePolygon(final Polygon polygon) throws XMLStreamException {
+        writeStart("Polygon");
+        writeRing("exterior", polygon.getExteriorRing());
+        for (int i = 0, n = polygon.getNumInteriorRing(); i < n; i++) {
+            writeRing("interior", polygon.getInteriorRingN(i));
+        }
+        writer.writeEndElement();
+    }
+
+    private void writeRing(final String property, final LineString ring) throws XMLStreamException {
+        writer.writeStartElement("gml", property, gmlNamespace);
+        writer.writeStartElement("gml", "LinearRing", gmlNamespace);
+        writePositionList(ring.getCoordinateSequence());
+        writer.writeEndElement();
+        writer.writeEndElement();
+    }
+
+    /**
+     * Writes a single position. GML 3.2.1 positions repeat the srsName and
+     * keep the third ordinate when defined, GML 3.1.1 positions are two dimensional.
+     */
+    private void writePosition(final CoordinateSequence sequence, final int index) throws XMLStreamException {
+        buffer.setLength(0);
+        append(sequence.getOrdinate(index, 0)).append(' ');
+        append(sequence.getOrdinate(index, 1));
+        writer.writeStartElement("gml", "pos", gmlNamespace);
+        if (gml32) {
+            final double z = sequence.getDimension() > 2 ? sequence.getOrdinate(index, 2) : Double.NaN;
+            writer.writeAttribute("srsName", srsName);
+            if (Double.isNaN(z)) {
+                writer.writeAttribute("srsDimension", "2");
+            } else {
+                writer.writeAttribute("srsDimension", "3");
+                buffer.append(' ');
+                append(z);
+            }
+        }
+        writer.writeCharacters(buffer.toString());
+        writer.writeEndElement();
+    }
+
+    /**
+     * Writes the two first ordinates of all positions in a posList element.
+     */
+    private void writePositionList(final CoordinateSequence sequence) throws XMLStreamException {
+        buffer.setLength(0);
+        for (int i = 0, n = sequence.size(); i < n; i++) {
+            if (i != 0) buffer.append(' ');
+            append(sequence.getOrdinate(i, 0)).append(' ');
+            append(sequence.getOrdinate(i, 1));
+        }
+        writer.writeStartElement("gml", "posList", gmlNamespace);
+        writer.writeCharacters(buffer.toString());
+        writer.writeEndElement();
+    }
+
+    /**
+     * Appends a value formatted as the xs:double lexical representation used by JAXB.
+     */
+    private StringBuilder append(final double value) {
+        if (Double.isNaN(value)) {
+            return buffer.append("NaN");
+        } else if (Double.isInfinite(value)) {
+            return buffer.append(value > 0 ? "INF" : "-INF");
+        }
+        return buffer.append(value);
+    }
+}
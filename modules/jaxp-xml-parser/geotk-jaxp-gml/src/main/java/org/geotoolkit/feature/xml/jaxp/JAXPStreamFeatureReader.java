@@ -554,6 +554,52 @@ public class JAXPStreamFeatureReader extends StaxStreamReader implements XmlFeat
         return feature;
     }
 
+    /**
+     * Unmarshal the geometry element on which the reader is positioned and convert it to JTS.
+     * The reader is left on the event following the geometry end element.
+     */
+    private Geometry unmarshalGeometry(final boolean longitudeFirst) throws XMLStreamException {
+        try {
+            final Geometry jtsGeom;
+            final Object geometry = ((JAXBElement) unmarshaller.unmarshal(reader)).getValue();
+            if (geometry instanceof JTSGeometry) {
+                final JTSGeometry isoGeom = (JTSGeometry) geometry;
+                if (isoGeom instanceof JTSMultiCurve) {
+                    ((JTSMultiCurve)isoGeom).applyCRSonChild();
+                }
+                jtsGeom = isoGeom.getJTSGeometry();
+            } else if (geometry instanceof PolygonType) {
+                final PolygonType polygon = ((PolygonType)geometry);
+                jtsGeom = polygon.getJTSPolygon().getJTSGeometry();
+                if(polygon.getCoordinateReferenceSystem() != null) {
+                    JTS.setCRS(jtsGeom, polygon.getCoordinateReferenceSystem());
+                }
+            } else if (geometry instanceof LineStringPosListType) {
+                final JTSLineString line = ((LineStringPosListType)geometry).getJTSLineString();
+                jtsGeom = line.getJTSGeometry();
+                if(line.getCoordinateReferenceSystem() != null) {
+                    JTS.setCRS(jtsGeom, line.getCoordinateReferenceSystem());
+                }
+            } else if (geometry instanceof AbstractGeometry) {
+                try {
+                    jtsGeom = GeometrytoJTS.toJTS((AbstractGeometry) geometry, longitudeFirst);
+                } catch (FactoryException ex) {
+                    throw new XMLStreamException("Factory Exception while transforming GML object to JTS", ex);
+                }
+            } else {
+                throw new IllegalArgumentException("unexpected geometry type:" + geometry);
+            }
+            return jtsGeom;
+
+        } catch (JAXBException ex) {
+            String msg = ex.getMessage();
+            if (msg == null && ex.getLinkedException() != null) {
+                msg = ex.getLinkedException().getMessage();
+            }
+            throw new IllegalArgumentException("JAXB exception while reading the feature geometry: " + msg, ex);
+        }
+    }
+
     private Object readPropertyValue(PropertyType propertyType, boolean skipCurrent) throws XMLStreamException{
         final GenericName propName = nameCache.get(reader.getName());
 
@@ -571,51 +617,18 @@ public class JAXPStreamFeatureReader extends StaxStreamReader implements XmlFeat
                 }
                 event = reader.next();
             }
-            try {
-                final boolean longitudeFirst;
-                if (getProperty(LONGITUDE_FIRST) != null) {
-                    longitudeFirst = (boolean) getProperty(LONGITUDE_FIRST);
-                } else {
-                    longitudeFirst = true;
-                }
-
-                final Geometry jtsGeom;
-                final Object geometry = ((JAXBElement) unmarshaller.unmarshal(reader)).getValue();
-                if (geometry instanceof JTSGeometry) {
-                    final JTSGeometry isoGeom = (JTSGeometry) geometry;
-                    if (isoGeom instanceof JTSMultiCurve) {
-                        ((JTSMultiCurve)isoGeom).applyCRSonChild();
-                    }
-                    jtsGeom = isoGeom.getJTSGeometry();
-                } else if (geometry instanceof PolygonType) {
-                    final PolygonType polygon = ((PolygonType)geometry);
-                    jtsGeom = polygon.getJTSPolygon().getJTSGeometry();
-                    if(polygon.getCoordinateReferenceSystem() != null) {
-                        JTS.setCRS(jtsGeom, polygon.getCoordinateReferenceSystem());
-                    }
-                } else if (geometry instanceof LineStringPosListType) {
-                    final JTSLineString line = ((LineStringPosListType)geometry).getJTSLineString();
-                    jtsGeom = line.getJTSGeometry();
-                    if(line.getCoordinateReferenceSystem() != null) {
-                        JTS.setCRS(jtsGeom, line.getCoordinateReferenceSystem());
-                    }
-                } else if (geometry instanceof AbstractGeometry) {
-                    try {
-                        jtsGeom = GeometrytoJTS.toJTS((AbstractGeometry) geometry, longitudeFirst);
-                    } catch (FactoryException ex) {
-                        throw new XMLStreamException("Factory Exception while transforming GML object to JTS", ex);
-                    }
-                } else {
-                    throw new IllegalArgumentException("unexpected geometry type:" + geometry);
-                }
-                value = jtsGeom;
+            final boolean longitudeFirst;
+            if (getProperty(LONGITUDE_FIRST) != null) {
+                longitudeFirst = (boolean) getProperty(LONGITUDE_FIRST);
+            } else {
+                longitudeFirst = true;
+            }
 
-            } catch (JAXBException ex) {
-                String msg = ex.getMessage();
-                if (msg == null && ex.getLinkedException() != null) {
-                    msg = ex.getLinkedException().getMessage();
-                }
-                throw new IllegalArgumentException("JAXB exception while reading the feature geometry: " + msg, ex);
+            //common geometry types are decoded directly from the stream, JAXB is used for the others
+            if (getPool() == GMLMarshallerPool.getInstance() && GeometryStreamReader.isSupported(reader.getName())) {
+                value = new GeometryStreamReader(reader, longitudeFirst, () -> unmarshalGeometry(longitudeFirst)).read();
+            } else {
+                value = unmarshalGeometry(longitudeFirst);
             }
 
         } else if (propertyType instanceof FeatureAssociationRole) {
@@ -126,6 +126,11 @@ public class JAXPStreamFeatureWriter extends StaxStreamWriter implements XmlFeat
     //automatic id increment for geometries id
     private int gidInc = 0;
 
+    /**
+     * Writes common geometry types without going through JAXB.
+     */
+    private final GeometryStreamWriter geometryWriter;
+
     public JAXPStreamFeatureWriter() {
         this("3.1.1", "1.1.0", null);
     }
@@ -147,6 +152,7 @@ public class JAXPStreamFeatureWriter extends StaxStreamWriter implements XmlFeat
             gmlNamespace = "http://www.opengis.net/gml";
             gmlLocation  = "http://schemas.opengis.net/gml/3.1.1/base/gml.xsd";
         }
+        geometryWriter = new GeometryStreamWriter(gmlVersion, gmlNamespace);
         if (schemaLocations != null && schemaLocations.size() > 0) {
             final StringBuilder sb = new StringBuilder();
             for (Entry<String, String> entry : schemaLocations.entrySet()) {
@@ -585,46 +591,62 @@ public class JAXPStreamFeatureWriter extends StaxStreamWriter implements XmlFeat
                     }
                 }
                 final CoordinateReferenceSystem crs = FeatureExt.getCRS(typeA);
-                final JAXBElement element;
-                final MarshallerPool POOL;
-                if ("3.1.1".equals(gmlVersion)) {
-                    final Geometry isoGeometry = JTSUtils.toISO((org.locationtech.jts.geom.Geometry) valueA, crs);
-                    element = OBJECT_FACTORY.buildAnyGeometry(isoGeometry);
-                    POOL = GML_31_POOL;
-                } else if ("3.2.1".equals(gmlVersion)) {
-                    AbstractGeometry gmlGeometry = null;
-                    try {
-                        gmlGeometry = JTStoGeometry.toGML(gmlVersion, (org.locationtech.jts.geom.Geometry) valueA,  crs);
-                    } catch (FactoryException ex) {
-                        LOGGER.log(Level.WARNING, "Factory exception when transforming JTS geometry to GML binding", ex);
-                    }
-                    if(gmlGeometry!=null){
-                        //id is requiered in version 3.2.1
-                        //NOTE we often see gml where the geometry id is the same as the feature
-                        // we use the last parent with an id, seems acceptable.
-                        final String gid = (id+"_g").replace(':', '_');
-                        setId(gmlGeometry, gid);
-                    }
-                    element = GML32_FACTORY.buildAnyGeometry(gmlGeometry);
-                    POOL = GML_32_POOL;
+                final org.locationtech.jts.geom.Geometry jtsGeometry = (org.locationtech.jts.geom.Geometry) valueA;
+                if (("3.1.1".equals(gmlVersion) || "3.2.1".equals(gmlVersion))
+                        && GeometryStreamWriter.isSupported(jtsGeometry, crs)) {
+                    //common geometry types are written directly in the stream, JAXB is used for the others
+                    final String gid = (id+"_g").replace(':', '_');
+                    gidInc = geometryWriter.write(writer, jtsGeometry, crs, gid, gidInc);
                 } else {
-                    throw new IllegalArgumentException("Unexpected GML version:" + gmlVersion);
-                }
-                try {
-                    final Marshaller marshaller;
-                    marshaller = POOL.acquireMarshaller();
-                    marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
-                    marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, false);
-                    marshal(marshaller, element);
-                    POOL.recycle(marshaller);
-                } catch (JAXBException ex) {
-                    LOGGER.log(Level.WARNING, "JAXB Exception while marshalling the iso geometry: " + ex.getMessage(), ex);
+                    marshalGeometry(jtsGeometry, crs, id);
                 }
                 if (!descIsType) writer.writeEndElement();
             }
         }
     }
 
+    /**
+     * Marshal a geometry with JAXB, used for the geometry types not supported
+     * by {@link GeometryStreamWriter}.
+     */
+    private void marshalGeometry(final org.locationtech.jts.geom.Geometry jtsGeometry, final CoordinateReferenceSystem crs, final String id) {
+        final JAXBElement element;
+        final MarshallerPool POOL;
+        if ("3.1.1".equals(gmlVersion)) {
+            final Geometry isoGeometry = JTSUtils.toISO(jtsGeometry, crs);
+            element = OBJECT_FACTORY.buildAnyGeometry(isoGeometry);
+            POOL = GML_31_POOL;
+        } else if ("3.2.1".equals(gmlVersion)) {
+            AbstractGeometry gmlGeometry = null;
+            try {
+                gmlGeometry = JTStoGeometry.toGML(gmlVersion, jtsGeometry,  crs);
+            } catch (FactoryException ex) {
+                LOGGER.log(Level.WARNING, "Factory exception when transforming JTS geometry to GML binding", ex);
+            }
+            if(gmlGeometry!=null){
+                //id is requiered in version 3.2.1
+                //NOTE we often see gml where the geometry id is the same as the feature
+                // we use the last parent with an id, seems acceptable.
+                final String gid = (id+"_g").replace(':', '_');
+                setId(gmlGeometry, gid);
+            }
+            element = GML32_FACTORY.buildAnyGeometry(gmlGeometry);
+            POOL = GML_32_POOL;
+        } else {
+            throw new IllegalArgumentException("Unexpected GML version:" + gmlVersion);
+        }
+        try {
+            final Marshaller marshaller;
+            marshaller = POOL.acquireMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, false);
+            marshal(marshaller, element);
+            POOL.recycle(marshaller);
+        } catch (JAXBException ex) {
+            LOGGER.log(Level.WARNING, "JAXB Exception while marshalling the iso geometry: " + ex.getMessage(), ex);
+        }
+    }
+
     /**
      *
      * @param inc auto increment value, ids must be unique
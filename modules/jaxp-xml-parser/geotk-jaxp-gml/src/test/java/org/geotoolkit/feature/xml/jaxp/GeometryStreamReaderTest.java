@@ -0,0 +1,148 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.feature.xml.jaxp;
+
+import java.io.StringReader;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.sis.referencing.CommonCRS;
+import org.apache.sis.util.Utilities;
+import org.apache.sis.xml.MarshallerPool;
+import org.geotoolkit.geometry.jts.JTS;
+import org.geotoolkit.gml.GeometrytoJTS;
+import org.geotoolkit.gml.xml.AbstractGeometry;
+import org.geotoolkit.gml.xml.GMLMarshallerPool;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the geometries decoded by {@link GeometryStreamReader}.
+ *
+ * @module
+ */
+public class GeometryStreamReaderTest extends org.geotoolkit.test.TestBase {
+
+    private static final String GML32 = "xmlns:gml=\"http://www.opengis.net/gml/3.2\"";
+
+    /**
+     * Tests a polygon with an interior ring, and checks the reader is left
+     * after the geometry end element.
+     */
+    @Test
+    public void testPolygon() throws Exception {
+        final XMLStreamReader reader = open(
+                "<root " + GML32 + "><gml:Polygon srsName=\"EPSG:4326\" gml:id=\"p1\">"
+              + "<gml:exterior><gml:LinearRing><gml:posList>0 0 10 0 10 10 0 10 0 0</gml:posList></gml:LinearRing></gml:exterior>"
+              + "<gml:interior><gml:LinearRing><gml:posList srsDimension=\"2\">2 2 4 2 4 4 2 2</gml:posList></gml:LinearRing></gml:interior>"
+              + "</gml:Polygon><next/></root>");
+        final Geometry geometry = new GeometryStreamReader(reader, true, GeometryStreamReaderTest::noFallback).read();
+        assertTrue(geometry instanceof Polygon);
+        final Polygon polygon = (Polygon) geometry;
+        assertEquals(5, polygon.getExteriorRing().getNumPoints());
+        assertEquals(1, polygon.getNumInteriorRing());
+        assertEquals(new Coordinate(4, 2), polygon.getInteriorRingN(0).getCoordinateN(1));
+        assertTrue(Utilities.equalsIgnoreMetadata(CommonCRS.WGS84.normalizedGeographic(), JTS.findCoordinateReferenceSystem(geometry)));
+        assertEquals("next", reader.getLocalName());
+    }
+
+    /**
+     * Tests a polygon without exterior ring is rejected.
+     */
+    @Test
+    public void testPolygonWithoutExterior() throws Exception {
+        final XMLStreamReader reader = open(
+                "<gml:Polygon " + GML32 + " gml:id=\"p1\">"
+              + "<gml:interior><gml:LinearRing><gml:posList>2 2 4 2 4 4 2 2</gml:posList></gml:LinearRing></gml:interior>"
+              + "</gml:Polygon>");
+        try {
+            new GeometryStreamReader(reader, true, GeometryStreamReaderTest::noFallback).read();
+            fail("A polygon without exterior must be rejected.");
+        } catch (XMLStreamException ex) {
+            assertTrue(ex.getMessage().contains("exterior"));
+        }
+    }
+
+    /**
+     * Tests 3D positions inherited from the srsDimension of the geometry,
+     * and GML 2 coordinates with custom separators.
+     */
+    @Test
+    public void testPositions() throws Exception {
+        XMLStreamReader reader = open("<gml:LineString " + GML32 + " srsDimension=\"3\"><gml:posList>1 2 3 4 5 6</gml:posList></gml:LineString>");
+        Geometry geometry = new GeometryStreamReader(reader, true, GeometryStreamReaderTest::noFallback).read();
+        assertTrue(geometry instanceof LineString);
+        assertEquals(2, geometry.getNumPoints());
+        assertEquals(6, geometry.getCoordinates()[1].z, 0);
+
+        reader = open("<gml:Point xmlns:gml=\"http://www.opengis.net/gml\"><gml:coordinates decimal=\",\" cs=\";\">1,5;2,5</gml:coordinates></gml:Point>");
+        geometry = new GeometryStreamReader(reader, true, GeometryStreamReaderTest::noFallback).read();
+        assertTrue(geometry instanceof Point);
+        assertEquals(new Coordinate(1.5, 2.5), geometry.getCoordinate());
+    }
+
+    /**
+     * Tests a member which is not supported by the stream reader is decoded by the fallback.
+     */
+    @Test
+    public void testFallback() throws Exception {
+        final XMLStreamReader reader = open(
+                "<gml:MultiCurve " + GML32 + " gml:id=\"c1\">"
+              + "<gml:curveMember><gml:LineString gml:id=\"c2\"><gml:posList>0 0 1 1</gml:posList></gml:LineString></gml:curveMember>"
+              + "<gml:curveMember><gml:Ring gml:id=\"c3\"><gml:curveMember><gml:LineString gml:id=\"c4\">"
+              + "<gml:posList>0 0 5 0 5 5 0 0</gml:posList></gml:LineString></gml:curveMember></gml:Ring></gml:curveMember>"
+              + "<gml:curveMember><gml:LineString gml:id=\"c5\"><gml:posList>2 2 3 3</gml:posList></gml:LineString></gml:curveMember>"
+              + "</gml:MultiCurve>");
+        final MarshallerPool pool = GMLMarshallerPool.getInstance();
+        final Unmarshaller unmarshaller = pool.acquireUnmarshaller();
+        final Geometry geometry = new GeometryStreamReader(reader, true, () -> {
+            try {
+                return GeometrytoJTS.toJTS((AbstractGeometry) ((JAXBElement) unmarshaller.unmarshal(reader)).getValue());
+            } catch (Exception ex) {
+                throw new AssertionError(ex);
+            }
+        }).read();
+        pool.recycle(unmarshaller);
+
+        assertTrue(geometry instanceof MultiLineString);
+        assertEquals(3, geometry.getNumGeometries());
+        assertEquals(4, geometry.getGeometryN(1).getNumPoints());
+        assertEquals(new Coordinate(3, 3), geometry.getGeometryN(2).getCoordinates()[1]);
+    }
+
+    private static XMLStreamReader open(final String xml) throws Exception {
+        final XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml));
+        reader.nextTag();
+        if ("root".equals(reader.getLocalName())) {
+            reader.nextTag();
+        }
+        return reader;
+    }
+
+    private static Geometry noFallback() {
+        throw new AssertionError("Fallback should not be used.");
+    }
+}
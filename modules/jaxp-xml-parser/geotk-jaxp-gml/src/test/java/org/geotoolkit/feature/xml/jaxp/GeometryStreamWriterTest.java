@@ -0,0 +1,204 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.feature.xml.jaxp;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import org.apache.sis.referencing.CommonCRS;
+import org.apache.sis.xml.MarshallerPool;
+import org.geotoolkit.geometry.isoonjts.JTSUtils;
+import org.geotoolkit.gml.GeometrytoJTS;
+import org.geotoolkit.gml.JTStoGeometry;
+import org.geotoolkit.gml.xml.AbstractGeometry;
+import org.geotoolkit.gml.xml.GMLMarshallerPool;
+import org.geotoolkit.internal.jaxb.JTSWrapperMarshallerPool;
+import org.geotoolkit.internal.jaxb.ObjectFactory;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the GML written by {@link GeometryStreamWriter} is read back by JAXB,
+ * and the GML marshalled by JAXB is read back by {@link GeometryStreamReader},
+ * for each supported geometry type and GML version.
+ *
+ * @module
+ */
+public class GeometryStreamWriterTest extends org.geotoolkit.test.TestBase {
+
+    private static final GeometryFactory GF = new GeometryFactory();
+    private static final CoordinateReferenceSystem CRS = CommonCRS.WGS84.normalizedGeographic();
+
+    @Test
+    public void testPoint() throws Exception {
+        roundTrip(point(1.5, -2));
+    }
+
+    @Test
+    public void testLineString() throws Exception {
+        roundTrip(line(0, 0, 1, 1, 2, 0.5));
+    }
+
+    @Test
+    public void testPolygon() throws Exception {
+        roundTrip(polygon(0, 10));
+    }
+
+    @Test
+    public void testMultiPoint() throws Exception {
+        roundTrip(GF.createMultiPoint(new Point[]{point(1, 2), point(-3, 4.25)}));
+    }
+
+    @Test
+    public void testMultiLineString() throws Exception {
+        roundTrip(GF.createMultiLineString(new LineString[]{line(0, 0, 1, 1), line(5, 5, 6, 7, 8, 9)}));
+    }
+
+    @Test
+    public void testMultiPolygon() throws Exception {
+        roundTrip(GF.createMultiPolygon(new Polygon[]{polygon(0, 10), polygon(20, 5)}));
+    }
+
+    /**
+     * Writes the geometry in both GML versions, with the stream writer and with JAXB,
+     * and checks each output is decoded by the other path as the same geometry.
+     */
+    private static void roundTrip(final Geometry geometry) throws Exception {
+        assertTrue(GeometryStreamWriter.isSupported(geometry, CRS));
+        roundTrip(geometry, "3.1.1", "http://www.opengis.net/gml");
+        roundTrip(geometry, "3.2.1", "http://www.opengis.net/gml/3.2");
+    }
+
+    private static void roundTrip(final Geometry geometry, final String version, final String namespace) throws Exception {
+        final String streamed = write(geometry, version, namespace);
+        final String marshalled = marshal(geometry, version);
+
+        assertEqualsExact(geometry, unmarshal(streamed), version + " written by stream, read by JAXB");
+        assertEqualsExact(geometry, read(marshalled), version + " written by JAXB, read by stream");
+        assertEqualsExact(geometry, read(streamed), version + " written and read by stream");
+    }
+
+    private static String write(final Geometry geometry, final String version, final String namespace) throws Exception {
+        final StringWriter out = new StringWriter();
+        final XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
+        writer.writeStartElement("root");
+        writer.writeNamespace("gml", namespace);
+        new GeometryStreamWriter(version, namespace).write(writer, geometry, CRS, "g", 0);
+        writer.writeEndElement();
+        writer.flush();
+        return out.toString();
+    }
+
+    /**
+     * Marshals the geometry as done by the feature writer for unsupported geometries.
+     */
+    private static String marshal(final Geometry geometry, final String version) throws Exception {
+        final JAXBElement element;
+        final MarshallerPool pool;
+        if ("3.1.1".equals(version)) {
+            element = new ObjectFactory().buildAnyGeometry(JTSUtils.toISO(geometry, CRS));
+            pool = JTSWrapperMarshallerPool.getInstance();
+        } else {
+            final AbstractGeometry gml = JTStoGeometry.toGML(version, geometry, CRS);
+            element = new org.geotoolkit.gml.xml.v321.ObjectFactory().buildAnyGeometry(gml);
+            pool = GMLMarshallerPool.getInstance();
+        }
+        final StringWriter out = new StringWriter();
+        final Marshaller marshaller = pool.acquireMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        marshaller.marshal(element, out);
+        pool.recycle(marshaller);
+        return out.toString();
+    }
+
+    private static Geometry unmarshal(final String xml) throws Exception {
+        final MarshallerPool pool = GMLMarshallerPool.getInstance();
+        final Unmarshaller unmarshaller = pool.acquireUnmarshaller();
+        Object value = unmarshaller.unmarshal(open(xml));
+        pool.recycle(unmarshaller);
+        if (value instanceof JAXBElement) {
+            value = ((JAXBElement) value).getValue();
+        }
+        return GeometrytoJTS.toJTS((AbstractGeometry) value);
+    }
+
+    private static Geometry read(final String xml) throws Exception {
+        return new GeometryStreamReader(open(xml), true, () -> {
+            throw new AssertionError("Fallback should not be used.");
+        }).read();
+    }
+
+    private static XMLStreamReader open(final String xml) throws Exception {
+        final XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml));
+        reader.nextTag();
+        if ("root".equals(reader.getLocalName())) {
+            reader.nextTag();
+        }
+        return reader;
+    }
+
+    private static void assertEqualsExact(final Geometry expected, final Geometry actual, final String message) {
+        assertEquals(message, expected.getGeometryType(), actual.getGeometryType());
+        assertTrue(message + " : " + actual, expected.equalsExact(actual));
+    }
+
+    private static Point point(final double x, final double y) {
+        return GF.createPoint(new Coordinate(x, y));
+    }
+
+    private static LineString line(final double... ordinates) {
+        final Coordinate[] coords = new Coordinate[ordinates.length / 2];
+        for (int i = 0; i < coords.length; i++) {
+            coords[i] = new Coordinate(ordinates[2*i], ordinates[2*i+1]);
+        }
+        return GF.createLineString(coords);
+    }
+
+    /**
+     * Square polygon with a triangular hole.
+     */
+    private static Polygon polygon(final double origin, final double size) {
+        final LinearRing exterior = GF.createLinearRing(new Coordinate[]{
+            new Coordinate(origin, origin),
+            new Coordinate(origin + size, origin),
+            new Coordinate(origin + size, origin + size),
+            new Coordinate(origin, origin + size),
+            new Coordinate(origin, origin)});
+        final double q = size / 4;
+        final LinearRing interior = GF.createLinearRing(new Coordinate[]{
+            new Coordinate(origin + q, origin + q),
+            new Coordinate(origin + q, origin + 2*q),
+            new Coordinate(origin + 2*q, origin + 2*q),
+            new Coordinate(origin + q, origin + q)});
+        return GF.createPolygon(exterior, new LinearRing[]{interior});
+    }
+}
@@ -21,6 +21,14 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.apache.sis.parameter.Parameters;
@@ -34,6 +42,7 @@ import org.geotoolkit.process.Process;
 import org.geotoolkit.process.ProcessDescriptor;
 import org.geotoolkit.process.ProcessException;
 import org.geotoolkit.process.ProcessFinder;
+import org.geotoolkit.process.ProcessListener;
 import org.geotoolkit.processing.chain.model.Chain;
 import org.geotoolkit.processing.chain.model.ElementProcess;
 import org.geotoolkit.processing.chain.model.Constant;
@@ -44,7 +53,8 @@ import org.apache.sis.util.ObjectConverters;
 import org.apache.sis.util.UnconvertibleObjectException;
 import org.apache.sis.util.ObjectConverter;
 import org.apache.sis.util.logging.Logging;
-import org.geotoolkit.processing.ForwardProcessListener;
+import org.geotoolkit.processing.ProcessListenerAdapter;
+import org.geotoolkit.process.ProcessEvent;
 import org.opengis.filter.Filter;
 import org.opengis.filter.FilterFactory;
 import org.opengis.filter.expression.Expression;
@@ -62,7 +72,12 @@ public class ChainProcess extends AbstractProcess {
 
     protected static final Logger LOGGER = Logging.getLogger("org.geotoolkit.processing.chain");
 
-    private Process currentProcess;
+    /**
+     * Sub processes currently running.
+     */
+    private final Set<Process> running = ConcurrentHashMap.newKeySet();
+    private final Object pauseLock = new Object();
+    private volatile Executor executor;
 
 
     public ChainProcess(final ChainProcessDescriptor desc, final ParameterValueGroup input) {
@@ -87,8 +102,6 @@ public class ChainProcess extends AbstractProcess {
 
         // processing progress
         final float workLoadPart = 100 / model.getElements().size();
-        float currentProgress = 0;
-        int i = 1;
 
         final Collection<FlowNode> nodes = Flow.createFlow(model);
         List<List<FlowNode>> ranked = Flow.sortByRank(nodes);
@@ -134,65 +147,60 @@ public class ChainProcess extends AbstractProcess {
 
         // Will contain all the versions of processes used
         final StringBuilder processVersion = new StringBuilder();
+        int done = 0;
 
-        //run processes in order
+        //run processes in order, processes of a same rank are independent
         for (int j = 0; j < ranked.size(); j++) {
             final List<FlowNode> rank = ranked.get(j);
-            currentProgress = (i - 1) * workLoadPart;
+            final List<ElementProcess> elements = new ArrayList<>();
+            final List<ElementCondition> conditions = new ArrayList<>();
 
             for (FlowNode node : rank) {
                 final Object obj = node.getObject();
                 if (obj == ElementProcess.BEGIN) {
                     //copy input params in children nodes
                     for(DataLink link : model.getInputLinks(Integer.MIN_VALUE)){
-                        List<ParameterValue> values = getValues(inputParameters, link.getSourceCode());
-                        boolean first = true;
-                        for (ParameterValue paramValue : values) {
-                            if (first) {
-                                final Object value = paramValue.getValue();
-                                setValue(value, configs.get(link.getTargetId()).parameter(link.getTargetCode()));
-                                first = false;
-                            } else {
-                                final Object value = paramValue.getValue();
-                                setValue(value, paramValue);
-                                configs.get(link.getTargetId()).values().add(paramValue);
-                            }
-                        }
+                        setValues(getValues(inputParameters, link.getSourceCode()), configs.get(link.getTargetId()), link);
                     }
                 } else if (obj == ElementProcess.END) {
                     // do nothing
 
-                } else if(obj instanceof ElementProcess) {
-                    // handle process cancel
+                } else if (obj instanceof ElementProcess) {
+                    elements.add((ElementProcess) obj);
+                } else if (obj instanceof ElementCondition) {
+                    conditions.add((ElementCondition) obj);
+                }
+            }
+
+            if (!elements.isEmpty()) {
+                final float currentProgress = done * workLoadPart;
+                // handle process cancel
+                if (isCanceled()) {
+                    throw new ProcessException("Process Canceled by user", this, null);
+                }
+                // handle process pause
+                if (isPaused()) {
+                    fireProcessPaused(descriptor.getIdentifier().getCode() + " paused", currentProgress);
+                    waitResume();
                     if (isCanceled()) {
-                       throw new ProcessException("Process Canceled by user", this, null);
-                    }
-                    // handle process pause
-                    if (isPaused()) {
-                        fireProcessPaused(descriptor.getIdentifier().getCode() + " paused", currentProgress);
-                        while (isPaused()) {
-                            try {
-                                Thread.sleep(1000);
-                            } catch (InterruptedException ex) {
-                                LOGGER.log(Level.WARNING, "Interruption while process is in pause", ex);
-                            }
-                        }
-                        fireProcessResumed(descriptor.getIdentifier().getCode() + " resumed", currentProgress);
+                        throw new ProcessException("Process Canceled by user", this, null);
                     }
+                    fireProcessResumed(descriptor.getIdentifier().getCode() + " resumed", currentProgress);
+                }
 
-                    //execute process
-                    final ElementProcess element = (ElementProcess) obj;
-                    final ParameterValueGroup config = configs.get(element.getId());
+                //create processes
+                final Process[] processes = new Process[elements.size()];
+                for (int k = 0; k < processes.length; k++) {
+                    final ElementProcess element = elements.get(k);
                     final ProcessDescriptor pdesc;
                     try {
                         pdesc = getProcessDescriptor(element);
                     } catch (NoSuchIdentifierException ex) {
                         throw new ProcessException("Sub process not found", this, ex);
                     }
-                    currentProcess = pdesc.createProcess(config);
-                    currentProcess.addListener(new ForwardProcessListener(this, currentProgress, workLoadPart));
-                    if (currentProcess instanceof AbstractProcess) {
-                        ((AbstractProcess)currentProcess).setJobId(jobId);
+                    processes[k] = pdesc.createProcess(configs.get(element.getId()));
+                    if (processes[k] instanceof AbstractProcess) {
+                        ((AbstractProcess)processes[k]).setJobId(jobId);
                     }
 
                     final String processId = pdesc.getIdentifier().getCode();
@@ -201,47 +209,149 @@ public class ChainProcess extends AbstractProcess {
                         processVersion.append(", ");
                     }
                     processVersion.append(processId).append(" ");
-                    if (currentProcess.getDescriptor() instanceof AbstractProcessDescriptor) {
-                        processVersion.append(((AbstractProcessDescriptor) currentProcess.getDescriptor()).getVersion());
+                    if (processes[k].getDescriptor() instanceof AbstractProcessDescriptor) {
+                        processVersion.append(((AbstractProcessDescriptor) processes[k].getDescriptor()).getVersion());
                     } else {
                         processVersion.append("1.0");
                     }
+                }
 
-                    final ParameterValueGroup result = currentProcess.call();
-                    //fireProgressing(pdesc.getIdentifier().getCode() + " completed", i * part, false);
-                    i++;
-
-                    //set result in children
-                    for (DataLink link : model.getInputLinks(element.getId())) {
-                        final List<ParameterValue> values = getValues(result, link.getSourceCode());
-                        boolean first = true;
-                        for (ParameterValue paramValue : values) {
-                            if (first) {
-                                final Object value = paramValue.getValue();
-                                setValue(value, configs.get(link.getTargetId()).parameter(link.getTargetCode()));
-                                first = false;
-                            } else {
-                                final Object value = paramValue.getValue();
-                                setValue(value, paramValue);
-                                configs.get(link.getTargetId()).values().add(paramValue);
-                            }
-                        }
-                    }
-                } else if (obj instanceof ElementCondition) {
-                    final ElementCondition condition = (ElementCondition) obj;
-                    final Boolean result = executeConditionalElement(condition, configs.get(condition.getId()));
+                //execute processes
+                final ParameterValueGroup[] results = executeRank(processes, currentProgress, workLoadPart);
+                done += processes.length;
 
-                    final Chain updateModel = new Chain(model);
-                    if (result) {
-                        updateModel.getFlowLinks().removeAll(condition.getFailed());
-                    } else {
-                        updateModel.getFlowLinks().removeAll(condition.getSuccess());
+                //set results in children, in rank order
+                for (int k = 0; k < processes.length; k++) {
+                    for (DataLink link : model.getInputLinks(elements.get(k).getId())) {
+                        setValues(getValues(results[k], link.getSourceCode()), configs.get(link.getTargetId()), link);
                     }
-                    ranked = Flow.sortByRank(Flow.createFlow(updateModel));
                 }
             }
+
+            for (ElementCondition condition : conditions) {
+                final Boolean result = executeConditionalElement(condition, configs.get(condition.getId()));
+
+                final Chain updateModel = new Chain(model);
+                if (result) {
+                    updateModel.getFlowLinks().removeAll(condition.getFailed());
+                } else {
+                    updateModel.getFlowLinks().removeAll(condition.getSuccess());
+                }
+                ranked = Flow.sortByRank(Flow.createFlow(updateModel));
+            }
+        }
+
+    }
+
+    /**
+     * Execute processes of a rank.
+     * Processes are submitted to the executor, the calling thread runs
+     * itself the tasks which have not been started yet. A chain can so
+     * safely be executed within a task of the same executor.
+     *
+     * @param processes independent processes
+     * @param start chain progress when rank starts
+     * @param part progress part of each process
+     * @return results of each process
+     * @throws ProcessException if one of the processes failed, others are canceled.
+     */
+    private ParameterValueGroup[] executeRank(final Process[] processes, final float start, final float part)
+            throws ProcessException {
+        final RankProgress progress = new RankProgress(start, part, processes.length);
+        final List<FutureTask<ParameterValueGroup>> tasks = new ArrayList<>(processes.length);
+        for (int k = 0; k < processes.length; k++) {
+            final Process process = processes[k];
+            process.addListener(progress.createListener(k));
+            tasks.add(new FutureTask<>(() -> callSubProcess(process)));
+        }
+
+        final Executor exec = (executor != null) ? executor : ForkJoinPool.commonPool();
+        for (int k = 1; k < tasks.size(); k++) {
+            try {
+                exec.execute(tasks.get(k));
+            } catch (RejectedExecutionException ex) {
+                //will be run by the calling thread
+                break;
+            }
+        }
+
+        final ParameterValueGroup[] results = new ParameterValueGroup[processes.length];
+        try {
+            for (int k = 0; k < results.length; k++) {
+                final FutureTask<ParameterValueGroup> task = tasks.get(k);
+                //has no effect if the executor already started the task
+                task.run();
+                results[k] = task.get();
+            }
+        } catch (ExecutionException ex) {
+            cancelSubProcesses(tasks);
+            final Throwable cause = ex.getCause();
+            if (cause instanceof ProcessException) {
+                throw (ProcessException) cause;
+            }
+            throw new ProcessException(cause.getMessage(), this, cause);
+        } catch (InterruptedException | CancellationException ex) {
+            cancelSubProcesses(tasks);
+            Thread.currentThread().interrupt();
+            throw new ProcessException("Process interrupted", this, ex);
+        }
+        return results;
+    }
+
+    private ParameterValueGroup callSubProcess(final Process process) throws ProcessException {
+        if (isCanceled()) {
+            throw new ProcessException("Process Canceled by user", this, null);
+        }
+        running.add(process);
+        try {
+            if (isCanceled() && process instanceof AbstractProcess) {
+                ((AbstractProcess)process).cancelProcess();
+            }
+            return process.call();
+        } finally {
+            running.remove(process);
         }
+    }
 
+    private void cancelSubProcesses(final List<FutureTask<ParameterValueGroup>> tasks) {
+        for (FutureTask<ParameterValueGroup> task : tasks) {
+            task.cancel(false);
+        }
+        for (Process process : running) {
+            if (process instanceof AbstractProcess) {
+                ((AbstractProcess)process).cancelProcess();
+            }
+        }
+    }
+
+    /**
+     * Block until the chain is resumed or canceled.
+     */
+    private void waitResume() throws ProcessException {
+        synchronized (pauseLock) {
+            while (isPaused() && !isCanceled()) {
+                try {
+                    pauseLock.wait();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new ProcessException("Interruption while process is in pause", this, ex);
+                }
+            }
+        }
+    }
+
+    private void setValues(final List<ParameterValue> values, final ParameterValueGroup target, final DataLink link) {
+        boolean first = true;
+        for (ParameterValue paramValue : values) {
+            final Object value = paramValue.getValue();
+            if (first) {
+                setValue(value, target.parameter(link.getTargetCode()));
+                first = false;
+            } else {
+                setValue(value, paramValue);
+                target.values().add(paramValue);
+            }
+        }
     }
 
     private boolean executeConditionalElement(final ElementCondition condition, final ParameterValueGroup inputs) throws ProcessException {
@@ -316,11 +426,34 @@ public class ChainProcess extends AbstractProcess {
         }
     }
 
+    /**
+     * Set the executor used to run independent processes of the chain.
+     * Default executor is the common fork join pool.
+     *
+     * @param executor executor to use, null for default
+     */
+    public void setExecutor(final Executor executor) {
+        this.executor = executor;
+    }
+
     @Override
     public void cancelProcess() {
         super.cancelProcess();
-        if (currentProcess instanceof AbstractProcess) {
-            ((AbstractProcess)currentProcess).cancelProcess();
+        for (Process process : running) {
+            if (process instanceof AbstractProcess) {
+                ((AbstractProcess)process).cancelProcess();
+            }
+        }
+        synchronized (pauseLock) {
+            pauseLock.notifyAll();
+        }
+    }
+
+    @Override
+    public void resumeProcess() {
+        super.resumeProcess();
+        synchronized (pauseLock) {
+            pauseLock.notifyAll();
         }
     }
 
@@ -338,6 +471,70 @@ public class ChainProcess extends AbstractProcess {
         return sb.toString();
     }
 
+    /**
+     * Forward progress of the processes of a rank to the chain listeners.
+     * Chain progress is the sum of the progress of each process, so it does
+     * not jump back and forth when processes run in parallel.
+     */
+    private final class RankProgress {
+
+        private final float start;
+        private final float part;
+        private final float[] progress;
+
+        RankProgress(final float start, final float part, final int nbProcess) {
+            this.start = start;
+            this.part = part;
+            this.progress = new float[nbProcess];
+        }
+
+        ProcessListener createListener(final int index) {
+            return new ProcessListenerAdapter() {
+                @Override
+                public void started(ProcessEvent event) {
+                    update(index, 0, getProcessName(event) + " : Start", null);
+                }
+
+                @Override
+                public void progressing(ProcessEvent event) {
+                    final CharSequence task = event.getTask();
+                    update(index, event.getProgress(), getProcessName(event) + " : " + task, event.getException());
+                }
+
+                @Override
+                public void completed(ProcessEvent event) {
+                    update(index, 100, getProcessName(event) + " : Completed", null);
+                }
+            };
+        }
+
+        private void update(final int index, final float value, final String message, final Exception ex) {
+            final float total;
+            synchronized (this) {
+                if (value > progress[index]) {
+                    progress[index] = Math.min(value, 100);
+                }
+                float sum = 0;
+                for (float p : progress) {
+                    sum += p;
+                }
+                total = start + part * sum / 100f;
+            }
+            final ProcessEvent event = new ProcessEvent(ChainProcess.this, message, total, ex);
+            for (ProcessListener listener : getListeners()) {
+                listener.progressing(event);
+            }
+        }
+
+        private String getProcessName(final ProcessEvent event) {
+            final ProcessDescriptor desc = event.getSource().getDescriptor();
+            if (desc.getDisplayName() != null) {
+                return desc.getDisplayName().toString();
+            }
+            return desc.getIdentifier().getCode();
+        }
+    }
+
     private static List<ParameterValue> getValues(final ParameterValueGroup param, final String descCode) {
         List<ParameterValue> results = new ArrayList<>();
         for (GeneralParameterValue value : param.values()) {
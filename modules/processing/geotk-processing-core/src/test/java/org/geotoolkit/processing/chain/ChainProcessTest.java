@@ -18,12 +18,23 @@ package org.geotoolkit.processing.chain;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.xml.bind.JAXBException;
 import org.geotoolkit.process.ProcessDescriptor;
 import org.geotoolkit.process.Process;
+import org.geotoolkit.process.ProcessEvent;
 import org.geotoolkit.process.ProcessException;
+import org.geotoolkit.processing.ProcessListenerAdapter;
 import org.geotoolkit.processing.chain.model.Chain;
 import org.geotoolkit.processing.chain.model.ElementProcess;
 import org.geotoolkit.processing.chain.model.Constant;
@@ -112,6 +123,40 @@ public class ChainProcessTest extends org.geotoolkit.test.TestBase {
         return chain;
     }
 
+    private Chain createParallelChain(){
+        //produce a chain equivalent to :  ($a + 10) / ($a * 10)
+        final Chain chain = new Chain("parallelChain");
+        int id = 1;
+
+        //input/out/constants parameters
+        final Parameter a = chain.addInputParameter("a", Double.class, "title", "desc",1,1,null);
+        final Parameter r = chain.addOutputParameter("r", Double.class, "title", "desc",1,1,null);
+        final Constant c10 = chain.addConstant(id++, Double.class, 10d);
+
+        //chain blocks, add and multiply are independent
+        final ElementProcess add = chain.addProcessElement(id++, "demo", "add");
+        final ElementProcess multi = chain.addProcessElement(id++, "demo", "multiply");
+        final ElementProcess divide = chain.addProcessElement(id++, "demo", "divide");
+
+        //execution flow links
+        chain.addFlowLink(BEGIN.getId(), add.getId());
+        chain.addFlowLink(BEGIN.getId(), multi.getId());
+        chain.addFlowLink(add.getId(), divide.getId());
+        chain.addFlowLink(multi.getId(), divide.getId());
+        chain.addFlowLink(divide.getId(), END.getId());
+
+        //data flow links
+        chain.addDataLink(BEGIN.getId(), a.getCode(), add.getId(), "first");
+        chain.addDataLink(c10.getId(), "", add.getId(), "second");
+        chain.addDataLink(BEGIN.getId(), a.getCode(), multi.getId(), "first");
+        chain.addDataLink(c10.getId(), "", multi.getId(), "second");
+        chain.addDataLink(add.getId(), "result", divide.getId(), "first");
+        chain.addDataLink(multi.getId(), "result", divide.getId(), "second");
+        chain.addDataLink(divide.getId(), "result", END.getId(), r.getCode());
+
+        return chain;
+    }
+
     @Test
     public void testSimpleChain() throws ProcessException{
 
@@ -230,4 +275,108 @@ public class ChainProcessTest extends org.geotoolkit.test.TestBase {
 
     }
 
+    @Test
+    public void testParallelChain() throws ProcessException{
+
+        final Chain chain = createParallelChain();
+
+        //process registries to use
+        final Set<MockProcessRegistry> registries = Collections.singleton(new MockProcessRegistry());
+
+        //create a process descriptor to use it like any process.
+        final ProcessDescriptor desc = new ChainProcessDescriptor(chain, MockProcessRegistry.IDENTIFICATION, registries);
+
+        final ParameterValueGroup input = desc.getInputDescriptor().createValue();
+        input.parameter("a").setValue(5d);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final ChainProcess process = (ChainProcess) desc.createProcess(input);
+            process.setExecutor(executor);
+
+            final List<Float> progress = Collections.synchronizedList(new ArrayList<Float>());
+            process.addListener(new ProcessListenerAdapter(){
+                @Override
+                public void progressing(ProcessEvent event) {
+                    progress.add(event.getProgress());
+                }
+            });
+            final ParameterValueGroup result = process.call();
+
+            assertEquals(0.3d, result.parameter("r").doubleValue(),0.000001);
+            assertFalse(progress.isEmpty());
+            for (Float p : progress) {
+                assertTrue(p >= 0 && p <= 100);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Pause the chain while its first rank is running, then cancel it.
+     * The chain must stop before running the next rank.
+     */
+    @Test
+    public void testPauseCancelChain() throws Exception{
+
+        final Chain chain = createParallelChain();
+        final Set<MockProcessRegistry> registries = Collections.singleton(new MockProcessRegistry());
+        final ProcessDescriptor desc = new ChainProcessDescriptor(chain, MockProcessRegistry.IDENTIFICATION, registries);
+
+        final ParameterValueGroup input = desc.getInputDescriptor().createValue();
+        input.parameter("a").setValue(5d);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final ChainProcess process = (ChainProcess) desc.createProcess(input);
+            process.setExecutor(executor);
+
+            final CountDownLatch paused = new CountDownLatch(1);
+            final List<String> tasks = Collections.synchronizedList(new ArrayList<String>());
+            final AtomicBoolean resumed = new AtomicBoolean();
+            final AtomicBoolean completed = new AtomicBoolean();
+            process.addListener(new ProcessListenerAdapter(){
+                @Override
+                public void progressing(ProcessEvent event) {
+                    tasks.add(String.valueOf(event.getTask()));
+                    //pause as soon as a sub process starts
+                    process.pauseProcess();
+                }
+                @Override
+                public void paused(ProcessEvent event) {
+                    paused.countDown();
+                }
+                @Override
+                public void resumed(ProcessEvent event) {
+                    resumed.set(true);
+                }
+                @Override
+                public void completed(ProcessEvent event) {
+                    completed.set(true);
+                }
+            });
+
+            final Future<ParameterValueGroup> result = executor.submit(process::call);
+            assertTrue("Chain was not paused", paused.await(10, TimeUnit.SECONDS));
+            assertFalse(result.isDone());
+
+            process.cancelProcess();
+            try {
+                result.get(10, TimeUnit.SECONDS);
+                fail("Canceled chain should not return a result");
+            } catch (ExecutionException ex) {
+                assertTrue(ex.getCause() instanceof ProcessException);
+            }
+
+            assertFalse(resumed.get());
+            assertFalse(completed.get());
+            for (String task : tasks) {
+                assertFalse("Process after pause has been run : " + task, task.startsWith(MockDivideDescriptor.NAME));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
 }
@@ -16,21 +16,39 @@
  */
 package org.geotoolkit.processing.vector.spatialjoin;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.stream.Collectors;
 import org.geotoolkit.data.FeatureCollection;
+import org.geotoolkit.data.FeatureIterator;
+import org.geotoolkit.data.FeatureStoreRuntimeException;
 import org.geotoolkit.data.memory.WrapFeatureCollection;
+import org.geotoolkit.factory.Hints;
+import org.geotoolkit.feature.FeatureExt;
 
 import org.opengis.feature.Feature;
 import org.opengis.feature.FeatureType;
 
 /**
- * FeatureCollection for SpatialJoin process
+ * FeatureCollection for SpatialJoin process.
+ * Source features are indexed once, target features are then joined
+ * by batches processed in parallel.
  * @author Quentin Boileau
  * @module
  */
 public class SpatialJoinFeatureCollection extends WrapFeatureCollection {
 
+    /**
+     * Number of target features joined in parallel.
+     */
+    private static final int BATCH_SIZE = 1024;
+
     private final FeatureType newFeatureType;
-    private final FeatureCollection sourceFC;
+    private final SpatialJoinIndex sourceIndex;
     private final boolean method;
 
     /**
@@ -43,7 +61,7 @@ public class SpatialJoinFeatureCollection extends WrapFeatureCollection {
             final FeatureCollection targetFC, final boolean method) {
 
         super(targetFC);
-        this.sourceFC = sourceFC;
+        this.sourceIndex = new SpatialJoinIndex(sourceFC);
         this.method = method;
         this.newFeatureType = SpatialJoinProcess.concatType(targetFC.getType(), sourceFC.getType());
     }
@@ -57,11 +75,66 @@ public class SpatialJoinFeatureCollection extends WrapFeatureCollection {
         return newFeatureType;
     }
 
+    /**
+     *  {@inheritDoc }
+     */
+    @Override
+    public FeatureIterator iterator(final Hints hints) throws FeatureStoreRuntimeException {
+        return new SpatialJoinFeatureIterator(getOriginalFeatureCollection().iterator());
+    }
+
     /**
      *  {@inheritDoc }
      */
     @Override
     protected Feature modify(final Feature original) {
-        return SpatialJoinProcess.join(original, newFeatureType, sourceFC, method);
+        return SpatialJoinProcess.join(original, newFeatureType, sourceIndex, method);
+    }
+
+    /**
+     * Iterator joining target features by batches.
+     */
+    private final class SpatialJoinFeatureIterator implements FeatureIterator {
+
+        private final FeatureIterator targetFI;
+        private Iterator<Feature> batch = Collections.emptyIterator();
+
+        private SpatialJoinFeatureIterator(final FeatureIterator targetFI) {
+            this.targetFI = targetFI;
+        }
+
+        @Override
+        public boolean hasNext() throws FeatureStoreRuntimeException {
+            while (!batch.hasNext() && targetFI.hasNext()) {
+                final List<Feature> targets = new ArrayList<>(BATCH_SIZE);
+                while (targets.size() < BATCH_SIZE && targetFI.hasNext()) {
+                    targets.add(FeatureExt.copy(targetFI.next()));
+                }
+                batch = targets.parallelStream()
+                        .map(SpatialJoinFeatureCollection.this::modify)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList())
+                        .iterator();
+            }
+            return batch.hasNext();
+        }
+
+        @Override
+        public Feature next() throws FeatureStoreRuntimeException {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more Feature.");
+            }
+            return batch.next();
+        }
+
+        @Override
+        public void close() {
+            targetFI.close();
+        }
+
+        @Override
+        public void remove() {
+            throw new FeatureStoreRuntimeException("Unmodifiable collection");
+        }
     }
 }
@@ -0,0 +1,226 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.processing.vector.spatialjoin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.sis.internal.feature.AttributeConvention;
+import org.apache.sis.util.Utilities;
+import org.geotoolkit.data.FeatureCollection;
+import org.geotoolkit.data.FeatureIterator;
+import org.geotoolkit.data.FeatureStoreRuntimeException;
+import org.geotoolkit.feature.FeatureExt;
+import org.geotoolkit.processing.vector.VectorProcessUtils;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.index.strtree.ItemBoundable;
+import org.locationtech.jts.index.strtree.ItemDistance;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.opengis.feature.Feature;
+import org.opengis.feature.PropertyType;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+import org.opengis.referencing.operation.TransformException;
+import org.opengis.util.FactoryException;
+
+/**
+ * In memory spatial index of the source features of a spatial join.
+ * Source features are read once, geometries are indexed in a STR-tree for
+ * each target coordinate reference system.
+ *
+ * Once built, the index can be probed by several threads.
+ *
+ * @module
+ */
+final class SpatialJoinIndex {
+
+    private static final PreparedGeometryFactory PREPARED_FACTORY = new PreparedGeometryFactory();
+
+    private static final ItemDistance DISTANCE = new ItemDistance() {
+        @Override
+        public double distance(ItemBoundable item1, ItemBoundable item2) {
+            return ((Entry) item1.getItem()).geometry.distance(((Entry) item2.getItem()).geometry);
+        }
+    };
+
+    private final FeatureCollection sourceFC;
+    private List<Source> sources;
+    private final Map<CoordinateReferenceSystem,STRtree> trees = new HashMap<>();
+
+    /**
+     * @param sourceFC features to join with target features
+     */
+    SpatialJoinIndex(final FeatureCollection sourceFC) {
+        this.sourceFC = sourceFC;
+    }
+
+    /**
+     * Return the source feature with the biggest intersection area with given geometry.
+     * If there is many features with the same area, the first one in source order is returned.
+     *
+     * @param geom target geometry
+     * @param crs target geometry CRS, can be null
+     * @return intersecting feature or null if none
+     */
+    Feature intersect(final Geometry geom, final CoordinateReferenceSystem crs) throws FeatureStoreRuntimeException {
+        final STRtree tree = getTree(crs);
+        final PreparedGeometry prepared = PREPARED_FACTORY.create(geom);
+
+        final List<Entry> matches = new ArrayList<>();
+        boolean single = true;
+        for (Object candidate : tree.query(geom.getEnvelopeInternal())) {
+            final Entry entry = (Entry) candidate;
+            if (prepared.intersects(entry.geometry)) {
+                matches.add(entry);
+                single &= (entry.source == matches.get(0).source);
+            }
+        }
+        if (matches.isEmpty()) {
+            return null;
+        } else if (single) {
+            return matches.get(0).source.feature;
+        }
+
+        //more than one intersection, keep the biggest one
+        Source biggest = null;
+        double area = 0.0;
+        for (Entry entry : matches) {
+            final double computeArea = geom.intersection(entry.geometry).getArea();
+            if (biggest == null || computeArea > area
+                    || (computeArea == area && entry.source.order < biggest.order)) {
+                biggest = entry.source;
+                area = computeArea;
+            }
+        }
+        return biggest.feature;
+    }
+
+    /**
+     * Return the nearest source feature to given geometry.
+     * If there is many features at the same distance, the first one in source order is returned.
+     *
+     * @param geom target geometry
+     * @param crs target geometry CRS, can be null
+     * @return nearest feature or null if source is empty
+     */
+    Feature nearest(final Geometry geom, final CoordinateReferenceSystem crs) throws FeatureStoreRuntimeException {
+        final STRtree tree = getTree(crs);
+        if (tree.isEmpty()) {
+            return null;
+        }
+        final Envelope env = geom.getEnvelopeInternal();
+        final Entry nearest = (Entry) tree.nearestNeighbour(env, new Entry(null, geom), DISTANCE);
+        final double dist = geom.distance(nearest.geometry);
+
+        //search features at the same distance
+        final Envelope searchEnv = new Envelope(env);
+        searchEnv.expandBy(dist);
+        Source first = nearest.source;
+        for (Object candidate : tree.query(searchEnv)) {
+            final Entry entry = (Entry) candidate;
+            if (entry.source.order < first.order && geom.distance(entry.geometry) <= dist) {
+                first = entry.source;
+            }
+        }
+        return first.feature;
+    }
+
+    /**
+     * Get or create the tree of source geometries in given CRS.
+     */
+    private synchronized STRtree getTree(final CoordinateReferenceSystem crs) throws FeatureStoreRuntimeException {
+        STRtree tree = trees.get(crs);
+        if (tree == null) {
+            tree = new STRtree();
+            for (Source source : getSources()) {
+                for (Geometry geom : source.getGeometries(crs)) {
+                    if (geom != null && !geom.isEmpty()) {
+                        tree.insert(geom.getEnvelopeInternal(), new Entry(source, geom));
+                    }
+                }
+            }
+            tree.build();
+            trees.put(crs, tree);
+        }
+        return tree;
+    }
+
+    private List<Source> getSources() {
+        if (sources == null) {
+            sources = new ArrayList<>();
+            try (final FeatureIterator iter = sourceFC.iterator(null)) {
+                while (iter.hasNext()) {
+                    sources.add(new Source(sources.size(), FeatureExt.copy(iter.next())));
+                }
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * A source feature and its geometries.
+     */
+    private static final class Source {
+
+        private final int order;
+        private final Feature feature;
+
+        private Source(final int order, final Feature feature) {
+            this.order = order;
+            this.feature = feature;
+        }
+
+        /**
+         * Return all feature geometries, projected in given CRS.
+         */
+        List<Geometry> getGeometries(final CoordinateReferenceSystem crs) throws FeatureStoreRuntimeException {
+            final List<Geometry> geometries = new ArrayList<>();
+            for (final PropertyType property : feature.getType().getProperties(true)) {
+                if (AttributeConvention.isGeometryAttribute(property)) {
+                    Geometry geom = (Geometry) feature.getPropertyValue(property.getName().toString());
+                    final CoordinateReferenceSystem geomCRS = FeatureExt.getCRS(property);
+                    if (geom != null && crs != null && geomCRS != null && !Utilities.equalsIgnoreMetadata(crs, geomCRS)) {
+                        try {
+                            geom = VectorProcessUtils.repojectGeometry(crs, geomCRS, geom);
+                        } catch (TransformException | FactoryException ex) {
+                            throw new FeatureStoreRuntimeException(ex);
+                        }
+                    }
+                    geometries.add(geom);
+                }
+            }
+            return geometries;
+        }
+    }
+
+    /**
+     * Tree item, a single source geometry.
+     */
+    private static final class Entry {
+
+        private final Source source;
+        private final Geometry geometry;
+
+        private Entry(final Source source, final Geometry geometry) {
+            this.source = source;
+            this.geometry = geometry;
+        }
+    }
+}
@@ -18,19 +18,11 @@ package org.geotoolkit.processing.vector.spatialjoin;
 
 import org.locationtech.jts.geom.Geometry;
 
-import java.util.ArrayList;
-import java.util.logging.Level;
-
 import org.opengis.feature.AttributeType;
 import org.geotoolkit.data.FeatureCollection;
-import org.geotoolkit.data.FeatureIterator;
 import org.geotoolkit.feature.SingleAttributeTypeBuilder;
 import org.geotoolkit.geometry.jts.JTS;
 import org.geotoolkit.processing.AbstractProcess;
-import org.geotoolkit.process.ProcessDescriptor;
-import org.geotoolkit.process.ProcessException;
-import org.geotoolkit.processing.vector.intersect.IntersectDescriptor;
-import org.geotoolkit.processing.vector.nearest.NearestDescriptor;
 
 import org.opengis.feature.Feature;
 import org.opengis.feature.FeatureType;
@@ -42,8 +34,6 @@ import org.opengis.referencing.crs.CoordinateReferenceSystem;
 import org.geotoolkit.feature.FeatureExt;
 import org.apache.sis.feature.builder.FeatureTypeBuilder;
 import org.apache.sis.internal.feature.AttributeConvention;
-import org.apache.sis.parameter.Parameters;
-import org.apache.sis.util.logging.Logging;
 
 
 
@@ -92,12 +82,12 @@ public class SpatialJoinProcess extends AbstractProcess {
      *
      * @param target the target Feature
      * @param newType the concatenated FeatureType
-     * @param sourceFC the source FeatureCollection
+     * @param sourceIndex the index of source FeatureCollection
      * @param method the used method. True -> Intersect, False -> Nearest
      * @return the joined feature
      */
     static Feature join(final Feature target, final FeatureType newType,
-            final FeatureCollection sourceFC, final boolean method) {
+            final SpatialJoinIndex sourceIndex, final boolean method) {
 
         Feature resultFeature = newType.newInstance();
         FeatureExt.setId(resultFeature, FeatureExt.getId(target));
@@ -110,11 +100,6 @@ public class SpatialJoinProcess extends AbstractProcess {
             }
         }
 
-        ProcessDescriptor desc;
-        org.geotoolkit.process.Process proc;
-        Parameters in;
-        ArrayList<Feature> featureOutArray;
-
         //for each target feature geometry
         for (final PropertyType property : target.getType().getProperties(true)) {
             if (AttributeConvention.isGeometryAttribute(property)) {
@@ -122,52 +107,15 @@ public class SpatialJoinProcess extends AbstractProcess {
                 final CoordinateReferenceSystem geomCRS = FeatureExt.getCRS(property);
 
                 JTS.setCRS(targetGeometry, geomCRS);        //add CRS to the used data geometry
-                //use intersect method
-                if (method) {
-                    desc = IntersectDescriptor.INSTANCE;
-                    in = Parameters.castOrWrap(desc.getInputDescriptor().createValue());
-                    in.getOrCreate(IntersectDescriptor.FEATURE_IN ).setValue(sourceFC);
-                    in.getOrCreate(IntersectDescriptor.GEOMETRY_IN).setValue(targetGeometry);
-                    proc = desc.createProcess(in);
 
-                } else {    //use nearest method
-                    desc = NearestDescriptor.INSTANCE;
-                    in = Parameters.castOrWrap(desc.getInputDescriptor().createValue());
-                    in.getOrCreate(NearestDescriptor.FEATURE_IN ).setValue(sourceFC);
-                    in.getOrCreate(NearestDescriptor.GEOMETRY_IN).setValue(targetGeometry);
-                    proc = desc.createProcess(in);
-                }
-
-                //run it
-                final FeatureCollection featureOut;
-                try {
-                    featureOut = (FeatureCollection) proc.call().parameter("feature_out").getValue();
-                } catch (ProcessException ex) {
-                    Logging.getLogger("org.geotoolkit.processing.vector.spatialjoin").log(Level.WARNING, null, ex);
-                    return null;
-                }
+                final Feature sourceFeature = method
+                        ? sourceIndex.intersect(targetGeometry, geomCRS)    //use intersect method
+                        : sourceIndex.nearest(targetGeometry, geomCRS);     //use nearest method
 
-                featureOutArray = new ArrayList<>(featureOut);
-
-                if (method) {   //intersect method
-
-                    if (featureOutArray.isEmpty()) { //no intersection
-                        return resultFeature;
-                    } else {
-                        if (featureOutArray.size() > 1) { //more than one intersection
-                            final Feature biggestFeature = biggestIntersection(featureOut, targetGeometry);
-                            resultFeature = copyAttributes(target, biggestFeature, newType);
-                        } else {// only one intersection
-                            resultFeature = copyAttributes(target, featureOutArray.get(0), newType);
-                        }
-                    }
-                } else {    //nearest method
-                    if (featureOutArray.isEmpty()) {
-                        return resultFeature;
-                    } else {
-                        resultFeature = copyAttributes(target, featureOutArray.get(0), newType);
-                    }
+                if (sourceFeature == null) {
+                    return resultFeature;
                 }
+                resultFeature = copyAttributes(target, sourceFeature, newType);
             }
         }
         return resultFeature;
@@ -207,39 +155,6 @@ public class SpatialJoinProcess extends AbstractProcess {
         return resultFeature;
     }
 
-    /**
-     * Return the Feature with the biggest intersection area with the geometry.
-     * If there is many Feature with the same area, the function return th first founded.
-     * @param outFC
-     * @param intersectGeometry
-     * @return the Feature
-     */
-    static Feature biggestIntersection(final FeatureCollection outFC, final Geometry intersectGeometry) {
-        double area = 0.0;
-        final ArrayList<Feature> listID = new ArrayList<>();
-        try (final FeatureIterator iter = outFC.iterator(null)) {
-            while (iter.hasNext()) {
-                final Feature feature = iter.next();
-                for (final PropertyType property : feature.getType().getProperties(true)) {
-                    if (AttributeConvention.isGeometryAttribute(property)) {
-                        final Geometry geom = (Geometry) feature.getPropertyValue(property.getName().toString());
-                        final double computeArea = intersectGeometry.intersection(geom).getArea();
-                        if (computeArea > area) {
-                            listID.clear();
-                            area = computeArea;
-                            listID.add(feature);
-                        } else {
-                            if (computeArea == area) {
-                                listID.add(feature);
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        return listID.get(0);
-    }
-
     /**
      * Create a new FeatureType with the target FeatureType and adding
      * source attributes except the geometry descriptor.
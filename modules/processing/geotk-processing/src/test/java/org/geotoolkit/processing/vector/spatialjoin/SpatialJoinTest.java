@@ -38,7 +38,12 @@ import org.opengis.parameter.ParameterValueGroup;
 import org.opengis.referencing.NoSuchAuthorityCodeException;
 import org.opengis.util.FactoryException;
 
+import java.util.ArrayList;
+import java.util.List;
+import org.geotoolkit.data.FeatureIterator;
+import org.geotoolkit.feature.FeatureExt;
 import org.junit.Test;
+import static org.junit.Assert.*;
 import org.opengis.feature.Feature;
 import org.opengis.feature.FeatureType;
 
@@ -138,6 +143,111 @@ public class SpatialJoinTest extends AbstractProcessTest {
         compare(featureListResult,featureListOut);
     }
 
+    /**
+     * Test SpatialJoin process on more target features than a batch, with
+     * several source features at the same distance or with the same intersection
+     * area. Result must keep target order and pick the first source feature, as
+     * a sequential join does.
+     */
+    @Test
+    public void testSpacialJoinBatchOrder() throws ProcessException, NoSuchIdentifierException, FactoryException {
+        final FeatureCollection sourceFeatures = buildSquares("source", createSimpleType2(), 40, 10);
+
+        for (final boolean intersect : new boolean[]{false, true}) {
+            final FeatureCollection targetFeatures = FeatureStoreUtilities.collection("target", createSimpleType1());
+            for (int i = 0; i < 3000; i++) {
+                final double x = (i * 5) % 400;
+                final Feature feature = targetFeatures.getType().newInstance();
+                feature.setPropertyValue(AttributeConvention.IDENTIFIER_PROPERTY.toString(), "t-" + i);
+                feature.setPropertyValue("name", "Target" + i);
+                feature.setPropertyValue("age", i);
+                feature.setPropertyValue("geom1", intersect
+                        ? square(x, 10)
+                        : geometryFactory.createPoint(new Coordinate(x, 20)));
+                targetFeatures.add(feature);
+            }
+
+            ProcessDescriptor desc = ProcessFinder.getProcessDescriptor(GeotkProcessingRegistry.NAME,"vector:spatialjoin");
+            ParameterValueGroup in = desc.getInputDescriptor().createValue();
+            in.parameter("feature_in").setValue(sourceFeatures);
+            in.parameter("feature_target").setValue(targetFeatures);
+            in.parameter("intersect").setValue(intersect);
+            org.geotoolkit.process.Process proc = desc.createProcess(in);
+            final FeatureCollection featureListOut = (FeatureCollection) proc.call().parameter("feature_out").getValue();
+
+            final List<String> expected = new ArrayList<>();
+            try (FeatureIterator ite = targetFeatures.iterator()) {
+                while (ite.hasNext()) {
+                    final Feature target = ite.next();
+                    expected.add(FeatureExt.getId(target).getID() + "_" + sequentialJoin(target, sourceFeatures, intersect));
+                }
+            }
+            final List<String> result = new ArrayList<>();
+            try (FeatureIterator ite = featureListOut.iterator()) {
+                while (ite.hasNext()) {
+                    result.add(FeatureExt.getId(ite.next()).getID());
+                }
+            }
+            assertEquals(expected, result);
+        }
+    }
+
+    /**
+     * Reference join, source features are tested one after the other
+     * and the first best one is kept.
+     */
+    private static String sequentialJoin(final Feature target, final FeatureCollection sources, final boolean intersect) {
+        final Geometry targetGeom = (Geometry) target.getPropertyValue("geom1");
+        String best = null;
+        double bestValue = 0;
+        try (FeatureIterator ite = sources.iterator()) {
+            while (ite.hasNext()) {
+                final Feature source = ite.next();
+                final Geometry sourceGeom = (Geometry) source.getPropertyValue("geom1");
+                final double value;
+                if (intersect) {
+                    if (!targetGeom.intersects(sourceGeom)) continue;
+                    value = -targetGeom.intersection(sourceGeom).getArea();
+                } else {
+                    value = targetGeom.distance(sourceGeom);
+                }
+                if (best == null || value < bestValue) {
+                    best = FeatureExt.getId(source).getID();
+                    bestValue = value;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Row of squares along the x axis, each square is added twice so features
+     * at the same place differ only by their order.
+     */
+    private static FeatureCollection buildSquares(final String name, final FeatureType type, final int count, final double size) {
+        final FeatureCollection featureList = FeatureStoreUtilities.collection(name, type);
+        for (int k = 0; k < 2 * count; k++) {
+            final Feature feature = type.newInstance();
+            feature.setPropertyValue(AttributeConvention.IDENTIFIER_PROPERTY.toString(), "s-" + k);
+            feature.setPropertyValue("type", "Square" + (k % count));
+            feature.setPropertyValue("age", k);
+            feature.setPropertyValue("geom1", square((k % count) * size, size));
+            featureList.add(feature);
+        }
+        return featureList;
+    }
+
+    private static Geometry square(final double x, final double size) {
+        final LinearRing ring = geometryFactory.createLinearRing(new Coordinate[]{
+                    new Coordinate(x, 0),
+                    new Coordinate(x, size),
+                    new Coordinate(x + size, size),
+                    new Coordinate(x + size, 0),
+                    new Coordinate(x, 0)
+                });
+        return geometryFactory.createPolygon(ring, null);
+    }
+
     private static FeatureType createSimpleType1() throws NoSuchAuthorityCodeException, FactoryException {
         final FeatureTypeBuilder ftb = new FeatureTypeBuilder();
         ftb.setName("SJ_Type1");
@@ -40,6 +40,7 @@ import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -50,6 +51,13 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 import java.util.zip.DataFormatException;
@@ -63,10 +71,12 @@ import javax.imageio.metadata.IIOMetadataNode;
 import javax.imageio.spi.ImageReaderSpi;
 import javax.imageio.spi.ServiceRegistry;
 import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
 import org.apache.sis.image.WritablePixelIterator;
 import org.apache.sis.internal.storage.io.ChannelImageInputStream;
 import org.apache.sis.util.ArgumentChecks;
 import org.apache.sis.util.ArraysExt;
+import org.apache.sis.util.collection.Cache;
 import org.apache.sis.util.logging.Logging;
 import org.apache.sis.coverage.SampleDimension;
 import org.geotoolkit.coverage.SampleDimensionUtils;
@@ -186,6 +196,38 @@ public class TiffImageReader extends SpatialImageReader {
         size[TYPE_URATIONAL] = size[TYPE_RATIONAL]             = (Integer.SIZE << 1) / Byte.SIZE; //rational = Integer / Integer. 2 Integer values red.
     }
 
+    /**
+     * Maximum number of unused bytes between two tiles read in a single operation.
+     */
+    private static final int MAX_READ_GAP = 16 * 1024;
+
+    /**
+     * Maximum number of bytes read in a single operation when merging tiles.
+     */
+    private static final int MAX_MERGED_READ = 16 * 1024 * 1024;
+
+    /**
+     * Parsed layer headers of files, shared by all readers. Keys are the file path
+     * with its size and last modification time, so modified files are parsed again.
+     *
+     * @see #sharedHeads
+     */
+    private static final Cache<List<Object>, Map<Long, Map<Integer, Map>>> HEADERS = new Cache<>(12, 64, true);
+
+    /**
+     * Number of threads used to decompress tiles.
+     */
+    private static final int DECOMPRESSION_NB_THREAD = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Executor shared by all readers to decompress rows of tiles in parallel.
+     */
+    private static final ExecutorService DECOMPRESSION_EXECUTOR = Executors.newFixedThreadPool(DECOMPRESSION_NB_THREAD, (Runnable r) -> {
+        final Thread thread = new Thread(r, "Tiff decompression");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     /**
      * Particularity code LZW.
      * Only use in readFromStripLZW() method.
@@ -343,6 +385,27 @@ public class TiffImageReader extends SpatialImageReader {
      */
     private int noDataTemporaryKey = 1000000;
 
+    /**
+     * {@code true} if compressed tiles are decoded in parallel.
+     *
+     * @see #setParallelDecompression(boolean)
+     */
+    private boolean parallelDecompression = true;
+
+    /**
+     * {@code true} if reads with subsampling use the reduced resolution layer which best matches.
+     *
+     * @see #setOverviewSelection(boolean)
+     */
+    private boolean overviewSelection = true;
+
+    /**
+     * Parsed layer headers of the current file, shared with other readers of the same file,
+     * indexed by the position of their Image File Directory.
+     * {@code null} if the input is not a file.
+     */
+    private Map<Long, Map<Integer, Map>> sharedHeads;
+
     /**
      * Creates a new reader.
      *
@@ -358,6 +421,48 @@ public class TiffImageReader extends SpatialImageReader {
         currentImage = -1;
     }
 
+    /**
+     * Sets whether rows of Deflate or LZW compressed tiles are decompressed in parallel.
+     * When enabled, compressed tiles are read by the calling thread and decompressed
+     * by a shared pool of threads, each row writing its own area of the destination raster.
+     * This mode is enabled by default.
+     *
+     * @param parallel {@code true} to decompress tiles in parallel.
+     */
+    public void setParallelDecompression(final boolean parallel) {
+        this.parallelDecompression = parallel;
+    }
+
+    /**
+     * Returns {@code true} if rows of compressed tiles are decompressed in parallel.
+     *
+     * @return {@code true} if tiles are decompressed in parallel.
+     */
+    public boolean isParallelDecompression() {
+        return parallelDecompression;
+    }
+
+    /**
+     * Sets whether reads with subsampling may be done on a reduced resolution layer,
+     * as found in Cloud Optimized GeoTIFF. A reduced resolution layer is used only
+     * if it produces the same image as the full resolution one, with a smaller subsampling.
+     * This mode is enabled by default.
+     *
+     * @param selection {@code true} to read from reduced resolution layers when possible.
+     */
+    public void setOverviewSelection(final boolean selection) {
+        this.overviewSelection = selection;
+    }
+
+    /**
+     * Returns {@code true} if reads with subsampling may be done on a reduced resolution layer.
+     *
+     * @return {@code true} if reduced resolution layers are used when possible.
+     */
+    public boolean isOverviewSelection() {
+        return overviewSelection;
+    }
+
     /**
      * Returns {@code true} since this image format places no inherent impediment on random access
      * to pixels. Actually, having easy random access is the whole point of uncompressed TIFF files
@@ -875,7 +980,17 @@ public class TiffImageReader extends SpatialImageReader {
     @Override
     public BufferedImage read(final int imageIndex, final ImageReadParam param) throws IOException {
         checkLayers();
-        BufferedImage img = readLayer(getLayerIndex(imageIndex), param);
+        final int layerIndex = getLayerIndex(imageIndex);
+        BufferedImage img = null;
+        if (overviewSelection && param != null) {
+            final Map.Entry<Integer, ImageReadParam> overview = selectOverview(layerIndex, param);
+            if (overview != null) {
+                img = readLayer(overview.getKey(), overview.getValue());
+            }
+        }
+        if (img == null) {
+            img = readLayer(layerIndex, param);
+        }
 
         //check if we are in float or double type
         final int dataType = img.getRaster().getDataBuffer().getDataType();
@@ -913,6 +1028,77 @@ public class TiffImageReader extends SpatialImageReader {
         return img;
     }
 
+    /**
+     * Searches the reduced resolution layer which best matches the subsampling of the given parameters.
+     * The returned parameters read on this layer the same samples than the given parameters on the
+     * full resolution layer, with a smaller subsampling.
+     *
+     * @param  layerIndex The full resolution layer.
+     * @param  param Parameters used to control the reading process on the full resolution layer.
+     * @return The reduced resolution layer index with its read parameters, or {@code null} if none applies.
+     * @throws IOException If an error occurred while reading layers headers.
+     */
+    private Map.Entry<Integer, ImageReadParam> selectOverview(final int layerIndex, final ImageReadParam param)
+            throws IOException {
+        final List<Integer> overviews = imgAndThumbs.get(layerIndex);
+        final int sx = param.getSourceXSubsampling();
+        final int sy = param.getSourceYSubsampling();
+        if (overviews == null || overviews.isEmpty() || (sx == 1 && sy == 1)
+         || param.getSubsamplingXOffset() != 0 || param.getSubsamplingYOffset() != 0) {
+            return null;
+        }
+
+        selectLayer(layerIndex);
+        final int fullWidth    = imageWidth;
+        final int fullHeight   = imageHeight;
+        final int fullSamples  = samplesPerPixel;
+        final long[] fullBits  = bitsPerSample;
+        Rectangle region = new Rectangle(fullWidth, fullHeight);
+        if (param.getSourceRegion() != null) {
+            region = region.intersection(param.getSourceRegion());
+        }
+        if (region.isEmpty()) return null;
+        //-- size of the image read on the full resolution layer --//
+        final int width  = (region.width  + sx - 1) / sx;
+        final int height = (region.height + sy - 1) / sy;
+
+        Map.Entry<Integer, ImageReadParam> best = null;
+        double bestFactor = 1;
+        for (final Integer overview : overviews) {
+            selectLayer(overview);
+            if (samplesPerPixel != fullSamples || !Arrays.equals(bitsPerSample, fullBits)) continue;
+
+            final double fx = fullWidth  / (double) imageWidth;
+            final double fy = fullHeight / (double) imageHeight;
+            if (Math.min(fx, fy) <= bestFactor) continue;
+            final int rx = (int) Math.round(sx / fx);
+            final int ry = (int) Math.round(sy / fy);
+            if (rx < 1 || ry < 1) continue;
+            //-- shift of the last sample, compared to the full resolution read, must stay under half a pixel --//
+            if ((width  - 1) * Math.abs(rx * fx - sx) > sx / 2.0
+             || (height - 1) * Math.abs(ry * fy - sy) > sy / 2.0) continue;
+
+            final int w = (width  - 1) * rx + 1;
+            final int h = (height - 1) * ry + 1;
+            final int x = Math.min((int) (region.x / fx), imageWidth  - w);
+            final int y = Math.min((int) (region.y / fy), imageHeight - h);
+            if (x < 0 || y < 0) continue;
+
+            final ImageReadParam overviewParam = new ImageReadParam();
+            overviewParam.setController(param.getController());
+            overviewParam.setDestination(param.getDestination());
+            overviewParam.setDestinationOffset(param.getDestinationOffset());
+            overviewParam.setDestinationType(param.getDestinationType());
+            overviewParam.setSourceBands(param.getSourceBands());
+            overviewParam.setDestinationBands(param.getDestinationBands());
+            overviewParam.setSourceRegion(new Rectangle(x, y, w, h));
+            overviewParam.setSourceSubsampling(rx, ry, 0, 0);
+            best = new AbstractMap.SimpleImmutableEntry<>(overview, overviewParam);
+            bestFactor = Math.min(fx, fy);
+        }
+        return best;
+    }
+
     /**
      * {@inheritDoc }
      */
@@ -968,6 +1154,8 @@ public class TiffImageReader extends SpatialImageReader {
         metaHeads    = new Map[4];
         roots        = new IIOMetadataNode[4];
         currentImage = -1;
+        imgAndThumbs = null;
+        sharedHeads  = null;
 
         //-- to force open
         try {
@@ -1041,6 +1229,10 @@ public class TiffImageReader extends SpatialImageReader {
                     maxSampleValue  = null;
 
                     headProperties  = metaHeads[layerIndex];
+                    if (headProperties == null && sharedHeads != null) {
+                        headProperties = sharedHeads.get(positionIFD[layerIndex]);
+                        metaHeads[layerIndex] = headProperties;
+                    }
                     if (headProperties == null) {
                         headProperties = new HashMap<Integer, Map>();
                         noDataTemporaryKey = 1000000; //-- init noDataTempKey for multiple noData
@@ -1061,6 +1253,9 @@ public class TiffImageReader extends SpatialImageReader {
                         readDeferredArrays(deferred.toArray(new long[deferred.size()][]));
                         metaHeads[layerIndex] = headProperties;
                     }
+                    //-- compression is only set while parsing, restore it for already parsed layers --//
+                    final Map<String, Object> cpObj = headProperties.get(Compression);
+                    compression = (cpObj == null) ? 1 : ((int[]) cpObj.get(ATT_VALUE))[0];
 
                     final Map<String, Object> iwObj    = headProperties.get(ImageWidth);
                     final Map<String, Object> ihObj    = headProperties.get(ImageLength);
@@ -1167,6 +1362,9 @@ public class TiffImageReader extends SpatialImageReader {
                             headProperties.put(SamplesPerPixel, tagAttributs);
                         }
                     }
+                    if (sharedHeads != null) {
+                        sharedHeads.putIfAbsent(positionIFD[layerIndex], headProperties);
+                    }
                     currentImage = layerIndex;
                     return;
                 }
@@ -1643,6 +1841,8 @@ public class TiffImageReader extends SpatialImageReader {
             }
             if (currentInput instanceof FileInputStream) {
                 fileChannelPositionBegin = ((FileInputStream)currentInput).getChannel().position();
+            } else if (currentInput instanceof SeekableByteChannel) {
+                fileChannelPositionBegin = ((SeekableByteChannel) currentInput).position();
             } else if (currentInput instanceof InputStream) {
                 InputStream stream = (InputStream) currentInput;
                 if (stream.markSupported()) {
@@ -1690,7 +1890,36 @@ public class TiffImageReader extends SpatialImageReader {
             countIFD = 0;
             nextImageFileDirectory();
             currentImage = -1;
+            sharedHeads  = getSharedHeads(currentInput);
+        }
+    }
+
+    /**
+     * Returns the parsed layer headers shared by all readers of the given input.
+     *
+     * @param  input The reader input.
+     * @return Shared headers indexed by IFD position, or {@code null} if the input is not a file.
+     */
+    private static Map<Long, Map<Integer, Map>> getSharedHeads(final Object input) {
+        if (!IOUtilities.canProcessAsPath(input)) return null;
+        final List<Object> key;
+        try {
+            final Path path = IOUtilities.toPath(input).toAbsolutePath();
+            key = Arrays.asList(path, Files.size(path), Files.getLastModifiedTime(path));
+        } catch (IOException | IllegalArgumentException ex) {
+            return null;
         }
+        Map<Long, Map<Integer, Map>> heads = null;
+        final Cache.Handler<Map<Long, Map<Integer, Map>>> handler = HEADERS.lock(key);
+        try {
+            heads = handler.peek();
+            if (heads == null) {
+                heads = new ConcurrentHashMap<>();
+            }
+        } finally {
+            handler.putAndUnlock(heads);
+        }
+        return heads;
     }
 
     /**
@@ -2333,6 +2562,11 @@ public class TiffImageReader extends SpatialImageReader {
         final ImageInputStream inputLZW = getImageInputStream(fO == 2);
 
         final long bitpersampl = bitsPerSample[0];
+        final int sampleByteSize = (int) bitpersampl / Byte.SIZE;
+
+        //-- decoded bytes of a row, and work array to revert floating point predictor --//
+        final byte[] rowData      = new byte[(int) ((sourceScanlineStride * bitpersampl + Byte.SIZE - 1) / Byte.SIZE)];
+        final byte[] predictorRow = (predic == 3) ? new byte[rowData.length] : null;
 
        /*
         * Iterate over the strip to read, in sequential file access order (which is not
@@ -2426,8 +2660,8 @@ public class TiffImageReader extends SpatialImageReader {
                 final int maxSamplePos = (Math.min((cSO + 1) * rowsPerStrip, srcMaxy) - cSO * rowsPerStrip) * sourceScanlineStride;
                 int samplePos          = 0;
 
-                //-- bytePos must read throught all file byte per byte --//
-                int bytePos = 0;
+                //-- rowFill is the number of decoded bytes of the current row --//
+                int rowFill = 0;
                 int b       = 0;
                 short codeLZW;
 
@@ -2463,68 +2697,72 @@ public class TiffImageReader extends SpatialImageReader {
 
                     assert entree != null;
 
-                    //-- write entree --//
-                    for (int i = 0; i < entree.length; i++) {
-                        //-- build sample in relation with bits per samples --//
-                        final long val = entree[i] & 0x000000FFL;
-                        dataContainer  = dataContainer | (val << maskCount);
-                        maskCount     += Byte.SIZE;
+                    //-- write entree, row by row to revert floating point predictor if needed --//
+                    for (final byte entreeByte : entree) {
+                        rowData[rowFill++] = entreeByte;
+                        if (rowFill < rowData.length) continue;
+                        rowFill = 0;
+                        if (predic == 3) undoFloatingPointPredictor(rowData, 0, pixelLength, sampleByteSize, predictorRow);
 
-                        //-- if a sample is built --//
-                        if (maskCount == bitpersampl) {
-                            //-- add in precedently array before insertion --//
-                            //-- if horizontal differencing add with precedently value --//
-                            prediPix[hdb] = (predic == 2) ? (prediPix[hdb] + dataContainer) : dataContainer;
-                            if (++hdb == pixelLength) hdb = 0;
+                        for (int i = 0; i < rowData.length; i++) {
+                            //-- build sample in relation with bits per samples --//
+                            final long val = rowData[i] & 0x000000FFL;
+                            dataContainer  = dataContainer | (val << maskCount);
+                            maskCount     += Byte.SIZE;
 
-                            //-- re-initialize datacontainer --//
-                            dataContainer = 0;
-                            maskCount     = 0;
+                            //-- if a sample is built --//
+                            if (maskCount == bitpersampl) {
+                                //-- add in precedently array before insertion --//
+                                //-- if horizontal differencing add with precedently value --//
+                                prediPix[hdb] = (predic == 2) ? (prediPix[hdb] + dataContainer) : dataContainer;
+                                if (++hdb == pixelLength) hdb = 0;
 
-                            //-- write sample in target array if its necessary --//
-                            if (samplePos == posRef) {
-                                switch (dataType) {
-                                    case DataBuffer.TYPE_BYTE   : ((byte[])targetArray)[bankID] = (byte) (prediPix[b]); break;
-                                    case DataBuffer.TYPE_SHORT  :
-                                    case DataBuffer.TYPE_USHORT : ((short[])targetArray)[bankID] = (short) (prediPix[b]); break;
-                                    case DataBuffer.TYPE_INT    : ((int[])targetArray)[bankID] = (int) (prediPix[b]); break;
-                                    case DataBuffer.TYPE_FLOAT  : ((float[])targetArray)[bankID] = Float.intBitsToFloat((int)(prediPix[b])); break;
-                                    case DataBuffer.TYPE_DOUBLE : ((double[])targetArray)[bankID] = Double.longBitsToDouble(prediPix[b]); break;
-                                    default: throw new AssertionError(dataType);
-                                }
-                                bankID += planarDenum;
-                                if (++b == pixelLength) {
-                                    posRef += (sourceXSubsampling - 1) * pixelLength;
-                                    b = 0;
-                                }
-                                posRef++;
+                                //-- re-initialize datacontainer --//
+                                dataContainer = 0;
+                                maskCount     = 0;
 
-                                //-- this if means : pass to the next destination image row --//
-                                if (posRef == maxRowRefPos) {
-                                    assert hdb == 0 : "hdb should be zero. hdb = "+hdb;
-                                    ypos += sourceYSubsampling;
-                                    //-- begin source position writing --//
-                                    posRef      = nextPosRef;
-                                    nextPosRef += nextRowStep;
+                                //-- write sample in target array if its necessary --//
+                                if (samplePos == posRef) {
+                                    switch (dataType) {
+                                        case DataBuffer.TYPE_BYTE   : ((byte[])targetArray)[bankID] = (byte) (prediPix[b]); break;
+                                        case DataBuffer.TYPE_SHORT  :
+                                        case DataBuffer.TYPE_USHORT : ((short[])targetArray)[bankID] = (short) (prediPix[b]); break;
+                                        case DataBuffer.TYPE_INT    : ((int[])targetArray)[bankID] = (int) (prediPix[b]); break;
+                                        case DataBuffer.TYPE_FLOAT  : ((float[])targetArray)[bankID] = Float.intBitsToFloat((int)(prediPix[b])); break;
+                                        case DataBuffer.TYPE_DOUBLE : ((double[])targetArray)[bankID] = Double.longBitsToDouble(prediPix[b]); break;
+                                        default: throw new AssertionError(dataType);
+                                    }
+                                    bankID += planarDenum;
+                                    if (++b == pixelLength) {
+                                        posRef += (sourceXSubsampling - 1) * pixelLength;
+                                        b = 0;
+                                    }
+                                    posRef++;
 
-                                    //-- destination shifts --//
-                                    bankID += dstStep;
+                                    //-- this if means : pass to the next destination image row --//
+                                    if (posRef == maxRowRefPos) {
+                                        assert hdb == 0 : "hdb should be zero. hdb = "+hdb;
+                                        ypos += sourceYSubsampling;
+                                        //-- begin source position writing --//
+                                        posRef      = nextPosRef;
+                                        nextPosRef += nextRowStep;
 
-                                    //-- if it is unnecessary to finish to read current strip --//
-                                    if (posRef >= maxSamplePos) continue nextStrip; //-- a affiner
+                                        //-- destination shifts --//
+                                        bankID += dstStep;
 
-                                    //-- ending source position writing --//
-                                    maxRowRefPos += nextRowStep;
+                                        //-- if it is unnecessary to finish to read current strip --//
+                                        if (posRef >= maxSamplePos) continue nextStrip; //-- a affiner
+
+                                        //-- ending source position writing --//
+                                        maxRowRefPos += nextRowStep;
+                                    }
                                 }
+                                //-- shift by one when a sample was built --//
+                                samplePos++;
                             }
-                            //-- shift by one when a sample was built --//
-                            samplePos++;
-                        }
-                        if (++bytePos == sourceScanlineStride) {
-                            //-- initialize predictor array --//
-                            Arrays.fill(prediPix, 0);
-                            bytePos = 0;
                         }
+                        //-- initialize predictor array at the end of each row --//
+                        Arrays.fill(prediPix, 0);
                     }
 
                     if (oldCodeLZW == null) {
@@ -2576,35 +2814,6 @@ public class TiffImageReader extends SpatialImageReader {
      */
     private void readFromStripDeflate(final WritableRaster raster, final ImageReadParam param,
             final Rectangle srcRegion, final Rectangle dstRegion) throws IOException {
-        throw new IOException("Deflate strip tiff not supported.");
-    }
-
-    /**
-     * Read next data of {@code codeLZWLength} bits length from current {@code ImageInputStream input}.
-     *
-     * @param input ImageInputStream where to read datas.
-     * @param codeLZWLength current bits length of read data.
-     * @return data value.
-     * @throws IOException if problem during reading from input.
-     * @see #readFromStripLZW(java.awt.image.WritableRaster, javax.imageio.ImageReadParam, java.awt.Rectangle, java.awt.Rectangle)
-     */
-    private static short readLZWCode(final ImageInputStream input, final int codeLZWLength) throws IOException {
-        return ((short) (input.readBits(codeLZWLength)));
-    }
-
-    /**
-     * Process to the image reading, and stores the pixels in the given raster.<br/>
-     * Process fill raster from informations stored in stripOffset made.<br/>
-     * Method adapted to read data from packbits(tag 32773) compression.
-     *
-     * @param  raster    The raster where to store the pixel values.
-     * @param  param     Parameters used to control the reading process, or {@code null}.
-     * @param  srcRegion The region to read in source image.
-     * @param  dstRegion The region to write in the given raster.
-     * @throws IOException If an error occurred while reading the image.
-     */
-    private void readFromStrip32773(final WritableRaster raster, final ImageReadParam param,
-            final Rectangle srcRegion, final Rectangle dstRegion) throws IOException {
         clearAbortRequest();
         final int numBands = raster.getNumBands();
         checkReadParamBandSettings(param, samplesPerPixel, numBands);
@@ -2631,13 +2840,16 @@ public class TiffImageReader extends SpatialImageReader {
         final int dataType             = dataBuffer.getDataType();
         final int targetScanlineStride = SampleModels.getScanlineStride(raster.getSampleModel());
 
+        //-- predictor study ---//
+        final Map<String, Object> predictor = (headProperties.get(Predictor));
+        final short predic    = (predictor != null) ? (short) ((long[]) predictor.get(ATT_VALUE)) [0] : 1;
+
         //-- fillOrder --//
         final Map<String, Object> fillOrder = headProperties.get(FillOrder);
         short fO = 1;
         if (fillOrder != null) {
             fO = (short) ((long[]) fillOrder.get(ATT_VALUE)) [0];
         }
-        final ImageInputStream rasterReader = getImageInputStream(fO == 2);
 
         //-- planar configuration --//
         final Map<String, Object> planarConfig = headProperties.get(PlanarConfiguration);
@@ -2651,70 +2863,306 @@ public class TiffImageReader extends SpatialImageReader {
         final int pixelLength = (pC != 2) ? samplesPerPixel : 1;
         final int planarDenum = (pC != 2) ? 1 : samplesPerPixel;
 
-        final int sourceScanlineStride = pixelLength * imageWidth;
+        final int sourceScanlineStride = imageWidth * pixelLength;
+        //-- array which represent a pixel to permit horizontal differencing if exist --//
+        final long[] prediPix = new long[pixelLength];
+
+        //-- adapt imageStream in function of fill order value --//
+        final ImageInputStream rasterStream = getImageInputStream(fO == 2);
 
         final long bitpersampl = bitsPerSample[0];
+        final int sampleByteSize = (int) bitpersampl / Byte.SIZE;
+
+        //-- decoded bytes of a strip, and work array to revert floating point predictor --//
+        final int rowByteLength       = (int) ((sourceScanlineStride * bitpersampl + Byte.SIZE - 1) / Byte.SIZE);
+        final int stripRows           = Math.min(rowsPerStrip, imageHeight);
+        final byte[] decompressedData = new byte[rowByteLength * stripRows];
+        final byte[] predictorRow     = (predic == 3) ? new byte[rowByteLength] : null;
+
+        final int srcMaxy     = srcRegion.y + srcRegion.height;
+        //-- step on x axis in target window when iteration pass to next row --//
+        final int dstStep     = targetScanlineStride - dstRegion.width * samplesPerPixel;
+        //-- source sample step when iteration pass to next row --//
+        final int nextRowStep = sourceScanlineStride * sourceYSubsampling;
+        //-- number of strips of each plane --//
+        final int planeStrips = stripOffsets.length / planarDenum;
+
+        final Inflater inflater = new Inflater(false);
+        try {
+            for (int bank = 0; bank < bankOffsets.length; bank++) {
+                /*
+                 * Get the underlying array of the image DataBuffer in which to write the data.
+                 */
+                final Object targetArray;
+                switch (dataType) {
+                    case DataBuffer.TYPE_BYTE   : targetArray = ((DataBufferByte)   dataBuffer).getData(bank); break;
+                    case DataBuffer.TYPE_USHORT : targetArray = ((DataBufferUShort) dataBuffer).getData(bank); break;
+                    case DataBuffer.TYPE_SHORT  : targetArray = ((DataBufferShort)  dataBuffer).getData(bank); break;
+                    case DataBuffer.TYPE_INT    : targetArray = ((DataBufferInt)    dataBuffer).getData(bank); break;
+                    case DataBuffer.TYPE_FLOAT  : targetArray = ((DataBufferFloat)  dataBuffer).getData(bank); break;
+                    case DataBuffer.TYPE_DOUBLE : targetArray = ((DataBufferDouble) dataBuffer).getData(bank); break;
+                    default: throw new AssertionError(dataType);
+                }
 
-        for (int bank = 0; bank < bankOffsets.length; bank++) {
-            /*
-             * Get the underlying array of the image DataBuffer in which to write the data.
-             */
-            final Object targetArray;
-            switch (dataType) {
-                case DataBuffer.TYPE_BYTE   : targetArray = ((DataBufferByte)   dataBuffer).getData(bank); break;
-                case DataBuffer.TYPE_USHORT : targetArray = ((DataBufferUShort) dataBuffer).getData(bank); break;
-                case DataBuffer.TYPE_SHORT  : targetArray = ((DataBufferShort)  dataBuffer).getData(bank); break;
-                case DataBuffer.TYPE_INT    : targetArray = ((DataBufferInt)    dataBuffer).getData(bank); break;
-                case DataBuffer.TYPE_FLOAT  : targetArray = ((DataBufferFloat)  dataBuffer).getData(bank); break;
-                case DataBuffer.TYPE_DOUBLE : targetArray = ((DataBufferDouble) dataBuffer).getData(bank); break;
-                default: throw new AssertionError(dataType);
-            }
+                nextSample : for (int s = 0; s < samplesPerPixel; s += pixelLength) {
 
-            for (int s = 0; s < samplesPerPixel; s += pixelLength) {
+                    //-- strip index range in the current plane --//
+                    final int minStrip = srcRegion.y / rowsPerStrip;
+                    final int maxStrip = (srcMaxy + rowsPerStrip - 1) / rowsPerStrip;
 
-            /*
-             * Iterate over the strip to read, in sequential file access order (which is not
-             * necessarily the same than row indices order).
-             */
-            final int srcMaxx = (srcRegion.x + srcRegion.width) * pixelLength;
-            final int srcMaxy = srcRegion.y  + srcRegion.height;
+                    /*
+                     * Long container use to build a sample,
+                     * because each sample is read byte per byte regardless their bit size.
+                     */
+                    long dataContainer = 0;
+                    int maskCount      = 0;
 
-            //-- step on x axis in target window (dstRegion)
-            final int dstStepBeforeReadX = dstRegion.x * numBands;
-            final int dstStepAfterReadX  = (targetScanlineStride - (dstRegion.x + dstRegion.width) * numBands);// / sampleSize;
+                    //-- target start --//
+                    int bankID = bankOffsets[bank] + targetScanlineStride * dstRegion.y + dstRegion.x * samplesPerPixel + s;
 
-            //-- target start
-            int bankID = bankOffsets[bank] + targetScanlineStride * dstRegion.y+s;
+                    //-- current source y position --//
+                    int ypos = srcRegion.y;
 
-            //-- stripoffset array index start
-            int currentStripOffset    = srcRegion.y / rowsPerStrip;
+                    nextStrip : for (int strip = minStrip; strip < maxStrip; strip++) {
+                        if (ypos >= srcMaxy) continue nextSample;
 
-            //-- row index of next strip
-            int currentMaxRowperStrip = (currentStripOffset + 1) * rowsPerStrip;
+                        /*
+                         * "posRef" is the index of the next sample to write in target array,
+                         * "maxRowRefPos" the exclusive index of the last sample of the current row.
+                         */
+                        int posRef = (ypos - strip * rowsPerStrip) * sourceScanlineStride + srcRegion.x * pixelLength;
 
-            //-- row index from stripoffset
-            int ypos                  = currentStripOffset * rowsPerStrip;
+                        //-- in case where sourceYsubsampling greater than row per strip --//
+                        if (posRef >= rowsPerStrip * sourceScanlineStride) continue nextStrip;
 
-            //-- band to band
-            currentStripOffset += s * stripOffsets.length / planarDenum;
+                        int nextPosRef         = posRef + nextRowStep;
+                        int maxRowRefPos       = posRef + dstRegion.width * pixelLength * sourceXSubsampling;
+                        final int maxSamplePos = (Math.min((strip + 1) * rowsPerStrip, srcMaxy) - strip * rowsPerStrip) * sourceScanlineStride;
+                        final int stripLength  = (Math.min((strip + 1) * rowsPerStrip, imageHeight) - strip * rowsPerStrip) * rowByteLength;
 
-            //-- buffer start position
-            int currentBuffPos        = (int) stripOffsets[currentStripOffset];
+                        //-- read and decode the strip --//
+                        final int stripIndex = strip + s * planeStrips;
+                        final byte[] data = new byte[(int) stripByteCounts[stripIndex]];
+                        rasterStream.seek(stripOffsets[stripIndex]);
+                        rasterStream.readFully(data);
+                        inflate(inflater, data, decompressedData);
+                        if (predic == 3) {
+                            for (int row = 0; row < stripLength; row += rowByteLength) {
+                                undoFloatingPointPredictor(decompressedData, row, pixelLength, sampleByteSize, predictorRow);
+                            }
+                        }
 
-            //-- row index to begin to write
-            int yref                  = srcRegion.y;
-            int xref, bankStepBefore, bankStepAfter;
+                        int samplePos = 0;
+                        int hdb       = 0;
+                        int b         = 0;
+                        int bytePos   = 0;
+                        Arrays.fill(prediPix, 0);
 
-            //-- attributs to build appropriate sample from dataType --//
-            long dataContainer = 0;
-            int maskCount = 0;
+                        for (int i = 0; i < stripLength; i++) {
+                            //-- build sample in relation with bits per samples --//
+                            final long val = decompressedData[i] & 0x000000FFL;
+                            dataContainer  = dataContainer | (val << maskCount);
+                            maskCount     += Byte.SIZE;
 
-            while (ypos < srcMaxy) {
-                if (ypos >= currentMaxRowperStrip) {
-                    currentStripOffset++;
-                    currentBuffPos = (int) stripOffsets[currentStripOffset];
-                    currentMaxRowperStrip += rowsPerStrip;
-                }
+                            //-- if a sample is built --//
+                            if (maskCount == bitpersampl) {
+                                //-- if horizontal differencing add with precedently value --//
+                                prediPix[hdb] = (predic == 2) ? (prediPix[hdb] + dataContainer) : dataContainer;
+                                if (++hdb == pixelLength) hdb = 0;
+
+                                //-- re-initialize datacontainer --//
+                                dataContainer = 0;
+                                maskCount     = 0;
+
+                                //-- write sample in target array if its necessary --//
+                                if (samplePos == posRef) {
+                                    switch (dataType) {
+                                        case DataBuffer.TYPE_BYTE   : ((byte[])targetArray)[bankID] = (byte) (prediPix[b]); break;
+                                        case DataBuffer.TYPE_SHORT  :
+                                        case DataBuffer.TYPE_USHORT : ((short[])targetArray)[bankID] = (short) (prediPix[b]); break;
+                                        case DataBuffer.TYPE_INT    : ((int[])targetArray)[bankID] = (int) (prediPix[b]); break;
+                                        case DataBuffer.TYPE_FLOAT  : ((float[])targetArray)[bankID] = Float.intBitsToFloat((int)(prediPix[b])); break;
+                                        case DataBuffer.TYPE_DOUBLE : ((double[])targetArray)[bankID] = Double.longBitsToDouble(prediPix[b]); break;
+                                        default: throw new AssertionError(dataType);
+                                    }
+                                    bankID += planarDenum;
+                                    if (++b == pixelLength) {
+                                        posRef += (sourceXSubsampling - 1) * pixelLength;
+                                        b = 0;
+                                    }
+                                    posRef++;
+
+                                    //-- this if means : pass to the next destination image row --//
+                                    if (posRef == maxRowRefPos) {
+                                        assert hdb == 0 : "hdb should be zero. hdb = "+hdb;
+                                        ypos += sourceYSubsampling;
+                                        //-- begin source position writing --//
+                                        posRef      = nextPosRef;
+                                        nextPosRef += nextRowStep;
+
+                                        //-- destination shifts --//
+                                        bankID += dstStep;
+
+                                        //-- if it is unnecessary to finish to read current strip --//
+                                        if (posRef >= maxSamplePos) continue nextStrip;
+
+                                        //-- ending source position writing --//
+                                        maxRowRefPos += nextRowStep;
+                                    }
+                                }
+                                //-- shift by one when a sample was built --//
+                                samplePos++;
+                            }
+                            if (++bytePos == rowByteLength) {
+                                //-- initialize predictor array at the end of each row --//
+                                Arrays.fill(prediPix, 0);
+                                bytePos = 0;
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Read next data of {@code codeLZWLength} bits length from current {@code ImageInputStream input}.
+     *
+     * @param input ImageInputStream where to read datas.
+     * @param codeLZWLength current bits length of read data.
+     * @return data value.
+     * @throws IOException if problem during reading from input.
+     * @see #readFromStripLZW(java.awt.image.WritableRaster, javax.imageio.ImageReadParam, java.awt.Rectangle, java.awt.Rectangle)
+     */
+    private static short readLZWCode(final ImageInputStream input, final int codeLZWLength) throws IOException {
+        return ((short) (input.readBits(codeLZWLength)));
+    }
+
+    /**
+     * Process to the image reading, and stores the pixels in the given raster.<br/>
+     * Process fill raster from informations stored in stripOffset made.<br/>
+     * Method adapted to read data from packbits(tag 32773) compression.
+     *
+     * @param  raster    The raster where to store the pixel values.
+     * @param  param     Parameters used to control the reading process, or {@code null}.
+     * @param  srcRegion The region to read in source image.
+     * @param  dstRegion The region to write in the given raster.
+     * @throws IOException If an error occurred while reading the image.
+     */
+    private void readFromStrip32773(final WritableRaster raster, final ImageReadParam param,
+            final Rectangle srcRegion, final Rectangle dstRegion) throws IOException {
+        clearAbortRequest();
+        final int numBands = raster.getNumBands();
+        checkReadParamBandSettings(param, samplesPerPixel, numBands);
+        final int[]      sourceBands;
+        final int[] destinationBands;
+        final int sourceXSubsampling;
+        final int sourceYSubsampling;
+        if (param != null) {
+            sourceBands        = param.getSourceBands();
+            destinationBands   = param.getDestinationBands();
+            sourceXSubsampling = param.getSourceXSubsampling();
+            sourceYSubsampling = param.getSourceYSubsampling();
+        } else {
+            sourceBands        = null;
+            destinationBands   = null;
+            sourceXSubsampling = 1;
+            sourceYSubsampling = 1;
+        }
+        if (sourceBands != null || destinationBands != null) {
+            throw new IIOException("Source and target bands not yet supported.");
+        }
+        final DataBuffer dataBuffer    = raster.getDataBuffer();
+        final int[] bankOffsets        = dataBuffer.getOffsets();
+        final int dataType             = dataBuffer.getDataType();
+        final int targetScanlineStride = SampleModels.getScanlineStride(raster.getSampleModel());
+
+        //-- fillOrder --//
+        final Map<String, Object> fillOrder = headProperties.get(FillOrder);
+        short fO = 1;
+        if (fillOrder != null) {
+            fO = (short) ((long[]) fillOrder.get(ATT_VALUE)) [0];
+        }
+        final ImageInputStream rasterReader = getImageInputStream(fO == 2);
+
+        //-- planar configuration --//
+        final Map<String, Object> planarConfig = headProperties.get(PlanarConfiguration);
+        short pC = 1;
+        /*
+         * If samples per pixel = 1, planar configuration has no impact.
+         */
+        if (planarConfig != null && samplesPerPixel > 1) {
+            pC = ((short[]) planarConfig.get(ATT_VALUE)) [0];
+        }
+        final int pixelLength = (pC != 2) ? samplesPerPixel : 1;
+        final int planarDenum = (pC != 2) ? 1 : samplesPerPixel;
+
+        final int sourceScanlineStride = pixelLength * imageWidth;
+
+        final long bitpersampl = bitsPerSample[0];
+
+        for (int bank = 0; bank < bankOffsets.length; bank++) {
+            /*
+             * Get the underlying array of the image DataBuffer in which to write the data.
+             */
+            final Object targetArray;
+            switch (dataType) {
+                case DataBuffer.TYPE_BYTE   : targetArray = ((DataBufferByte)   dataBuffer).getData(bank); break;
+                case DataBuffer.TYPE_USHORT : targetArray = ((DataBufferUShort) dataBuffer).getData(bank); break;
+                case DataBuffer.TYPE_SHORT  : targetArray = ((DataBufferShort)  dataBuffer).getData(bank); break;
+                case DataBuffer.TYPE_INT    : targetArray = ((DataBufferInt)    dataBuffer).getData(bank); break;
+                case DataBuffer.TYPE_FLOAT  : targetArray = ((DataBufferFloat)  dataBuffer).getData(bank); break;
+                case DataBuffer.TYPE_DOUBLE : targetArray = ((DataBufferDouble) dataBuffer).getData(bank); break;
+                default: throw new AssertionError(dataType);
+            }
+
+            for (int s = 0; s < samplesPerPixel; s += pixelLength) {
+
+            /*
+             * Iterate over the strip to read, in sequential file access order (which is not
+             * necessarily the same than row indices order).
+             */
+            final int srcMaxx = (srcRegion.x + srcRegion.width) * pixelLength;
+            final int srcMaxy = srcRegion.y  + srcRegion.height;
+
+            //-- step on x axis in target window (dstRegion)
+            final int dstStepBeforeReadX = dstRegion.x * numBands;
+            final int dstStepAfterReadX  = (targetScanlineStride - (dstRegion.x + dstRegion.width) * numBands);// / sampleSize;
+
+            //-- target start
+            int bankID = bankOffsets[bank] + targetScanlineStride * dstRegion.y+s;
+
+            //-- stripoffset array index start
+            int currentStripOffset    = srcRegion.y / rowsPerStrip;
+
+            //-- row index of next strip
+            int currentMaxRowperStrip = (currentStripOffset + 1) * rowsPerStrip;
+
+            //-- row index from stripoffset
+            int ypos                  = currentStripOffset * rowsPerStrip;
+
+            //-- band to band
+            currentStripOffset += s * stripOffsets.length / planarDenum;
+
+            //-- buffer start position
+            int currentBuffPos        = (int) stripOffsets[currentStripOffset];
+
+            //-- row index to begin to write
+            int yref                  = srcRegion.y;
+            int xref, bankStepBefore, bankStepAfter;
+
+            //-- attributs to build appropriate sample from dataType --//
+            long dataContainer = 0;
+            int maskCount = 0;
+
+            while (ypos < srcMaxy) {
+                if (ypos >= currentMaxRowperStrip) {
+                    currentStripOffset++;
+                    currentBuffPos = (int) stripOffsets[currentStripOffset];
+                    currentMaxRowperStrip += rowsPerStrip;
+                }
 
                 if (ypos == yref) {
                     //-- we write current row
@@ -3062,7 +3510,6 @@ public class TiffImageReader extends SpatialImageReader {
             throw new IIOException("Source and target bands not yet supported.");
         }
         final DataBuffer dataBuffer    = raster.getDataBuffer();
-        final int[] bankOffsets        = dataBuffer.getOffsets();
         final int dataType             = dataBuffer.getDataType();
         final int targetScanlineStride = SampleModels.getScanlineStride(raster.getSampleModel());
 
@@ -3081,8 +3528,6 @@ public class TiffImageReader extends SpatialImageReader {
         //-- predictor study ---//
         final Map<String, Object> predictor = (headProperties.get(Predictor));
         final short predic    = (predictor != null) ? (short) ((long[]) predictor.get(ATT_VALUE)) [0] : 1;
-        //-- array which represent a pixel to permit horizontal differencing if exist --//
-        final long[] prediPix = new long[pixelLength];
 
         //-- fillOrder --//
         final Map<String, Object> fillOrder = headProperties.get(FillOrder);
@@ -3099,10 +3544,6 @@ public class TiffImageReader extends SpatialImageReader {
         final int maxTileX = (srcRegion.x + srcRegion.width  + tileWidth  - 1) / tileWidth;
         final int maxTileY = (srcRegion.y + srcRegion.height + tileHeight - 1) / tileHeight;
 
-        //-- tile number from source image dimension --//
-        final int numXTile = (imageWidth + tileWidth - 1) / tileWidth;
-        final int numYTile = (imageHeight + tileHeight - 1) / tileHeight;
-
         //-- srcRegion max coordinates --//
         final int srcRegionMaxX = srcRegion.x + srcRegion.width;
         final int srcRegionMaxY = srcRegion.y + srcRegion.height;
@@ -3110,231 +3551,228 @@ public class TiffImageReader extends SpatialImageReader {
         final int sourceScanTileStride = tileWidth * pixelLength;
 
         final long bitpersampl = bitsPerSample[0];
+        final int sampleByteSize = (int) bitpersampl / Byte.SIZE;
+        final int rowByteLength  = (int) ((sourceScanTileStride * bitpersampl + Byte.SIZE - 1) / Byte.SIZE);
 
-        for (int bank = 0; bank < bankOffsets.length; bank++) {
-            /*
-             * Get the underlying array of the image DataBuffer in which to write the data.
-             */
-            final Object targetArray;
-            switch (dataType) {
-                case DataBuffer.TYPE_BYTE   : targetArray = ((DataBufferByte)   dataBuffer).getData(bank); break;
-                case DataBuffer.TYPE_USHORT : targetArray = ((DataBufferUShort) dataBuffer).getData(bank); break;
-                case DataBuffer.TYPE_SHORT  : targetArray = ((DataBufferShort)  dataBuffer).getData(bank); break;
-                case DataBuffer.TYPE_INT    : targetArray = ((DataBufferInt)    dataBuffer).getData(bank); break;
-                case DataBuffer.TYPE_FLOAT  : targetArray = ((DataBufferFloat)  dataBuffer).getData(bank); break;
-                case DataBuffer.TYPE_DOUBLE : targetArray = ((DataBufferDouble) dataBuffer).getData(bank); break;
-                default: throw new AssertionError(dataType);
-            }
-
-            final int targetRegionOffset = bankOffsets[bank] + dstRegion.y * targetScanlineStride + dstRegion.x * samplesPerPixel;
+        /*
+         * Decode a row of tiles. Each row is written in its own area of the target array,
+         * so rows may be decoded concurrently, each one with its own LZW tables.
+         */
+        final TileRowDecoder decoder = (final Object targetArray, final int targetRegionOffset,
+                final int s, final int ty, final byte[][] tiles) -> {
+
+            final int interMinY          = Math.max(srcRegion.y, ty * tileHeight);
+            final int interMaxY          = Math.min(srcRegionMaxY, (ty + 1) * tileHeight);
+
+            final int yOffset = (((interMinY - srcRegion.y) % sourceYSubsampling) == 0) ? 0 : (sourceYSubsampling - ((interMinY - srcRegion.y)) % sourceYSubsampling);
+            if (yOffset >= tileHeight || (interMinY + yOffset) >= interMaxY) return;
+            final int rowSampleOffset = (interMinY + yOffset - ty * tileHeight) * sourceScanTileStride;
+            final int targetRowOffset = ((interMinY - srcRegion.y + sourceYSubsampling - 1) / sourceYSubsampling) * targetScanlineStride;
+
+            //-- array which represent a pixel to permit horizontal differencing if exist --//
+            final long[] prediPix = new long[pixelLength];
+            //-- decoded bytes of a row, and work array to revert floating point predictor --//
+            final byte[] rowData      = new byte[rowByteLength];
+            final byte[] predictorRow = (predic == 3) ? new byte[rowByteLength] : null;
+
+     nextTile : for (int tx = minTileX; tx < maxTileX; tx++) {
+
+                //-- compressed tile, null if it has not been read --//
+                final byte[] data = tiles[tx - minTileX];
+                if (data == null) continue nextTile;
+                final ImageInputStream tileStream = new MemoryCacheImageInputStream(new ByteArrayInputStream(data));
+
+                //-- define intersection between srcRegion and current tile --//
+                final int interMinX       = Math.max(srcRegion.x, tx * tileWidth);
+                final int interMaxX       = Math.min(srcRegionMaxX, (tx + 1) * tileWidth);
+
+                //-- source offset in x direction --//
+                final int sourceColOffset = (interMinX - srcRegion.x) % sourceXSubsampling == 0 ? 0 : (sourceXSubsampling - ((interMinX - srcRegion.x) % sourceXSubsampling));
+                //-- in case where subsampling is more longer than tilewidth --//
+                if (sourceColOffset >= tileWidth || (interMinX + sourceColOffset) >= interMaxX) continue nextTile;
+                final int maxSampleXPos = (interMaxX - tx * tileWidth) * pixelLength;
+                //-- target begin position --//
+                int targetOffset = targetRegionOffset + targetRowOffset + ((interMinX - srcRegion.x + sourceXSubsampling - 1) / sourceXSubsampling) * samplesPerPixel + s;
+                int targetPos    = targetOffset;
 
-            for (int s = 0; s < samplesPerPixel; s += pixelLength) {
-                final int tileIndexOffset = s * numXTile * numYTile;
-                for (int ty = minTileY; ty < maxTileY; ty++) {
+               /*
+                * With LZW compression we must read all byte to build appropriate LZW map container.
+                * We define to positions "posRef" and "maxRowRefPos" where "posRef" represent
+                * index of current sample which will be written in source array and "maxRowRefPos" the last exclusive written sample.
+                */
+                int posRef = rowSampleOffset + (interMinX + sourceColOffset - tx * tileWidth) * pixelLength;
 
-                    final int rowTileIndexOffset = ty * numXTile;
-                    final int interMinY          = Math.max(srcRegion.y, ty * tileHeight);
-                    final int interMaxY          = Math.min(srcRegionMaxY, (ty + 1) * tileHeight);
+                int nextPosRef         = posRef + sourceYSubsampling * sourceScanTileStride;
+                int maxRowRefPos       = rowSampleOffset + maxSampleXPos;
+                final int maxSamplePos = (interMaxY - ty * tileHeight - 1) * sourceScanTileStride + maxSampleXPos;
+                int samplePos          = 0;
 
-                    final int yOffset = (((interMinY - srcRegion.y) % sourceYSubsampling) == 0) ? 0 : (sourceYSubsampling - ((interMinY - srcRegion.y)) % sourceYSubsampling);
-                    if (yOffset >= tileHeight || (interMinY + yOffset) >= interMaxY) continue;
-                    final int rowSampleOffset = (interMinY + yOffset - ty * tileHeight) * sourceScanTileStride;
-                    final int targetRowOffset = ((interMinY - srcRegion.y + sourceYSubsampling - 1) / sourceYSubsampling) * targetScanlineStride;
+                //-- initialize LZW attributs --//
+                //-- length in bit of lzw data --//
+                int currentLZWCodeLength = 9;
+                //-- byte array map use to decompresse LZW datas --//
+                byte[][] lzwTab          = new byte[LZW_CLEAR_CODE][];
 
-         nextTile : for (int tx = minTileX; tx < maxTileX; tx++) {
+                //-- current LZW array index --//
+                int idLZWTab         = 0;
+                int maxIDLZWTab      = 511; //--> (1 << currentLZWCodeLength) - 1
+                //-- precedently iteration LZW code --//
+                byte[] oldCodeLZW    = null;
+                int hdb              = 0;
+                Arrays.fill(prediPix, 0);
 
-                        //-- define first byte file position to read --//
-                        final int tileIndex = tileIndexOffset + rowTileIndexOffset + tx;
-                        long currentBuffPos = tileOffsets[tileIndex];
-                        rasterLZWReader.seek(currentBuffPos);
-                        assert rasterLZWReader.getBitOffset() == 0;
+                //-- rowFill is the number of decoded bytes of the current row --//
+                int rowFill = 0;
+                int b       = 0;
+                short codeLZW;
 
-                        //-- define intersection between srcRegion and current tile --//
-                        final int interMinX       = Math.max(srcRegion.x, tx * tileWidth);
-                        final int interMaxX       = Math.min(srcRegionMaxX, (tx + 1) * tileWidth);
+               /*
+                * Long container use to build a sample,
+                * because each sample is read byte per byte regardless their bit size.
+                */
+               long dataContainer = 0;
+               int maskCount      = 0;
 
-                        //-- source offset in x direction --//
-                        final int sourceColOffset = (interMinX - srcRegion.x) % sourceXSubsampling == 0 ? 0 : (sourceXSubsampling - ((interMinX - srcRegion.x) % sourceXSubsampling));
-                        //-- in case where subsampling is more longer than tilewidth --//
-                        if (sourceColOffset >= tileWidth || (interMinX + sourceColOffset) >= interMaxX) continue nextTile;
-                        final int maxSampleXPos = (interMaxX - tx * tileWidth) * pixelLength;
-                        //-- target begin position --//
-                        int targetOffset = targetRegionOffset + targetRowOffset + ((interMinX - srcRegion.x + sourceXSubsampling - 1) / sourceXSubsampling) * samplesPerPixel + s;
-                        int targetPos    = targetOffset;
+                //-- work sample by sample --//
+                while (LZW_EOI_CODE != (codeLZW = readLZWCode(tileStream, currentLZWCodeLength))) {
+                    if ((idLZWTab + 258) == 4095)
+                        assert codeLZW == 256 : "when LZW map array reach its maximum index value the next value in file should be clear code 256.";
 
-                       /*
-                        * With LZW compression we must read all byte to build appropriate LZW map container.
-                        * We define to positions "posRef" and "maxRowRefPos" where "posRef" represent
-                        * index of current sample which will be written in source array and "maxRowRefPos" the last exclusive written sample.
-                        */
-                        int posRef = rowSampleOffset + (interMinX + sourceColOffset - tx * tileWidth) * pixelLength;
-
-                        int nextPosRef         = posRef + sourceYSubsampling * sourceScanTileStride;
-                        int maxRowRefPos       = rowSampleOffset + maxSampleXPos;
-                        final int maxSamplePos = (interMaxY - ty * tileHeight - 1) * sourceScanTileStride + maxSampleXPos;
-                        int samplePos          = 0;
-
-                        //-- initialize LZW attributs --//
-                        //-- length in bit of lzw data --//
-                        int currentLZWCodeLength = 9;
-                        //-- byte array map use to decompresse LZW datas --//
-                        byte[][] lzwTab          = new byte[LZW_CLEAR_CODE][];
-
-                        //-- current LZW array index --//
-                        int idLZWTab         = 0;
-                        int maxIDLZWTab      = 511; //--> (1 << currentLZWCodeLength) - 1
-                        //-- precedently iteration LZW code --//
-                        byte[] oldCodeLZW    = null;
-                        int hdb              = 0;
-                        Arrays.fill(prediPix, 0);
+                    if (codeLZW == LZW_CLEAR_CODE) {
+                        currentLZWCodeLength = 9;
+                        lzwTab               = new byte[LZW_CLEAR_CODE][];
+                        idLZWTab             = 0;
+                        maxIDLZWTab          = 511;
+                        oldCodeLZW           = null;
+                        continue;
+                    }
 
-                        //-- bytePos must read throught all file byte per byte --//
-                        int bytePos = 0;
-                        int b       = 0;
-                        short codeLZW;
+                    assert (oldCodeLZW != null || (oldCodeLZW == null && codeLZW < LZW_CLEAR_CODE)) :"After a clear code, next code should be smaller than 256";
 
-                       /*
-                        * Long container use to build a sample,
-                        * because each sample is read byte per byte regardless their bit size.
-                        */
-                       long dataContainer = 0;
-                       int maskCount      = 0;
-
-                        //-- work sample by sample --//
-                        while (LZW_EOI_CODE != (codeLZW = readLZWCode(rasterLZWReader, currentLZWCodeLength))) {
-                            if ((idLZWTab + 258) == 4095)
-                                assert codeLZW == 256 : "when LZW map array reach its maximum index value the next value in file should be clear code 256.";
-
-                            if (codeLZW == LZW_CLEAR_CODE) {
-                                currentLZWCodeLength = 9;
-                                lzwTab               = new byte[LZW_CLEAR_CODE][];
-                                idLZWTab             = 0;
-                                maxIDLZWTab          = 511;
-                                oldCodeLZW           = null;
-                                continue;
-                            }
-
-                            assert (oldCodeLZW != null || (oldCodeLZW == null && codeLZW < LZW_CLEAR_CODE)) :"After a clear code, next code should be smaller than 256";
+                    byte[] entree;
+                    if (codeLZW >= 258) {
+                        if (lzwTab[codeLZW - 258] != null) {
+                            entree = lzwTab[codeLZW - 258];
+                        } else {
+                            // w + w[0]
+                            final int oldCLen = oldCodeLZW.length;
+                            entree            = Arrays.copyOf(oldCodeLZW, oldCLen + 1);
+                            entree[oldCLen]   = oldCodeLZW[0];
+                        }
+                    } else {
+                        entree = new byte[] { (byte) codeLZW };
+                    }
 
-                            byte[] entree;
-                            if (codeLZW >= 258) {
-                                if (lzwTab[codeLZW - 258] != null) {
-                                    entree = lzwTab[codeLZW - 258];
-                                } else {
-                                    // w + w[0]
-                                    final int oldCLen = oldCodeLZW.length;
-                                    entree            = Arrays.copyOf(oldCodeLZW, oldCLen + 1);
-                                    entree[oldCLen]   = oldCodeLZW[0];
-                                }
-                            } else {
-                                entree = new byte[] { (byte) codeLZW };
-                            }
+                    assert entree != null;
 
-                            assert entree != null;
+                    //-- write entree, row by row to revert floating point predictor if needed --//
+                    for (final byte entreeByte : entree) {
+                        rowData[rowFill++] = entreeByte;
+                        if (rowFill < rowData.length) continue;
+                        rowFill = 0;
+                        if (predic == 3) undoFloatingPointPredictor(rowData, 0, pixelLength, sampleByteSize, predictorRow);
 
-                            //-- write entree --//
-                            for (int i = 0; i < entree.length; i++) {
-                                //-- build sample in relation with bits per samples --//
-                                final long val = entree[i] & 0x000000FFL;
-                                dataContainer  = dataContainer | (val << maskCount);
-                                maskCount     += Byte.SIZE;
+                        for (int i = 0; i < rowData.length; i++) {
+                            //-- build sample in relation with bits per samples --//
+                            final long val = rowData[i] & 0x000000FFL;
+                            dataContainer  = dataContainer | (val << maskCount);
+                            maskCount     += Byte.SIZE;
 
-                                //-- if a sample is built --//
-                                if (maskCount == bitpersampl) {
-                                    //-- add in precedently array before insertion --//
-                                    //-- if horizontal differencing add with precedently value --//
-                                    prediPix[hdb] = (predic == 2) ? (prediPix[hdb] + dataContainer) : dataContainer;
-                                    if (++hdb == pixelLength) hdb = 0;
+                            //-- if a sample is built --//
+                            if (maskCount == bitpersampl) {
+                                //-- add in precedently array before insertion --//
+                                //-- if horizontal differencing add with precedently value --//
+                                prediPix[hdb] = (predic == 2) ? (prediPix[hdb] + dataContainer) : dataContainer;
+                                if (++hdb == pixelLength) hdb = 0;
 
-                                    //-- re-initialize datacontainer --//
-                                    dataContainer = 0;
-                                    maskCount     = 0;
+                                //-- re-initialize datacontainer --//
+                                dataContainer = 0;
+                                maskCount     = 0;
 
-                                    //-- write sample in target array if its necessary --//
-                                    if (samplePos == posRef) {
-                                        switch (dataType) {
-                                            case DataBuffer.TYPE_BYTE   : ((byte[])targetArray)[targetPos] = (byte) (prediPix[b]); break;
-                                            case DataBuffer.TYPE_SHORT  :
-                                            case DataBuffer.TYPE_USHORT : ((short[])targetArray)[targetPos] = (short) (prediPix[b]); break;
-                                            case DataBuffer.TYPE_INT    : ((int[])targetArray)[targetPos] =  (int) (prediPix[b]); break;
-                                            case DataBuffer.TYPE_FLOAT  : ((float[])targetArray)[targetPos] = Float.intBitsToFloat((int) (prediPix[b])); break;
-                                            case DataBuffer.TYPE_DOUBLE : ((double[])targetArray)[targetPos] = Double.longBitsToDouble(prediPix[b]); break;
-                                            default: throw new AssertionError(dataType);
-                                        }
-                                        targetPos += planarDenum;
-                                        if (++b == pixelLength) {
-                                            posRef += (sourceXSubsampling - 1) * pixelLength;
-                                            b = 0;
-                                        }
-                                        posRef++;
-                                        //-- this if means : pass to the next destination image row --//
-                                        if (posRef >= maxRowRefPos) {
-                                            assert hdb == 0 : "hdb should be zero. hdb = "+hdb;
+                                //-- write sample in target array if its necessary --//
+                                if (samplePos == posRef) {
+                                    switch (dataType) {
+                                        case DataBuffer.TYPE_BYTE   : ((byte[])targetArray)[targetPos] = (byte) (prediPix[b]); break;
+                                        case DataBuffer.TYPE_SHORT  :
+                                        case DataBuffer.TYPE_USHORT : ((short[])targetArray)[targetPos] = (short) (prediPix[b]); break;
+                                        case DataBuffer.TYPE_INT    : ((int[])targetArray)[targetPos] =  (int) (prediPix[b]); break;
+                                        case DataBuffer.TYPE_FLOAT  : ((float[])targetArray)[targetPos] = Float.intBitsToFloat((int) (prediPix[b])); break;
+                                        case DataBuffer.TYPE_DOUBLE : ((double[])targetArray)[targetPos] = Double.longBitsToDouble(prediPix[b]); break;
+                                        default: throw new AssertionError(dataType);
+                                    }
+                                    targetPos += planarDenum;
+                                    if (++b == pixelLength) {
+                                        posRef += (sourceXSubsampling - 1) * pixelLength;
+                                        b = 0;
+                                    }
+                                    posRef++;
+                                    //-- this if means : pass to the next destination image row --//
+                                    if (posRef >= maxRowRefPos) {
+                                        assert hdb == 0 : "hdb should be zero. hdb = "+hdb;
 
-                                            //-- begin source position writing --//
-                                            posRef      = nextPosRef;
-                                            nextPosRef += sourceYSubsampling * sourceScanTileStride;
+                                        //-- begin source position writing --//
+                                        posRef      = nextPosRef;
+                                        nextPosRef += sourceYSubsampling * sourceScanTileStride;
 
-                                            //-- ending source position writing --//
-                                            maxRowRefPos += sourceYSubsampling * sourceScanTileStride;
+                                        //-- ending source position writing --//
+                                        maxRowRefPos += sourceYSubsampling * sourceScanTileStride;
 
-                                            //-- if it is unnecessary to finish to read current tile --//
-                                            if (posRef >= maxSamplePos) {
-                                                assert maxRowRefPos >= maxSamplePos : "maxRowrefpos = "+maxRowRefPos+" maxSamplepos = "+maxSamplePos;
-                                                continue nextTile;
-                                            }
+                                        //-- if it is unnecessary to finish to read current tile --//
+                                        if (posRef >= maxSamplePos) {
+                                            assert maxRowRefPos >= maxSamplePos : "maxRowrefpos = "+maxRowRefPos+" maxSamplepos = "+maxSamplePos;
+                                            continue nextTile;
+                                        }
 
-                                            //-- destination shifts --//
-                                            targetOffset += targetScanlineStride;
-                                            targetPos = targetOffset;
+                                        //-- destination shifts --//
+                                        targetOffset += targetScanlineStride;
+                                        targetPos = targetOffset;
 
-                                        }
                                     }
-                                    //-- shift by one when a sample was built --//
-                                    samplePos++;
-                                }
-                                if (++bytePos == sourceScanTileStride) {
-                                    //-- initialize predictor array --//
-                                    Arrays.fill(prediPix, 0);
-                                    bytePos = 0;
                                 }
+                                //-- shift by one when a sample was built --//
+                                samplePos++;
                             }
+                        }
+                        //-- initialize predictor array at the end of each row --//
+                        Arrays.fill(prediPix, 0);
+                    }
 
-                            if (oldCodeLZW == null) {
-                                assert idLZWTab == 0 : "With old code null : lzw tab must be equals to zero.";
-                                assert entree.length == 1;
-                                oldCodeLZW = entree;
-                                continue;
-                            }
+                    if (oldCodeLZW == null) {
+                        assert idLZWTab == 0 : "With old code null : lzw tab must be equals to zero.";
+                        assert entree.length == 1;
+                        oldCodeLZW = entree;
+                        continue;
+                    }
 
-                            //-- add in LZW map array --//
-                            final int oldLen      = oldCodeLZW.length;
-                            final byte[] addedTab = Arrays.copyOf(oldCodeLZW, oldLen + 1);
-                            addedTab[oldLen]      = entree[0];
-                            lzwTab[idLZWTab++]    = addedTab;
-
-                            //-- if current map index reach the maximum value permit by bit number --//
-                            if (((idLZWTab + 258) & 0xFFFF) == (maxIDLZWTab)) {
-                               /*
-                                * When LZW algorithm reach its maximum index value 4095, to don't exceed 12 bits capacity
-                                * a clear code 256 is normaly written in the CURRENT (12) bit length.
-                                * Continue to force next read in current bit length.
-                                * Moreover after this continue an assertion verify this expected comportement.
-                                */
-                               if (maxIDLZWTab == 4095) continue;
-                               currentLZWCodeLength++;
-                               final int nextLZWMapLength = 1 << currentLZWCodeLength;
-                               maxIDLZWTab                = nextLZWMapLength - 1;
-                               lzwTab                     = Arrays.copyOf(lzwTab, nextLZWMapLength);
-                            }
-                            oldCodeLZW = entree;
-                            //---------------------------------------------------------//
-                        }
-//                        assert samplePos == maxSamplePos : "pos = "+samplePos+" Expected pos+tx+", "+ty+")";
+                    //-- add in LZW map array --//
+                    final int oldLen      = oldCodeLZW.length;
+                    final byte[] addedTab = Arrays.copyOf(oldCodeLZW, oldLen + 1);
+                    addedTab[oldLen]      = entree[0];
+                    lzwTab[idLZWTab++]    = addedTab;
+
+                    //-- if current map index reach the maximum value permit by bit number --//
+                    if (((idLZWTab + 258) & 0xFFFF) == (maxIDLZWTab)) {
+                       /*
+                        * When LZW algorithm reach its maximum index value 4095, to don't exceed 12 bits capacity
+                        * a clear code 256 is normaly written in the CURRENT (12) bit length.
+                        * Continue to force next read in current bit length.
+                        * Moreover after this continue an assertion verify this expected comportement.
+                        */
+                       if (maxIDLZWTab == 4095) continue;
+                       currentLZWCodeLength++;
+                       final int nextLZWMapLength = 1 << currentLZWCodeLength;
+                       maxIDLZWTab                = nextLZWMapLength - 1;
+                       lzwTab                     = Arrays.copyOf(lzwTab, nextLZWMapLength);
                     }
+                    oldCodeLZW = entree;
+                    //---------------------------------------------------------//
                 }
+//                        assert samplePos == maxSamplePos : "pos = "+samplePos+" Expected pos+tx+", "+ty+")";
             }
-        }
+        };
+
+        decodeTileRows(decoder, rasterLZWReader, dataBuffer, dstRegion, targetScanlineStride, pixelLength,
+                srcRegion, sourceXSubsampling, sourceYSubsampling, minTileX, minTileY, maxTileX, maxTileY);
     }
 
     /**
@@ -3371,7 +3809,6 @@ public class TiffImageReader extends SpatialImageReader {
             throw new IIOException("Source and target bands not yet supported.");
         }
         final DataBuffer dataBuffer    = raster.getDataBuffer();
-        final int[] bankOffsets        = dataBuffer.getOffsets();
         final int dataType             = dataBuffer.getDataType();
         final int targetScanlineStride = SampleModels.getScanlineStride(raster.getSampleModel());
 
@@ -3390,8 +3827,6 @@ public class TiffImageReader extends SpatialImageReader {
         //-- predictor study ---//
         final Map<String, Object> predictor = (headProperties.get(Predictor));
         final short predic    = (predictor != null) ? (short) ((long[]) predictor.get(ATT_VALUE)) [0] : 1;
-        //-- array which represent a pixel to permit horizontal differencing if exist --//
-        final long[] prediPix = new long[pixelLength];
 
         //-- fillOrder --//
         final Map<String, Object> fillOrder = headProperties.get(FillOrder);
@@ -3408,10 +3843,6 @@ public class TiffImageReader extends SpatialImageReader {
         final int maxTileX = (srcRegion.x + srcRegion.width  + tileWidth  - 1) / tileWidth;
         final int maxTileY = (srcRegion.y + srcRegion.height + tileHeight - 1) / tileHeight;
 
-        //-- tile number from source image dimension --//
-        final int numXTile = (imageWidth + tileWidth - 1) / tileWidth;
-        final int numYTile = (imageHeight + tileHeight - 1) / tileHeight;
-
         //-- srcRegion max coordinates --//
         final int srcRegionMaxX = srcRegion.x + srcRegion.width;
         final int srcRegionMaxY = srcRegion.y + srcRegion.height;
@@ -3419,171 +3850,345 @@ public class TiffImageReader extends SpatialImageReader {
         final long bitpersampl = bitsPerSample[0];
 
         final int sourceScanTileStride     = tileWidth * pixelLength;
-        final int sourceScanTileByteStride = (tileWidth * (int)bitpersampl)/ Byte.SIZE;
+        final int sampleByteSize           = (int) bitpersampl / Byte.SIZE;
+        final int sourceScanTileByteStride = sourceScanTileStride * sampleByteSize;
 
-        //-- Inflate decompressor
-        final Inflater inflater              = new Inflater(false);
         final int unCompressedTileByteLength = sourceScanTileByteStride * tileHeight;
-        final byte[] decompressedData        = new byte[unCompressedTileByteLength];
 
+        /*
+         * Decode a row of tiles. Each row is written in its own area of the target array,
+         * so rows may be decoded concurrently, each one with its own inflater.
+         */
+        final TileRowDecoder decoder = (final Object targetArray, final int targetRegionOffset,
+                final int s, final int ty, final byte[][] tiles) -> {
+
+            final int interMinY          = Math.max(srcRegion.y, ty * tileHeight);
+            final int interMaxY          = Math.min(srcRegionMaxY, (ty + 1) * tileHeight);
+
+            final int yOffset = (((interMinY - srcRegion.y) % sourceYSubsampling) == 0) ? 0 : (sourceYSubsampling - ((interMinY - srcRegion.y)) % sourceYSubsampling);
+            if (yOffset >= tileHeight || (interMinY + yOffset) >= interMaxY) return;
+            final int rowSampleOffset = (interMinY + yOffset - ty * tileHeight) * sourceScanTileStride;
+            final int targetRowOffset = ((interMinY - srcRegion.y + sourceYSubsampling - 1) / sourceYSubsampling) * targetScanlineStride;
+
+            final Inflater inflater       = new Inflater(false);
+            final byte[] decompressedData = new byte[unCompressedTileByteLength];
+            final byte[] predictorRow     = (predic == 3) ? new byte[sourceScanTileByteStride] : null;
+            //-- array which represent a pixel to permit horizontal differencing if exist --//
+            final long[] prediPix         = new long[pixelLength];
+            try {
+     nextTile : for (int tx = minTileX; tx < maxTileX; tx++) {
+
+                    //-- compressed tile, null if it has not been read --//
+                    final byte[] data = tiles[tx - minTileX];
+                    if (data == null) continue nextTile;
+
+                    //-- define intersection between srcRegion and current tile --//
+                    final int interMinX       = Math.max(srcRegion.x, tx * tileWidth);
+                    final int interMaxX       = Math.min(srcRegionMaxX, (tx + 1) * tileWidth);
+
+                    //-- source offset in x direction --//
+                    final int sourceColOffset = (interMinX - srcRegion.x) % sourceXSubsampling == 0 ? 0 : (sourceXSubsampling - ((interMinX - srcRegion.x) % sourceXSubsampling));
+                    //-- in case where subsampling is more longer than tilewidth --//
+                    if (sourceColOffset >= tileWidth || (interMinX + sourceColOffset) >= interMaxX) continue nextTile;
+                    final int maxSampleXPos = (interMaxX - tx * tileWidth) * pixelLength;
+                    //-- target begin position --//
+                    int targetOffset = targetRegionOffset + targetRowOffset + ((interMinX - srcRegion.x + sourceXSubsampling - 1) / sourceXSubsampling) * samplesPerPixel + s;
+                    int targetPos    = targetOffset;
+
+                   /*
+                    * With LZW compression we must read all byte to build appropriate LZW map container.
+                    * We define to positions "posRef" and "maxRowRefPos" where "posRef" represent
+                    * index of current sample which will be written in source array and "maxRowRefPos" the last exclusive written sample.
+                    */
+                    int posRef = rowSampleOffset + (interMinX + sourceColOffset - tx * tileWidth) * pixelLength;
+
+                    int nextPosRef         = posRef + sourceYSubsampling * sourceScanTileStride;
+                    int maxRowRefPos       = rowSampleOffset + maxSampleXPos;
+                    final int maxSamplePos = (interMaxY - ty * tileHeight - 1) * sourceScanTileStride + maxSampleXPos;
+                    int samplePos          = 0;
+
+                    //-- current LZW array index --//
+                    //-- precedently iteration LZW code --//
+                    int hdb              = 0;
+                    Arrays.fill(prediPix, 0);
+
+                    //-- bytePos must read throught all file byte per byte --//
+                    int bytePos = 0;
+                    int b       = 0;
 
-        for (int bank = 0; bank < bankOffsets.length; bank++) {
-            /*
-             * Get the underlying array of the image DataBuffer in which to write the data.
-             */
-            final Object targetArray;
-            switch (dataType) {
-                case DataBuffer.TYPE_BYTE   : targetArray = ((DataBufferByte)   dataBuffer).getData(bank); break;
-                case DataBuffer.TYPE_USHORT : targetArray = ((DataBufferUShort) dataBuffer).getData(bank); break;
-                case DataBuffer.TYPE_SHORT  : targetArray = ((DataBufferShort)  dataBuffer).getData(bank); break;
-                case DataBuffer.TYPE_INT    : targetArray = ((DataBufferInt)    dataBuffer).getData(bank); break;
-                case DataBuffer.TYPE_FLOAT  : targetArray = ((DataBufferFloat)  dataBuffer).getData(bank); break;
-                case DataBuffer.TYPE_DOUBLE : targetArray = ((DataBufferDouble) dataBuffer).getData(bank); break;
-                default: throw new AssertionError(dataType);
-            }
-
-            final int targetRegionOffset = bankOffsets[bank] + dstRegion.y * targetScanlineStride + dstRegion.x * samplesPerPixel;
-
-            for (int s = 0; s < samplesPerPixel; s += pixelLength) {
-                final int tileIndexOffset = s * numXTile * numYTile;
-                for (int ty = minTileY; ty < maxTileY; ty++) {
-
-                    final int rowTileIndexOffset = ty * numXTile;
-                    final int interMinY          = Math.max(srcRegion.y, ty * tileHeight);
-                    final int interMaxY          = Math.min(srcRegionMaxY, (ty + 1) * tileHeight);
+                    /*
+                     * Long container use to build a sample,
+                     * because each sample is read byte per byte regardless their bit size.
+                     */
+                    long dataContainer = 0;
+                    int maskCount      = 0;
+
+                    //-- decode datas
+                    inflate(inflater, data, decompressedData);
+                    if (predic == 3) {
+                        for (int row = 0; row < unCompressedTileByteLength; row += sourceScanTileByteStride) {
+                            undoFloatingPointPredictor(decompressedData, row, pixelLength, sampleByteSize, predictorRow);
+                        }
+                    }
 
-                    final int yOffset = (((interMinY - srcRegion.y) % sourceYSubsampling) == 0) ? 0 : (sourceYSubsampling - ((interMinY - srcRegion.y)) % sourceYSubsampling);
-                    if (yOffset >= tileHeight || (interMinY + yOffset) >= interMaxY) continue;
-                    final int rowSampleOffset = (interMinY + yOffset - ty * tileHeight) * sourceScanTileStride;
-                    final int targetRowOffset = ((interMinY - srcRegion.y + sourceYSubsampling - 1) / sourceYSubsampling) * targetScanlineStride;
+                    for (int i = 0; i < unCompressedTileByteLength; i++) {
+                        //-- build sample in relation with bits per samples --//
+                        final long val = decompressedData[i] & 0x000000FFL;
+                        dataContainer  = dataContainer | (val << maskCount);
+                        maskCount     += Byte.SIZE;
 
-         nextTile : for (int tx = minTileX; tx < maxTileX; tx++) {
+                        //-- if a sample is built --//
+                        if (maskCount == bitpersampl) {
+                            //-- add in precedently array before insertion --//
+                            //-- if horizontal differencing add with precedently value --//
+                            prediPix[hdb] = (predic == 2) ? (prediPix[hdb] + dataContainer) : dataContainer;
 
-                        //-- define first byte file position to read --//
-                        final int tileIndex = tileIndexOffset + rowTileIndexOffset + tx;
-                        long currentBuffPos = tileOffsets[tileIndex];
-                        rasterStream.seek(currentBuffPos);
-                        assert rasterStream.getBitOffset() == 0;
+                            //prediPix[hdb] = dataContainer;
+                            if (++hdb == pixelLength) hdb = 0;
 
-                        //-- define intersection between srcRegion and current tile --//
-                        final int interMinX       = Math.max(srcRegion.x, tx * tileWidth);
-                        final int interMaxX       = Math.min(srcRegionMaxX, (tx + 1) * tileWidth);
+                            //-- re-initialize datacontainer --//
+                            dataContainer = 0;
+                            maskCount     = 0;
 
-                        //-- source offset in x direction --//
-                        final int sourceColOffset = (interMinX - srcRegion.x) % sourceXSubsampling == 0 ? 0 : (sourceXSubsampling - ((interMinX - srcRegion.x) % sourceXSubsampling));
-                        //-- in case where subsampling is more longer than tilewidth --//
-                        if (sourceColOffset >= tileWidth || (interMinX + sourceColOffset) >= interMaxX) continue nextTile;
-                        final int maxSampleXPos = (interMaxX - tx * tileWidth) * pixelLength;
-                        //-- target begin position --//
-                        int targetOffset = targetRegionOffset + targetRowOffset + ((interMinX - srcRegion.x + sourceXSubsampling - 1) / sourceXSubsampling) * samplesPerPixel + s;
-                        int targetPos    = targetOffset;
+                            //-- write sample in target array if its necessary --//
+                            if (samplePos == posRef) {
+                                switch (dataType) {
+                                    case DataBuffer.TYPE_BYTE   : ((byte[])targetArray)[targetPos] = (byte) (prediPix[b]); break;
+                                    case DataBuffer.TYPE_SHORT  :
+                                    case DataBuffer.TYPE_USHORT : ((short[])targetArray)[targetPos] = (short) (prediPix[b]); break;
+                                    case DataBuffer.TYPE_INT    : ((int[])targetArray)[targetPos] =  (int) (prediPix[b]); break;
+                                    case DataBuffer.TYPE_FLOAT  : ((float[])targetArray)[targetPos] = Float.intBitsToFloat((int) (prediPix[b])); break;
+                                    case DataBuffer.TYPE_DOUBLE : ((double[])targetArray)[targetPos] = Double.longBitsToDouble(prediPix[b]); break;
+                                    default: throw new AssertionError(dataType);
+                                }
+                                targetPos += planarDenum;
+                                if (++b == pixelLength) {
+                                    posRef += (sourceXSubsampling - 1) * pixelLength;
+                                    b = 0;
+                                }
+                                posRef++;
+                                //-- this if means : pass to the next destination image row --//
+                                if (posRef >= maxRowRefPos) {
+                                    assert hdb == 0 : "hdb should be zero. hdb = "+hdb;
 
-                       /*
-                        * With LZW compression we must read all byte to build appropriate LZW map container.
-                        * We define to positions "posRef" and "maxRowRefPos" where "posRef" represent
-                        * index of current sample which will be written in source array and "maxRowRefPos" the last exclusive written sample.
-                        */
-                        int posRef = rowSampleOffset + (interMinX + sourceColOffset - tx * tileWidth) * pixelLength;
+                                    //-- begin source position writing --//
+                                    posRef      = nextPosRef;
+                                    nextPosRef += sourceYSubsampling * sourceScanTileStride;
 
-                        int nextPosRef         = posRef + sourceYSubsampling * sourceScanTileStride;
-                        int maxRowRefPos       = rowSampleOffset + maxSampleXPos;
-                        final int maxSamplePos = (interMaxY - ty * tileHeight - 1) * sourceScanTileStride + maxSampleXPos;
-                        int samplePos          = 0;
+                                    //-- ending source position writing --//
+                                    maxRowRefPos += sourceYSubsampling * sourceScanTileStride;
 
-                        //-- current LZW array index --//
-                        //-- precedently iteration LZW code --//
-                        int hdb              = 0;
-                        Arrays.fill(prediPix, 0);
+                                    //-- if it is unnecessary to finish to read current tile --//
+                                    if (posRef >= maxSamplePos) {
+                                        assert maxRowRefPos >= maxSamplePos : "maxRowrefpos = "+maxRowRefPos+" maxSamplepos = "+maxSamplePos;
+                                        continue nextTile;
+                                    }
 
-                        //-- bytePos must read throught all file byte per byte --//
-                        int bytePos = 0;
-                        int b       = 0;
+                                    //-- destination shifts --//
+                                    targetOffset += targetScanlineStride;
+                                    targetPos = targetOffset;
 
-                        /*
-                         * Long container use to build a sample,
-                         * because each sample is read byte per byte regardless their bit size.
-                         */
-                        long dataContainer = 0;
-                        int maskCount      = 0;
+                                }
+                            }
+                            //-- shift by one when a sample was built --//
+                            samplePos++;
+                        }
+                        if (++bytePos == sourceScanTileByteStride) {
+                            //-- initialize predictor array --//
+                            Arrays.fill(prediPix, 0);
+                            bytePos = 0;
+                        }
+                    }
+                }
+            } finally {
+                inflater.end();
+            }
+        };
 
-                        //-- decode datas
-                        final byte[] data = new byte[(int)tileByteCounts[tileIndex]];
-                        rasterStream.readFully(data);
-                        inflate(inflater, data, decompressedData);
+        decodeTileRows(decoder, rasterStream, dataBuffer, dstRegion, targetScanlineStride, pixelLength,
+                srcRegion, sourceXSubsampling, sourceYSubsampling, minTileX, minTileY, maxTileX, maxTileY);
+    }
 
-                        for (int i = 0; i < unCompressedTileByteLength; i++) {
-                            //-- build sample in relation with bits per samples --//
-                            final long val = decompressedData[i] & 0x000000FFL;
-                            dataContainer  = dataContainer | (val << maskCount);
-                            maskCount     += Byte.SIZE;
+    /**
+     * Reads compressed tiles and decodes them row by row in the given raster.
+     * Compressed tiles are read with the given stream in the calling thread, while rows
+     * are decoded by {@link #DECOMPRESSION_EXECUTOR} if {@linkplain #setParallelDecompression(boolean)
+     * parallel decompression} is enabled.
+     *
+     * @param decoder         The decoder of a row of tiles.
+     * @param rasterStream    The stream from which compressed tiles are read.
+     * @param dataBuffer      The buffer of the raster where to store the pixel values.
+     * @param dstRegion       The region to write in the given raster.
+     * @param targetScanlineStride Scanline stride of the raster.
+     * @param pixelLength     Number of samples in a pixel of a tile.
+     * @param srcRegion       The region to read in source image.
+     * @param sourceXSubsampling Subsampling on x axis.
+     * @param sourceYSubsampling Subsampling on y axis.
+     * @param minTileX        First tile column (inclusive).
+     * @param minTileY        First tile row (inclusive).
+     * @param maxTileX        Last tile column (exclusive).
+     * @param maxTileY        Last tile row (exclusive).
+     * @throws IOException If an error occurred while reading or decoding tiles.
+     */
+    private void decodeTileRows(final TileRowDecoder decoder, final ImageInputStream rasterStream,
+            final DataBuffer dataBuffer, final Rectangle dstRegion, final int targetScanlineStride, final int pixelLength,
+            final Rectangle srcRegion, final int sourceXSubsampling, final int sourceYSubsampling,
+            final int minTileX, final int minTileY, final int maxTileX, final int maxTileY) throws IOException {
+        final int[] bankOffsets = dataBuffer.getOffsets();
+        final int dataType      = dataBuffer.getDataType();
 
-                            //-- if a sample is built --//
-                            if (maskCount == bitpersampl) {
-                                //-- add in precedently array before insertion --//
-                                //-- if horizontal differencing add with precedently value --//
-                                prediPix[hdb] = (predic == 2) ? (prediPix[hdb] + dataContainer) : dataContainer;
+        //-- tile number from source image dimension --//
+        final int numXTile = (imageWidth + tileWidth - 1) / tileWidth;
+        final int numYTile = (imageHeight + tileHeight - 1) / tileHeight;
 
-                                //prediPix[hdb] = dataContainer;
-                                if (++hdb == pixelLength) hdb = 0;
+        final DecompressionTasks tasks = (parallelDecompression && maxTileY - minTileY > 1) ? new DecompressionTasks() : null;
 
-                                //-- re-initialize datacontainer --//
-                                dataContainer = 0;
-                                maskCount     = 0;
+        try {
+            for (int bank = 0; bank < bankOffsets.length; bank++) {
+                /*
+                 * Get the underlying array of the image DataBuffer in which to write the data.
+                 */
+                final Object targetArray;
+                switch (dataType) {
+                    case DataBuffer.TYPE_BYTE   : targetArray = ((DataBufferByte)   dataBuffer).getData(bank); break;
+                    case DataBuffer.TYPE_USHORT : targetArray = ((DataBufferUShort) dataBuffer).getData(bank); break;
+                    case DataBuffer.TYPE_SHORT  : targetArray = ((DataBufferShort)  dataBuffer).getData(bank); break;
+                    case DataBuffer.TYPE_INT    : targetArray = ((DataBufferInt)    dataBuffer).getData(bank); break;
+                    case DataBuffer.TYPE_FLOAT  : targetArray = ((DataBufferFloat)  dataBuffer).getData(bank); break;
+                    case DataBuffer.TYPE_DOUBLE : targetArray = ((DataBufferDouble) dataBuffer).getData(bank); break;
+                    default: throw new AssertionError(dataType);
+                }
 
-                                //-- write sample in target array if its necessary --//
-                                if (samplePos == posRef) {
-                                    switch (dataType) {
-                                        case DataBuffer.TYPE_BYTE   : ((byte[])targetArray)[targetPos] = (byte) (prediPix[b]); break;
-                                        case DataBuffer.TYPE_SHORT  :
-                                        case DataBuffer.TYPE_USHORT : ((short[])targetArray)[targetPos] = (short) (prediPix[b]); break;
-                                        case DataBuffer.TYPE_INT    : ((int[])targetArray)[targetPos] =  (int) (prediPix[b]); break;
-                                        case DataBuffer.TYPE_FLOAT  : ((float[])targetArray)[targetPos] = Float.intBitsToFloat((int) (prediPix[b])); break;
-                                        case DataBuffer.TYPE_DOUBLE : ((double[])targetArray)[targetPos] = Double.longBitsToDouble(prediPix[b]); break;
-                                        default: throw new AssertionError(dataType);
-                                    }
-                                    targetPos += planarDenum;
-                                    if (++b == pixelLength) {
-                                        posRef += (sourceXSubsampling - 1) * pixelLength;
-                                        b = 0;
-                                    }
-                                    posRef++;
-                                    //-- this if means : pass to the next destination image row --//
-                                    if (posRef >= maxRowRefPos) {
-                                        assert hdb == 0 : "hdb should be zero. hdb = "+hdb;
+                final int targetRegionOffset = bankOffsets[bank] + dstRegion.y * targetScanlineStride + dstRegion.x * samplesPerPixel;
 
-                                        //-- begin source position writing --//
-                                        posRef      = nextPosRef;
-                                        nextPosRef += sourceYSubsampling * sourceScanTileStride;
+                for (int s = 0; s < samplesPerPixel; s += pixelLength) {
+                    final int tileIndexOffset = s * numXTile * numYTile;
+                    for (int ty = minTileY; ty < maxTileY; ty++) {
+                        final byte[][] tiles = readTileRow(rasterStream, srcRegion, sourceXSubsampling, sourceYSubsampling,
+                                                           tileIndexOffset + ty * numXTile, ty, minTileX, maxTileX);
+                        if (tiles == null) continue;
 
-                                        //-- ending source position writing --//
-                                        maxRowRefPos += sourceYSubsampling * sourceScanTileStride;
+                        if (tasks != null) {
+                            final int sample = s, row = ty;
+                            tasks.submit(() -> decoder.decode(targetArray, targetRegionOffset, sample, row, tiles));
+                        } else {
+                            decoder.decode(targetArray, targetRegionOffset, s, ty, tiles);
+                        }
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            //do not let pending decodings write in the raster after a failure
+            if (tasks != null) {
+                tasks.cancel();
+            }
+            throw ex;
+        }
+        if (tasks != null) {
+            tasks.await();
+        }
+    }
 
-                                        //-- if it is unnecessary to finish to read current tile --//
-                                        if (posRef >= maxSamplePos) {
-                                            assert maxRowRefPos >= maxSamplePos : "maxRowrefpos = "+maxRowRefPos+" maxSamplepos = "+maxSamplePos;
-                                            continue nextTile;
-                                        }
+    /**
+     * Reads the compressed bytes of the tiles of a row which intersect the source region.
+     *
+     * @param  rasterStream    The stream from which compressed tiles are read.
+     * @param  srcRegion       The region to read in source image.
+     * @param  sourceXSubsampling Subsampling on x axis.
+     * @param  sourceYSubsampling Subsampling on y axis.
+     * @param  rowTileIndex    Index of the first tile of the row in {@link #tileOffsets}.
+     * @param  ty              Tile row.
+     * @param  minTileX        First tile column (inclusive).
+     * @param  maxTileX        Last tile column (exclusive).
+     * @return compressed tiles from {@code minTileX}, null elements for tiles which do not need to
+     *         be read, or {@code null} if no tile of this row needs to be read.
+     * @throws IOException If an error occurred while reading.
+     */
+    private byte[][] readTileRow(final ImageInputStream rasterStream, final Rectangle srcRegion,
+            final int sourceXSubsampling, final int sourceYSubsampling, final int rowTileIndex,
+            final int ty, final int minTileX, final int maxTileX) throws IOException {
+        final int interMinY = Math.max(srcRegion.y, ty * tileHeight);
+        final int interMaxY = Math.min(srcRegion.y + srcRegion.height, (ty + 1) * tileHeight);
+        final int yOffset   = (((interMinY - srcRegion.y) % sourceYSubsampling) == 0) ? 0 : (sourceYSubsampling - ((interMinY - srcRegion.y)) % sourceYSubsampling);
+        if (yOffset >= tileHeight || (interMinY + yOffset) >= interMaxY) return null;
+
+        //-- tiles which intersect the source region, with the subsampling --//
+        final boolean[] needed = new boolean[maxTileX - minTileX];
+        for (int tx = minTileX; tx < maxTileX; tx++) {
+            final int interMinX       = Math.max(srcRegion.x, tx * tileWidth);
+            final int interMaxX       = Math.min(srcRegion.x + srcRegion.width, (tx + 1) * tileWidth);
+            final int sourceColOffset = (interMinX - srcRegion.x) % sourceXSubsampling == 0 ? 0 : (sourceXSubsampling - ((interMinX - srcRegion.x) % sourceXSubsampling));
+            needed[tx - minTileX] = sourceColOffset < tileWidth && (interMinX + sourceColOffset) < interMaxX;
+        }
 
-                                        //-- destination shifts --//
-                                        targetOffset += targetScanlineStride;
-                                        targetPos = targetOffset;
+        /*
+         * Merge byte ranges of consecutive tiles in a minimal set of reads.
+         * Tiles are usually written one after the other in the file, and a single
+         * large read is much cheaper than many small ones on remote storages.
+         */
+        final byte[][] tiles = new byte[maxTileX - minTileX][];
+        int tx = minTileX;
+        while (tx < maxTileX) {
+            if (!needed[tx - minTileX]) {
+                tx++;
+                continue;
+            }
+            final long start = tileOffsets[rowTileIndex + tx];
+            long end = start + tileByteCounts[rowTileIndex + tx];
+            int last = tx;
+            while (last + 1 < maxTileX && needed[last + 1 - minTileX]) {
+                final long offset  = tileOffsets[rowTileIndex + last + 1];
+                final long nextEnd = offset + tileByteCounts[rowTileIndex + last + 1];
+                if (offset < end || offset - end > MAX_READ_GAP || nextEnd - start > MAX_MERGED_READ) break;
+                end = nextEnd;
+                last++;
+            }
 
-                                    }
-                                }
-                                //-- shift by one when a sample was built --//
-                                samplePos++;
-                            }
-                            if (++bytePos == sourceScanTileByteStride) {
-                                //-- initialize predictor array --//
-                                Arrays.fill(prediPix, 0);
-                                bytePos = 0;
-                            }
-                        }
-                    }
+            rasterStream.seek(start);
+            assert rasterStream.getBitOffset() == 0;
+            if (last == tx) {
+                final byte[] data = new byte[(int) (end - start)];
+                rasterStream.readFully(data);
+                tiles[tx - minTileX] = data;
+            } else {
+                final byte[] merged = new byte[(int) (end - start)];
+                rasterStream.readFully(merged);
+                for (int t = tx; t <= last; t++) {
+                    final int from = (int) (tileOffsets[rowTileIndex + t] - start);
+                    tiles[t - minTileX] = Arrays.copyOfRange(merged, from, from + (int) tileByteCounts[rowTileIndex + t]);
                 }
             }
+            tx = last + 1;
+        }
+        return tiles;
+    }
+
+    /**
+     * Reverts the floating point predictor (tag value 3) on a row of decompressed bytes.
+     * In the file, bytes of the samples of a row are grouped by significance, from the most
+     * significant ones, then differenced byte by byte. This method restores each sample
+     * in little endian order, as expected by the sample decoding loops.
+     *
+     * @param data       decompressed data.
+     * @param offset     index of the first byte of the row in {@code data}.
+     * @param stride     number of samples per pixel in the row.
+     * @param sampleSize size in bytes of a sample.
+     * @param buffer     work array, which length is the row length in bytes.
+     */
+    private static void undoFloatingPointPredictor(final byte[] data, final int offset, final int stride,
+            final int sampleSize, final byte[] buffer) {
+        final int rowLength = buffer.length;
+        for (int i = offset + stride, end = offset + rowLength; i < end; i++) {
+            data[i] += data[i - stride];
+        }
+        System.arraycopy(data, offset, buffer, 0, rowLength);
+        final int numSamples = rowLength / sampleSize;
+        for (int i = 0; i < numSamples; i++) {
+            final int sampleOffset = offset + i * sampleSize + sampleSize - 1;
+            for (int b = 0; b < sampleSize; b++) {
+                data[sampleOffset - b] = buffer[b * numSamples + i];
+            }
         }
-        inflater.end();
     }
 
     /**
@@ -3634,7 +4239,7 @@ public class TiffImageReader extends SpatialImageReader {
         channel = openChannel(currentInput);
 
         //reset position
-        if (currentInput instanceof FileInputStream) {
+        if (currentInput instanceof FileInputStream || currentInput instanceof SeekableByteChannel) {
             ((SeekableByteChannel)channel).position(fileChannelPositionBegin);
         }
         buffer = null;
@@ -3661,6 +4266,8 @@ public class TiffImageReader extends SpatialImageReader {
     private static ReadableByteChannel openChannel(final Object input) throws IOException {
         if (input instanceof File) {
             return new FileInputStream((File)input).getChannel();
+        } else if (input instanceof SeekableByteChannel) {
+            return (SeekableByteChannel) input;
         } else if (input instanceof InputStream) {
             return Channels.newChannel((InputStream) input);
         } else if (input instanceof ImageInputStream) {
@@ -3704,6 +4311,114 @@ public class TiffImageReader extends SpatialImageReader {
         return Errors.getResources(getLocale()).getString(key, arg0, arg1);
     }
 
+    /**
+     * Decodes a row of compressed tiles in the target array of a raster bank.
+     */
+    @FunctionalInterface
+    private interface TileRowDecoder {
+        void decode(Object targetArray, int targetRegionOffset, int s, int ty, byte[][] tiles) throws IOException;
+    }
+
+    /**
+     * A decoding task which may throw {@link IOException}.
+     */
+    @FunctionalInterface
+    private interface IORunnable {
+        void run() throws IOException;
+    }
+
+    /**
+     * Rows of tiles being decoded by {@link #DECOMPRESSION_EXECUTOR}.
+     * The number of pending rows is bounded, to limit the amount of compressed tiles held in memory.
+     */
+    private static final class DecompressionTasks {
+
+        private final int maxPending = 2 * DECOMPRESSION_NB_THREAD;
+        private final Semaphore pending = new Semaphore(maxPending);
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        /**
+         * Submitted decodings which may not be completed yet.
+         * Only used by the reading thread.
+         */
+        private final List<Future<?>> futures = new ArrayList<>();
+
+        /**
+         * Waits for a free slot, then submits the given decoding.
+         */
+        void submit(final IORunnable decoding) throws IOException {
+            checkError();
+            try {
+                pending.acquire();
+            } catch (InterruptedException ex) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(ex.getMessage());
+            }
+            final FutureTask<Void> future = new FutureTask<>(() -> {
+                try {
+                    decoding.run();
+                } catch (Throwable ex) {
+                    error.compareAndSet(null, ex);
+                }
+                return null;
+            });
+            try {
+                //a canceled decoding is not run, but its slot is still released
+                DECOMPRESSION_EXECUTOR.execute(() -> {
+                    try {
+                        future.run();
+                    } finally {
+                        pending.release();
+                    }
+                });
+            } catch (RuntimeException ex) {
+                pending.release();
+                throw ex;
+            }
+            futures.removeIf(Future::isDone);
+            futures.add(future);
+        }
+
+        /**
+         * Waits for all submitted decodings to complete.
+         * If interrupted, the decodings not started yet are canceled and
+         * the running ones are awaited before the exception is thrown.
+         */
+        void await() throws IOException {
+            try {
+                pending.acquire(maxPending);
+            } catch (InterruptedException ex) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(ex.getMessage());
+            }
+            pending.release(maxPending);
+            futures.clear();
+            checkError();
+        }
+
+        /**
+         * Cancels the decodings not started yet and waits for the running ones,
+         * so no task writes in the target raster after this method returns.
+         */
+        void cancel() {
+            for (Future<?> future : futures) {
+                future.cancel(false);
+            }
+            futures.clear();
+            pending.acquireUninterruptibly(maxPending);
+            pending.release(maxPending);
+        }
+
+        private void checkError() throws IOException {
+            final Throwable ex = error.get();
+            if (ex instanceof IOException)      throw (IOException) ex;
+            if (ex instanceof RuntimeException) throw (RuntimeException) ex;
+            if (ex instanceof Error)            throw (Error) ex;
+        }
+    }
+
     /**
      * Service provider interface (SPI) for {@code RawTiffImageReader}s. This SPI provides
      * necessary implementation for creating default {@link RawTiffImageReader} instances.
@@ -3746,7 +4461,7 @@ public class TiffImageReader extends SpatialImageReader {
          * The list of valid input types.
          */
         private static final Class<?>[] INPUT_TYPES = new Class<?>[] {
-                Path.class, File.class, String.class, InputStream.class, ImageInputStream.class
+                Path.class, File.class, String.class, InputStream.class, ImageInputStream.class, SeekableByteChannel.class
         };
 
         /**
@@ -3798,6 +4513,7 @@ public class TiffImageReader extends SpatialImageReader {
             } else if (source instanceof ImageInputStream) {
                 ((ImageInputStream) source).mark();
             }
+            final long channelPosition = (source instanceof SeekableByteChannel) ? ((SeekableByteChannel) source).position() : 0;
 
             final ReadableByteChannel channel = openChannel(source);
             ByteBuffer buffer = ByteBuffer.allocate(16);
@@ -3808,6 +4524,8 @@ public class TiffImageReader extends SpatialImageReader {
                     ((InputStream) source).reset();
                 } else if (source instanceof ImageInputStream) {
                     ((ImageInputStream) source).reset();
+                } else if (source instanceof SeekableByteChannel) {
+                    ((SeekableByteChannel) source).position(channelPosition);
                 } else {
                     channel.close();
                 }
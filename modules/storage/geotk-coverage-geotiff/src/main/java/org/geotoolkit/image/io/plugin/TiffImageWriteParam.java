@@ -16,7 +16,9 @@
  */
 package org.geotoolkit.image.io.plugin;
 
+import java.util.zip.Deflater;
 import javax.imageio.ImageWriter;
+import org.apache.sis.util.ArgumentChecks;
 import org.geotoolkit.image.io.SpatialImageWriteParam;
 
 /**
@@ -29,12 +31,72 @@ import org.geotoolkit.image.io.SpatialImageWriteParam;
  */
 public class TiffImageWriteParam extends SpatialImageWriteParam {
 
+    /**
+     * Predictor values (tiff tag 317) applied on samples before LZW or Deflate compression.
+     * The horizontal differencing predictor is for integer samples,
+     * the floating point predictor for float and double samples.
+     *
+     * @see #setPredictor(int)
+     */
+    public static final int PREDICTOR_NONE = 1, PREDICTOR_HORIZONTAL = 2, PREDICTOR_FLOATING_POINT = 3;
+
+    /**
+     * Predictor applied before compression.
+     */
+    private int predictor = PREDICTOR_NONE;
+
+    /**
+     * Compression level used by Deflate compression.
+     */
+    private int deflateLevel = Deflater.DEFAULT_COMPRESSION;
+
     public TiffImageWriteParam(ImageWriter writer) {
         super(writer);
         canOffsetTiles      = false;
         canWriteCompressed  = true;
         canWriteProgressive = false;
         canWriteTiles       = true;
-        compressionTypes    = new String[]{"LZW", "PackBits"};
+        compressionTypes    = new String[]{"LZW", "PackBits", "Deflate"};
+    }
+
+    /**
+     * Sets the predictor applied on samples before compression.
+     * A predictor is only allowed with {@code "LZW"} and {@code "Deflate"} compression types.
+     *
+     * @param predictor one of {@link #PREDICTOR_NONE}, {@link #PREDICTOR_HORIZONTAL}
+     *        or {@link #PREDICTOR_FLOATING_POINT}.
+     */
+    public void setPredictor(final int predictor) {
+        ArgumentChecks.ensureBetween("predictor", PREDICTOR_NONE, PREDICTOR_FLOATING_POINT, predictor);
+        this.predictor = predictor;
+    }
+
+    /**
+     * Returns the predictor applied on samples before compression.
+     *
+     * @return the predictor, {@link #PREDICTOR_NONE} by default.
+     */
+    public int getPredictor() {
+        return predictor;
+    }
+
+    /**
+     * Sets the compression level used with the {@code "Deflate"} compression type,
+     * from 1 (fastest) to 9 (smallest), or {@link Deflater#DEFAULT_COMPRESSION}.
+     *
+     * @param level the Deflate compression level.
+     */
+    public void setDeflateLevel(final int level) {
+        ArgumentChecks.ensureBetween("level", Deflater.DEFAULT_COMPRESSION, Deflater.BEST_COMPRESSION, level);
+        this.deflateLevel = level;
+    }
+
+    /**
+     * Returns the compression level used with the {@code "Deflate"} compression type.
+     *
+     * @return the Deflate compression level, {@link Deflater#DEFAULT_COMPRESSION} by default.
+     */
+    public int getDeflateLevel() {
+        return deflateLevel;
     }
 }
@@ -34,6 +34,7 @@ import java.awt.image.SampleModel;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.lang.reflect.Array;
 import java.nio.Buffer;
@@ -44,13 +45,20 @@ import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
+import java.util.zip.Deflater;
 
 import javax.imageio.IIOException;
 import javax.imageio.IIOImage;
@@ -120,6 +128,28 @@ public class TiffImageWriter extends SpatialImageWriter {
      */
     private final static String packbits = "PackBits";
 
+    /**
+     * String use to determinate deflate compression type.
+     *
+     * @see TiffImageWriteParam#compressionTypes
+     */
+    private final static String deflate  = "Deflate";
+
+    /**
+     * Number of threads used to compress tiles.
+     */
+    private static final int COMPRESSION_NB_THREAD = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Threads which compress tiles while the writer thread appends them in the file.
+     * Daemon threads, to not prevent the application to exit.
+     */
+    private static final ExecutorService COMPRESSION_EXECUTOR = Executors.newFixedThreadPool(COMPRESSION_NB_THREAD, (Runnable r) -> {
+        final Thread thread = new Thread(r, "Tiff compression");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     /**
      * Size of data structures in standard TIFF files ({@code SIZE_*}) and in big TIFF files
      * ({@code SIZE_BIG_*}). In standard TIFF, the size of structures for counting the number
@@ -310,6 +340,23 @@ public class TiffImageWriter extends SpatialImageWriter {
      */
     private int compression;
 
+    /**
+     * Predictor value (tag 317) of current image writing.
+     */
+    private int predictor = 1;
+
+    /**
+     * Deflate compression level of current image writing.
+     */
+    private int deflateLevel = Deflater.DEFAULT_COMPRESSION;
+
+    /**
+     * {@code true} if tiles are compressed by {@link #COMPRESSION_EXECUTOR}.
+     *
+     * @see #setParallelCompression(boolean)
+     */
+    private boolean parallelCompression = true;
+
     /**
      * {@code Rectangle} which define boundary of the current written image.<br/>
      * See {@linkplain #computeRegions(java.awt.image.RenderedImage, javax.imageio.ImageWriteParam) }.
@@ -390,6 +437,26 @@ public class TiffImageWriter extends SpatialImageWriter {
         metaHeads = new Map[4];
     }
 
+    /**
+     * Sets whether LZW and Deflate compressed tiles (or strips) are compressed in parallel.
+     * Compressed tiles are always written in order by the calling thread.
+     * This mode is enabled by default.
+     *
+     * @param parallel {@code true} to compress tiles in parallel.
+     */
+    public void setParallelCompression(final boolean parallel) {
+        this.parallelCompression = parallel;
+    }
+
+    /**
+     * Returns {@code true} if LZW and Deflate compressed tiles are compressed in parallel.
+     *
+     * @return {@code true} if tiles are compressed in parallel.
+     */
+    public boolean isParallelCompression() {
+        return parallelCompression;
+    }
+
     /**
      *
      * @param layerIndex
@@ -409,7 +476,7 @@ public class TiffImageWriter extends SpatialImageWriter {
 
         assert compObj != null;
         final int comp = ((short[]) compObj.get(ATT_VALUE))[0];
-        assert comp == 1 || comp == 5 || comp == 32773 : "compression of current layer is not supported. layer index : "+layerIndex+" compression value : "+compression;
+        assert comp == 1 || comp == 5 || comp == 8 || comp == 32773 : "compression of current layer is not supported. layer index : "+layerIndex+" compression value : "+compression;
 
         compression = comp;
 
@@ -1367,6 +1434,7 @@ public class TiffImageWriter extends SpatialImageWriter {
 
         //-- compression --//
         compression = extractCompression(param);
+        predictor   = 1;
         addProperty(Compression, TYPE_USHORT, 1, new short[]{(short) compression}, properties);
 
         //-- planar configuration
@@ -1501,6 +1569,27 @@ public class TiffImageWriter extends SpatialImageWriter {
         compression = extractCompression(param);
         addProperty(Compression, TYPE_USHORT, 1, new short[]{(short) compression}, properties);
 
+        //-- predictor and compression level --//
+        predictor    = 1;
+        deflateLevel = Deflater.DEFAULT_COMPRESSION;
+        if (param instanceof TiffImageWriteParam && compression != 1) {
+            predictor    = ((TiffImageWriteParam) param).getPredictor();
+            deflateLevel = ((TiffImageWriteParam) param).getDeflateLevel();
+        }
+        if (compression == 8 && bitPerSample % Byte.SIZE != 0) {
+            throw new IllegalStateException("Deflate compression is only supported for samples of 8, 16, 32 or 64 bits. Found : "+bitPerSample);
+        }
+        if (predictor != 1) {
+            final int dataType = sm.getDataType();
+            final boolean isFloat = (dataType == DataBuffer.TYPE_FLOAT || dataType == DataBuffer.TYPE_DOUBLE);
+            if ((compression != 5 && compression != 8) || bitPerSample % Byte.SIZE != 0
+             || (predictor == 2 && isFloat) || (predictor == 3 && !isFloat)) {
+                throw new IllegalStateException("Predictor "+predictor+" is not supported with compression "
+                        +compression+" and data type "+dataType+". Impossible to write image.");
+            }
+            addProperty(Predictor, TYPE_USHORT, 1, new short[]{(short) predictor}, properties);
+        }
+
         /*
          * Some globals class attribut have been already initialized to define writing made.
          * See method computeRegion.
@@ -1524,6 +1613,8 @@ public class TiffImageWriter extends SpatialImageWriter {
                     compression = 5;
                 } else if (packbits.equalsIgnoreCase(comp)) {
                     compression = 32773;
+                } else if (deflate.equalsIgnoreCase(comp)) {
+                    compression = 8;
                 } else {
                     throw new IllegalStateException("the compression type : "+comp+". Is not known. Impossible to write image.");
                 }
@@ -2042,6 +2133,14 @@ public class TiffImageWriter extends SpatialImageWriter {
             return;
         }
 
+        if (isBlockCompression()) {
+            writeCompressedBlocks(image, currentImgTW, currentImgTH, currentNumXT, currentNumYT,
+                    minx, miny, subsampleX, subsampleY, (planarConf == 2) ? numbanks : 1, offsetArray, byteCountArray);
+            writeByteCountAndOffsets(byteCountTagPosition, arrayType, byteCountArray, offsetTagPosition, arrayType, offsetArray);
+            //-- add current offset array in current headProperties --//
+            addProperty(TileOffsets, arrayType, Array.getLength(offsetArray), offsetArray, headProperties);
+            return;
+        }
 
         final long destTileByteCount = ((long) currentImgTH) * currentImgTW * sampleByteCount * pixelLength;
 
@@ -2720,6 +2819,397 @@ public class TiffImageWriter extends SpatialImageWriter {
         }
     }
 
+    /**
+     * Returns {@code true} if current image is written through {@link #writeCompressedBlocks},
+     * which means LZW or Deflate compression with samples aligned on bytes.
+     */
+    private boolean isBlockCompression() {
+        return (compression == 5 || compression == 8) && bitPerSample % Byte.SIZE == 0;
+    }
+
+    /**
+     * Write all tiles (or strips) of the current image with LZW or Deflate compression.<br/>
+     * Each block (tile or strip) is filled, predicted and compressed independently,
+     * in parallel if {@link #isParallelCompression()}, then appended in order into {@link #channel}.
+     * Offsets and byte counts of each block are stored into given arrays.
+     *
+     * @param image source image.
+     * @param blockWidth width of a destination block in pixels.
+     * @param blockHeight height of a destination block in pixels.
+     * @param numXBlock block number in X direction.
+     * @param numYBlock block number in Y direction.
+     * @param originX X coordinate of the first block, in {@link #srcRegion} coordinates.
+     * @param originY Y coordinate of the first block, in {@link #srcRegion} coordinates.
+     * @param subsampleX subsampling in X direction.
+     * @param subsampleY subsampling in Y direction.
+     * @param numPlanes band number in case of planar configuration, else 1.
+     * @param offsetArray array which will contain position of each block.
+     * @param byteCountArray array which will contain byte number of each block.
+     * @throws IOException if problem during block writing.
+     */
+    private void writeCompressedBlocks(final RenderedImage image, final int blockWidth, final int blockHeight,
+            final int numXBlock, final int numYBlock, final int originX, final int originY,
+            final int subsampleX, final int subsampleY, final int numPlanes,
+            final Object offsetArray, final Object byteCountArray) throws IOException {
+
+        final BlockEncoder encoder = new BlockEncoder(image, blockWidth, blockHeight, originX, originY,
+                subsampleX, subsampleY, imageBoundary.x - image.getMinX(), imageBoundary.y - image.getMinY(),
+                srcRegion, numPlanes > 1, compression, predictor, deflateLevel, bitPerSample / Byte.SIZE, currentBO);
+
+        final int planeBlocks = numXBlock * numYBlock;
+        final int numBlocks   = planeBlocks * numPlanes;
+        assert numBlocks == Array.getLength(offsetArray);
+
+        long blockOffset = channel.getStreamPosition();
+        if (!parallelCompression || COMPRESSION_NB_THREAD == 1) {
+            for (int i = 0; i < numBlocks; i++) {
+                final int r = i % planeBlocks;
+                final byte[] data = encoder.encode(i / planeBlocks, r % numXBlock, r / numXBlock);
+                blockOffset = writeBlock(data, i, blockOffset, offsetArray, byteCountArray);
+            }
+            return;
+        }
+
+        //-- blocks are compressed by worker threads and written in order by the current thread --//
+        final int maxPending = 2 * COMPRESSION_NB_THREAD;
+        final Deque<Future<byte[]>> pending = new ArrayDeque<>(maxPending);
+        int written = 0;
+        try {
+            for (int i = 0; i < numBlocks; i++) {
+                final int plane = i / planeBlocks;
+                final int r     = i % planeBlocks;
+                pending.add(COMPRESSION_EXECUTOR.submit(() -> encoder.encode(plane, r % numXBlock, r / numXBlock)));
+                if (pending.size() >= maxPending) {
+                    blockOffset = writeBlock(pending.poll().get(), written++, blockOffset, offsetArray, byteCountArray);
+                }
+            }
+            while (!pending.isEmpty()) {
+                blockOffset = writeBlock(pending.poll().get(), written++, blockOffset, offsetArray, byteCountArray);
+            }
+        } catch (InterruptedException ex) {
+            throw new InterruptedIOException(ex.getMessage());
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof IOException)      throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error)            throw (Error) cause;
+            throw new IIOException(cause.getMessage(), cause);
+        } finally {
+            for (final Future<byte[]> future : pending) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Append given compressed block into {@link #channel} and store its position and length.
+     *
+     * @return position of the next block.
+     */
+    private long writeBlock(final byte[] data, final int blockIndex, final long blockOffset,
+            final Object offsetArray, final Object byteCountArray) throws IOException {
+        channel.write(data);
+        if (isBigTIFF) {
+            Array.setLong(offsetArray, blockIndex, blockOffset);
+            Array.setLong(byteCountArray, blockIndex, data.length);
+        } else {
+            Array.setInt(offsetArray, blockIndex, (int) blockOffset);
+            Array.setInt(byteCountArray, blockIndex, data.length);
+        }
+        return blockOffset + data.length;
+    }
+
+    /**
+     * Fill, predict and compress one destination block (tile or strip) from source image.<br/>
+     * Instances hold no mutable state so {@link #encode(int, int, int)} may be called from several threads.
+     */
+    private static final class BlockEncoder {
+
+        private final RenderedImage image;
+        private final int blockWidth, blockHeight;
+        private final int originX, originY;
+        private final int subsampleX, subsampleY;
+
+        /**
+         * Translation from {@link #srcRegion} coordinates to image coordinates.
+         */
+        private final int shiftX, shiftY;
+        private final Rectangle srcRegion;
+        private final boolean planar;
+        private final int numDataElements;
+        private final int pixelLength;
+        private final int transferType;
+        private final int elementSize;
+
+        /**
+         * {@code true} for Type_Int_ARGB image, where red and blue samples are inverted.
+         */
+        private final boolean intARGB;
+        private final int compression;
+        private final int predictor;
+        private final int deflateLevel;
+        private final int sampleSize;
+        private final ByteOrder order;
+
+        BlockEncoder(final RenderedImage image, final int blockWidth, final int blockHeight,
+                final int originX, final int originY, final int subsampleX, final int subsampleY,
+                final int shiftX, final int shiftY, final Rectangle srcRegion, final boolean planar,
+                final int compression, final int predictor, final int deflateLevel,
+                final int sampleSize, final ByteOrder order) {
+            final SampleModel sm = image.getSampleModel();
+            this.image           = image;
+            this.blockWidth      = blockWidth;
+            this.blockHeight     = blockHeight;
+            this.originX         = originX;
+            this.originY         = originY;
+            this.subsampleX      = subsampleX;
+            this.subsampleY      = subsampleY;
+            this.shiftX          = shiftX;
+            this.shiftY          = shiftY;
+            this.srcRegion       = new Rectangle(srcRegion);
+            this.planar          = planar;
+            this.numDataElements = sm.getNumDataElements();
+            this.pixelLength     = planar ? 1 : numDataElements;
+            this.transferType    = sm.getTransferType();
+            this.elementSize     = DataBuffer.getDataTypeSize(transferType) / Byte.SIZE;
+            this.intARGB         = sm.getNumBands() != numDataElements && transferType == DataBuffer.TYPE_INT;
+            this.compression     = compression;
+            this.predictor       = predictor;
+            this.deflateLevel    = deflateLevel;
+            this.sampleSize      = sampleSize;
+            this.order           = order;
+        }
+
+        /**
+         * Returns compressed bytes of the block at given position.
+         *
+         * @param plane band index in case of planar configuration, else 0.
+         * @param bx block index in X direction.
+         * @param by block index in Y direction.
+         */
+        byte[] encode(final int plane, final int bx, final int by) throws IOException {
+            final int rowLength = blockWidth * pixelLength;
+            final Object block  = newArray(rowLength * blockHeight);
+
+            //-- block boundary in srcRegion coordinates, and destination pixels which intersect srcRegion --//
+            final int minX   = originX + bx * blockWidth  * subsampleX;
+            final int minY   = originY + by * blockHeight * subsampleY;
+            final int firstX = Math.max(0,           Math.floorDiv(srcRegion.x - minX + subsampleX - 1, subsampleX));
+            final int endX   = Math.min(blockWidth,  Math.floorDiv(srcRegion.x + srcRegion.width  - minX + subsampleX - 1, subsampleX));
+            final int firstY = Math.max(0,           Math.floorDiv(srcRegion.y - minY + subsampleY - 1, subsampleY));
+            final int endY   = Math.min(blockHeight, Math.floorDiv(srcRegion.y + srcRegion.height - minY + subsampleY - 1, subsampleY));
+
+            if (firstX < endX && firstY < endY) {
+                final int srcMinX = minX + firstX * subsampleX - shiftX;
+                final int srcMinY = minY + firstY * subsampleY - shiftY;
+                final int width   = (endX - firstX - 1) * subsampleX + 1;
+                final int height  = (endY - firstY - 1) * subsampleY + 1;
+                final Raster raster = image.getData(new Rectangle(srcMinX, srcMinY, width, height));
+                Object row = null;
+                for (int y = firstY; y < endY; y++) {
+                    row = raster.getDataElements(srcMinX, srcMinY + (y - firstY) * subsampleY, width, 1, row);
+                    final int dstRowOffset = y * rowLength;
+                    if (subsampleX == 1 && !planar) {
+                        System.arraycopy(row, 0, block, dstRowOffset + firstX * pixelLength, width * pixelLength);
+                    } else {
+                        final int bank = planar ? plane : 0;
+                        for (int x = firstX; x < endX; x++) {
+                            System.arraycopy(row, (x - firstX) * subsampleX * numDataElements + bank,
+                                             block, dstRowOffset + x * pixelLength, pixelLength);
+                        }
+                    }
+                }
+            }
+
+            if (intARGB) {
+                final int[] pixels = (int[]) block;
+                for (int i = 0; i < pixels.length; i++) {
+                    final int val = pixels[i];
+                    pixels[i] = (val & 0xFF00FF00) | ((val & 0x00FF0000) >>> 16) | ((val & 0x000000FF) << 16);
+                }
+            }
+
+            final byte[] data = toBytes(block);
+            if (predictor == 2) {
+                applyHorizontalPredictor(data, rowLength * elementSize);
+            } else if (predictor == 3) {
+                applyFloatingPointPredictor(data, rowLength * elementSize);
+            }
+            return (compression == 8) ? deflate(data, deflateLevel) : new LZWEncoder().encode(data);
+        }
+
+        /**
+         * Returns a zero filled array of the image transfer type.
+         */
+        private Object newArray(final int length) throws IIOException {
+            switch (transferType) {
+                case DataBuffer.TYPE_BYTE   : return new byte[length];
+                case DataBuffer.TYPE_USHORT :
+                case DataBuffer.TYPE_SHORT  : return new short[length];
+                case DataBuffer.TYPE_INT    : return new int[length];
+                case DataBuffer.TYPE_FLOAT  : return new float[length];
+                case DataBuffer.TYPE_DOUBLE : return new double[length];
+                default : throw new IIOException("Unsupported data type : "+transferType);
+            }
+        }
+
+        /**
+         * Serializes given samples array in destination byte order.
+         */
+        private byte[] toBytes(final Object block) {
+            if (block instanceof byte[]) return (byte[]) block;
+            final ByteBuffer buffer = ByteBuffer.allocate(Array.getLength(block) * elementSize).order(order);
+            switch (transferType) {
+                case DataBuffer.TYPE_USHORT :
+                case DataBuffer.TYPE_SHORT  : buffer.asShortBuffer().put((short[])   block); break;
+                case DataBuffer.TYPE_INT    : buffer.asIntBuffer().put((int[])       block); break;
+                case DataBuffer.TYPE_FLOAT  : buffer.asFloatBuffer().put((float[])   block); break;
+                case DataBuffer.TYPE_DOUBLE : buffer.asDoubleBuffer().put((double[]) block); break;
+                default : throw new AssertionError(transferType);
+            }
+            return buffer.array();
+        }
+
+        /**
+         * Replaces each sample by its difference with the same sample of the previous pixel (predictor 2).
+         */
+        private void applyHorizontalPredictor(final byte[] data, final int rowByteLength) {
+            final ByteBuffer buffer = ByteBuffer.wrap(data).order(order);
+            final int stride = pixelLength * elementSize;
+            for (int row = 0; row < data.length; row += rowByteLength) {
+                for (int i = row + rowByteLength - sampleSize; i >= row + stride; i -= sampleSize) {
+                    switch (sampleSize) {
+                        case 1 : data[i] -= data[i - stride]; break;
+                        case 2 : buffer.putShort(i, (short) (buffer.getShort(i) - buffer.getShort(i - stride))); break;
+                        case 4 : buffer.putInt(i,  buffer.getInt(i)  - buffer.getInt(i - stride));  break;
+                        case 8 : buffer.putLong(i, buffer.getLong(i) - buffer.getLong(i - stride)); break;
+                        default : throw new AssertionError(sampleSize);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Splits each row in byte planes from most to least significant byte,
+         * then replaces each byte by its difference with the previous pixel one (predictor 3).
+         */
+        private void applyFloatingPointPredictor(final byte[] data, final int rowByteLength) {
+            final byte[] planes     = new byte[rowByteLength];
+            final int samplesPerRow = rowByteLength / sampleSize;
+            final int stride        = pixelLength * elementSize / sampleSize;
+            final boolean bigEndian = ByteOrder.BIG_ENDIAN.equals(order);
+            for (int row = 0; row < data.length; row += rowByteLength) {
+                for (int s = 0; s < samplesPerRow; s++) {
+                    final int sampleOffset = row + s * sampleSize;
+                    for (int b = 0; b < sampleSize; b++) {
+                        planes[b * samplesPerRow + s] = data[sampleOffset + (bigEndian ? b : sampleSize - 1 - b)];
+                    }
+                }
+                for (int i = rowByteLength - 1; i >= stride; i--) {
+                    planes[i] -= planes[i - stride];
+                }
+                System.arraycopy(planes, 0, data, row, rowByteLength);
+            }
+        }
+
+        /**
+         * Compress given bytes with zlib Deflate algorithm.
+         */
+        private static byte[] deflate(final byte[] data, final int level) {
+            final Deflater deflater = new Deflater(level);
+            try {
+                deflater.setInput(data);
+                deflater.finish();
+                byte[] result = new byte[Math.max(64, data.length / 2)];
+                int length = 0;
+                while (!deflater.finished()) {
+                    if (length == result.length) result = Arrays.copyOf(result, result.length << 1);
+                    length += deflater.deflate(result, length, result.length - length);
+                }
+                return Arrays.copyOf(result, length);
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+
+    /**
+     * LZW encoder of a whole block, producing the same codes as {@link #writeWithLZWCompression(long)}.<br/>
+     * Strings are identified by the code of their prefix and their last byte,
+     * stored into an open addressing hash table.
+     */
+    private static final class LZWEncoder {
+
+        private static final int TABLE_SIZE = 8192;
+
+        private final int[] keys   = new int[TABLE_SIZE];
+        private final short[] codes = new short[TABLE_SIZE];
+        private byte[] out;
+        private int outPos;
+        private long bitBuffer;
+        private int bitCount;
+
+        /**
+         * Returns LZW compressed bytes of the given data, ended by end of information code.
+         */
+        byte[] encode(final byte[] data) {
+            out = new byte[Math.max(64, data.length / 2)];
+            Arrays.fill(keys, -1);
+            int codeLength = 9;
+            int nextCode   = LZW_DEFAULT_CODE;
+            writeCode(LZW_CLEAR_CODE, codeLength);
+
+            int prefix = data[0] & 0xFF;
+            for (int i = 1; i < data.length; i++) {
+                final int b   = data[i] & 0xFF;
+                final int key = (prefix << 8) | b;
+                int slot = hash(key);
+                while (keys[slot] != -1 && keys[slot] != key) {
+                    slot = (slot + 1) & (TABLE_SIZE - 1);
+                }
+                if (keys[slot] == key) {
+                    prefix = codes[slot] & 0xFFFF;
+                    continue;
+                }
+                writeCode(prefix, codeLength);
+                keys[slot]  = key;
+                codes[slot] = (short) nextCode++;
+                prefix = b;
+                if (nextCode >= (1 << codeLength)) codeLength++;
+                if (codeLength > LZW_MAX_CODE_LENGTH) {
+                    //-- from tiff spec write clear code on 12 bits --//
+                    writeCode(LZW_CLEAR_CODE, LZW_MAX_CODE_LENGTH);
+                    Arrays.fill(keys, -1);
+                    codeLength = 9;
+                    nextCode   = LZW_DEFAULT_CODE;
+                }
+            }
+            writeCode(prefix, codeLength);
+            writeCode(LZW_EOI_CODE, codeLength);
+            if (bitCount > 0) {
+                writeCode(0, Byte.SIZE - bitCount);
+            }
+            return Arrays.copyOf(out, outPos);
+        }
+
+        private static int hash(final int key) {
+            return (key * 0x9E3779B1) >>> 19;
+        }
+
+        /**
+         * Appends given code, most significant bit first.
+         */
+        private void writeCode(final int code, final int length) {
+            bitBuffer = (bitBuffer << length) | code;
+            bitCount += length;
+            while (bitCount >= Byte.SIZE) {
+                bitCount -= Byte.SIZE;
+                if (outPos == out.length) out = Arrays.copyOf(out, out.length << 1);
+                out[outPos++] = (byte) (bitBuffer >>> bitCount);
+            }
+        }
+    }
+
     /**
      * Write the two tables which define image data position in tiff file.<br/>
      * byteCountArray can be stripByteCount in case of strip writing or tileByteCount table in case of tile writing.<br/>
@@ -2971,6 +3461,17 @@ public class TiffImageWriter extends SpatialImageWriter {
             return;
         }
 
+        if (isBlockCompression()) {
+            //-- one row per strip --//
+            writeCompressedBlocks(img, destRegion.width, 1, 1, destRegion.height,
+                    srcRegion.x - dstOffX * subsampleX, srcRegion.y - dstOffY * subsampleY,
+                    subsampleX, subsampleY, (planarConf == 2) ? numbanks : 1, offsetArray, byteCountArray);
+            writeByteCountAndOffsets(byteCountTagPosition, arrayType, byteCountArray, offsetTagPosition, arrayType, offsetArray);
+            //-- add current offset array in current headProperties --//
+            addProperty(StripOffsets, arrayType, Array.getLength(offsetArray), offsetArray, headProperties);
+            return;
+        }
+
         // initialize stripbytecount stripOffset
         long stripOffsetBeg = buffPos;
 
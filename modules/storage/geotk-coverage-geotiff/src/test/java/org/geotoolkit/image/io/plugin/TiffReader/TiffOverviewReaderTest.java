@@ -0,0 +1,147 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.image.io.plugin.TiffReader;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageReadParam;
+import org.geotoolkit.image.io.plugin.TiffImageReader;
+import org.geotoolkit.image.io.plugin.TiffImageWriter;
+import org.geotoolkit.nio.IOUtilities;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests reading of reduced resolution layers and channel inputs by {@link TiffImageReader}.
+ *
+ * @module
+ */
+public class TiffOverviewReaderTest {
+
+    /**
+     * Sample value of the reduced resolution layer, not used by the full resolution one.
+     */
+    private static final int OVERVIEW_VALUE = 7;
+
+    private static Path directory;
+    private static Path file;
+
+    /**
+     * Writes a 64×64 image with a 32×32 reduced resolution layer.
+     */
+    @BeforeClass
+    public static void writeImage() throws IOException {
+        directory = Files.createTempDirectory("tiffOverview");
+        file = directory.resolve("overview.tiff");
+
+        final BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_BYTE_GRAY);
+        final WritableRaster raster = image.getRaster();
+        for (int y = 0; y < 64; y++) {
+            for (int x = 0; x < 64; x++) {
+                raster.setSample(x, y, 0, 100 + (x + y) % 100);
+            }
+        }
+        final BufferedImage overview = new BufferedImage(32, 32, BufferedImage.TYPE_BYTE_GRAY);
+        final WritableRaster overviewRaster = overview.getRaster();
+        for (int y = 0; y < 32; y++) {
+            for (int x = 0; x < 32; x++) {
+                overviewRaster.setSample(x, y, 0, OVERVIEW_VALUE);
+            }
+        }
+
+        final TiffImageWriter writer = new TiffImageWriter(null);
+        try {
+            writer.setOutput(file);
+            writer.write(new IIOImage(image, Collections.singletonList(overview), null));
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    @AfterClass
+    public static void deleteImage() throws IOException {
+        IOUtilities.deleteRecursively(directory);
+    }
+
+    /**
+     * Reads the image with a subsampling of 2 from the given input.
+     */
+    private static Raster read(final Object input, final boolean overviewSelection) throws IOException {
+        final TiffImageReader reader = new TiffImageReader(null);
+        try {
+            reader.setOverviewSelection(overviewSelection);
+            reader.setInput(input);
+            final ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceSubsampling(2, 2, 0, 0);
+            return reader.read(0, param).getRaster();
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    /**
+     * Subsampled reads must be done on the reduced resolution layer.
+     */
+    @Test
+    public void testOverviewSelection() throws IOException {
+        final Raster raster = read(file, true);
+        assertEquals(32, raster.getWidth());
+        assertEquals(32, raster.getHeight());
+        for (int y = 0; y < 32; y++) {
+            for (int x = 0; x < 32; x++) {
+                assertEquals(OVERVIEW_VALUE, raster.getSample(x, y, 0));
+            }
+        }
+    }
+
+    /**
+     * Subsampled reads must be done on the full resolution layer when selection is disabled.
+     */
+    @Test
+    public void testFullResolution() throws IOException {
+        final Raster raster = read(file, false);
+        assertEquals(32, raster.getWidth());
+        assertEquals(32, raster.getHeight());
+        for (int y = 0; y < 32; y++) {
+            for (int x = 0; x < 32; x++) {
+                assertEquals(100 + (2 * x + 2 * y) % 100, raster.getSample(x, y, 0));
+            }
+        }
+    }
+
+    /**
+     * Reading from a {@link SeekableByteChannel} must give the same result than reading from the file.
+     */
+    @Test
+    public void testChannelInput() throws IOException {
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            final Raster raster = read(channel, true);
+            assertEquals(32, raster.getWidth());
+            assertEquals(OVERVIEW_VALUE, raster.getSample(0, 0, 0));
+            assertEquals(OVERVIEW_VALUE, raster.getSample(31, 31, 0));
+        }
+    }
+}
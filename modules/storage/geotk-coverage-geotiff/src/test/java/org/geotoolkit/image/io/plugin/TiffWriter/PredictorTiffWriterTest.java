@@ -0,0 +1,181 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.image.io.plugin.TiffWriter;
+
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.PixelInterleavedSampleModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageWriteParam;
+import org.geotoolkit.image.io.plugin.TiffImageReader;
+import org.geotoolkit.image.io.plugin.TiffImageWriteParam;
+import org.geotoolkit.image.io.plugin.TiffImageWriter;
+import org.geotoolkit.nio.IOUtilities;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests writing of images with predictors and parallel compression by {@link TiffImageWriter}.
+ *
+ * @module
+ */
+public class PredictorTiffWriterTest {
+
+    private static Path directory;
+
+    @BeforeClass
+    public static void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("tiffPredictor");
+    }
+
+    @AfterClass
+    public static void deleteDirectory() throws IOException {
+        IOUtilities.deleteRecursively(directory);
+    }
+
+    /**
+     * Creates a smooth image of the given data type, with a size which is not a multiple of tile size.
+     */
+    private static BufferedImage createImage(final int dataType, final int numBands) {
+        final int width  = 70;
+        final int height = 50;
+        final int[] offsets = new int[numBands];
+        for (int b = 0; b < numBands; b++) offsets[b] = b;
+        final WritableRaster raster = Raster.createWritableRaster(
+                new PixelInterleavedSampleModel(dataType, width, height, numBands, width * numBands, offsets), null);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                for (int b = 0; b < numBands; b++) {
+                    raster.setSample(x, y, b, (dataType == DataBuffer.TYPE_FLOAT)
+                            ? Math.sin(x * 0.1) * Math.cos(y * 0.1) * 1000 + b
+                            : (x * 300 + y * 7 + b * 1000) % 65536);
+                }
+            }
+        }
+        final ColorSpace cs = ColorSpace.getInstance((numBands == 3) ? ColorSpace.CS_sRGB : ColorSpace.CS_GRAY);
+        return new BufferedImage(new ComponentColorModel(cs, false, false, Transparency.OPAQUE, dataType), raster, false, null);
+    }
+
+    /**
+     * Writes the given image, then reads it back.
+     */
+    private static Raster writeAndRead(final BufferedImage image, final String compression, final int predictor,
+            final boolean tiled, final boolean parallel) throws IOException {
+        final Path file = Files.createTempFile(directory, "predictor", ".tiff");
+        final TiffImageWriter writer = new TiffImageWriter(null);
+        try {
+            final TiffImageWriteParam param = (TiffImageWriteParam) writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionType(compression);
+            param.setPredictor(predictor);
+            if (tiled) {
+                param.setTilingMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setTiling(32, 16, 0, 0);
+            }
+            writer.setParallelCompression(parallel);
+            writer.setOutput(file);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        final TiffImageReader reader = new TiffImageReader(null);
+        try {
+            reader.setInput(file);
+            return reader.read(0).getRaster();
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    /**
+     * Verifies that all samples of the read raster are equal to the source ones.
+     */
+    private static void assertSamplesEqual(final Raster expected, final Raster actual) {
+        assertEquals(expected.getWidth(),  actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                for (int b = 0; b < expected.getNumBands(); b++) {
+                    assertEquals("pixel at coordinate : (x, y, b) : ("+x+", "+y+", "+b+")",
+                            expected.getSampleDouble(x, y, b), actual.getSampleDouble(x, y, b), 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Floating point predictor with Deflate compressed tiles.
+     */
+    @Test
+    public void testDeflateFloatingPointPredictor() throws IOException {
+        final BufferedImage image = createImage(DataBuffer.TYPE_FLOAT, 1);
+        assertSamplesEqual(image.getRaster(), writeAndRead(image, "Deflate", TiffImageWriteParam.PREDICTOR_FLOATING_POINT, true, true));
+    }
+
+    /**
+     * Deflate compressed strips, without predictor and with each predictor.
+     */
+    @Test
+    public void testDeflateStrips() throws IOException {
+        BufferedImage image = createImage(DataBuffer.TYPE_USHORT, 3);
+        assertSamplesEqual(image.getRaster(), writeAndRead(image, "Deflate", TiffImageWriteParam.PREDICTOR_NONE, false, true));
+        assertSamplesEqual(image.getRaster(), writeAndRead(image, "Deflate", TiffImageWriteParam.PREDICTOR_HORIZONTAL, false, true));
+        image = createImage(DataBuffer.TYPE_FLOAT, 1);
+        assertSamplesEqual(image.getRaster(), writeAndRead(image, "Deflate", TiffImageWriteParam.PREDICTOR_NONE, false, false));
+        assertSamplesEqual(image.getRaster(), writeAndRead(image, "Deflate", TiffImageWriteParam.PREDICTOR_FLOATING_POINT, false, true));
+    }
+
+    /**
+     * Horizontal differencing predictor with LZW compressed tiles and strips.
+     */
+    @Test
+    public void testLZWHorizontalPredictor() throws IOException {
+        final BufferedImage image = createImage(DataBuffer.TYPE_USHORT, 3);
+        assertSamplesEqual(image.getRaster(), writeAndRead(image, "LZW", TiffImageWriteParam.PREDICTOR_HORIZONTAL, true, true));
+        assertSamplesEqual(image.getRaster(), writeAndRead(image, "LZW", TiffImageWriteParam.PREDICTOR_HORIZONTAL, false, true));
+    }
+
+    /**
+     * Serial and parallel compression must give the same result.
+     */
+    @Test
+    public void testSerialCompression() throws IOException {
+        final BufferedImage image = createImage(DataBuffer.TYPE_FLOAT, 1);
+        assertSamplesEqual(writeAndRead(image, "Deflate", TiffImageWriteParam.PREDICTOR_NONE, true, true),
+                           writeAndRead(image, "Deflate", TiffImageWriteParam.PREDICTOR_NONE, true, false));
+        assertSamplesEqual(writeAndRead(image, "LZW", TiffImageWriteParam.PREDICTOR_FLOATING_POINT, false, true),
+                           writeAndRead(image, "LZW", TiffImageWriteParam.PREDICTOR_FLOATING_POINT, false, false));
+    }
+
+    /**
+     * Predictors are only allowed with compatible compressions and data types.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testIncompatiblePredictor() throws IOException {
+        writeAndRead(createImage(DataBuffer.TYPE_FLOAT, 1), "LZW", TiffImageWriteParam.PREDICTOR_HORIZONTAL, true, true);
+    }
+}
@@ -21,6 +21,12 @@ import java.awt.geom.AffineTransform;
 import java.awt.image.DataBuffer;
 import java.awt.image.RenderedImage;
 import java.awt.image.WritableRenderedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import org.apache.sis.geometry.Envelope2D;
 import org.apache.sis.geometry.GeneralEnvelope;
 import org.apache.sis.util.ArgumentChecks;
@@ -112,6 +118,17 @@ public class Resample {
      */
     ResampleGrid theGrid;
 
+    /**
+     * Source image, case of interpolation and lanczos window, kept to build one
+     * {@link Interpolation} per worker in parallel mode.
+     * {@code imageSrc} is {@code null} when this object has been built from an {@link Interpolation} instance.
+     *
+     * @see #fillImage(boolean, java.util.concurrent.ExecutorService)
+     */
+    private final RenderedImage imageSrc;
+    private final InterpolationCase interpolationCase;
+    private final int lanczosWindow;
+
     /**
      * <p>Fill destination image from interpolation of source pixels.<br/>
      * Source pixel coordinate is obtained from invert transformation of destination pixel coordinates.<br/>
@@ -283,6 +300,10 @@ public class Resample {
         PixelIterator pix = PixelIteratorFactory.createDefaultIterator(imageSrc);
         interpol          = Interpolation.create(pix, interpolation, lanczosWindow, rbc, fillValue);
 
+        this.imageSrc          = imageSrc;
+        this.interpolationCase = interpolation;
+        this.lanczosWindow     = lanczosWindow;
+
         this.rbc   = rbc;
         this.clamp = getClamp(imageDest.getSampleModel().getDataType());
     }
@@ -336,12 +357,41 @@ public class Resample {
         this.destIterator              = PixelIteratorFactory.createDefaultWriteableIterator(this.imageDest, this.imageDest, resampleArea);
         this.destToSourceMathTransform = mathTransform;
         this.interpol                  = interpol;
+        this.imageSrc                  = null;
+        this.interpolationCase         = null;
+        this.lanczosWindow             = 0;
         srcCoords  = new double[2];
         destCoords = new double[2];
         this.rbc   = rbc;
         this.clamp = getClamp(imageDest.getSampleModel().getDataType());
     }
 
+    /**
+     * Build a worker which resample only the given destination area, with the same
+     * configuration than parent and its own {@link Interpolation} and {@link PixelIterator}s.
+     * Pre-computed grid, if any, is shared with parent because it is only read during resampling.
+     *
+     * @param parent resample which is divided in many workers.
+     * @param area destination image area within pixels are resample by this worker.
+     */
+    private Resample(final Resample parent, final Rectangle area) {
+        this.destToSourceMathTransform = parent.destToSourceMathTransform;
+        this.imageDest         = parent.imageDest;
+        this.numBands          = parent.numBands;
+        this.fillValue         = parent.fillValue;
+        this.rbc               = parent.rbc;
+        this.clamp             = parent.clamp;
+        this.theGrid           = parent.theGrid;
+        this.imageSrc          = parent.imageSrc;
+        this.interpolationCase = parent.interpolationCase;
+        this.lanczosWindow     = parent.lanczosWindow;
+        this.destIterator      = PixelIteratorFactory.createDefaultWriteableIterator(imageDest, imageDest, area);
+        this.interpol          = Interpolation.create(PixelIteratorFactory.createDefaultIterator(imageSrc),
+                                                      interpolationCase, lanczosWindow, rbc, fillValue);
+        srcCoords  = new double[2];
+        destCoords = new double[2];
+    }
+
     private static double[] getClamp(int dataType) {
         switch (dataType) {
             /* Because DataBuffer.TYPE_BYTE is define as UByte. */
@@ -678,24 +728,137 @@ public class Resample {
     }
 
     public void fillImage(boolean canUseGrid) throws TransformException {
-        if (canUseGrid && destToSourceMathTransform instanceof MathTransform2D) {
+        theGrid = null;
+        fill(canUseGrid ? createGrid() : null);
+    }
+
+    /**
+     * <p>Fill destination image from source image pixel interpolation, using many threads.<br/><br/>
+     *
+     * Destination area is divided by tile, or by row bands if destination image has only one tile,
+     * and each part is resampled by the given executor with its own {@link Interpolation} and {@link PixelIterator}s.
+     * Results are identical to {@link #fillImage(boolean)} results.<br/><br/>
+     *
+     * Note : row bands are only used when no grid is needed, because grid travel is tile aligned.
+     * Moreover, if this object has been built from an {@link Interpolation} instance,
+     * resampling is done on the calling thread.</p>
+     *
+     * @param canUseGrid {@code true} to allow resampling from a pre-computed grid.
+     * @param executor executor in which each destination part is resampled.
+     * @throws TransformException if a pixel coordinate transformation fails.
+     */
+    public void fillImage(final boolean canUseGrid, final ExecutorService executor) throws TransformException {
+        ArgumentChecks.ensureNonNull("executor", executor);
+        theGrid = null;
+        final AffineTransform affine = canUseGrid ? createGrid() : null;
+        final List<Rectangle> parts  = (imageSrc == null) ? null : divide();
+        if (parts == null || parts.size() < 2) {
+            fill(affine);
+            return;
+        }
+        final List<Callable<Object>> tasks = new ArrayList<>(parts.size());
+        for (final Rectangle part : parts) {
+            final Resample worker = new Resample(this, part);
+            tasks.add(new Callable<Object>() {
+                @Override
+                public Object call() throws TransformException {
+                    worker.fill(affine);
+                    return null;
+                }
+            });
+        }
+        try {
+            //-- futures are read in parts order to report the same error whatever the thread scheduling.
+            for (final Future<Object> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new TransformException("Resampling has been interrupted.", ex);
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof TransformException) throw (TransformException) cause;
+            if (cause instanceof RuntimeException)   throw (RuntimeException) cause;
+            if (cause instanceof Error)              throw (Error) cause;
+            throw new TransformException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Compute resampling grid from {@link #destToSourceMathTransform} if possible.
+     * Computed grid is stored in {@link #theGrid}.
+     *
+     * @return transformation to use instead of grid if it is affine, else {@code null}.
+     */
+    private AffineTransform createGrid() {
+        if (destToSourceMathTransform instanceof MathTransform2D) {
             try {
                 final GridFactory gridFact = new GridFactory(0.125);
                 final Object object = gridFact.create((MathTransform2D) destToSourceMathTransform, destIterator.getBoundary(false));
                 if (object instanceof AffineTransform) {
-                    fillImageByAffineTransform((AffineTransform) object);
-                } else {
-                    theGrid = (ResampleGrid) object;
-                    fillImageByGrid();
+                    return (AffineTransform) object;
                 }
-                return;
+                theGrid = (ResampleGrid) object;
             } catch (TransformException ex) {
                 //-- leave to fall back
             } catch (ArithmeticException e) {
                 //-- leave to fall back
             }
         }
-        fillImageByTransform();
+        return null;
+    }
+
+    /**
+     * Fill destination area traveled by {@link #destIterator} from grid if exist,
+     * else from affine transform if not {@code null}, else from {@link #destToSourceMathTransform}.
+     *
+     * @param affine transformation computed by {@link #createGrid()}, or {@code null}.
+     * @throws TransformException
+     */
+    private void fill(final AffineTransform affine) throws TransformException {
+        if (theGrid != null) {
+            fillImageByGrid();
+        } else if (affine != null) {
+            fillImageByAffineTransform(affine);
+        } else {
+            fillImageByTransform();
+        }
+    }
+
+    /**
+     * Divide destination area into parts which may be resampled independently.
+     * Parts are destination tiles intersecting area or, for untiled image without grid,
+     * some row bands.
+     *
+     * @return destination area parts, never empty.
+     */
+    private List<Rectangle> divide() {
+        final Rectangle area      = destIterator.getBoundary(true);
+        final List<Rectangle> parts = new ArrayList<>();
+        final int numXTiles = imageDest.getNumXTiles();
+        final int numYTiles = imageDest.getNumYTiles();
+        if (numXTiles * numYTiles > 1) {
+            final int tileWidth  = imageDest.getTileWidth();
+            final int tileHeight = imageDest.getTileHeight();
+            final int minTileX   = imageDest.getMinTileX();
+            final int minTileY   = imageDest.getMinTileY();
+            for (int ty = minTileY; ty < minTileY + numYTiles; ty++) {
+                for (int tx = minTileX; tx < minTileX + numXTiles; tx++) {
+                    final Rectangle tile = new Rectangle(imageDest.getTileGridXOffset() + tx * tileWidth,
+                                                         imageDest.getTileGridYOffset() + ty * tileHeight,
+                                                         tileWidth, tileHeight).intersection(area);
+                    if (!tile.isEmpty()) parts.add(tile);
+                }
+            }
+        } else if (theGrid == null) {
+            final int numParts   = StrictMath.min(area.height, Runtime.getRuntime().availableProcessors() * 4);
+            final int bandHeight = (area.height + numParts - 1) / numParts;
+            for (int y = area.y, maxY = area.y + area.height; y < maxY; y += bandHeight) {
+                parts.add(new Rectangle(area.x, y, area.width, StrictMath.min(bandHeight, maxY - y)));
+            }
+        }
+        if (parts.isEmpty()) parts.add(area);
+        return parts;
     }
 
     /**
@@ -32,8 +32,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -42,14 +42,14 @@ import java.util.logging.Level;
 import javax.imageio.spi.ImageReaderSpi;
 import javax.imageio.spi.ImageWriterSpi;
 import org.apache.sis.util.ArgumentChecks;
-import org.apache.sis.util.collection.WeakValueHashMap;
 import org.apache.sis.util.logging.Logging;
 import org.geotoolkit.nio.IOUtilities;
 
 /**
  * Stock all {@link java.awt.image.Raster} contained from define {@link java.awt.image.RenderedImage}. It's a map whose key
- * is tile location, and value is the value the tile data. We use a {@link java.util.LinkedHashMap}, so when we need to
- * remove an element, we will take the oldest one.
+ * is tile location, and value is the value the tile data. We use a {@link java.util.concurrent.ConcurrentHashMap}, so
+ * tiles can be read without lock, and a CLOCK algorithm, so when we need to remove an element, we take one which has
+ * not been queried since the previous sweep.
  *
  * @author Rémi Maréchal (Geomatys).
  * @author Alexis Manin (Geomatys).
@@ -93,40 +93,24 @@ final class ImageTilesCache extends PhantomReference<RenderedImage> {
     private final boolean isWritableRenderedImage;
 
     /**
-     * Tile by Tile locks.
+     * Number of tile locks, must be a power of 2.
      */
-    private final WeakValueHashMap<Point,ReadWriteLock> locks = new WeakValueHashMap<>(Point.class);
+    private static final int LOCK_STRIPES = 64;
+
+    /**
+     * Tile locks. Each tile is guarded by the lock at the index computed from its location,
+     * so two tiles may share the same lock.
+     */
+    private final ReadWriteLock[] locks = new ReadWriteLock[LOCK_STRIPES];
 
     /**
      * Contains tiles of pointed image.
      * TODO : Replace LargeRaster type with simple raster ? (Raster weight will be embed in {@link org.geotoolkit.image.io.large.CachedTile}
      *
-     * accesOrder = true : this ensure the must used element are at the top
-     * This behavior is used by the flush to remove the oldest used tiles first
-     *
-     * We subclass the map to keep track of the used memory.
+     * Memory used by tiles is tracked in {@link #usedCapacity} on each put and remove.
      */
     private final AtomicLong usedCapacity = new AtomicLong(0);
-    private final Map<Point, TileRasterCache> tiles = new LinkedHashMap<Point, TileRasterCache>(16, 0.75f, true){
-        @Override
-        public TileRasterCache put(Point key, TileRasterCache value) {
-            final TileRasterCache last = super.put(key, value);
-            if(last!=null) usedCapacity.addAndGet(-last.getWeight());
-            if(value!=null) usedCapacity.addAndGet(value.getWeight());
-            return last;
-        }
-        @Override
-        public void clear() {
-            super.clear();
-            usedCapacity.set(0);
-        }
-        @Override
-        public TileRasterCache remove(Object key) {
-            final TileRasterCache last = super.remove(key);
-            if(last!=null) usedCapacity.addAndGet(-last.getWeight());
-            return last;
-        }
-    };
+    private final Map<Point, TileRasterCache> tiles = new ConcurrentHashMap<>();
 
 
     /**
@@ -136,15 +120,32 @@ final class ImageTilesCache extends PhantomReference<RenderedImage> {
      * @return
      */
     private ReadWriteLock getLock(final Point key){
-        ReadWriteLock lock;
-        synchronized(locks){
-            lock = locks.get(key);
-            if (lock == null) {
-                lock = new ReentrantReadWriteLock();
-                locks.put(key, lock);
-            }
+        int h = key.x * 31 + key.y;
+        h ^= (h >>> 16);
+        return locks[h & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Put the given tile in {@link #tiles} and update memory usage.
+     */
+    private void putTile(final Point key, final TileRasterCache value) {
+        final TileRasterCache last = tiles.put(key, value);
+        long delta = value.getWeight();
+        if (last != null) delta -= last.getWeight();
+        usedCapacity.addAndGet(delta);
+        cache.memoryUsageChanged(delta);
+    }
+
+    /**
+     * Remove tile at given location from {@link #tiles} and update memory usage.
+     */
+    private TileRasterCache removeTile(final Point key) {
+        final TileRasterCache last = tiles.remove(key);
+        if (last != null) {
+            usedCapacity.addAndGet(-last.getWeight());
+            cache.memoryUsageChanged(-last.getWeight());
         }
-        return lock;
+        return last;
     }
 
     /**
@@ -163,6 +164,9 @@ final class ImageTilesCache extends PhantomReference<RenderedImage> {
         super(ri, queue);
         //cache properties.
         this.cache = cache;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantReadWriteLock();
+        }
         this.isWritableRenderedImage = ri instanceof WritableRenderedImage;
 
         if (ri instanceof WritableLargeRenderedImage ) {
@@ -232,9 +236,7 @@ final class ImageTilesCache extends PhantomReference<RenderedImage> {
         final ReadWriteLock tileLock = getLock(tileCorner);
         tileLock.writeLock().lock();
         try {
-            synchronized(tiles){
-                tiles.put(tileCorner, new TileRasterCache(tileCorner.x, tileCorner.y, rasterWeight, raster));
-            }
+            putTile(tileCorner, new TileRasterCache(tileCorner.x, tileCorner.y, rasterWeight, raster));
         } finally {
             tileLock.writeLock().unlock();
         }
@@ -254,9 +256,7 @@ final class ImageTilesCache extends PhantomReference<RenderedImage> {
         final ReadWriteLock tileLock = getLock(tileCorner);
         tileLock.writeLock().lock();
         try {
-            synchronized(tiles){
-                tiles.remove(tileCorner);
-            }
+            removeTile(tileCorner);
 
             if (qTD != null) {
                 //quad tree
@@ -292,11 +292,10 @@ final class ImageTilesCache extends PhantomReference<RenderedImage> {
         final ReadWriteLock tileLock = getLock(tileCorner);
         tileLock.readLock().lock();
         try {
-            final TileRasterCache lRaster;
-            synchronized(tiles){
-                lRaster= tiles.get(tileCorner);
-            }
+            final TileRasterCache lRaster = tiles.get(tileCorner);
             if (lRaster != null) {
+                lRaster.markReferenced();
+                cache.tileHit();
                 return lRaster.getRaster();
             }
         } finally {
@@ -314,15 +313,15 @@ final class ImageTilesCache extends PhantomReference<RenderedImage> {
 
                 //-- asked again getRaster() in case another thread already enter
                 //-- into this scope and has loaded tile from file system.
-                final TileRasterCache lRaster;
-                synchronized (tiles) {
-                    lRaster= tiles.get(tileCorner);
-                }
+                final TileRasterCache lRaster = tiles.get(tileCorner);
                 if (lRaster != null) {
+                    lRaster.markReferenced();
+                    cache.tileHit();
                     return lRaster.getRaster();
                 }
 
                 // If not, we must take it from input quad-tree.
+                cache.tileMissed();
                 final Path tileFile = Paths.get(qTD.getPath(tileCorner.x, tileCorner.y));
                 if (Files.exists(tileFile)) {
                     // TODO : Use a "pool" of readers, instead of creating one each time ?
@@ -353,11 +352,11 @@ final class ImageTilesCache extends PhantomReference<RenderedImage> {
      */
     void removeTiles() throws IOException {
         //rendered image won't be used after this
-        synchronized(tiles){
-            tiles.clear();
-            if (qTD != null) {
-                qTD.cleanDirectory();
-            }
+        for (Point key : tiles.keySet()) {
+            removeTile(key);
+        }
+        if (qTD != null) {
+            qTD.cleanDirectory();
         }
     }
 
@@ -478,7 +477,8 @@ final class ImageTilesCache extends PhantomReference<RenderedImage> {
 
     /**
      * <p>Check that cache weight do not exceed memory capacity.<br/>
-     * If memory capacity is exceeded, write as many {@link java.awt.image.Raster} objects needed to not exceed memory capacity anymore.</p>
+     * If memory capacity is exceeded, write as many {@link java.awt.image.Raster} objects needed to not exceed memory capacity anymore.<br/>
+     * Tiles to release are chosen by a CLOCK sweep : a tile queried since the previous sweep gets a second chance.</p>
      */
     private void checkMap() throws IOException {
         final long maxCacheSize = cache.getCacheSizePerImage();
@@ -486,33 +486,26 @@ final class ImageTilesCache extends PhantomReference<RenderedImage> {
 
         final boolean swap = cache.isEnableSwap();
 
-        Point[] pts;
-        synchronized(tiles){
-            pts = tiles.keySet().toArray(new Point[0]);
-        }
-
-        int i=0;
-        for(long currentCapacity = usedCapacity.get(); currentCapacity>maxCacheSize && i<pts.length; currentCapacity = usedCapacity.get(),i++){
-
-            Point key = pts[i];
-            if(key==null) continue;
-
-            final ReadWriteLock rwl = getLock(key);
-            if (rwl.writeLock().tryLock()) {
-                try {
-                    final TileRasterCache tr;
-                    synchronized (tiles) {
-                        tr = tiles.remove(key);
-                    }
+        //-- two passes at most : the first one may only clear reference bits.
+        for (int pass = 0; pass < 2 && usedCapacity.get() > maxCacheSize; pass++) {
+            for (Map.Entry<Point, TileRasterCache> entry : tiles.entrySet()) {
+                if (usedCapacity.get() <= maxCacheSize) return;
+                if (entry.getValue().clearReferenced()) continue;
 
-                    if (tr != null && swap) {
-                        writeRaster(tr);
+                final Point key = entry.getKey();
+                final ReadWriteLock rwl = getLock(key);
+                if (rwl.writeLock().tryLock()) {
+                    try {
+                        final TileRasterCache tr = removeTile(key);
+                        if (tr != null) {
+                            cache.tileEvicted();
+                            if (swap) writeRaster(tr);
+                        }
+                    } finally {
+                        rwl.writeLock().unlock();
                     }
-                } finally {
-                    rwl.writeLock().unlock();
                 }
             }
         }
-
     }
 }
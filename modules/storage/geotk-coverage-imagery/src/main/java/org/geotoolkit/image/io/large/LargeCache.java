@@ -23,7 +23,12 @@ import java.awt.image.RenderedImage;
 import java.awt.image.WritableRaster;
 import java.io.IOException;
 import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.media.jai.TileCache;
@@ -39,6 +44,10 @@ import org.apache.sis.util.logging.Logging;
  * Maybe a priority system would be useful to determine which tile to release first (based on the number
  * of times a tile has been queried ?)
  *
+ * This cache may be used by many threads without global lock : image caches are stored in a concurrent map
+ * and each {@link ImageTilesCache} stripes its tile locks and evicts tiles with a CLOCK algorithm.
+ * Hit, miss and eviction counters are available to monitor cache efficiency.
+ *
  * @author Rémi Maréchal (Geomatys)
  * @author Alexis Manin  (Geomatys)
  */
@@ -54,16 +63,61 @@ public final class LargeCache implements TileCache {
     /**
      * Contains a tile manager for each cached rendered image. A tile manager job is to swap / cache image tiles as we ask it.
      *
-     * Note : we can not use ReentrantReadWriteLock with WeakHashMap because
-     * get and iteration methods may modify the content of the map.
-     * This is because the weak references are tested when a get occurs.
+     * Note : images are weakly referenced by {@link ImageKey}, compared by identity.
+     * Entries of garbage collected images are removed by the cleaner thread,
+     * when the {@link ImageTilesCache} phantom reference is enqueued.
      */
-    private final WeakHashMap<RenderedImage, ImageTilesCache> tileManagers = new WeakHashMap<>();
+    private final ConcurrentMap<ImageKey, ImageTilesCache> tileManagers = new ConcurrentHashMap<>();
     //We MUST keep hard references to the largemaps, otherwise the dispose wont be called
     //by the reference queue. check the javadoc for more details.
-    private final Set<ImageTilesCache> largemaps = new HashSet<>();
+    private final Set<ImageTilesCache> largemaps = Collections.newSetFromMap(new ConcurrentHashMap<ImageTilesCache, Boolean>());
+
+    /**
+     * Cache statistics.
+     */
+    private final LongAdder hitCount      = new LongAdder();
+    private final LongAdder missCount     = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Memory used by tiles of all cached images, in bytes.
+     */
+    private final AtomicLong usedMemory = new AtomicLong();
 
-    private static LargeCache INSTANCE;
+    /**
+     * Lazy initialized singleton.
+     */
+    private static final class Holder {
+        static final LargeCache INSTANCE = new LargeCache(
+                ImageCacheConfiguration.getCacheMemorySize(),
+                ImageCacheConfiguration.isCacheSwapEnable());
+    }
+
+    /**
+     * Weak reference to a cached image, compared by identity.
+     */
+    private static final class ImageKey extends WeakReference<RenderedImage> {
+
+        private final int hash;
+
+        ImageKey(final RenderedImage image) {
+            super(image);
+            hash = System.identityHashCode(image);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj == this) return true;
+            if (!(obj instanceof ImageKey)) return false;
+            final Object image = get();
+            return image != null && image == ((ImageKey) obj).get();
+        }
+    }
 
     private LargeCache(long memoryCapacity, boolean enableSwap) {
         this.memoryCapacity = memoryCapacity;
@@ -75,6 +129,7 @@ public final class LargeCache implements TileCache {
                     try {
                         final ImageTilesCache removed = (ImageTilesCache) phantomQueue.remove();
                         largemaps.remove(removed);
+                        tileManagers.values().remove(removed);
                         removed.removeTiles();
                         // Re-distribute freed memory amount between remaining caches.
                         updateLList();
@@ -97,9 +152,63 @@ public final class LargeCache implements TileCache {
     }
 
     long getCacheSizePerImage(){
-        synchronized(tileManagers){
-            return memoryCapacity / (tileManagers.size() + 1);
-        }
+        return memoryCapacity / (tileManagers.size() + 1);
+    }
+
+    /**
+     * Called by {@link ImageTilesCache} to update statistics.
+     */
+    void tileHit() {
+        hitCount.increment();
+    }
+
+    void tileMissed() {
+        missCount.increment();
+    }
+
+    void tileEvicted() {
+        evictionCount.increment();
+    }
+
+    void memoryUsageChanged(final long delta) {
+        usedMemory.addAndGet(delta);
+    }
+
+    /**
+     * Returns the number of tile requests answered from memory.
+     *
+     * @return number of tile requests answered from memory.
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Returns the number of tile requests which have to be read back from disk.
+     *
+     * @return number of tile requests not answered from memory.
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Returns the number of tiles released from memory (and swapped on disk if swap is enabled)
+     * to respect memory capacity.
+     *
+     * @return number of tiles released from memory.
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Returns an estimation of the memory used by tiles of all cached images, in bytes.
+     *
+     * @return memory used by cached tiles.
+     */
+    public long getUsedMemory() {
+        return usedMemory.get();
     }
 
     /**
@@ -108,13 +217,8 @@ public final class LargeCache implements TileCache {
      *
      * @return TileCache
      */
-    public static synchronized LargeCache getInstance() {
-        if(INSTANCE==null){
-            final long memoryCapacity = ImageCacheConfiguration.getCacheMemorySize();
-            final boolean enableSwap  = ImageCacheConfiguration.isCacheSwapEnable();
-            INSTANCE = new LargeCache(memoryCapacity, enableSwap);
-        }
-        return INSTANCE;
+    public static LargeCache getInstance() {
+        return Holder.INSTANCE;
     }
 
     /**
@@ -125,30 +229,33 @@ public final class LargeCache implements TileCache {
      * @throws IOException If the image did not have any cache system, and we cannot create one.
      */
     private ImageTilesCache getOrCreateLargeMap(final RenderedImage source) throws IOException {
-        ImageTilesCache lL;
-        synchronized (source) {
-            synchronized(tileManagers){
-                lL = tileManagers.get(source);
-            }
-
-            if (lL == null) {
-                try {
-                    lL = new ImageTilesCache(source, phantomQueue, this);
-                } catch (IOException ex) {
-                    throw new RuntimeException("impossible to create cache list", ex);
-                }
-
-                synchronized(tileManagers){
-                    tileManagers.put(source, lL);
+        final ImageKey key = new ImageKey(source);
+        ImageTilesCache lL = tileManagers.get(key);
+        if (lL == null) {
+            synchronized (source) {
+                lL = tileManagers.get(key);
+                if (lL == null) {
+                    try {
+                        lL = new ImageTilesCache(source, phantomQueue, this);
+                    } catch (IOException ex) {
+                        throw new RuntimeException("impossible to create cache list", ex);
+                    }
                     largemaps.add(lL);
+                    tileManagers.put(key, lL);
+                    updateLList();
                 }
-
-                updateLList();
             }
         }
         return lL;
     }
 
+    /**
+     * Return the cache system associated to the given rendered image, or {@code null} if none.
+     */
+    private ImageTilesCache getLargeMap(final RenderedImage source) {
+        return tileManagers.get(new ImageKey(source));
+    }
+
     /**
      * {@inheritDoc }.
      */
@@ -172,11 +279,7 @@ public final class LargeCache implements TileCache {
      */
     @Override
     public void remove(RenderedImage ri, int tileX, int tileY) {
-        final ImageTilesCache lL;
-        synchronized(tileManagers){
-            lL = tileManagers.get(ri);
-        }
-
+        final ImageTilesCache lL = getLargeMap(ri);
         if (lL == null){
             throw new IllegalArgumentException("renderedImage don't exist in this "+LargeCache.class.getName());
         }
@@ -191,10 +294,7 @@ public final class LargeCache implements TileCache {
      */
     @Override
     public Raster getTile(RenderedImage ri, int tileX, int tileY) {
-        final ImageTilesCache cache;
-        synchronized(tileManagers){
-            cache = tileManagers.get(ri);
-        }
+        final ImageTilesCache cache = getLargeMap(ri);
         if (cache == null){
             throw new IllegalArgumentException("renderedImage doesn't exist in this "+LargeCache.class.getName());
         }
@@ -210,11 +310,8 @@ public final class LargeCache implements TileCache {
      */
     @Override
     public void removeTiles(RenderedImage ri) {
-        final ImageTilesCache lL;
         // De-reference image
-        synchronized(tileManagers){
-            lL = tileManagers.remove(ri);
-        }
+        final ImageTilesCache lL = tileManagers.remove(new ImageKey(ri));
 
         // Clear cache.
         if (lL != null) {
@@ -258,11 +355,7 @@ public final class LargeCache implements TileCache {
      */
     @Override
     public Raster[] getTiles(RenderedImage ri, Point[] points) {
-        final ImageTilesCache lL;
-        synchronized(tileManagers){
-            lL = tileManagers.get(ri);
-        }
-
+        final ImageTilesCache lL = getLargeMap(ri);
         if (lL == null)
             throw new IllegalArgumentException("renderedImage don't exist in this "+LargeCache.class.getName());
         final int l = points.length;
@@ -292,13 +385,9 @@ public final class LargeCache implements TileCache {
      * @param listMemoryCapacity new memory capacity.
      */
     private void updateLList() {
-        Object[] array;
-        synchronized(tileManagers){
-            array = tileManagers.values().toArray();
-        }
-        for (Object lL : array) {
+        for (ImageTilesCache lL : tileManagers.values()) {
             try {
-                ((ImageTilesCache)lL).capacityChanged();
+                lL.capacityChanged();
             } catch (IOException ex) {
                 throw new RuntimeException("Raster too large for remaining memory capacity", ex);
             }
@@ -13,6 +13,13 @@ final class TileRasterCache {
     private final long weight;
     private final Raster raster;
 
+    /**
+     * CLOCK reference bit, set each time the raster is queried and cleared
+     * by the eviction sweep. A tile is released only if it has not been queried
+     * since the previous sweep.
+     */
+    private volatile boolean referenced;
+
     /**
      * Object to wrap {@link java.awt.image.Raster} and different raster properties.
      *
@@ -55,6 +62,24 @@ final class TileRasterCache {
         return raster;
     }
 
+    /**
+     * Mark this tile as recently used.
+     */
+    void markReferenced() {
+        referenced = true;
+    }
+
+    /**
+     * Clear the reference bit and return its previous value.
+     *
+     * @return {@code true} if this tile has been queried since the last call.
+     */
+    boolean clearReferenced() {
+        final boolean r = referenced;
+        if (r) referenced = false;
+        return r;
+    }
+
     /**
      * Return stocked {@link java.awt.image.Raster} weight.
      *
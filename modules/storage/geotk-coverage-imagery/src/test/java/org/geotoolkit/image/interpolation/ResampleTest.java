@@ -19,6 +19,8 @@ package org.geotoolkit.image.interpolation;
 import java.awt.Transparency;
 import java.awt.color.ColorSpace;
 import java.awt.image.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.imageio.ImageTypeSpecifier;
 import org.apache.sis.geometry.Envelope2D;
 import org.apache.sis.internal.referencing.j2d.AffineTransform2D;
@@ -195,6 +197,35 @@ public class ResampleTest extends org.geotoolkit.test.TestBase {
         assertArrayEquals(BILINEAR_RESULT, datadouble.getData(0), 1E-9);
     }
 
+    /**
+     * Test that biLinear resampling executed by many threads gives same result than on the calling thread.
+     *
+     * @throws NoninvertibleTransformException
+     * @throws FactoryException
+     * @throws TransformException
+     */
+    @Test
+    public void parallelBiLinearTest() throws NoninvertibleTransformException, FactoryException, TransformException {
+
+        setTargetImage(9, 9, DataBuffer.TYPE_DOUBLE,  -1000);
+        setAffineMathTransform(MathTransforms.concatenate(pixelInCellCenter, new AffineTransform2D(3, 0, 0, 3, 0, 0), pixelInCellCenter.inverse()));
+
+        /*
+         * Resampling
+         */
+        final Resample resample = new Resample(mathTransform.inverse(), targetImage, sourceImg,
+                InterpolationCase.BILINEAR, ResampleBorderComportement.FILL_VALUE, new double[]{0});
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            resample.fillImage(true, executor);
+        } finally {
+            executor.shutdown();
+        }
+        final Raster coverageRaster = targetImage.getTile(0, 0);
+        java.awt.image.DataBufferDouble datadouble = (java.awt.image.DataBufferDouble) coverageRaster.getDataBuffer();
+        assertArrayEquals(BILINEAR_RESULT, datadouble.getData(0), 1E-9);
+    }
+
     /**
      * Test result obtained from biLinear interpolation and a resampling and without any fillvalue.
      *
@@ -0,0 +1,93 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.image.io.large;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.media.jai.TiledImage;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test {@link LargeCache} used by many threads.
+ */
+public class LargeCacheTest extends org.geotoolkit.test.TestBase {
+
+    private static final int TILE_SIZE = 32;
+    private static final int NUM_TILES = 8;
+
+    /**
+     * Read tiles from many threads and verify that each thread gets the expected tile,
+     * and that statistics are updated.
+     */
+    @Test
+    public void concurrentGetTileTest() throws Exception {
+        final LargeCache cache = LargeCache.getInstance();
+        final ColorModel cm = new BufferedImage(1, 1, BufferedImage.TYPE_BYTE_GRAY).getColorModel();
+        final TiledImage image = new TiledImage(0, 0, TILE_SIZE * NUM_TILES, TILE_SIZE * NUM_TILES, 0, 0,
+                cm.createCompatibleSampleModel(TILE_SIZE, TILE_SIZE), cm);
+        try {
+            for (int ty = 0; ty < NUM_TILES; ty++) {
+                for (int tx = 0; tx < NUM_TILES; tx++) {
+                    final WritableRaster raster = Raster.createWritableRaster(image.getSampleModel(),
+                            new java.awt.Point(tx * TILE_SIZE, ty * TILE_SIZE));
+                    raster.setSample(tx * TILE_SIZE, ty * TILE_SIZE, 0, ty * NUM_TILES + tx);
+                    cache.add(image, tx, ty, raster);
+                }
+            }
+
+            final long hits = cache.getHitCount();
+            final ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                final List<Future<Object>> futures = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    futures.add(executor.submit(new Callable<Object>() {
+                        @Override
+                        public Object call() {
+                            for (int i = 0; i < 100; i++) {
+                                for (int ty = 0; ty < NUM_TILES; ty++) {
+                                    for (int tx = 0; tx < NUM_TILES; tx++) {
+                                        final Raster tile = cache.getTile(image, tx, ty);
+                                        assertEquals(ty * NUM_TILES + tx, tile.getSample(tile.getMinX(), tile.getMinY(), 0));
+                                    }
+                                }
+                            }
+                            return null;
+                        }
+                    }));
+                }
+                for (Future<Object> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            assertTrue(cache.getHitCount() > hits);
+            assertTrue(cache.getUsedMemory() > 0);
+        } finally {
+            cache.removeTiles(image);
+        }
+    }
+}
@@ -324,6 +324,38 @@ public final class DbaseFileReader implements Closeable{
 
     }
 
+    /**
+     * Move the cursor so that the next call to {@link #next()} returns the
+     * record at the given index. Unlike {@link #goTo(int)}, the record counter
+     * is updated, so {@link #hasNext()} stays valid after this call.
+     *
+     * @param index record index, starting at 0
+     * @throws IOException
+     * @throws UnsupportedOperationException if source is not a FileChannel
+     */
+    public void seek(final int index) throws IOException, UnsupportedOperationException {
+        if (!randomAccessEnabled) {
+            throw new UnsupportedOperationException("Random access not enabled!");
+        }
+        //place the cursor on the previous record, as if it had just been read
+        final int previous = Math.max(0, index - 1);
+        final long newPosition = header.getHeaderLength()
+                + header.getRecordLength() * (long) previous;
+
+        if (useMemoryMappedBuffer) {
+            buffer.position((int) newPosition);
+        } else {
+            final FileChannel fc = (FileChannel) channel;
+            fc.position(newPosition);
+            buffer.limit(buffer.capacity());
+            buffer.position(0);
+            fill(buffer, channel);
+            buffer.position(0);
+        }
+        cnt = index;
+        next = null;
+    }
+
     /**
      * If this method return true, then the index navigation (goto method) can be used.
      * @return true if source is a FileChannel
@@ -67,6 +67,16 @@ public final class Bundle extends IndexedResourceBundle {
          * GeoJSON
          */
         public static final short datastoreTitle = 6;
+
+        /**
+         * Spatial index
+         */
+        public static final short spatial_index = 7;
+
+        /**
+         * Build a sidecar index of feature positions and envelopes on first read (default false).
+         */
+        public static final short spatial_index_remarks = 8;
     }
 
     /**
@@ -31,11 +31,13 @@ import java.util.logging.Logger;
 import org.apache.sis.feature.builder.AttributeRole;
 import org.apache.sis.feature.builder.AttributeTypeBuilder;
 import org.apache.sis.feature.builder.FeatureTypeBuilder;
+import org.apache.sis.geometry.Envelopes;
 import org.apache.sis.internal.storage.ResourceOnFileSystem;
 import org.apache.sis.parameter.Parameters;
 import org.apache.sis.storage.DataStoreException;
 import org.apache.sis.storage.Query;
 import org.apache.sis.storage.UnsupportedQueryException;
+import org.apache.sis.util.Utilities;
 import org.apache.sis.util.logging.Logging;
 import org.geotoolkit.data.*;
 import static org.geotoolkit.data.AbstractFileFeatureStoreFactory.PATH;
@@ -56,6 +58,10 @@ import org.geotoolkit.data.query.QueryCapabilities;
 import org.geotoolkit.data.query.QueryUtilities;
 import org.geotoolkit.factory.Hints;
 import org.geotoolkit.factory.HintsPending;
+import org.geotoolkit.feature.FeatureExt;
+import org.geotoolkit.filter.visitor.ExtractBoundsFilterVisitor;
+import org.geotoolkit.geometry.jts.JTSEnvelope2D;
+import org.geotoolkit.index.tree.StoreIndexException;
 import org.geotoolkit.storage.DataStoreFactory;
 import org.geotoolkit.storage.DataStores;
 import org.geotoolkit.util.NamesExt;
@@ -63,10 +69,21 @@ import org.locationtech.jts.geom.*;
 import org.opengis.feature.Feature;
 import org.opengis.feature.FeatureType;
 import org.opengis.filter.Filter;
+import org.opengis.filter.Id;
 import org.opengis.filter.identity.FeatureId;
+import org.opengis.filter.identity.Identifier;
+import org.opengis.filter.spatial.BBOX;
+import org.opengis.filter.spatial.Contains;
+import org.opengis.filter.spatial.Crosses;
+import org.opengis.filter.spatial.Equals;
+import org.opengis.filter.spatial.Intersects;
+import org.opengis.filter.spatial.Overlaps;
+import org.opengis.filter.spatial.Touches;
+import org.opengis.filter.spatial.Within;
 import org.opengis.geometry.Envelope;
 import org.opengis.parameter.ParameterValueGroup;
 import org.opengis.referencing.crs.CoordinateReferenceSystem;
+import org.opengis.referencing.operation.TransformException;
 import org.opengis.util.GenericName;
 
 /**
@@ -77,6 +94,7 @@ public class GeoJSONFeatureStore extends AbstractFeatureStore implements Resourc
 
     private static final Logger LOGGER = Logging.getLogger("org.geotoolkit.data.geojson");
     private static final String DESC_FILE_SUFFIX = "_Type.json";
+    private static final String INDEX_FILE_SUFFIX = "_Index.bin";
 
     private final ReadWriteLock rwLock = new ReentrantReadWriteLock();
 
@@ -85,8 +103,11 @@ public class GeoJSONFeatureStore extends AbstractFeatureStore implements Resourc
     private FeatureType featureType;
     private Path descFile;
     private Path jsonFile;
+    private Path indexFile;
     private Integer coordAccuracy;
     private boolean isLocal = true;
+    private boolean useIndex;
+    private GeoJSONIndex index;
 
     public GeoJSONFeatureStore(final Path path, Integer coordAccuracy)
             throws DataStoreException {
@@ -101,6 +122,8 @@ public class GeoJSONFeatureStore extends AbstractFeatureStore implements Resourc
     public GeoJSONFeatureStore (final ParameterValueGroup params) throws DataStoreException {
         super(params);
         this.coordAccuracy = (Integer) params.parameter(COORDINATE_ACCURACY.getName().toString()).getValue();
+        final Parameters parameters = Parameters.castOrWrap(params);
+        this.useIndex = Boolean.TRUE.equals(parameters.getValue(SPATIAL_INDEX));
 
         final URI uri = (URI) params.parameter(PATH.getName().toString()).getValue();
 
@@ -124,6 +147,7 @@ public class GeoJSONFeatureStore extends AbstractFeatureStore implements Resourc
             String typeName = GeoJSONUtils.getNameWithoutExt(jsonFile);
             this.descFile = jsonFile.resolveSibling(typeName + DESC_FILE_SUFFIX);
         }
+        this.indexFile = jsonFile.resolveSibling(GeoJSONUtils.getNameWithoutExt(jsonFile) + INDEX_FILE_SUFFIX);
     }
 
     private static ParameterValueGroup toParameter(final URI uri, Integer coordAccuracy){
@@ -362,10 +386,85 @@ public class GeoJSONFeatureStore extends AbstractFeatureStore implements Resourc
         final org.geotoolkit.data.query.Query gquery = (org.geotoolkit.data.query.Query) query;
         typeCheck(gquery.getTypeName());
 
-        final FeatureReader fr = new GeoJSONReader(jsonFile, featureType, rwLock);
+        final int[] selection = useIndex ? selectFromIndex(gquery.getFilter()) : null;
+        final FeatureReader fr;
+        if (selection != null) {
+            fr = new GeoJSONIndexedReader(jsonFile, featureType, rwLock, index, selection);
+        } else {
+            fr = new GeoJSONReader(jsonFile, featureType, rwLock);
+        }
         return FeatureStreams.subset(fr, gquery);
     }
 
+    /**
+     * Search features which may match given filter using the sidecar index.
+     * Only identifier filters and spatial filters implying an envelope intersection
+     * are supported, the filter must still be applied on returned features.
+     *
+     * @return feature indexes in file order, or null if index can not be used
+     */
+    private int[] selectFromIndex(final Filter filter) throws DataStoreException {
+        final boolean spatial = filter instanceof BBOX || filter instanceof Intersects
+                || filter instanceof Contains || filter instanceof Within
+                || filter instanceof Overlaps || filter instanceof Crosses
+                || filter instanceof Touches || filter instanceof Equals;
+        if (!spatial && !(filter instanceof Id)) return null;
+
+        final GeoJSONIndex idx = getIndex();
+        if (idx == null) return null;
+
+        try {
+            if (filter instanceof Id) {
+                final List<String> ids = new ArrayList<>();
+                for (Identifier id : ((Id) filter).getIdentifiers()) {
+                    ids.add(String.valueOf(id.getID()));
+                }
+                return idx.search(ids);
+            }
+
+            Envelope bbox = (Envelope) filter.accept(ExtractBoundsFilterVisitor.BOUNDS_VISITOR, new JTSEnvelope2D());
+            if (bbox == null) {
+                //Filter.EXCLUDE
+                return new int[0];
+            }
+            if (bbox instanceof JTSEnvelope2D && ((JTSEnvelope2D) bbox).isNull()) return null;
+
+            final CoordinateReferenceSystem dataCrs = FeatureExt.getCRS(featureType);
+            final CoordinateReferenceSystem bboxCrs = bbox.getCoordinateReferenceSystem();
+            if (dataCrs != null && bboxCrs != null && !Utilities.equalsIgnoreMetadata(dataCrs, bboxCrs)) {
+                bbox = Envelopes.transform(bbox, dataCrs);
+            }
+            return idx.search(bbox.getMinimum(0), bbox.getMinimum(1), bbox.getMaximum(0), bbox.getMaximum(1));
+        } catch (TransformException | StoreIndexException ex) {
+            LOGGER.log(Level.INFO, "GeoJSON index not used : "+ex.getMessage(), ex);
+            return null;
+        }
+    }
+
+    /**
+     * Get sidecar index, building it if missing or outdated.
+     *
+     * @return index or null if file can not be indexed
+     */
+    private synchronized GeoJSONIndex getIndex() {
+        if (!isLocal) return null;
+        rwLock.readLock().lock();
+        try {
+            if (index == null || !index.isCurrent(jsonFile)) {
+                index = null;
+                if (Files.exists(jsonFile) && Files.size(jsonFile) != 0) {
+                    index = GeoJSONIndex.open(jsonFile, indexFile, FeatureExt.getCRS(featureType));
+                }
+            }
+        } catch (IOException | StoreIndexException ex) {
+            LOGGER.log(Level.WARNING, "Can not build GeoJSON index : "+ex.getMessage(), ex);
+            index = null;
+        } finally {
+            rwLock.readLock().unlock();
+        }
+        return index;
+    }
+
     /**
      * {@inheritDoc }
      */
@@ -458,6 +557,7 @@ public class GeoJSONFeatureStore extends AbstractFeatureStore implements Resourc
         rwLock.writeLock().lock();
         try {
             Files.deleteIfExists(descFile);
+            Files.deleteIfExists(indexFile);
             Files.deleteIfExists(jsonFile);
             Files.createFile(jsonFile);
         } catch (IOException e) {
@@ -515,6 +615,9 @@ public class GeoJSONFeatureStore extends AbstractFeatureStore implements Resourc
         if (Files.exists(descFile)) {
             files.add(descFile);
         }
+        if (Files.exists(indexFile)) {
+            files.add(indexFile);
+        }
         return files.toArray(new Path[files.size()]);
     }
 }
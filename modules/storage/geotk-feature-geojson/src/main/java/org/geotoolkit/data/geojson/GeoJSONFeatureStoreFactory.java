@@ -80,10 +80,20 @@ public class GeoJSONFeatureStoreFactory extends AbstractFileFeatureStoreFactory
             .setRequired(false)
             .create(Integer.class, 7);
 
+    /**
+     * Optional
+     */
+    public static final ParameterDescriptor<Boolean> SPATIAL_INDEX = new ParameterBuilder()
+            .addName("spatial_index")
+            .addName(Bundle.formatInternational(Bundle.Keys.spatial_index))
+            .setRemarks(Bundle.formatInternational(Bundle.Keys.spatial_index_remarks))
+            .setRequired(false)
+            .create(Boolean.class, false);
+
 
     public static final ParameterDescriptorGroup PARAMETERS_DESCRIPTOR =
             new ParameterBuilder().addName(NAME).addName("GeoJSONParameters").createGroup(
-                IDENTIFIER, PATH, COORDINATE_ACCURACY);
+                IDENTIFIER, PATH, COORDINATE_ACCURACY, SPATIAL_INDEX);
 
     /**
      * {@inheritDoc }
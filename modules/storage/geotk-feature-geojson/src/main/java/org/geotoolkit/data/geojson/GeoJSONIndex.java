@@ -0,0 +1,396 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.data.geojson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.sis.geometry.GeneralEnvelope;
+import org.apache.sis.referencing.CRS;
+import org.apache.sis.referencing.CommonCRS;
+import org.apache.sis.util.logging.Logging;
+import org.geotoolkit.data.geojson.binding.GeoJSONFeature;
+import org.geotoolkit.data.geojson.binding.GeoJSONObject;
+import org.geotoolkit.data.geojson.utils.GeoJSONMembres;
+import org.geotoolkit.data.geojson.utils.GeoJSONParser;
+import org.geotoolkit.data.geojson.utils.GeometryUtils;
+import org.geotoolkit.index.tree.StoreIndexException;
+import org.geotoolkit.index.tree.TreeElementMapper;
+import org.geotoolkit.index.tree.star.MemoryStarRTree;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+
+/**
+ * Sidecar index of a GeoJSON FeatureCollection file.
+ * For each feature, the index file stores its byte range in the json file, its
+ * identifier and its 2D envelope. Envelopes are loaded in an in-memory R-tree,
+ * so that spatial and identifier queries only parse matching features.
+ * <p>
+ * Index file is rebuilt when json file size or modification time changed.
+ *
+ * @module
+ */
+final class GeoJSONIndex {
+
+    private static final Logger LOGGER = Logging.getLogger("org.geotoolkit.data.geojson");
+
+    private static final int MAGIC = 0x474A4958; //GJIX
+    private static final int VERSION = 1;
+
+    /**
+     * Maximum number of elements per R-tree node.
+     */
+    private static final int MAX_ELEMENTS = 16;
+
+    private final long fileSize;
+    private final long fileModified;
+    private final long[] offsets;
+    private final int[] lengths;
+    private final String[] ids;
+    private final MemoryStarRTree<Integer> tree;
+    private Map<String,Integer> idIndex;
+
+    private GeoJSONIndex(long size, long modified, long[] offsets, int[] lengths, String[] ids,
+            double[][] bounds, CoordinateReferenceSystem crs) throws StoreIndexException {
+        this.fileSize = size;
+        this.fileModified = modified;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.ids = ids;
+
+        final CoordinateReferenceSystem crs2d = (crs == null) ? null : CRS.getHorizontalComponent(crs);
+        tree = new MemoryStarRTree<>(MAX_ELEMENTS, (crs2d != null) ? crs2d : CommonCRS.defaultGeographic(), new RecordMapper());
+        //features without geometry are never returned by a spatial query
+        tree.bulkLoad(new Iterator<Map.Entry<Integer, double[]>>() {
+            private int i = nextValid(0);
+
+            private int nextValid(int i) {
+                while (i < bounds.length && Double.isNaN(bounds[i][0])) i++;
+                return i;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return i < bounds.length;
+            }
+
+            @Override
+            public Map.Entry<Integer, double[]> next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                final Map.Entry<Integer, double[]> entry = new AbstractMap.SimpleImmutableEntry<>(i + 1, bounds[i]);
+                i = nextValid(i + 1);
+                return entry;
+            }
+        });
+    }
+
+    /**
+     * Open index of given json file, building it if missing or outdated.
+     *
+     * @param jsonFile GeoJSON file
+     * @param indexFile sidecar index file
+     * @param crs data crs
+     * @return index, or null if json file is not a FeatureCollection
+     */
+    static GeoJSONIndex open(Path jsonFile, Path indexFile, CoordinateReferenceSystem crs)
+            throws IOException, StoreIndexException {
+        final long size = Files.size(jsonFile);
+        final long modified = Files.getLastModifiedTime(jsonFile).toMillis();
+
+        if (Files.exists(indexFile)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+                if (in.readInt() == MAGIC && in.readInt() == VERSION
+                        && in.readLong() == size && in.readLong() == modified) {
+                    final int nb = in.readInt();
+                    final long[] offsets = new long[nb];
+                    final int[] lengths = new int[nb];
+                    final String[] ids = new String[nb];
+                    final double[][] bounds = new double[nb][];
+                    for (int i = 0; i < nb; i++) {
+                        offsets[i] = in.readLong();
+                        lengths[i] = in.readInt();
+                        ids[i] = in.readUTF();
+                        bounds[i] = new double[]{in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble()};
+                    }
+                    return new GeoJSONIndex(size, modified, offsets, lengths, ids, bounds, crs);
+                }
+            } catch (IOException ex) {
+                LOGGER.log(Level.INFO, "Invalid GeoJSON index "+indexFile+", it will be rebuilt : "+ex.getMessage());
+            }
+        }
+        return build(jsonFile, indexFile, crs, size, modified);
+    }
+
+    /**
+     * Parse the whole json file once and write index file.
+     */
+    private static GeoJSONIndex build(Path jsonFile, Path indexFile, CoordinateReferenceSystem crs,
+            long size, long modified) throws IOException, StoreIndexException {
+        int nb = 0;
+        long[] offsets = new long[1024];
+        int[] lengths = new int[1024];
+        String[] ids = new String[1024];
+        double[][] bounds = new double[1024][];
+
+        try (InputStream stream = Files.newInputStream(jsonFile);
+             JsonParser p = GeoJSONParser.FACTORY.createParser(stream)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) return null;
+            //search root features array
+            boolean found = false;
+            while (!found && p.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = p.getCurrentName();
+                p.nextToken();
+                if (GeoJSONMembres.FEATURES.equals(name) && p.getCurrentToken() == JsonToken.START_ARRAY) {
+                    found = true;
+                } else {
+                    p.skipChildren();
+                }
+            }
+            if (!found) return null;
+
+            while (p.nextToken() == JsonToken.START_OBJECT) {
+                final long start = p.getTokenLocation().getByteOffset();
+                final GeoJSONObject obj = GeoJSONParser.parseGeoJSONObject(p);
+                final long end = p.getCurrentLocation().getByteOffset();
+                if (start < 0 || end < start || end - start > Integer.MAX_VALUE) {
+                    throw new IOException("Can not compute feature position in "+jsonFile);
+                }
+                if (nb == offsets.length) {
+                    final int newLength = nb * 2;
+                    offsets = Arrays.copyOf(offsets, newLength);
+                    lengths = Arrays.copyOf(lengths, newLength);
+                    ids = Arrays.copyOf(ids, newLength);
+                    bounds = Arrays.copyOf(bounds, newLength);
+                }
+                final double[] bbox = new double[]{Double.NaN, Double.NaN, Double.NaN, Double.NaN};
+                String id = null;
+                if (obj instanceof GeoJSONFeature) {
+                    final GeoJSONFeature feature = (GeoJSONFeature) obj;
+                    if (feature.getId() != null) id = String.valueOf(feature.getId());
+                    if (feature.getGeometry() != null) {
+                        final Geometry geom = GeometryUtils.toJTS(feature.getGeometry(), crs);
+                        final Envelope env = (geom == null) ? null : geom.getEnvelopeInternal();
+                        if (env != null && !env.isNull()) {
+                            bbox[0] = env.getMinX();
+                            bbox[1] = env.getMinY();
+                            bbox[2] = env.getMaxX();
+                            bbox[3] = env.getMaxY();
+                        }
+                    }
+                }
+                offsets[nb] = start;
+                lengths[nb] = (int) (end - start);
+                //same default identifier as GeoJSONReader
+                ids[nb] = (id != null) ? id : String.valueOf(nb);
+                bounds[nb] = bbox;
+                nb++;
+            }
+        }
+
+        offsets = Arrays.copyOf(offsets, nb);
+        lengths = Arrays.copyOf(lengths, nb);
+        ids = Arrays.copyOf(ids, nb);
+        bounds = Arrays.copyOf(bounds, nb);
+        write(indexFile, size, modified, offsets, lengths, ids, bounds);
+        return new GeoJSONIndex(size, modified, offsets, lengths, ids, bounds, crs);
+    }
+
+    private static void write(Path indexFile, long size, long modified, long[] offsets,
+            int[] lengths, String[] ids, double[][] bounds) {
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(indexFile.toAbsolutePath().getParent(), "geojson", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(size);
+                out.writeLong(modified);
+                out.writeInt(offsets.length);
+                for (int i = 0; i < offsets.length; i++) {
+                    out.writeLong(offsets[i]);
+                    out.writeInt(lengths[i]);
+                    out.writeUTF(ids[i]);
+                    for (double d : bounds[i]) out.writeDouble(d);
+                }
+            }
+            Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            //index is still usable in memory
+            LOGGER.log(Level.INFO, "Can not write GeoJSON index "+indexFile+" : "+ex.getMessage());
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    LOGGER.log(Level.FINE, e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if json file has not been modified since index creation
+     */
+    boolean isCurrent(Path jsonFile) throws IOException {
+        return Files.size(jsonFile) == fileSize
+            && Files.getLastModifiedTime(jsonFile).toMillis() == fileModified;
+    }
+
+    /**
+     * @return number of indexed features
+     */
+    int size() {
+        return offsets.length;
+    }
+
+    /**
+     * Search features whose envelope intersects given 2D envelope, expressed in data crs.
+     *
+     * @return feature indexes in file order
+     */
+    int[] search(double minX, double minY, double maxX, double maxY) throws StoreIndexException {
+        final int[] result = tree.searchID(new GeneralEnvelope(new double[]{minX, minY}, new double[]{maxX, maxY}));
+        for (int i = 0; i < result.length; i++) {
+            result[i]--;
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Search features by identifier.
+     *
+     * @return feature indexes in file order
+     */
+    synchronized int[] search(Iterable<String> identifiers) {
+        if (idIndex == null) {
+            idIndex = new HashMap<>(ids.length * 4 / 3 + 1);
+            for (int i = ids.length - 1; i >= 0; i--) {
+                idIndex.put(ids[i], i);
+            }
+        }
+        int[] result = new int[8];
+        int nb = 0;
+        for (String id : identifiers) {
+            final Integer index = idIndex.get(id);
+            if (index != null) {
+                if (nb == result.length) result = Arrays.copyOf(result, nb * 2);
+                result[nb++] = index;
+            }
+        }
+        result = Arrays.copyOf(result, nb);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Read and parse a single feature.
+     *
+     * @param channel channel opened on json file
+     * @param index feature index
+     * @return parsed feature
+     */
+    GeoJSONObject read(SeekableByteChannel channel, int index) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(lengths[index]);
+        channel.position(offsets[index]);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Unexpected end of file, GeoJSON index is outdated.");
+            }
+        }
+        try (JsonParser p = GeoJSONParser.FACTORY.createParser(buffer.array())) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("No feature at indexed position, GeoJSON index is outdated.");
+            }
+            return GeoJSONParser.parseGeoJSONObject(p);
+        }
+    }
+
+    /**
+     * Open a channel to read features.
+     */
+    static SeekableByteChannel openChannel(Path jsonFile) throws IOException {
+        return Files.newByteChannel(jsonFile, StandardOpenOption.READ);
+    }
+
+    /**
+     * Tree identifiers are feature indexes plus one, no object is stored.
+     */
+    private static final class RecordMapper implements TreeElementMapper<Integer> {
+
+        @Override
+        public int getTreeIdentifier(Integer object) {
+            return object + 1;
+        }
+
+        @Override
+        public org.opengis.geometry.Envelope getEnvelope(Integer object) {
+            throw new UnsupportedOperationException("Envelopes are only bulk loaded.");
+        }
+
+        @Override
+        public void setTreeIdentifier(Integer object, int treeIdentifier) {
+        }
+
+        @Override
+        public Integer getObjectFromTreeIdentifier(int treeIdentifier) {
+            return treeIdentifier - 1;
+        }
+
+        @Override
+        public Map<Integer, Integer> getFullMap() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public void clear() {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean isClosed() {
+            return false;
+        }
+    }
+}
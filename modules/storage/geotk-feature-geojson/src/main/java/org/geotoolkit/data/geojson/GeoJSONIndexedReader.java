@@ -0,0 +1,106 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.data.geojson;
+
+import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.sis.util.logging.Logging;
+import org.geotoolkit.data.FeatureStoreRuntimeException;
+import org.geotoolkit.data.geojson.binding.GeoJSONFeature;
+import org.geotoolkit.data.geojson.binding.GeoJSONObject;
+import org.opengis.feature.Feature;
+import org.opengis.feature.FeatureType;
+
+/**
+ * Read only the features selected by a {@link GeoJSONIndex} search,
+ * seeking directly to each feature position in json file.
+ *
+ * @module
+ */
+class GeoJSONIndexedReader extends GeoJSONReader {
+
+    private static final Logger LOGGER = Logging.getLogger("org.geotoolkit.data.geojson");
+
+    private final GeoJSONIndex index;
+    private final int[] selection;
+    private int selectionIdx = 0;
+    private SeekableByteChannel channel;
+
+    /**
+     * @param selection feature indexes to read, in file order
+     */
+    GeoJSONIndexedReader(Path jsonFile, FeatureType featureType, ReadWriteLock rwLock,
+            GeoJSONIndex index, int[] selection) {
+        super(jsonFile, featureType, rwLock);
+        this.index = index;
+        this.selection = selection;
+    }
+
+    @Override
+    public boolean hasNext() throws FeatureStoreRuntimeException {
+        read();
+        return current != null;
+    }
+
+    @Override
+    public Feature next() throws FeatureStoreRuntimeException {
+        read();
+        final Feature ob = current;
+        current = null;
+        if (ob == null) {
+            throw new FeatureStoreRuntimeException("No more records.");
+        }
+        return ob;
+    }
+
+    private void read() throws FeatureStoreRuntimeException {
+        if (current != null) return;
+
+        rwlock.readLock().lock();
+        try {
+            while (current == null && selectionIdx < selection.length) {
+                if (channel == null) {
+                    channel = GeoJSONIndex.openChannel(jsonFile);
+                }
+                currentFeatureIdx = selection[selectionIdx++];
+                final GeoJSONObject obj = index.read(channel, currentFeatureIdx);
+                if (obj instanceof GeoJSONFeature) {
+                    current = toFeature((GeoJSONFeature) obj);
+                }
+            }
+        } catch (IOException e) {
+            throw new FeatureStoreRuntimeException(e);
+        } finally {
+            rwlock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Cannot close a read resource.", e);
+            }
+        }
+    }
+}
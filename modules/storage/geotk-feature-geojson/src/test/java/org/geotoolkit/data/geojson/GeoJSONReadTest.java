@@ -3,8 +3,13 @@ package org.geotoolkit.data.geojson;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import org.apache.sis.feature.builder.AttributeRole;
 import org.apache.sis.feature.builder.FeatureTypeBuilder;
 import org.apache.sis.internal.feature.AttributeConvention;
@@ -17,6 +22,8 @@ import org.geotoolkit.data.geojson.binding.GeoJSONObject;
 import org.geotoolkit.data.geojson.utils.GeoJSONParser;
 import org.geotoolkit.data.query.QueryBuilder;
 import org.geotoolkit.data.session.Session;
+import org.geotoolkit.factory.FactoryFinder;
+import org.geotoolkit.nio.IOUtilities;
 import org.geotoolkit.storage.DataStores;
 import org.geotoolkit.util.NamesExt;
 import static org.junit.Assert.*;
@@ -26,6 +33,7 @@ import org.opengis.feature.AttributeType;
 import org.opengis.feature.Feature;
 import org.opengis.feature.FeatureType;
 import org.opengis.feature.PropertyType;
+import org.opengis.filter.FilterFactory;
 import org.opengis.parameter.ParameterValueGroup;
 import org.opengis.util.GenericName;
 
@@ -309,6 +317,93 @@ public class GeoJSONReadTest extends org.geotoolkit.test.TestBase {
         assertEquals(853555090789l, feature.getPropertyValue("size"));
     }
 
+    /**
+     * Test spatial queries using the sidecar index.
+     */
+    @Test
+    public void readIndexedTest() throws DataStoreException, URISyntaxException, IOException {
+        URL fcFile = GeoJSONReadTest.class.getResource("/org/geotoolkit/geojson/featurecollection.json");
+        Path dir = Files.createTempDirectory("geojson");
+        try {
+            Path jsonFile = Files.copy(Paths.get(fcFile.toURI()), dir.resolve("featurecollection.json"));
+
+            ParameterValueGroup param = PARAMETERS_DESCRIPTOR.createValue();
+            param.parameter(PATH.getName().getCode()).setValue(jsonFile.toUri());
+            param.parameter(SPATIAL_INDEX.getName().getCode()).setValue(true);
+            FeatureStore store = (FeatureStore) DataStores.open(param);
+            assertNotNull(store);
+            GenericName name = store.getNames().iterator().next();
+
+            final FilterFactory ff = FactoryFinder.getFilterFactory(null);
+            Session session = store.createSession(false);
+            FeatureCollection fcoll = session.getFeatureCollection(QueryBuilder.filtered(name.toString(),
+                    ff.bbox("geometry", -80.88, 35.21, -80.86, 35.22, "CRS:84")));
+            assertEquals(1, fcoll.size());
+            FeatureIterator ite = fcoll.iterator();
+            assertEquals("ABBOTT NEIGHBORHOOD PARK", ite.next().getPropertyValue("name"));
+            ite.close();
+            assertTrue(Files.exists(dir.resolve("featurecollection_Index.bin")));
+
+            //index file is reused
+            fcoll = session.getFeatureCollection(QueryBuilder.filtered(name.toString(),
+                    ff.bbox("geometry", -81, 35, -80, 36, "CRS:84")));
+            assertEquals(7, fcoll.size());
+            fcoll = session.getFeatureCollection(QueryBuilder.filtered(name.toString(),
+                    ff.bbox("geometry", 0, 0, 1, 1, "CRS:84")));
+            assertEquals(0, fcoll.size());
+            store.close();
+        } finally {
+            IOUtilities.deleteRecursively(dir);
+        }
+    }
+
+    /**
+     * Test identifier queries using the sidecar index.
+     */
+    @Test
+    public void readIndexedIdTest() throws DataStoreException, IOException {
+        final StringBuilder json = new StringBuilder("{\"type\": \"FeatureCollection\", \"features\": [");
+        for (int i = 0; i < 5; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"type\": \"Feature\", \"id\": \"f").append(i).append("\",")
+                .append(" \"geometry\": {\"type\": \"Point\", \"coordinates\": [").append(i).append(", ").append(i).append("]},")
+                .append(" \"properties\": {\"id\": \"f").append(i).append("\", \"name\": \"Point").append(i).append("\"}}");
+        }
+        json.append("]}");
+
+        Path dir = Files.createTempDirectory("geojson");
+        try {
+            Path jsonFile = Files.write(dir.resolve("points.json"), json.toString().getBytes(StandardCharsets.UTF_8));
+
+            ParameterValueGroup param = PARAMETERS_DESCRIPTOR.createValue();
+            param.parameter(PATH.getName().getCode()).setValue(jsonFile.toUri());
+            param.parameter(SPATIAL_INDEX.getName().getCode()).setValue(true);
+            FeatureStore store = (FeatureStore) DataStores.open(param);
+            assertNotNull(store);
+            GenericName name = store.getNames().iterator().next();
+
+            final FilterFactory ff = FactoryFinder.getFilterFactory(null);
+            Session session = store.createSession(false);
+            FeatureCollection fcoll = session.getFeatureCollection(QueryBuilder.filtered(name.toString(),
+                    ff.id(new HashSet<>(Arrays.asList(ff.featureId("f3"), ff.featureId("f1"))))));
+            assertEquals(2, fcoll.size());
+            FeatureIterator ite = fcoll.iterator();
+            //features are returned in file order
+            assertEquals("Point1", ite.next().getPropertyValue("name"));
+            assertEquals("Point3", ite.next().getPropertyValue("name"));
+            assertFalse(ite.hasNext());
+            ite.close();
+            assertTrue(Files.exists(dir.resolve("points_Index.bin")));
+
+            fcoll = session.getFeatureCollection(QueryBuilder.filtered(name.toString(),
+                    ff.id(Collections.singleton(ff.featureId("unknown")))));
+            assertEquals(0, fcoll.size());
+            store.close();
+        } finally {
+            IOUtilities.deleteRecursively(dir);
+        }
+    }
+
     /**
      * Test GeoJSONParser full and lazy reading on FeatureCollection
      */
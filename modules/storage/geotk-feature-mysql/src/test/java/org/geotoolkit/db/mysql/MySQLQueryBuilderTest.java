@@ -0,0 +1,80 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.db.mysql;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.sis.feature.builder.FeatureTypeBuilder;
+import org.apache.sis.parameter.Parameters;
+import org.apache.sis.referencing.CommonCRS;
+import org.geotoolkit.db.dialect.SQLQueryBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Point;
+import org.opengis.feature.AttributeType;
+import org.opengis.feature.FeatureType;
+
+import static org.geotoolkit.db.mysql.MySQLFeatureStoreFactory.*;
+import static org.junit.Assert.*;
+
+/**
+ * Test insert strategy of the query builder, no database is needed.
+ *
+ * @module
+ */
+public class MySQLQueryBuilderTest extends org.geotoolkit.test.TestBase {
+
+    private SQLQueryBuilder builder;
+    private FeatureType type;
+
+    @Before
+    public void setUp() {
+        final Parameters params = Parameters.castOrWrap(PARAMETERS_DESCRIPTOR.createValue());
+        final MySQLFeatureStore store = new MySQLFeatureStore(params, NAME);
+        store.setDialect(new MySQLDialect(store));
+        builder = new SQLQueryBuilder(store);
+
+        final FeatureTypeBuilder ftb = new FeatureTypeBuilder();
+        ftb.setName("road");
+        ftb.addAttribute(Integer.class).setName("id");
+        ftb.addAttribute(String.class).setName("name");
+        ftb.addAttribute(Point.class).setName("geom").setCRS(CommonCRS.WGS84.normalizedGeographic());
+        type = ftb.build();
+    }
+
+    /**
+     * Simple values are bound as statement parameters.
+     */
+    @Test
+    public void insertPreparedTest() {
+        final List<AttributeType> columns = new ArrayList<>();
+        columns.add((AttributeType) type.getProperty("id"));
+        columns.add((AttributeType) type.getProperty("name"));
+        assertTrue(builder.canInsertPrepared(columns));
+    }
+
+    /**
+     * MySQL dialect can not bind geometries, they must be inserted as literals.
+     */
+    @Test
+    public void insertGeometryLiteralTest() {
+        final List<AttributeType> columns = new ArrayList<>();
+        columns.add((AttributeType) type.getProperty("id"));
+        columns.add((AttributeType) type.getProperty("geom"));
+        assertFalse(builder.canInsertPrepared(columns));
+    }
+}
@@ -29,10 +29,12 @@ import org.locationtech.jts.geom.MultiPolygon;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.locationtech.jts.io.WKBWriter;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.sql.SQLException;
 import java.util.logging.Level;
-import org.postgis.binary.ByteGetter;
-import org.postgis.binary.ValueGetter;
+import org.geotoolkit.geometry.jts.coordinatesequence.LiteCoordinateSequence;
 import static org.postgis.Geometry.*;
 
 /**
@@ -40,7 +42,8 @@ import static org.postgis.Geometry.*;
  * http://postgis.net/docs/using_postgis_dbmanagement.html#EWKB_EWKT
  *
  * This format is the natural form returned by a query selection a geometry field
- * whithout using any ST_X method.
+ * whithout using any ST_X method. Binary EWKB, returned by ST_AsEWKB, is
+ * decoded the same way without the hexadecimal conversion.
  *
  * @author Johann Sorel (Geomatys)
  */
@@ -51,35 +54,100 @@ final class PostgisHexEWKB {
     private static final int MASK_SRID      = 0x20000000;
     private static final int MASK_GEOMTYPE  = 0x1FFFFFFF;
 
+    private static final byte XDR = 0;
+    private static final byte NDR = 1;
+
     private final GeometryFactory gf;
     private final PostgresDialect dialect;
 
+    /**
+     * @param gf factory used to create geometries
+     * @param dialect used to decode geometries CRS, null to only set geometries SRID
+     */
     PostgisHexEWKB(final GeometryFactory gf, final PostgresDialect dialect) {
         this.dialect = dialect;
         this.gf = gf;
     }
 
+    /**
+     * Encode geometry in binary EWKB, the form expected by PostGIS geometry input
+     * functions and binary COPY. Coordinates are written in 2D.
+     *
+     * @param geom geometry to encode, not null
+     * @param srid geometry srid, ignored if not strictly positive
+     * @return EWKB bytes
+     */
+    static byte[] write(final Geometry geom, final int srid) {
+        //default writer byte order is big endian
+        final byte[] wkb = new WKBWriter(2).write(geom);
+        if (srid <= 0) {
+            return wkb;
+        }
+        final ByteBuffer ewkb = ByteBuffer.allocate(wkb.length + 4);
+        ewkb.put(wkb[0]);
+        ewkb.putInt(ByteBuffer.wrap(wkb, 1, 4).getInt() | MASK_SRID);
+        ewkb.putInt(srid);
+        ewkb.put(wkb, 5, wkb.length - 5);
+        return ewkb.array();
+    }
+
+    /**
+     * Decode a geometry in hexadecimal EWKB.
+     *
+     * @param value hexadecimal EWKB, can be null
+     * @return decoded geometry or null
+     */
     public Geometry read(final String value) {
         if(value == null) return null;
 
-        final ByteGetter.StringByteGetter bytes = new ByteGetter.StringByteGetter(value);
-        final ValueGetter vg;
-        final int endianess = bytes.get(0);
-        if(endianess == ValueGetter.XDR.NUMBER){
-            vg = new ValueGetter.XDR(bytes);
-        }else if(endianess == ValueGetter.NDR.NUMBER){
-            vg = new ValueGetter.NDR(bytes);
-        }else{
-            throw new IllegalArgumentException("Illegal endianess value : " + endianess);
+        final int length = value.length() / 2;
+        final byte[] bytes = new byte[length];
+        for(int i=0,k=0; i<length; i++,k+=2){
+            bytes[i] = (byte) ((hexValue(value.charAt(k)) << 4) | hexValue(value.charAt(k+1)));
         }
+        return read(bytes);
+    }
+
+    /**
+     * Decode a geometry in binary EWKB, as returned by a ST_AsEWKB selection.
+     * Coordinates are read directly from the given array.
+     *
+     * @param value binary EWKB, can be null
+     * @return decoded geometry or null
+     */
+    public Geometry read(final byte[] value) {
+        if(value == null) return null;
+        final Geometry geom = readGeometry(ByteBuffer.wrap(value), 0);
 
-        return readGeometry(vg,0);
+        //parts share the srid of the geometry, only the main geometry gets the crs
+        final int srid = geom.getSRID();
+        if(srid > 0 && dialect != null){
+            try {
+                //set the real crs
+                geom.setUserData(dialect.decodeCRS(srid, null));
+            } catch (SQLException ex) {
+                dialect.getFeaturestore().getLogger().log(Level.WARNING, ex.getLocalizedMessage(),ex);
+            }
+        }
+        return geom;
+    }
+
+    private static int hexValue(final char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        throw new IllegalArgumentException("Illegal hexadecimal character : " + c);
     }
 
-    private Geometry readGeometry(final ValueGetter data, int srid) {
-        byte endian = data.getByte(); // skip and test endian flag
-        if (endian != data.endian) {
-            throw new IllegalArgumentException("Endian inconsistency!");
+    private Geometry readGeometry(final ByteBuffer data, int srid) {
+        //each geometry, even in collections, defines it's own byte order
+        final byte endian = data.get();
+        if(endian == XDR){
+            data.order(ByteOrder.BIG_ENDIAN);
+        }else if(endian == NDR){
+            data.order(ByteOrder.LITTLE_ENDIAN);
+        }else{
+            throw new IllegalArgumentException("Illegal endianess value : " + endian);
         }
 
         //parse flags
@@ -107,18 +175,10 @@ final class PostgisHexEWKB {
         }
 
         geom.setSRID(srid);
-        if(srid >= 0){
-            try {
-                //set the real crs
-                geom.setUserData(dialect.decodeCRS(srid, null));
-            } catch (SQLException ex) {
-                dialect.getFeaturestore().getLogger().log(Level.WARNING, ex.getLocalizedMessage(),ex);
-            }
-        }
         return geom;
     }
 
-    private Point readPoint(final ValueGetter data, final int nbDim) {
+    private Point readPoint(final ByteBuffer data, final int nbDim) {
         switch(nbDim){
             case 2:
                 return gf.createPoint(new Coordinate(data.getDouble(),data.getDouble()));
@@ -136,18 +196,21 @@ final class PostgisHexEWKB {
         }
     }
 
-    private CoordinateSequence readCS(final ValueGetter data, final int nbDim) {
+    private CoordinateSequence readCS(final ByteBuffer data, final int nbDim) {
         final int nb = data.getInt();
-        final CoordinateSequence cs = new PackedCoordinateSequence.Double(nb, nbDim);
-        for(int index=0; index<nb; index++){
-            for(int ordinal=0; ordinal<nbDim; ordinal++){
-                cs.setOrdinate(index, ordinal, data.getDouble());
-            }
+        //bulk copy of the ordinates in a packed array
+        final double[] coords = new double[nb*nbDim];
+        final int position = data.position();
+        data.asDoubleBuffer().get(coords);
+        data.position(position + coords.length*Double.BYTES);
+        if(nbDim == 2){
+            return new LiteCoordinateSequence(coords);
+        }else{
+            return new PackedCoordinateSequence.Double(coords, nbDim);
         }
-        return cs;
     }
 
-    private MultiPoint readMultiPoint(final ValueGetter data, final int srid) {
+    private MultiPoint readMultiPoint(final ByteBuffer data, final int srid) {
         final Point[] geoms = new Point[data.getInt()];
         for(int i=0; i<geoms.length; i++){
             geoms[i]=(Point)readGeometry(data, srid);
@@ -155,15 +218,15 @@ final class PostgisHexEWKB {
         return gf.createMultiPoint(geoms);
     }
 
-    private LineString readLineString(final ValueGetter data, final int nbDim) {
+    private LineString readLineString(final ByteBuffer data, final int nbDim) {
         return gf.createLineString(readCS(data, nbDim));
     }
 
-    private LinearRing readLinearRing(final ValueGetter data, final int nbDim) {
+    private LinearRing readLinearRing(final ByteBuffer data, final int nbDim) {
         return gf.createLinearRing(readCS(data, nbDim));
     }
 
-    private Polygon readPolygon(final ValueGetter data, final int nbDim, final int srid) {
+    private Polygon readPolygon(final ByteBuffer data, final int nbDim, final int srid) {
         final LinearRing[] inners = new LinearRing[data.getInt()-1];
         final LinearRing outter = readLinearRing(data, nbDim);
         outter.setSRID(srid);
@@ -174,7 +237,7 @@ final class PostgisHexEWKB {
         return gf.createPolygon(outter, inners);
     }
 
-    private MultiLineString readMultiLineString(final ValueGetter data, final int srid) {
+    private MultiLineString readMultiLineString(final ByteBuffer data, final int srid) {
         final LineString[] geoms = new LineString[data.getInt()];
         for(int i=0; i<geoms.length; i++){
             geoms[i]=(LineString)readGeometry(data, srid);
@@ -182,7 +245,7 @@ final class PostgisHexEWKB {
         return gf.createMultiLineString(geoms);
     }
 
-    private MultiPolygon readMultiPolygon(final ValueGetter data, final int srid) {
+    private MultiPolygon readMultiPolygon(final ByteBuffer data, final int srid) {
         final Polygon[] geoms = new Polygon[data.getInt()];
         for(int i=0; i<geoms.length; i++){
             geoms[i]=(Polygon)readGeometry(data, srid);
@@ -190,10 +253,10 @@ final class PostgisHexEWKB {
         return gf.createMultiPolygon(geoms);
     }
 
-    private GeometryCollection readCollection(final ValueGetter data, final int srid) {
+    private GeometryCollection readCollection(final ByteBuffer data, final int srid) {
         final Geometry[] geoms = new Geometry[data.getInt()];
         for(int i=0; i<geoms.length; i++){
-            geoms[i]=(Point)readGeometry(data, srid);
+            geoms[i]=readGeometry(data, srid);
         }
         return gf.createGeometryCollection(geoms);
     }
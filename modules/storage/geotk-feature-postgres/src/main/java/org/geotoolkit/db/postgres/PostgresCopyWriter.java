@@ -0,0 +1,292 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.db.postgres;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import org.apache.sis.storage.DataStoreException;
+import org.apache.sis.util.ObjectConverters;
+import org.apache.sis.util.UnconvertibleObjectException;
+import org.geotoolkit.db.JDBCFeatureStoreUtilities;
+import org.geotoolkit.db.dialect.SQLQueryBuilder;
+import org.locationtech.jts.geom.Geometry;
+import org.opengis.feature.AttributeType;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+/**
+ * Bulk loading of rows with a binary COPY.
+ * http://www.postgresql.org/docs/current/static/sql-copy.html
+ *
+ * Each value is written in the binary form of its column type, geometries
+ * are streamed in EWKB. Only column types with a simple binary form are
+ * supported, {@link #write(java.util.Collection, java.sql.Connection) }
+ * returns false for any other table.
+ *
+ * @module
+ */
+final class PostgresCopyWriter {
+
+    private static final byte[] SIGNATURE = {'P','G','C','O','P','Y','\n',(byte)0xFF,'\r','\n',0};
+    private static final int BUFFER_SIZE = 65536;
+
+    private static final LocalDate DATE_EPOCH = LocalDate.of(2000, 1, 1);
+    private static final LocalDateTime TIMESTAMP_EPOCH = DATE_EPOCH.atStartOfDay();
+    private static final Instant INSTANT_EPOCH = Instant.parse("2000-01-01T00:00:00Z");
+
+    private static final int BOOL           = 1;
+    private static final int INT2           = 2;
+    private static final int INT4           = 3;
+    private static final int INT8           = 4;
+    private static final int FLOAT4         = 5;
+    private static final int FLOAT8         = 6;
+    private static final int TEXT           = 7;
+    private static final int BYTEA          = 8;
+    private static final int DATE           = 9;
+    private static final int TIMESTAMP      = 10;
+    private static final int TIMESTAMPTZ    = 11;
+    private static final int GEOMETRY       = 12;
+
+    private final PostgresDialect dialect;
+    private final String schemaName;
+    private final String tableName;
+    private final List<AttributeType> columns;
+
+    PostgresCopyWriter(final PostgresDialect dialect, final String schemaName,
+            final String tableName, final List<AttributeType> columns) {
+        this.dialect = dialect;
+        this.schemaName = schemaName;
+        this.tableName = tableName;
+        this.columns = columns;
+    }
+
+    /**
+     * Copy rows in the table.
+     *
+     * @param rows row values, in column order
+     * @param cx connection to use
+     * @return false if there are no columns or if a column type has no binary encoding,
+     *         nothing is written in this case
+     */
+    boolean write(final Collection<Object[]> rows, final Connection cx) throws SQLException, DataStoreException {
+        if (columns.isEmpty()) {
+            //all values are generated by the database, COPY requires at least one column
+            return false;
+        }
+        final int[] types = getColumnTypes(cx);
+        if (types == null) {
+            return false;
+        }
+        if (rows.isEmpty()) {
+            return true;
+        }
+
+        final StringBuilder sql = new StringBuilder("COPY ");
+        dialect.encodeSchemaAndTableName(sql, schemaName, tableName);
+        sql.append(" (");
+        for (AttributeType column : columns) {
+            dialect.encodeColumnName(sql, column.getName().tip().toString());
+            sql.append(',');
+        }
+        sql.setLength(sql.length() - 1);
+        sql.append(") FROM STDIN (FORMAT BINARY)");
+
+        final PGCopyOutputStream stream = new PGCopyOutputStream(cx.unwrap(PGConnection.class), sql.toString(), BUFFER_SIZE);
+        try {
+            final DataOutputStream out = new DataOutputStream(stream);
+            //header : signature, flags, header extension length
+            out.write(SIGNATURE);
+            out.writeInt(0);
+            out.writeInt(0);
+
+            for (Object[] row : rows) {
+                out.writeShort(row.length);
+                for (int i=0; i<row.length; i++) {
+                    writeValue(out, types[i], columns.get(i), row[i]);
+                }
+            }
+            //trailer
+            out.writeShort(-1);
+            out.flush();
+            stream.endCopy();
+        } catch (IOException | UnconvertibleObjectException | ClassCastException ex) {
+            throw new DataStoreException("Failed to copy rows in table "+tableName+" : "+ex.getMessage(), ex);
+        } finally {
+            if (stream.isActive()) {
+                stream.cancelCopy();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find the binary encoding of each column, using an empty selection on the table.
+     *
+     * @return column encodings or null if one column can not be copied
+     */
+    private int[] getColumnTypes(final Connection cx) throws SQLException {
+        final StringBuilder sql = new StringBuilder("SELECT ");
+        for (AttributeType column : columns) {
+            dialect.encodeColumnName(sql, column.getName().tip().toString());
+            sql.append(',');
+        }
+        sql.setLength(sql.length() - 1);
+        sql.append(" FROM ");
+        dialect.encodeSchemaAndTableName(sql, schemaName, tableName);
+        sql.append(" LIMIT 0");
+
+        final int[] types = new int[columns.size()];
+        Statement stmt = null;
+        ResultSet rs = null;
+        try {
+            stmt = cx.createStatement();
+            rs = stmt.executeQuery(sql.toString());
+            final ResultSetMetaData meta = rs.getMetaData();
+            for (int i=0; i<types.length; i++) {
+                types[i] = toBinaryType(meta.getColumnTypeName(i+1));
+                if (types[i] == 0) {
+                    return null;
+                }
+            }
+        } finally {
+            JDBCFeatureStoreUtilities.closeSafe(dialect.getFeaturestore().getLogger(), null, stmt, rs);
+        }
+        return types;
+    }
+
+    private static int toBinaryType(final String typeName) {
+        switch (typeName) {
+            case "bool" :           return BOOL;
+            case "int2" :           return INT2;
+            case "int4" :
+            case "serial" :         return INT4;
+            case "int8" :
+            case "bigserial" :      return INT8;
+            case "float4" :         return FLOAT4;
+            case "float8" :         return FLOAT8;
+            case "text" :
+            case "varchar" :
+            case "bpchar" :         return TEXT;
+            case "bytea" :          return BYTEA;
+            case "date" :           return DATE;
+            case "timestamp" :      return TIMESTAMP;
+            case "timestamptz" :    return TIMESTAMPTZ;
+            case "geometry" :       return GEOMETRY;
+            default :               return 0;
+        }
+    }
+
+    private void writeValue(final DataOutputStream out, final int type,
+            final AttributeType column, final Object value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        switch (type) {
+            case BOOL :
+                out.writeInt(1);
+                out.writeBoolean(ObjectConverters.convert(value, Boolean.class));
+                break;
+            case INT2 :
+                out.writeInt(2);
+                out.writeShort(ObjectConverters.convert(value, Short.class));
+                break;
+            case INT4 :
+                out.writeInt(4);
+                out.writeInt(ObjectConverters.convert(value, Integer.class));
+                break;
+            case INT8 :
+                out.writeInt(8);
+                out.writeLong(ObjectConverters.convert(value, Long.class));
+                break;
+            case FLOAT4 :
+                out.writeInt(4);
+                out.writeFloat(ObjectConverters.convert(value, Float.class));
+                break;
+            case FLOAT8 :
+                out.writeInt(8);
+                out.writeDouble(ObjectConverters.convert(value, Double.class));
+                break;
+            case TEXT :
+                writeBytes(out, value.toString().getBytes(StandardCharsets.UTF_8));
+                break;
+            case BYTEA :
+                writeBytes(out, (byte[]) value);
+                break;
+            case DATE : {
+                //days since 2000-01-01
+                final LocalDate date = new java.sql.Date(((Date) value).getTime()).toLocalDate();
+                out.writeInt(4);
+                out.writeInt((int) ChronoUnit.DAYS.between(DATE_EPOCH, date));
+                break;
+            }
+            case TIMESTAMP : {
+                //microseconds since 2000-01-01, local time as with JDBC
+                final LocalDateTime time = toTimestamp(value).toLocalDateTime();
+                out.writeInt(8);
+                out.writeLong(ChronoUnit.MICROS.between(TIMESTAMP_EPOCH, time));
+                break;
+            }
+            case TIMESTAMPTZ : {
+                //microseconds since 2000-01-01 UTC
+                final Instant time = toTimestamp(value).toInstant();
+                out.writeInt(8);
+                out.writeLong(ChronoUnit.MICROS.between(INSTANT_EPOCH, time));
+                break;
+            }
+            case GEOMETRY : {
+                final Geometry geom = (Geometry) value;
+                final byte[] ewkb = dialect.encodeGeometryEWKB(geom, SQLQueryBuilder.getGeometrySRID(geom, column));
+                if (ewkb == null) {
+                    out.writeInt(-1);
+                } else {
+                    writeBytes(out, ewkb);
+                }
+                break;
+            }
+            default :
+                throw new IOException("Unexpected binary type "+type);
+        }
+    }
+
+    private static Timestamp toTimestamp(final Object value) {
+        if (value instanceof Timestamp) {
+            return (Timestamp) value;
+        }
+        return new Timestamp(((Date) value).getTime());
+    }
+
+    private static void writeBytes(final DataOutputStream out, final byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+}
@@ -32,16 +32,20 @@ import java.lang.reflect.Array;
 import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.Date;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import net.iharder.Base64;
 import org.geotoolkit.feature.FeatureExt;
@@ -128,6 +132,7 @@ import org.opengis.feature.Operation;
 import org.opengis.feature.PropertyType;
 import org.opengis.metadata.Identifier;
 import org.opengis.referencing.IdentifiedObject;
+import org.postgresql.PGConnection;
 import org.postgresql.jdbc.PgResultSetMetaData;
 import org.postgresql.util.PSQLException;
 
@@ -141,12 +146,18 @@ final class PostgresDialect extends AbstractSQLDialect{
     private static final String GEOM_ENCODING = "Encoding";
     private static enum GeometryEncoding{
         HEXEWKB,
+        /** Binary EWKB, read directly as bytes. */
+        EWKB,
         WKB,
         WKT,
         UNKNOWNED
     }
 
-    protected final Map<Integer, CoordinateReferenceSystem> CRS_CACHE = new HashMap<>();
+    /**
+     * Decoded CRS by srid, shared by all readers of the store.
+     */
+    protected final Map<Integer, CoordinateReferenceSystem> CRS_CACHE = new ConcurrentHashMap<>();
+    private final Set<Integer> UNKNOWN_SRIDS = ConcurrentHashMap.newKeySet();
 
     private static final Map<Integer,Class> TYPE_TO_CLASS = new HashMap<>();
     private static final Map<String,Class> TYPENAME_TO_CLASS = new HashMap<>();
@@ -599,45 +610,23 @@ final class PostgresDialect extends AbstractSQLDialect{
         }
 
 
-        final CoordinateReferenceSystem crs = FeatureExt.getCRS(gatt);
-        final int dimensions = (crs == null) ? 2 : crs.getCoordinateSystem().getDimension();
-        sql.append("encode(");
-
+        //binary EWKB, decoded directly from the returned bytes
         if(res > 0){
-            if (dimensions > 2) {
-                if (((Comparable)getVersion(null).getMajor()).compareTo((Comparable)Integer.valueOf(2)) >= 0) {
-                    sql.append("ST_AsEWKB(st_simplifyPreserveTopology(");
-                    encodeColumnName(sql, gatt.getName().tip().toString());
-                    sql.append(",").append(res).append(")");
-                } else {
-                    sql.append("ST_AsEWKB(st_simplify(");
-                    encodeColumnName(sql, gatt.getName().tip().toString());
-                    sql.append(",").append(res).append(")");
-                }
-            } else {
-                if (((Comparable)getVersion(null).getMajor()).compareTo((Comparable)Integer.valueOf(2)) >= 0) {
-                    sql.append("ST_AsBinary(st_simplifyPreserveTopology(");
-                    encodeColumnName(sql, gatt.getName().tip().toString());
-                    sql.append(",").append(res).append(")");
-                } else {
-                    sql.append("ST_AsBinary(st_simplify(");
-                    encodeColumnName(sql, gatt.getName().tip().toString());
-                    sql.append(",").append(res).append(")");
-                }
-            }
-            sql.append(") ");
-        }else{
-            if (dimensions > 2) {
-                sql.append("ST_AsEWKB(");
+            if (((Comparable)getVersion(null).getMajor()).compareTo((Comparable)Integer.valueOf(2)) >= 0) {
+                sql.append("ST_AsEWKB(st_simplifyPreserveTopology(");
                 encodeColumnName(sql, gatt.getName().tip().toString());
+                sql.append(",").append(res).append(")");
             } else {
-                sql.append("ST_AsBinary(");
+                sql.append("ST_AsEWKB(st_simplify(");
                 encodeColumnName(sql, gatt.getName().tip().toString());
+                sql.append(",").append(res).append(")");
             }
             sql.append(") ");
+        }else{
+            sql.append("ST_AsEWKB(");
+            encodeColumnName(sql, gatt.getName().tip().toString());
+            sql.append(") ");
         }
-
-        sql.append(",'base64')");
     }
 
     @Override
@@ -677,6 +666,64 @@ final class PostgresDialect extends AbstractSQLDialect{
         }
     }
 
+    @Override
+    public void encodeValueParameter(StringBuilder sql, AttributeType column) {
+        if (Geometry.class.isAssignableFrom(column.getValueClass())) {
+            sql.append("ST_GeomFromEWKB(?)");
+        } else {
+            super.encodeValueParameter(sql, column);
+        }
+    }
+
+    @Override
+    public boolean canBindGeometry() {
+        return true;
+    }
+
+    @Override
+    public void setGeometryValue(PreparedStatement ps, int index, Geometry value, int srid) throws SQLException, DataStoreException {
+        final byte[] ewkb = encodeGeometryEWKB(value, srid);
+        if (ewkb == null) {
+            ps.setNull(index, Types.BINARY);
+        } else {
+            ps.setBytes(index, ewkb);
+        }
+    }
+
+    /**
+     * Encode geometry in EWKB, with the same restrictions as
+     * {@link #encodeGeometryValue(java.lang.StringBuilder, org.locationtech.jts.geom.Geometry, int) }.
+     *
+     * @return EWKB bytes or null if geometry must be stored as NULL
+     */
+    byte[] encodeGeometryEWKB(Geometry value, int srid) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof LinearRing) {
+            //postgis does not handle linear rings, convert to just a line string
+            value = value.getFactory().createLineString(((LinearRing) value).getCoordinateSequence());
+        }
+        if (value.isEmpty() && ((Comparable)getVersion(null).getMajor()).compareTo((Comparable)Integer.valueOf(2)) < 0) {
+            //empty geometries are interpreted as Geometrycollection in postgis < 2
+            return null;
+        }
+        return PostgisHexEWKB.write(value, srid);
+    }
+
+    /**
+     * Rows are loaded with a binary COPY when all column types have
+     * a known binary form.
+     */
+    @Override
+    public boolean insertBulk(String schemaName, String tableName, List<AttributeType> columns,
+            Collection<Object[]> rows, Connection cx) throws SQLException, DataStoreException {
+        if (!cx.isWrapperFor(PGConnection.class)) {
+            return false;
+        }
+        return new PostgresCopyWriter(this, schemaName, tableName, columns).write(rows, cx);
+    }
+
     @Override
     public void encodeCoverageValue(StringBuilder sql, Coverage value) throws DataStoreException {
         try{
@@ -945,7 +992,7 @@ final class PostgresDialect extends AbstractSQLDialect{
 
         }else{
             //this column informations comes from a real table
-            atb.addCharacteristic(GEOM_ENCODING, GeometryEncoding.class, 1, 1, PostgresDialect.GeometryEncoding.WKB);
+            atb.addCharacteristic(GEOM_ENCODING, GeometryEncoding.class, 1, 1, PostgresDialect.GeometryEncoding.EWKB);
 
             //first attempt, try with the geometry metadata
             Statement statement = null;
@@ -1006,7 +1053,7 @@ final class PostgresDialect extends AbstractSQLDialect{
 
         }else{
             //this column informations comes from a real table
-            atb.addCharacteristic(GEOM_ENCODING, GeometryEncoding.class, 1, 1, PostgresDialect.GeometryEncoding.WKB);
+            atb.addCharacteristic(GEOM_ENCODING, GeometryEncoding.class, 1, 1, PostgresDialect.GeometryEncoding.EWKB);
         }
 
         //first attempt, try with the geometry metadata
@@ -1226,6 +1273,8 @@ final class PostgresDialect extends AbstractSQLDialect{
         switch((GeometryEncoding)FeatureExt.getCharacteristicValue(descriptor, GEOM_ENCODING, null)){
             case HEXEWKB:
                 return ewkbReader.read(rs.getString(column));
+            case EWKB:
+                return ewkbReader.read(rs.getBytes(column));
             case WKB:
                 WKBReader reader = wkbReader.get();
                 if (reader == null) {
@@ -1260,6 +1309,8 @@ final class PostgresDialect extends AbstractSQLDialect{
         switch(ge){
             case HEXEWKB:
                 return ewkbReader.read(rs.getString(column));
+            case EWKB:
+                return ewkbReader.read(rs.getBytes(column));
             case WKB:
                 WKBReader reader = wkbReader.get();
                 if (reader == null) {
@@ -1309,6 +1360,8 @@ final class PostgresDialect extends AbstractSQLDialect{
     public CoordinateReferenceSystem decodeCRS(final int srid, final Connection cx) throws SQLException{
         CoordinateReferenceSystem crs = CRS_CACHE.get(srid);
         if (crs == null) {
+            //unknown srids are remembered, this method is called for each geometry
+            if (UNKNOWN_SRIDS.contains(srid)) return null;
             try {
                 crs = AbstractCRS.castOrCopy(CRS.forCode("EPSG:" + srid)).forConvention(AxesConvention.RIGHT_HANDED);
                 CRS_CACHE.put(srid, crs);
@@ -1316,6 +1369,7 @@ final class PostgresDialect extends AbstractSQLDialect{
                 if(featurestore.getLogger().isLoggable(Level.FINE)) {
                     featurestore.getLogger().log(Level.FINE, "Could not decode " + srid + " using the built-in EPSG database", e);
                 }
+                UNKNOWN_SRIDS.add(srid);
                 return null;
             }
         }
@@ -0,0 +1,284 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.db.postgres;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.MultiPoint;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * Test decoding of PostGIS EWKB at byte level, no database is needed.
+ *
+ * @module
+ */
+public class PostgisHexEWKBTest extends org.geotoolkit.test.TestBase {
+
+    private static final int POINT = 1;
+    private static final int LINESTRING = 2;
+    private static final int POLYGON = 3;
+    private static final int MULTIPOINT = 4;
+    private static final int MULTILINESTRING = 5;
+    private static final int MULTIPOLYGON = 6;
+    private static final int GEOMETRYCOLLECTION = 7;
+
+    private static final double DELTA = 0.0;
+
+    private final PostgisHexEWKB reader = new PostgisHexEWKB(new GeometryFactory(), null);
+
+    @Test
+    public void pointTest() {
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            ByteBuffer buffer = buffer();
+            header(buffer, order, POINT, 0, false, false);
+            buffer.putDouble(1.5).putDouble(-2.5);
+            Point pt = (Point) reader.read(bytes(buffer));
+            Assert.assertEquals(1.5, pt.getX(), DELTA);
+            Assert.assertEquals(-2.5, pt.getY(), DELTA);
+            Assert.assertTrue(Double.isNaN(pt.getCoordinate().z));
+            Assert.assertEquals(0, pt.getSRID());
+            Assert.assertNull(pt.getUserData());
+
+            buffer = buffer();
+            header(buffer, order, POINT, 4326, true, false);
+            buffer.putDouble(1).putDouble(2).putDouble(3);
+            pt = (Point) reader.read(bytes(buffer));
+            Assert.assertEquals(new Coordinate(1, 2, 3), pt.getCoordinate());
+            Assert.assertEquals(3, pt.getCoordinate().z, DELTA);
+            Assert.assertEquals(4326, pt.getSRID());
+
+            buffer = buffer();
+            header(buffer, order, POINT, 0, false, true);
+            buffer.putDouble(1).putDouble(2).putDouble(7);
+            pt = (Point) reader.read(bytes(buffer));
+            Assert.assertEquals(3, pt.getCoordinateSequence().getDimension());
+            Assert.assertEquals(1, pt.getX(), DELTA);
+            Assert.assertEquals(2, pt.getY(), DELTA);
+
+            buffer = buffer();
+            header(buffer, order, POINT, 2154, true, true);
+            buffer.putDouble(1).putDouble(2).putDouble(3).putDouble(4);
+            pt = (Point) reader.read(bytes(buffer));
+            Assert.assertEquals(4, pt.getCoordinateSequence().getDimension());
+            Assert.assertEquals(1, pt.getCoordinateSequence().getOrdinate(0, 0), DELTA);
+            Assert.assertEquals(2, pt.getCoordinateSequence().getOrdinate(0, 1), DELTA);
+            Assert.assertEquals(3, pt.getCoordinateSequence().getOrdinate(0, 2), DELTA);
+            Assert.assertEquals(4, pt.getCoordinateSequence().getOrdinate(0, 3), DELTA);
+            Assert.assertEquals(2154, pt.getSRID());
+        }
+    }
+
+    @Test
+    public void lineStringTest() {
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            ByteBuffer buffer = buffer();
+            header(buffer, order, LINESTRING, 0, false, false);
+            coordinates(buffer, 2, 0, 0, 10, 0, 10, 10);
+            LineString line = (LineString) reader.read(bytes(buffer));
+            Assert.assertArrayEquals(new Coordinate[]{
+                new Coordinate(0, 0), new Coordinate(10, 0), new Coordinate(10, 10)},
+                line.getCoordinates());
+            Assert.assertEquals(0, line.getSRID());
+
+            buffer = buffer();
+            header(buffer, order, LINESTRING, 3857, true, false);
+            coordinates(buffer, 3, 0, 0, 1, 10, 0, 2);
+            line = (LineString) reader.read(bytes(buffer));
+            Assert.assertEquals(2, line.getNumPoints());
+            Assert.assertEquals(1, line.getCoordinateN(0).z, DELTA);
+            Assert.assertEquals(2, line.getCoordinateN(1).z, DELTA);
+            Assert.assertEquals(3857, line.getSRID());
+
+            buffer = buffer();
+            header(buffer, order, LINESTRING, 0, true, true);
+            coordinates(buffer, 4, 0, 0, 1, 5, 10, 0, 2, 6);
+            line = (LineString) reader.read(bytes(buffer));
+            Assert.assertEquals(4, line.getCoordinateSequence().getDimension());
+            Assert.assertEquals(6, line.getCoordinateSequence().getOrdinate(1, 3), DELTA);
+        }
+    }
+
+    @Test
+    public void polygonTest() {
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final ByteBuffer buffer = buffer();
+            header(buffer, order, POLYGON, 4326, false, false);
+            buffer.putInt(2);
+            coordinates(buffer, 2, 0, 0, 10, 0, 10, 10, 0, 10, 0, 0);
+            coordinates(buffer, 2, 2, 2, 4, 2, 4, 4, 2, 2);
+            final Polygon poly = (Polygon) reader.read(bytes(buffer));
+            Assert.assertEquals(5, poly.getExteriorRing().getNumPoints());
+            Assert.assertEquals(1, poly.getNumInteriorRing());
+            Assert.assertEquals(new Coordinate(4, 2), poly.getInteriorRingN(0).getCoordinateN(1));
+            Assert.assertEquals(98, poly.getArea(), DELTA);
+            Assert.assertEquals(4326, poly.getSRID());
+            Assert.assertEquals(4326, poly.getExteriorRing().getSRID());
+        }
+    }
+
+    @Test
+    public void multiGeometriesTest() {
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            //parts do not repeat the srid
+            ByteBuffer buffer = buffer();
+            header(buffer, order, MULTIPOINT, 4326, false, false);
+            buffer.putInt(2);
+            header(buffer, order, POINT, 0, false, false);
+            buffer.putDouble(1).putDouble(2);
+            header(buffer, order, POINT, 0, false, false);
+            buffer.putDouble(3).putDouble(4);
+            final MultiPoint mp = (MultiPoint) reader.read(bytes(buffer));
+            Assert.assertEquals(2, mp.getNumGeometries());
+            Assert.assertEquals(new Coordinate(3, 4), mp.getGeometryN(1).getCoordinate());
+            Assert.assertEquals(4326, mp.getSRID());
+            Assert.assertEquals(4326, mp.getGeometryN(0).getSRID());
+
+            buffer = buffer();
+            header(buffer, order, MULTILINESTRING, 0, true, false);
+            buffer.putInt(2);
+            header(buffer, order, LINESTRING, 0, true, false);
+            coordinates(buffer, 3, 0, 0, 0, 1, 1, 1);
+            header(buffer, order, LINESTRING, 0, true, false);
+            coordinates(buffer, 3, 5, 5, 5, 6, 6, 6, 7, 7, 7);
+            final MultiLineString mls = (MultiLineString) reader.read(bytes(buffer));
+            Assert.assertEquals(2, mls.getNumGeometries());
+            Assert.assertEquals(3, mls.getGeometryN(1).getNumPoints());
+            Assert.assertEquals(7, mls.getGeometryN(1).getCoordinates()[2].z, DELTA);
+            Assert.assertEquals(0, mls.getSRID());
+
+            buffer = buffer();
+            header(buffer, order, MULTIPOLYGON, 2154, false, false);
+            buffer.putInt(2);
+            header(buffer, order, POLYGON, 0, false, false);
+            buffer.putInt(1);
+            coordinates(buffer, 2, 0, 0, 1, 0, 1, 1, 0, 0);
+            header(buffer, order, POLYGON, 0, false, false);
+            buffer.putInt(1);
+            coordinates(buffer, 2, 10, 10, 12, 10, 12, 12, 10, 12, 10, 10);
+            final MultiPolygon mpoly = (MultiPolygon) reader.read(bytes(buffer));
+            Assert.assertEquals(2, mpoly.getNumGeometries());
+            Assert.assertEquals(4.5, mpoly.getArea(), DELTA);
+            Assert.assertEquals(2154, mpoly.getGeometryN(1).getSRID());
+        }
+    }
+
+    /**
+     * Each geometry of a collection defines its own byte order.
+     */
+    @Test
+    public void collectionTest() {
+        final ByteBuffer buffer = buffer();
+        header(buffer, ByteOrder.BIG_ENDIAN, GEOMETRYCOLLECTION, 4326, false, false);
+        buffer.putInt(3);
+        header(buffer, ByteOrder.LITTLE_ENDIAN, POINT, 0, false, false);
+        buffer.putDouble(1).putDouble(2);
+        header(buffer, ByteOrder.BIG_ENDIAN, LINESTRING, 0, false, false);
+        coordinates(buffer, 2, 0, 0, 3, 4);
+        header(buffer, ByteOrder.LITTLE_ENDIAN, GEOMETRYCOLLECTION, 0, false, false);
+        buffer.putInt(1);
+        header(buffer, ByteOrder.BIG_ENDIAN, POINT, 0, false, false);
+        buffer.putDouble(5).putDouble(6);
+
+        final GeometryCollection col = (GeometryCollection) reader.read(bytes(buffer));
+        Assert.assertEquals(3, col.getNumGeometries());
+        Assert.assertEquals(new Coordinate(1, 2), ((Point) col.getGeometryN(0)).getCoordinate());
+        Assert.assertEquals(5, ((LineString) col.getGeometryN(1)).getLength(), DELTA);
+        final GeometryCollection sub = (GeometryCollection) col.getGeometryN(2);
+        Assert.assertEquals(new Coordinate(5, 6), sub.getGeometryN(0).getCoordinate());
+        Assert.assertEquals(4326, col.getSRID());
+        Assert.assertEquals(4326, sub.getGeometryN(0).getSRID());
+    }
+
+    @Test
+    public void hexadecimalTest() {
+        final ByteBuffer buffer = buffer();
+        header(buffer, ByteOrder.LITTLE_ENDIAN, POINT, 4326, false, false);
+        buffer.putDouble(1).putDouble(2);
+        final StringBuilder hex = new StringBuilder();
+        for (byte b : bytes(buffer)) {
+            hex.append(String.format("%02X", b & 0xFF));
+        }
+        Point pt = (Point) reader.read(hex.toString());
+        Assert.assertEquals(new Coordinate(1, 2), pt.getCoordinate());
+        Assert.assertEquals(4326, pt.getSRID());
+
+        pt = (Point) reader.read(hex.toString().toLowerCase());
+        Assert.assertEquals(new Coordinate(1, 2), pt.getCoordinate());
+        Assert.assertNull(reader.read((String) null));
+        Assert.assertNull(reader.read((byte[]) null));
+    }
+
+    @Test
+    public void writeTest() {
+        final GeometryFactory gf = new GeometryFactory();
+        final Geometry poly = gf.createPolygon(new Coordinate[]{
+            new Coordinate(0, 0), new Coordinate(2, 0), new Coordinate(2, 2), new Coordinate(0, 0)});
+
+        Geometry result = reader.read(PostgisHexEWKB.write(poly, 4326));
+        Assert.assertTrue(poly.equalsExact(result));
+        Assert.assertEquals(4326, result.getSRID());
+
+        result = reader.read(PostgisHexEWKB.write(poly, 0));
+        Assert.assertTrue(poly.equalsExact(result));
+        Assert.assertEquals(0, result.getSRID());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidByteOrderTest() {
+        reader.read(new byte[]{2, 0, 0, 0, 1});
+    }
+
+    private static ByteBuffer buffer() {
+        return ByteBuffer.allocate(1024);
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * Write geometry byte order, flags and srid if strictly positive.
+     */
+    private static void header(ByteBuffer buffer, ByteOrder order, int type, int srid, boolean z, boolean m) {
+        buffer.order(order);
+        buffer.put((byte) (order == ByteOrder.BIG_ENDIAN ? 0 : 1));
+        int flags = type;
+        if (z) flags |= 0x80000000;
+        if (m) flags |= 0x40000000;
+        if (srid > 0) flags |= 0x20000000;
+        buffer.putInt(flags);
+        if (srid > 0) buffer.putInt(srid);
+    }
+
+    private static void coordinates(ByteBuffer buffer, int nbDim, double ... ordinates) {
+        buffer.putInt(ordinates.length / nbDim);
+        for (double d : ordinates) {
+            buffer.putDouble(d);
+        }
+    }
+}
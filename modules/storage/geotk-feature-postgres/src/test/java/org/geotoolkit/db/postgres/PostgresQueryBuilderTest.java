@@ -0,0 +1,83 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.db.postgres;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.sis.feature.builder.FeatureTypeBuilder;
+import org.apache.sis.parameter.Parameters;
+import org.apache.sis.referencing.CommonCRS;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Point;
+import org.opengis.feature.AttributeType;
+import org.opengis.feature.FeatureType;
+
+import static org.geotoolkit.db.postgres.PostgresFeatureStoreFactory.*;
+import static org.junit.Assert.*;
+
+/**
+ * Test SQL generation of the query builder, no database is needed.
+ *
+ * @module
+ */
+public class PostgresQueryBuilderTest extends org.geotoolkit.test.TestBase {
+
+    private PostgresQueryBuilder builder;
+    private FeatureType type;
+
+    @Before
+    public void setUp() {
+        final Parameters params = Parameters.castOrWrap(PARAMETERS_DESCRIPTOR.createValue());
+        params.getOrCreate(SCHEMA).setValue("public");
+        final PostgresFeatureStore store = new PostgresFeatureStore(params, NAME);
+        store.setDialect(new PostgresDialect(store));
+        builder = new PostgresQueryBuilder(store);
+
+        final FeatureTypeBuilder ftb = new FeatureTypeBuilder();
+        ftb.setName("road");
+        ftb.addAttribute(Integer.class).setName("id");
+        ftb.addAttribute(String.class).setName("name");
+        ftb.addAttribute(Point.class).setName("geom").setCRS(CommonCRS.WGS84.normalizedGeographic());
+        type = ftb.build();
+    }
+
+    /**
+     * Batch insert statement used when rows can not be copied.
+     */
+    @Test
+    public void insertPreparedSQLTest() {
+        final List<AttributeType> columns = new ArrayList<>();
+        columns.add((AttributeType) type.getProperty("id"));
+        columns.add((AttributeType) type.getProperty("name"));
+        columns.add((AttributeType) type.getProperty("geom"));
+
+        assertEquals("INSERT INTO \"public\".\"road\" ( \"id\",\"name\",\"geom\" ) VALUES ( ?,?,ST_GeomFromEWKB(?) )",
+                builder.insertPreparedSQL(type, columns));
+        assertTrue(builder.canInsertPrepared(columns));
+    }
+
+    /**
+     * All columns are generated by the database.
+     */
+    @Test
+    public void insertPreparedSQLNoColumnTest() {
+        assertEquals("INSERT INTO \"public\".\"road\" DEFAULT VALUES",
+                builder.insertPreparedSQL(type, Collections.<AttributeType>emptyList()));
+    }
+}
@@ -49,6 +49,9 @@ import org.geotoolkit.data.query.Query;
 import org.geotoolkit.data.query.QueryBuilder;
 import org.geotoolkit.data.session.Session;
 import org.apache.sis.storage.DataStoreException;
+import org.geotoolkit.factory.FactoryFinder;
+import org.geotoolkit.factory.Hints;
+import org.geotoolkit.factory.HintsPending;
 import org.geotoolkit.geometry.jts.JTS;
 import org.geotoolkit.version.VersionControl;
 import org.geotoolkit.version.VersioningException;
@@ -73,6 +76,8 @@ import org.opengis.feature.Feature;
 import org.opengis.feature.FeatureType;
 import org.opengis.feature.Operation;
 import org.opengis.feature.PropertyType;
+import org.opengis.filter.FilterFactory;
+import org.opengis.filter.sort.SortOrder;
 
 /**
  *
@@ -80,6 +85,8 @@ import org.opengis.feature.PropertyType;
  */
 public class PostgresSimpleTypeTest extends org.geotoolkit.test.TestBase {
 
+    private static final FilterFactory FF = FactoryFinder.getFilterFactory(null);
+
     /** driver types */
     private static final FeatureType FTYPE_DRIVER;
     /** stop types */
@@ -748,6 +755,61 @@ public class PostgresSimpleTypeTest extends org.geotoolkit.test.TestBase {
         }
     }
 
+    @Test
+    public void testBatchInsert() throws DataStoreException, VersioningException{
+        reload(true);
+
+        final FeatureTypeBuilder ftb = new FeatureTypeBuilder();
+        ftb.setName("testTable");
+        ftb.addAttribute(Boolean.class).setName("boolean");
+        ftb.addAttribute(Integer.class).setName("integer");
+        ftb.addAttribute(Long.class).setName("long");
+        ftb.addAttribute(Double.class).setName("double");
+        ftb.addAttribute(String.class).setName("string");
+        ftb.addAttribute(Point.class).setName("point").setCRS(CommonCRS.WGS84.normalizedGeographic());
+        store.createFeatureType(ftb.build());
+        final FeatureType resType = store.getFeatureType(store.getNames().iterator().next().toString());
+
+        final GeometryFactory gf = new GeometryFactory();
+        final List<Feature> features = new ArrayList<>();
+        for(int i=0;i<2500;i++){
+            final Feature feature = resType.newInstance();
+            feature.setPropertyValue("boolean",i%2==0);
+            feature.setPropertyValue("integer",i);
+            feature.setPropertyValue("long",(long)i*1000);
+            feature.setPropertyValue("double",i/2.0);
+            feature.setPropertyValue("string",(i%3==0) ? null : "value "+i);
+            feature.setPropertyValue("point",gf.createPoint(new Coordinate(i%180, i%90)));
+            features.add(feature);
+        }
+
+        final Hints hints = new Hints(HintsPending.UPDATE_ID_ON_INSERT, Boolean.FALSE);
+        hints.put(HintsPending.INSERT_BATCH_SIZE, 1000);
+        store.addFeatures(resType.getName().toString(), features, hints);
+
+        final Session session = store.createSession(false);
+        final FeatureCollection col = session.getFeatureCollection(QueryBuilder.sorted(
+                resType.getName().toString(), FF.sort("integer", SortOrder.ASCENDING)));
+        assertEquals(2500, col.size());
+
+        final FeatureIterator ite = col.iterator();
+        try{
+            for(int i=0;i<2500;i++){
+                final Feature resFeature = ite.next();
+                assertEquals(i%2==0, resFeature.getPropertyValue("boolean"));
+                assertEquals(i, resFeature.getPropertyValue("integer"));
+                assertEquals((long)i*1000, resFeature.getPropertyValue("long"));
+                assertEquals(i/2.0, resFeature.getPropertyValue("double"));
+                assertEquals((i%3==0) ? null : "value "+i, resFeature.getPropertyValue("string"));
+                final Geometry geom = (Geometry)resFeature.getPropertyValue("point");
+                assertEquals(gf.createPoint(new Coordinate(i%180, i%90)), geom);
+                assertEquals(CommonCRS.WGS84.normalizedGeographic(), JTS.findCoordinateReferenceSystem(geom));
+            }
+        }finally{
+            ite.close();
+        }
+    }
+
     /**
      * Test ugly named table
      *
@@ -97,6 +97,16 @@ public final class Bundle extends IndexedResourceBundle {
          * enable/disable the use of memory-mapped io
          */
         public static final short memory_mapped_buffer_remarks = 12;
+
+        /**
+         * SHX load limit
+         */
+        public static final short shx_load_limit = 13;
+
+        /**
+         * size in bytes under which the shx file is fully loaded in memory
+         */
+        public static final short shx_load_limit_remarks = 14;
     }
 
     /**
@@ -70,11 +70,28 @@ public class ShapefileAttributeReader {
             final AttributeType[] atts, final boolean read3D, final boolean memoryMapped,
             final double[] resample, final boolean readDBF, final Charset charset,
             final double[] estimateRes) throws IOException, DataStoreException {
+        this(locker, atts, locker.getSHPReader(true, memoryMapped, read3D, resample),
+                locker.getDBFReader(memoryMapped, charset), estimateRes);
+    }
+
+    /**
+     * Create the shapefile attribute reader on readers already obtained from the locker.
+     *
+     * @param locker - which created the given readers.
+     * @param atts - the attributes that we are going to read.
+     * @param shp - shape reader
+     * @param dbf - dbf reader, may be null
+     * @param estimateRes - avoid reading geometry if under this resolution,
+     *                      while return an approximate geometry
+     */
+    public ShapefileAttributeReader(final AccessManager locker, final AttributeType[] atts,
+            final ShapefileReader shp, final DbaseFileReader dbf, final double[] estimateRes)
+            throws DataStoreException {
         ArgumentChecks.ensureNonNull("locker", locker);
         this.locker = locker;
         this.metaData = atts;
-        this.shp = locker.getSHPReader(true, memoryMapped, read3D, resample);
-        this.dbf = locker.getDBFReader(memoryMapped, charset);
+        this.shp = shp;
+        this.dbf = dbf;
         if(estimateRes != null){
             this.estimateRes = true;
             this.estimateX = estimateRes[0];
@@ -127,6 +144,21 @@ public class ShapefileAttributeReader {
         return locker;
     }
 
+    /**
+     * Move both shp and dbf readers so that the next call to {@link #next()}
+     * reads the record at the given index.
+     *
+     * @param index record index, starting at 0
+     * @throws IOException
+     * @throws UnsupportedOperationException if files do not support random access
+     */
+    public void seek(final int index) throws IOException, UnsupportedOperationException {
+        shp.seek(index);
+        if (dbf != null) {
+            dbf.seek(index);
+        }
+    }
+
     /**
      * {@inheritDoc }
      */
@@ -36,6 +36,8 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.apache.sis.feature.builder.AttributeRole;
 import org.apache.sis.feature.builder.AttributeTypeBuilder;
 import org.apache.sis.feature.builder.FeatureTypeBuilder;
@@ -73,6 +75,7 @@ import org.geotoolkit.data.shapefile.shp.ShapeType;
 import org.geotoolkit.data.shapefile.shp.ShapefileHeader;
 import org.geotoolkit.data.shapefile.shp.ShapefileReader;
 import org.geotoolkit.data.shapefile.shp.ShapefileWriter;
+import org.geotoolkit.data.shapefile.shx.ShxReader;
 import org.geotoolkit.factory.Hints;
 import org.geotoolkit.feature.FeatureExt;
 import org.geotoolkit.geometry.jts.JTSEnvelope2D;
@@ -137,7 +140,23 @@ public class ShapefileFeatureStore extends AbstractFeatureStore implements Resou
      */
     public ShapefileFeatureStore(final URI uri, final boolean useMemoryMapped,
             Charset dbfCharset) throws MalformedURLException, DataStoreException {
-        this(toParameter(uri, useMemoryMapped, dbfCharset));
+        this(uri, useMemoryMapped, dbfCharset, ShxReader.DEFAULT_LOAD_LIMIT);
+    }
+
+    /**
+     * Same as {@link #ShapefileFeatureStore(URI, boolean, Charset)}, with control
+     * over the size of shx files loaded in memory.
+     *
+     * @param uri
+     * @param useMemoryMapped : default is true
+     * @param dbfCharset : if null default will be ShapefileDataStore.DEFAULT_STRING_CHARSET
+     * @param shxLoadLimit : size in bytes under which shx files are fully loaded in memory
+     * @throws java.net.MalformedURLException If we fail parsing input URI
+     * @throws org.apache.sis.storage.DataStoreException If input data analysis fails.
+     */
+    public ShapefileFeatureStore(final URI uri, final boolean useMemoryMapped,
+            Charset dbfCharset, final long shxLoadLimit) throws MalformedURLException, DataStoreException {
+        this(toParameter(uri, useMemoryMapped, dbfCharset, shxLoadLimit));
     }
 
     public ShapefileFeatureStore(final ParameterValueGroup params) throws MalformedURLException, DataStoreException {
@@ -149,8 +168,11 @@ public class ShapefileFeatureStore extends AbstractFeatureStore implements Resou
                 ShapefileFeatureStoreFactory.MEMORY_MAPPED.getName().toString()).getValue();
         Charset dbfCharset = (Charset) params.parameter(
                 ShapefileFeatureStoreFactory.DBFCHARSET.getName().toString()).getValue();
+        final Long shxLoadLimit = (Long) params.parameter(
+                ShapefileFeatureStoreFactory.SHX_LOAD_LIMIT.getName().toString()).getValue();
 
-        shpFiles = new ShpFiles(uri);
+        shpFiles = new ShpFiles(uri, false,
+                (shxLoadLimit == null) ? ShxReader.DEFAULT_LOAD_LIMIT : shxLoadLimit);
 
         //search for a .cpg file which contains the character encoding
         if(dbfCharset == null && shpFiles.exists(CPG)){
@@ -175,10 +197,11 @@ public class ShapefileFeatureStore extends AbstractFeatureStore implements Resou
     }
 
     private static ParameterValueGroup toParameter(final URI uri,
-            final boolean useMemoryMapped, Charset dbfCharset){
+            final boolean useMemoryMapped, Charset dbfCharset, final long shxLoadLimit){
         final Parameters params = Parameters.castOrWrap(ShapefileFeatureStoreFactory.PARAMETERS_DESCRIPTOR.createValue());
         params.getOrCreate(ShapefileFeatureStoreFactory.PATH).setValue(uri);
         params.getOrCreate(ShapefileFeatureStoreFactory.MEMORY_MAPPED).setValue(useMemoryMapped);
+        params.getOrCreate(ShapefileFeatureStoreFactory.SHX_LOAD_LIMIT).setValue(shxLoadLimit);
         if(dbfCharset!=null){
             params.getOrCreate(ShapefileFeatureStoreFactory.DBFCHARSET).setValue(dbfCharset);
         }
@@ -295,6 +318,34 @@ public class ShapefileFeatureStore extends AbstractFeatureStore implements Resou
         }
     }
 
+    /**
+     * Number of records declared in the shx file.
+     *
+     * @return number of records, or -1 if there is no shx file or if files
+     *         do not support random access.
+     * @throws DataStoreException If an error occurs while accessing shapefile resource.
+     */
+    private int getIndexedRecordCount() throws DataStoreException {
+        if (!shpFiles.exists(SHX)) {
+            return -1;
+        }
+        try (final ReadableByteChannel shpFile = shpFiles.getReadChannel(SHP);
+             final ReadableByteChannel shxFile = shpFiles.getReadChannel(SHX)) {
+            if (!(shpFile instanceof FileChannel) || !(shxFile instanceof FileChannel)) {
+                return -1;
+            }
+            final ByteBuffer buffer = ByteBuffer.allocate(100);
+            while (buffer.hasRemaining()) {
+                shxFile.read(buffer);
+            }
+            buffer.flip();
+            final ShapefileHeader header = ShapefileHeader.read(buffer, true);
+            return (header.getFileLength() * 2 - 100) / 8;
+        } catch (IOException ioe) {
+            throw new DataStoreException("Cannot read record count from shx header", ioe);
+        }
+    }
+
     @Override
     protected FeatureSet create(GenericName resourceName) throws DataStoreException {
         return new DefaultFeatureResource(this, resourceName) {
@@ -302,9 +353,55 @@ public class ShapefileFeatureStore extends AbstractFeatureStore implements Resou
             public Envelope getEnvelope() throws DataStoreException {
                 return getHeaderEnvelope();
             }
+
+            /**
+             * Parallel streams cut the shapefile in record ranges, each range
+             * is decoded with its own shp and dbf readers.
+             */
+            @Override
+            public Stream<Feature> features(boolean parallel) throws DataStoreException {
+                if (parallel) {
+                    final int count = getIndexedRecordCount();
+                    if (count >= 0) {
+                        return StreamSupport.stream(new ShapefileSpliterator(ShapefileFeatureStore.this,
+                                0, count, ShapefileSpliterator.DEFAULT_MIN_SPLIT), true);
+                    }
+                }
+                return super.features(parallel);
+            }
         };
     }
 
+    /**
+     * Create a reader over all properties, starting at the given record.
+     * Only the part of the shx file needed is read.
+     *
+     * @param start index of the first record to read
+     * @return feature reader, positioned on the given record
+     * @throws DataStoreException If we fails reading underlyig data.
+     */
+    FeatureReader getFeatureReader(final int start) throws DataStoreException {
+        final AccessManager locker = shpFiles.createLocker();
+        final FeatureType schema = getFeatureType();
+        final AttributeType[] descs = getAttributes(schema, false).toArray(new AttributeType[0]);
+
+        final ShapefileAttributeReader attReader;
+        try {
+            final ShapefileReader shp = locker.getSHPReader(true, useMemoryMappedBuffer, true, null, 0);
+            final DbaseFileReader dbf = locker.getDBFReader(useMemoryMappedBuffer, dbfCharset);
+            attReader = new ShapefileAttributeReader(locker, descs, shp, dbf, null);
+            attReader.seek(start);
+        } catch (IOException ex) {
+            locker.disposeReaderAndWriters();
+            throw new DataStoreException(ex);
+        } catch (DataStoreException | RuntimeException ex) {
+            locker.disposeReaderAndWriters();
+            throw ex;
+        }
+        final FeatureIDReader idReader = new DefaultFeatureIDReader(schema.getName().tip().toString(), start);
+        return ShapefileFeatureReader.create(attReader, idReader, schema, null);
+    }
+
     /**
      * {@inheritDoc }
      */
@@ -19,6 +19,7 @@ package org.geotoolkit.data.shapefile;
 
 import org.geotoolkit.data.shapefile.lock.ShpFiles;
 import org.geotoolkit.data.shapefile.lock.ShpFileType;
+import org.geotoolkit.data.shapefile.shx.ShxReader;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.nio.charset.Charset;
@@ -61,6 +62,7 @@ import org.opengis.parameter.ParameterValueGroup;
  * <li>{@link #CREATE_SPATIAL_INDEX}
  * <li>{@link #MEMORY_MAPPED}
  * <li>{@link #DBFCHARSET}
+ * <li>{@link #SHX_LOAD_LIMIT}
  * </ul>
  *
  * @author Chris Holmes, TOPP
@@ -127,10 +129,21 @@ public class ShapefileFeatureStoreFactory extends AbstractFileFeatureStoreFactor
             .setRequired(false)
             .create(Boolean.class, Boolean.FALSE);
 
+    /**
+     * Optional - size in bytes under which the shx file is loaded in memory.
+     * Larger files are memory mapped (if {@link #MEMORY_MAPPED} is set) or read on demand.
+     */
+    public static final ParameterDescriptor<Long> SHX_LOAD_LIMIT = new ParameterBuilder()
+            .addName("shx load limit")
+            .addName(Bundle.formatInternational(Bundle.Keys.shx_load_limit))
+            .setRemarks(Bundle.formatInternational(Bundle.Keys.shx_load_limit_remarks))
+            .setRequired(false)
+            .create(Long.class, ShxReader.DEFAULT_LOAD_LIMIT);
+
 
     public static final ParameterDescriptorGroup PARAMETERS_DESCRIPTOR =
             new ParameterBuilder().addName(NAME).addName("ShapefileParameters").createGroup(
-                IDENTIFIER, PATH,MEMORY_MAPPED,CREATE_SPATIAL_INDEX,DBFCHARSET,LOAD_QIX);
+                IDENTIFIER, PATH,MEMORY_MAPPED,CREATE_SPATIAL_INDEX,DBFCHARSET,LOAD_QIX,SHX_LOAD_LIMIT);
 
     /**
      * {@inheritDoc }
@@ -198,6 +211,7 @@ public class ShapefileFeatureStoreFactory extends AbstractFileFeatureStoreFactor
         Boolean isMemoryMapped = (Boolean) params.parameter(MEMORY_MAPPED.getName().toString()).getValue();
         Charset dbfCharset = (Charset) params.parameter(DBFCHARSET.getName().toString()).getValue();
         Boolean isCreateSpatialIndex = (Boolean) params.parameter(CREATE_SPATIAL_INDEX.getName().toString()).getValue();
+        Long shxLoadLimit = (Long) params.parameter(SHX_LOAD_LIMIT.getName().toString()).getValue();
 
         if (isCreateSpatialIndex == null) {
             // should not be needed as default is TRUE
@@ -211,6 +225,9 @@ public class ShapefileFeatureStoreFactory extends AbstractFileFeatureStoreFactor
         if (isMemoryMapped == null) {
             isMemoryMapped = Boolean.FALSE;
         }
+        if (shxLoadLimit == null) {
+            shxLoadLimit = ShxReader.DEFAULT_LOAD_LIMIT;
+        }
 
         //index loading hints
         final Boolean loadQix = (Boolean) params.parameter(LOAD_QIX.getName().toString()).getValue();
@@ -244,11 +261,11 @@ public class ShapefileFeatureStoreFactory extends AbstractFileFeatureStoreFactor
 
         try {
             if (createIndex) {
-                return new IndexedShapefileFeatureStore(uri, useMemoryMappedBuffer, createIndex, IndexType.QIX, dbfCharset);
+                return new IndexedShapefileFeatureStore(uri, useMemoryMappedBuffer, createIndex, IndexType.QIX, dbfCharset, shxLoadLimit);
             } else if (treeIndex != IndexType.NONE) {
-                return new IndexedShapefileFeatureStore(uri, useMemoryMappedBuffer, false, treeIndex, dbfCharset);
+                return new IndexedShapefileFeatureStore(uri, useMemoryMappedBuffer, false, treeIndex, dbfCharset, shxLoadLimit);
             } else {
-                return new ShapefileFeatureStore(uri, useMemoryMappedBuffer, dbfCharset);
+                return new ShapefileFeatureStore(uri, useMemoryMappedBuffer, dbfCharset, shxLoadLimit);
             }
         } catch (MalformedURLException mue) {
             throw new DataStoreException("Url for shapefile malformed: " + uri, mue);
@@ -264,6 +281,7 @@ public class ShapefileFeatureStoreFactory extends AbstractFileFeatureStoreFactor
         Boolean isMemoryMapped = (Boolean) params.parameter(MEMORY_MAPPED.getName().toString()).getValue();
         Charset dbfCharset = (Charset) params.parameter(DBFCHARSET.getName().toString()).getValue();
         Boolean isCreateSpatialIndex = (Boolean) params.parameter(CREATE_SPATIAL_INDEX.getName().toString()).getValue();
+        Long shxLoadLimit = (Long) params.parameter(SHX_LOAD_LIMIT.getName().toString()).getValue();
 
         if (isCreateSpatialIndex == null) {
             // should not be needed as default is TRUE
@@ -281,6 +299,9 @@ public class ShapefileFeatureStoreFactory extends AbstractFileFeatureStoreFactor
             // this should not happen as false was the default
             isMemoryMapped = Boolean.FALSE;
         }
+        if (shxLoadLimit == null) {
+            shxLoadLimit = ShxReader.DEFAULT_LOAD_LIMIT;
+        }
         final ShpFiles shpFiles = new ShpFiles(uri);
 
         final boolean isLocal = shpFiles.isWritable();
@@ -293,9 +314,9 @@ public class ShapefileFeatureStoreFactory extends AbstractFileFeatureStoreFactor
 
         try {
             if (createIndex) {
-                return new IndexedShapefileFeatureStore(uri, useMemoryMappedBuffer, true, IndexType.QIX, dbfCharset);
+                return new IndexedShapefileFeatureStore(uri, useMemoryMappedBuffer, true, IndexType.QIX, dbfCharset, shxLoadLimit);
             } else {
-                return new ShapefileFeatureStore(uri, useMemoryMappedBuffer, dbfCharset);
+                return new ShapefileFeatureStore(uri, useMemoryMappedBuffer, dbfCharset, shxLoadLimit);
             }
         } catch (MalformedURLException mue) {
             throw new DataStoreException("Uri for shapefile malformed: " + uri, mue);
@@ -0,0 +1,153 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.data.shapefile;
+
+import java.util.ArrayDeque;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import org.apache.sis.storage.DataStoreException;
+import org.geotoolkit.data.FeatureReader;
+import org.geotoolkit.data.FeatureStoreRuntimeException;
+import org.opengis.feature.Feature;
+
+/**
+ * Spliterator over a range of shapefile records.
+ * Ranges are cut using record indices, the .shx file is used to locate the
+ * first shape of a range and the .dbf row is computed from the record length.
+ * Each range opens its own shp and dbf readers, so ranges can be decoded
+ * concurrently.
+ * <p>
+ * Readers are always opened and closed in the same method call, because
+ * shapefile read locks are bound to the thread which acquired them.
+ * {@link #forEachRemaining(java.util.function.Consumer) } reads the whole range
+ * in one pass while {@link #tryAdvance(java.util.function.Consumer) } reads
+ * features by batch.
+ * </p>
+ *
+ * @module
+ */
+final class ShapefileSpliterator implements Spliterator<Feature> {
+
+    /**
+     * Default minimum number of records in a range, smaller ranges are not split.
+     */
+    static final int DEFAULT_MIN_SPLIT = 1024;
+
+    /**
+     * Number of features read at once by {@link #tryAdvance(java.util.function.Consumer) }.
+     */
+    private static final int BATCH_SIZE = 256;
+
+    private final ShapefileFeatureStore store;
+    private final int minSplit;
+    private final ArrayDeque<Feature> pending = new ArrayDeque<>();
+    /**
+     * Index of the next record to read.
+     */
+    private int index;
+    /**
+     * Index of the last record of the range, exclusive.
+     */
+    private final int end;
+
+    /**
+     * @param store store to read from
+     * @param start first record index, inclusive
+     * @param end last record index, exclusive
+     * @param minSplit minimum number of records in a range
+     */
+    ShapefileSpliterator(final ShapefileFeatureStore store, final int start, final int end, final int minSplit) {
+        this.store = store;
+        this.index = start;
+        this.end = end;
+        this.minSplit = Math.max(1, minSplit);
+    }
+
+    @Override
+    public Spliterator<Feature> trySplit() {
+        final int remaining = end - index;
+        if (!pending.isEmpty() || remaining < 2 * minSplit) {
+            return null;
+        }
+        final int middle = index + remaining / 2;
+        final ShapefileSpliterator prefix = new ShapefileSpliterator(store, index, middle, minSplit);
+        index = middle;
+        return prefix;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super Feature> action) {
+        if (pending.isEmpty() && index < end) {
+            read(Math.min(end, index + BATCH_SIZE), pending::add);
+        }
+        final Feature feature = pending.poll();
+        if (feature == null) {
+            return false;
+        }
+        action.accept(feature);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super Feature> action) {
+        Feature feature;
+        while ((feature = pending.poll()) != null) {
+            action.accept(feature);
+        }
+        if (index < end) {
+            read(end, action);
+        }
+    }
+
+    /**
+     * Read records from current index up to the given one.
+     *
+     * @param stop last record index to read, exclusive
+     * @param action consumer of read features
+     */
+    private void read(final int stop, final Consumer<? super Feature> action) {
+        final FeatureReader reader;
+        try {
+            reader = store.getFeatureReader(index);
+        } catch (DataStoreException ex) {
+            throw new FeatureStoreRuntimeException(ex);
+        }
+        try {
+            while (index < stop && reader.hasNext()) {
+                final Feature feature = reader.next();
+                index++;
+                action.accept(feature);
+            }
+            if (index < stop) {
+                //less records than declared by the shx, nothing more to read
+                index = end;
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        return (end - index) + pending.size();
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+}
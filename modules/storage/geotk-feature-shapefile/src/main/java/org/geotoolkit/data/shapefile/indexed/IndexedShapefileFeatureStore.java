@@ -136,7 +136,25 @@ public class IndexedShapefileFeatureStore extends ShapefileFeatureStore {
     public IndexedShapefileFeatureStore(final URI uri, final boolean useMemoryMappedBuffer,
             final boolean createIndex, final IndexType treeType, final Charset dbfCharset)
             throws MalformedURLException,DataStoreException {
-        super(uri, useMemoryMappedBuffer, dbfCharset);
+        this(uri, useMemoryMappedBuffer, createIndex, treeType, dbfCharset, ShxReader.DEFAULT_LOAD_LIMIT);
+    }
+
+    /**
+     * Creates a new instance of ShapefileDataStore.
+     *
+     * @param uri The URL of the shp file to use for this DataSource.
+     * @param useMemoryMappedBuffer enable/disable memory mapping of files
+     * @param createIndex enable/disable automatic index creation if needed
+     * @param treeType The type of index used
+     * @param dbfCharset {@link Charset} used to decode strings from the DBF
+     * @param shxLoadLimit size in bytes under which shx files are fully loaded in memory
+     *
+     * @throws MalformedURLException
+     */
+    public IndexedShapefileFeatureStore(final URI uri, final boolean useMemoryMappedBuffer,
+            final boolean createIndex, final IndexType treeType, final Charset dbfCharset,
+            final long shxLoadLimit) throws MalformedURLException,DataStoreException {
+        super(uri, useMemoryMappedBuffer, dbfCharset, shxLoadLimit);
 
         this.treeType = treeType;
         this.useIndex = treeType != IndexType.NONE;
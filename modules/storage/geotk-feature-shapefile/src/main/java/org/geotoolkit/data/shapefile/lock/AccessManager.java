@@ -129,6 +129,17 @@ public final class AccessManager {
 
     public ShapefileReader getSHPReader(final boolean strict, final boolean memoryMapped,
             final boolean read3D, final double[] resample) throws IOException, DataStoreException{
+        return getSHPReader(strict, memoryMapped, read3D, resample, files.getShxLoadLimit());
+    }
+
+    /**
+     * Same as {@link #getSHPReader(boolean, boolean, boolean, double[])} with an explicit
+     * shx load limit. A limit of 0 avoids loading the whole shx file when only a
+     * part of the shapefile will be read.
+     */
+    public ShapefileReader getSHPReader(final boolean strict, final boolean memoryMapped,
+            final boolean read3D, final double[] resample, final long shxLoadLimit)
+            throws IOException, DataStoreException{
 
         final URI shpUrl = files.getURI(ShpFileType.SHP);
         final ReadableByteChannel shpChannel = toClosingChannel(files.getReadChannel(shpUrl),false);
@@ -142,7 +153,7 @@ public final class AccessManager {
         }
 
         final ShapefileReader shpReader = new ShapefileReader(
-                shpChannel,shxChannel,strict,memoryMapped,read3D,resample);
+                shpChannel,shxChannel,strict,memoryMapped,read3D,resample,shxLoadLimit);
         readEntries.add(new AccessEntry(ShpFileType.SHP, shpUrl, shpReader));
         readEntries.add(new AccessEntry(ShpFileType.SHX, shxUrl, shpReader));
         return shpReader;
@@ -159,7 +170,7 @@ public final class AccessManager {
         }
 
         final ReadableByteChannel shxChannel = toClosingChannel(files.getReadChannel(shxUrl),false);
-        final ShxReader reader = new ShxReader(shxChannel, memoryMapped);
+        final ShxReader reader = new ShxReader(shxChannel, memoryMapped, files.getShxLoadLimit());
         readEntries.add(new AccessEntry(ShpFileType.SHX, shxUrl, reader));
         return reader;
     }
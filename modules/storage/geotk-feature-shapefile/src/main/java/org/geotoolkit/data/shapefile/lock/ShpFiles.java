@@ -28,6 +28,7 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Level;
 
 import org.geotoolkit.data.shapefile.ShapefileFeatureStoreFactory;
+import org.geotoolkit.data.shapefile.shx.ShxReader;
 
 import static org.geotoolkit.data.shapefile.ShapefileFeatureStoreFactory.LOGGER;
 import static org.geotoolkit.data.shapefile.lock.ShpFileType.QIX;
@@ -76,6 +77,8 @@ public final class ShpFiles {
 
     private final boolean loadQuadTree;
 
+    private final long shxLoadLimit;
+
     /**
      * Searches for all the files and adds then to the map of files.
      *
@@ -93,6 +96,17 @@ public final class ShpFiles {
      * @param loadQix If we should use quad-tree index on input files.
      */
     public ShpFiles(final Object path, final boolean loadQix) throws IllegalArgumentException {
+        this(path, loadQix, ShxReader.DEFAULT_LOAD_LIMIT);
+    }
+
+    /**
+     * Searches for all the files and adds then to the map of files.
+     *
+     * @param path any one of the shapefile files
+     * @param loadQix If we should use quad-tree index on input files.
+     * @param shxLoadLimit size in bytes under which the shx file is fully loaded in memory.
+     */
+    public ShpFiles(final Object path, final boolean loadQix, final long shxLoadLimit) throws IllegalArgumentException {
         URI uri = null;
 
         if(path instanceof String){
@@ -126,6 +140,7 @@ public final class ShpFiles {
         }
 
         loadQuadTree = loadQix;
+        this.shxLoadLimit = shxLoadLimit;
 
         final String base = baseName(uri);
         if (base == null) {
@@ -271,6 +286,15 @@ public final class ShpFiles {
         return uris.get(type);
     }
 
+    /**
+     * Size in bytes under which the shx file is fully loaded in memory.
+     *
+     * @return shx load limit, in bytes
+     */
+    public long getShxLoadLimit() {
+        return shxLoadLimit;
+    }
+
     /**
      * Determine if the location of this shapefile is local or remote.
      *
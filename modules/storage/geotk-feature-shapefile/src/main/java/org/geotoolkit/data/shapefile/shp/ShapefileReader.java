@@ -143,13 +143,37 @@ public final class ShapefileReader implements Closeable{
     public ShapefileReader(final ReadableByteChannel shpChannel, final ReadableByteChannel shxChannel,
             final boolean strict,final boolean useMemoryMapped, final boolean read3D,
             final double[] resample) throws IOException, DataStoreException {
+        this(shpChannel, shxChannel, strict, useMemoryMapped, read3D, resample, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a new instance of ShapeFile.
+     *
+     * @param shpChannel
+     *                The ReadableByteChannel this reader will use.
+     * @param shxChannel
+     *                The ReadableByteChannel for shx reader.
+     * @param strict
+     *                True to make the header parsing throw Exceptions if the
+     *                version or magic number are incorrect.
+     * @param shxLoadLimit
+     *                Size in bytes under which the shx file is fully loaded in memory,
+     *                see {@link ShxReader#ShxReader(ReadableByteChannel, boolean, long)}.
+     * @throws IOException
+     *                 If problems arise.
+     * @throws ShapefileException
+     *                 If for some reason the file contains invalid records.
+     */
+    public ShapefileReader(final ReadableByteChannel shpChannel, final ReadableByteChannel shxChannel,
+            final boolean strict,final boolean useMemoryMapped, final boolean read3D,
+            final double[] resample, final long shxLoadLimit) throws IOException, DataStoreException {
         this.channel = shpChannel;
         this.randomAccessEnabled = channel instanceof FileChannel;
 
         header = readHeader(channel, strict);
 
         if(shxChannel != null){
-            shxReader = new ShxReader(shxChannel, true);
+            shxReader = new ShxReader(shxChannel, useMemoryMapped, shxLoadLimit);
         }else{
             currentShape = UNKNOWN;
         }
@@ -578,6 +602,39 @@ public final class ShapefileReader implements Closeable{
         }
     }
 
+    /**
+     * Moves the reader so that the next call to {@link #nextRecord()} returns
+     * the record at the given index. Unlike {@link #goTo(int)}, the .shx file
+     * is used to locate the record, so hasNext/next remain valid after this call.
+     *
+     * @param index record index, from 0 to record count - 1
+     * @throws IOException
+     * @throws UnsupportedOperationException if there is no .shx file or if
+     *         random access is not enabled
+     */
+    public void seek(final int index) throws IOException, UnsupportedOperationException {
+        if (shxReader == null) {
+            throw new UnsupportedOperationException("No shx file available");
+        }
+        if (!randomAccessEnabled) {
+            throw new UnsupportedOperationException("Random Access not enabled");
+        }
+        final int offset = shxReader.getOffsetInBytes(index);
+        if (!useMemoryMappedBuffer
+                && !(currentOffset <= offset && currentOffset + buffer.limit() >= offset + 8)) {
+            final FileChannel fc = (FileChannel)channel;
+            fc.position(offset);
+            currentOffset = offset;
+            buffer.clear();
+            fill(buffer, fc);
+            buffer.flip();
+        }
+        currentShape = index;
+        record.end = offset;
+        //shapefile record numbers start at 1
+        record.number = index;
+    }
+
     /**
      * Returns the shape at the specified byte distance from the beginning of
      * the file. Mind that:
@@ -46,6 +46,12 @@ public final class ShxReader implements Closeable{
 
     private static final int RECS_IN_BUFFER = 2000;
 
+    /**
+     * Default size, in bytes, under which the whole index file is loaded in an {@code int[]}.
+     * 64Mb is about 8 millions records.
+     */
+    public static final long DEFAULT_LOAD_LIMIT = 64L * 1024 * 1024;
+
      /**
      * Stores the creation stack trace if assertion are enable.
      */
@@ -65,46 +71,67 @@ public final class ShxReader implements Closeable{
 
     /**
      * Load the index file from the given channel.
+     * The whole file is loaded in memory, whatever its size.
      *
      * @param shpFiles The channel to read from.
      * @throws IOException If an error occurs.
      */
     public ShxReader(final ReadableByteChannel shxChannel, final boolean useMemoryMappedBuffer)
             throws IOException {
+        this(shxChannel, useMemoryMappedBuffer, Long.MAX_VALUE);
+    }
+
+    /**
+     * Open the index file from the given channel.
+     * <ul>
+     * <li>If the channel is not a {@link FileChannel} or if the file size is lesser or equal
+     *     than {@code loadLimit}, all records are loaded in memory.</li>
+     * <li>Otherwise if {@code useMemoryMappedBuffer} is {@code true}, the file is memory mapped
+     *     and records are read without any allocation.</li>
+     * <li>Otherwise records are read through a small buffer, filled on demand.</li>
+     * </ul>
+     *
+     * @param shxChannel The channel to read from.
+     * @param useMemoryMappedBuffer {@code true} to memory map files larger than {@code loadLimit}.
+     * @param loadLimit maximum file size, in bytes, for loading all records in memory.
+     * @throws IOException If an error occurs.
+     */
+    public ShxReader(final ReadableByteChannel shxChannel, final boolean useMemoryMappedBuffer,
+            final long loadLimit) throws IOException {
 
         // init the tracer if we need to debug a connection leak
         assert (creationStack = new IllegalStateException().fillInStackTrace()) != null;
 
-        this.useMemoryMappedBuffer = useMemoryMappedBuffer;
         final ReadableByteChannel byteChannel = shxChannel;
 
         try {
             header = readHeader(byteChannel);
 
-            //windows do not handle memory mapped buffer correctly
-            //the buffer is released by the GC very late, which causes some file locks to remain.
-//            if (byteChannel instanceof FileChannel) {
-//
-//                this.channel = (FileChannel) byteChannel;
-//                if (useMemoryMappedBuffer) {
-//                    LOGGER.finest("Memory mapping file...");
-//                    this.buffer = this.channel.map(FileChannel.MapMode.READ_ONLY,
-//                            0, this.channel.size());
-//
-//                    this.channelOffset = 0;
-//                } else {
-//                    LOGGER.finest("Reading from file...");
-//                    this.buffer = ByteBuffer.allocateDirect(8 * RECS_IN_BUFFER);
-//                    this.channelOffset = 0;
-//                }
-//
-//            } else {
+            if (byteChannel instanceof FileChannel && ((FileChannel) byteChannel).size() > loadLimit) {
+                this.channel = (FileChannel) byteChannel;
+                //windows do not handle memory mapped buffer correctly
+                //the buffer is released by the GC very late, which causes some file locks to remain.
+                //this is why memory mapping is only used when explicitly asked.
+                if (useMemoryMappedBuffer) {
+                    LOGGER.finest("Memory mapping file...");
+                    this.buffer = this.channel.map(FileChannel.MapMode.READ_ONLY,
+                            0, this.channel.size());
+                    this.buffer.order(ByteOrder.BIG_ENDIAN);
+                } else {
+                    LOGGER.finest("Reading from file...");
+                    this.buffer = ByteBuffer.allocateDirect(8 * RECS_IN_BUFFER);
+                    this.buffer.order(ByteOrder.BIG_ENDIAN);
+                }
+                this.channelOffset = 0;
+                this.useMemoryMappedBuffer = useMemoryMappedBuffer;
+            } else {
                 this.channel = null;
                 this.buffer = null;
+                this.useMemoryMappedBuffer = false;
                 LOGGER.finest("Loading all shx...");
                 readRecords(byteChannel);
                 byteChannel.close();
-//            }
+            }
         } catch (Throwable e) {
             if (byteChannel != null) {
                 byteChannel.close();
@@ -157,13 +184,13 @@ public final class ShxReader implements Closeable{
         final int pos = 100 + index * 8;
         if (!useMemoryMappedBuffer) {
             if (pos - channelOffset < 0
-                    || channelOffset + buffer.limit() <= pos
+                    || channelOffset + buffer.limit() < pos + 8
                     || lastIndex == -1) {
                 LOGGER.finest("Filling buffer...");
                 channelOffset = pos;
                 channel.position(pos);
                 buffer.clear();
-                channel.read(buffer);
+                while (buffer.position() < 8 && channel.read(buffer) > 0);
                 buffer.flip();
             }
         }
@@ -225,7 +252,10 @@ public final class ShxReader implements Closeable{
      */
     public int getOffset(final int index) throws IOException {
 
-        if (this.channel != null) {
+        if (useMemoryMappedBuffer) {
+            check();
+            return buffer.getInt(100 + index * 8);
+        } else if (this.channel != null) {
             if (this.lastIndex != index) {
                 this.readRecord(index);
             }
@@ -255,7 +285,10 @@ public final class ShxReader implements Closeable{
      */
     public int getContentLength(final int index) throws IOException {
 
-        if (this.channel != null) {
+        if (useMemoryMappedBuffer) {
+            check();
+            return buffer.getInt(100 + index * 8 + 4);
+        } else if (this.channel != null) {
             if (this.lastIndex != index) {
                 this.readRecord(index);
             }
@@ -53,6 +53,9 @@ import org.locationtech.jts.geom.Polygon;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 import org.geotoolkit.feature.FeatureExt;
 import org.apache.sis.feature.builder.FeatureTypeBuilder;
 import org.apache.sis.referencing.CommonCRS;
@@ -119,6 +122,36 @@ public class ShapefileDataStoreTest extends AbstractTestCaseSupport {
         loadFeatures(STATE_POP, QueryBuilder.all(NamesExt.create("statepop")));
     }
 
+    /**
+     * Features read by record ranges must be the same as the ones read sequentially.
+     */
+    @Test
+    public void testRangeRead() throws Exception {
+        final URL url = ShapeTestData.url(STATE_POP);
+        for (boolean memoryMapped : new boolean[]{false, true}) {
+            final ShapefileFeatureStore s = new ShapefileFeatureStore(url.toURI(), memoryMapped, null);
+            final List<Feature> expected = new ArrayList<>();
+            try (FeatureReader reader = s.getFeatureReader(QueryBuilder.all(s.getName()))) {
+                while (reader.hasNext()) {
+                    expected.add(reader.next());
+                }
+            }
+
+            final List<Feature> result = StreamSupport.stream(
+                    new ShapefileSpliterator(s, 0, expected.size(), 4), true)
+                    .collect(Collectors.toList());
+            assertEquals(expected.size(), result.size());
+            for (int i = 0; i < expected.size(); i++) {
+                final Feature exp = expected.get(i);
+                final Feature res = result.get(i);
+                assertEquals(FeatureExt.getId(exp).getID(), FeatureExt.getId(res).getID());
+                assertEquals(exp.getPropertyValue("STATE_NAME"), res.getPropertyValue("STATE_NAME"));
+                assertTrue(((Geometry) FeatureExt.getDefaultGeometryValue(exp).get())
+                        .equalsExact((Geometry) FeatureExt.getDefaultGeometryValue(res).get()));
+            }
+        }
+    }
+
     @Test
     public void testLoadDanishChars() throws Exception {
         FeatureCollection fc = loadFeatures(DANISH, QueryBuilder.all(NamesExt.create("danish_point")));
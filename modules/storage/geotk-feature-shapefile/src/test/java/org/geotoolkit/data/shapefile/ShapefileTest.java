@@ -142,6 +142,33 @@ public class ShapefileTest extends AbstractTestCaseSupport {
         }
     }
 
+    /**
+     * Memory mapped and buffered shx readers must return the same records
+     * as the fully loaded one.
+     */
+    @Test
+    public void testIndexFileModes() throws Exception {
+        copyShapefiles(STATEPOP_IDX);
+        final URL url = TestData.url(AbstractTestCaseSupport.class, STATEPOP_IDX);
+        final ShxReader loaded   = new ShpFiles(url).createLocker().getSHXReader(false);
+        final ShxReader mapped   = new ShpFiles(url, false, 0).createLocker().getSHXReader(true);
+        final ShxReader buffered = new ShpFiles(url, false, 0).createLocker().getSHXReader(false);
+        try {
+            assertEquals(loaded.getRecordCount(), mapped.getRecordCount());
+            assertEquals(loaded.getRecordCount(), buffered.getRecordCount());
+            for (int i = loaded.getRecordCount() - 1; i >= 0; i--) {
+                assertEquals(loaded.getOffset(i), mapped.getOffset(i));
+                assertEquals(loaded.getOffset(i), buffered.getOffset(i));
+                assertEquals(loaded.getContentLength(i), mapped.getContentLength(i));
+                assertEquals(loaded.getContentLength(i), buffered.getContentLength(i));
+            }
+        } finally {
+            buffered.close();
+            mapped.close();
+            loaded.close();
+        }
+    }
+
     @Test
     public void testHolyPolygons() throws Exception {
         final FeatureTypeBuilder ftb = new FeatureTypeBuilder();
@@ -18,6 +18,7 @@ package org.geotoolkit.db;
 
 import java.io.IOException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -63,6 +64,7 @@ import org.geotoolkit.jdbc.ManageableDataSource;
 import org.geotoolkit.storage.DataStoreFactory;
 import org.geotoolkit.storage.DataStores;
 import org.geotoolkit.util.NamesExt;
+import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.opengis.feature.AttributeType;
 import org.opengis.feature.Feature;
@@ -929,8 +931,115 @@ public class DefaultJDBCFeatureStore extends JDBCFeatureStore{
         handleRemoveWithFeatureWriter(groupName, filter, cnx);
     }
 
+    /**
+     * Insert features in a single batch.
+     * Rows are bulk loaded when the dialect supports it, otherwise they are sent
+     * with a batched prepared statement. Generated identifiers are not
+     * returned in the features.
+     */
     protected void insert(final Collection<? extends Feature> features, final FeatureType featureType,
             final Connection cx) throws DataStoreException {
+        final SQLQueryBuilder builder = getQueryBuilder();
+        final List<AttributeType> columns = builder.insertColumns(featureType);
+        if (!builder.canInsertPrepared(columns)) {
+            //values can only be encoded as literals
+            insertLiterals(features, featureType, cx);
+            return;
+        }
+
+        final PrimaryKey key = dbmodel.getPrimaryKey(featureType.getName().toString());
+
+        // we do this in a synchronized block because key values are computed
+        // before the insert statement is executed
+        synchronized (this) {
+            PreparedStatement st = null;
+            try {
+                final List<Object[]> rows = toRows(features, columns, key, cx);
+                if (!dialect.insertBulk(getDatabaseSchema(), featureType.getName().tip().toString(), columns, rows, cx)) {
+                    st = cx.prepareStatement(builder.insertPreparedSQL(featureType, columns));
+                    for (Object[] row : rows) {
+                        for (int i=0; i<row.length; i++) {
+                            final AttributeType column = columns.get(i);
+                            final Class binding = column.getValueClass();
+                            if (Geometry.class.isAssignableFrom(binding)) {
+                                final Geometry geom = (Geometry) row[i];
+                                dialect.setGeometryValue(st, i+1, geom, SQLQueryBuilder.getGeometrySRID(geom, column));
+                            } else {
+                                dialect.setValue(st, i+1, row[i], binding);
+                            }
+                        }
+                        st.addBatch();
+                    }
+                    st.executeBatch();
+                }
+
+                if (cx.getAutoCommit()) {
+                    fireFeaturesAdded(featureType.getName(), null);
+                }
+            } catch (SQLException e) {
+                throw new DataStoreException("Error inserting features", e);
+            } finally {
+                JDBCFeatureStoreUtilities.closeSafe(getLogger(),st);
+            }
+        }
+    }
+
+    /**
+     * Extract the column values of each feature.
+     * Missing primary key values are generated : sequences are called for each row,
+     * other numeric keys are incremented from the current maximum value.
+     */
+    private List<Object[]> toRows(final Collection<? extends Feature> features, final List<AttributeType> columns,
+            final PrimaryKey key, final Connection cx) throws SQLException, DataStoreException {
+        final int nbColumn = columns.size();
+        final String[] names = new String[nbColumn];
+        final ColumnMetaModel[] keyColumns = new ColumnMetaModel[nbColumn];
+        for (int i=0; i<nbColumn; i++) {
+            names[i] = columns.get(i).getName().tip().toString();
+            for (ColumnMetaModel col : key.getColumns()) {
+                if (col.getName().equals(names[i])) {
+                    keyColumns[i] = col;
+                }
+            }
+        }
+
+        final Object[] lastKeys = new Object[nbColumn];
+        final List<Object[]> rows = new ArrayList<>(features.size());
+        for (Feature feature : features) {
+            final Object[] row = new Object[nbColumn];
+            for (int i=0; i<nbColumn; i++) {
+                Object value = feature.getPropertyValue(names[i]);
+                final ColumnMetaModel col = keyColumns[i];
+                if (value == null && col != null) {
+                    value = nextKeyValue(col, lastKeys[i], cx);
+                    lastKeys[i] = value;
+                }
+                row[i] = value;
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private Object nextKeyValue(final ColumnMetaModel column, final Object last, final Connection cx)
+            throws SQLException, DataStoreException {
+        if (last != null && column.getType() == ColumnMetaModel.Type.NON_INCREMENTING) {
+            //values are not in the table yet, increment the last one
+            if (last instanceof Integer) {
+                return (Integer) last + 1;
+            } else if (last instanceof Long) {
+                return (Long) last + 1;
+            } else if (last instanceof Float) {
+                return Math.nextUp((Float) last);
+            } else if (last instanceof Double) {
+                return Math.nextUp((Double) last);
+            }
+        }
+        return column.nextColumnValue(this, cx);
+    }
+
+    private void insertLiterals(final Collection<? extends Feature> features, final FeatureType featureType,
+            final Connection cx) throws DataStoreException {
         final PrimaryKey key = dbmodel.getPrimaryKey(featureType.getName().toString());
 
         // we do this in a synchronized block because we need to do two queries,
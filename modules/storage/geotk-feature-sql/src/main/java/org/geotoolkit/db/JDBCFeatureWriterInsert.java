@@ -38,6 +38,7 @@ import org.opengis.feature.FeatureType;
 public class JDBCFeatureWriterInsert extends JDBCFeatureReader implements FeatureWriter {
 
     private boolean batchInsert;
+    private int batchSize = 1000;
     private Collection<Feature> toAdd;
 
     //private String id;
@@ -59,6 +60,10 @@ public class JDBCFeatureWriterInsert extends JDBCFeatureReader implements Featur
         last = type.newInstance();
         if(hints != null){
             batchInsert = Boolean.FALSE.equals(hints.get(HintsPending.UPDATE_ID_ON_INSERT));
+            final Object size = hints.get(HintsPending.INSERT_BATCH_SIZE);
+            if(size instanceof Integer && (Integer)size > 0){
+                batchSize = (Integer) size;
+            }
         }else{
             batchInsert = Boolean.FALSE;
         }
@@ -87,7 +92,7 @@ public class JDBCFeatureWriterInsert extends JDBCFeatureReader implements Featur
         if(batchInsert){
             toAdd.add(last);
             last = type.newInstance();
-            if(toAdd.size() > 1000){
+            if(toAdd.size() >= batchSize){
                 try {
                     store.insert(toAdd, type, cx);
                 } catch (DataStoreException e) {
@@ -17,13 +17,21 @@
 package org.geotoolkit.db.dialect;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import org.apache.sis.storage.DataStoreException;
 import org.geotoolkit.feature.SingleAttributeTypeBuilder;
 import org.geotoolkit.filter.capability.DefaultFilterCapabilities;
 import org.geotoolkit.filter.visitor.CapabilitiesFilterSplitter;
 import org.opengis.feature.AttributeType;
 import org.opengis.feature.FeatureType;
 import org.opengis.filter.Filter;
+import org.locationtech.jts.geom.Geometry;
 
 /**
  *
@@ -94,6 +102,63 @@ public abstract class AbstractSQLDialect implements SQLDialect {
     public void encodePostCreateTable(StringBuilder sql, String tableName) {
     }
 
+    @Override
+    public void encodeValueParameter(StringBuilder sql, AttributeType column) {
+        sql.append('?');
+    }
+
+    /**
+     * Default implementation converts java dates to timestamps and object
+     * arrays to sql arrays, other values are given as is to the driver.
+     */
+    @Override
+    public void setValue(PreparedStatement ps, int index, Object value, Class type) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.NULL);
+        } else if (value instanceof Date && !(value instanceof java.sql.Date
+                || value instanceof java.sql.Time || value instanceof Timestamp)) {
+            ps.setTimestamp(index, new Timestamp(((Date) value).getTime()));
+        } else if (value instanceof Object[]) {
+            Class component = value.getClass().getComponentType();
+            while (component.isArray()) {
+                component = component.getComponentType();
+            }
+            ps.setArray(index, ps.getConnection().createArrayOf(getSQLType(component), (Object[]) value));
+        } else {
+            ps.setObject(index, value);
+        }
+    }
+
+    /**
+     * Default implementation only supports null geometries.
+     */
+    /**
+     * Default implementation encodes geometries as literals.
+     */
+    @Override
+    public boolean canBindGeometry() {
+        return false;
+    }
+
+    @Override
+    public void setGeometryValue(PreparedStatement ps, int index, Geometry value, int srid) throws SQLException, DataStoreException {
+        if (value == null) {
+            ps.setNull(index, Types.NULL);
+            return;
+        }
+        throw new DataStoreException("Geometry parameters not supported.");
+    }
+
+    /**
+     * Default implementation has no bulk loading, rows are inserted
+     * with batched prepared statements.
+     */
+    @Override
+    public boolean insertBulk(String schemaName, String tableName, List<AttributeType> columns,
+            Collection<Object[]> rows, Connection cx) throws SQLException, DataStoreException {
+        return false;
+    }
+
     @Override
     public void decodeColumnType(final SingleAttributeTypeBuilder atb, final Connection cx,
             final String typeName, final int datatype, final String schemaName,
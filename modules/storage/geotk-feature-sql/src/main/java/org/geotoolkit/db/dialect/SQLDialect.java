@@ -19,8 +19,11 @@ package org.geotoolkit.db.dialect;
 import org.locationtech.jts.geom.Geometry;
 import java.io.IOException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import org.geotoolkit.feature.SingleAttributeTypeBuilder;
 import org.apache.sis.storage.DataStoreException;
@@ -124,6 +127,38 @@ public interface SQLDialect {
     void postCreateTable(String schemaName, FeatureType featureType, Connection cx) throws SQLException;
 
 
+    ////////////////////////////////////////////////////////////////////////////
+    // BATCH INSERT METHODS ////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Encode the parameter of a prepared insert statement for given column.
+     * The parameter must contain a single '?' marker.
+     */
+    void encodeValueParameter(StringBuilder sql, AttributeType column);
+
+    void setValue(PreparedStatement ps, int index, Object value, Class type) throws SQLException;
+
+    /**
+     * Indicate if geometries can be bound as prepared statement parameters
+     * with {@link #setGeometryValue(java.sql.PreparedStatement, int, org.locationtech.jts.geom.Geometry, int) }.
+     * If not, features with geometry columns are inserted with literal values.
+     */
+    boolean canBindGeometry();
+
+    void setGeometryValue(PreparedStatement ps, int index, Geometry value, int srid) throws SQLException, DataStoreException;
+
+    /**
+     * Insert rows using the database bulk loading mechanism, if any.
+     * Rows values are in the same order as the columns.
+     *
+     * @return false if the dialect can not bulk load those columns,
+     *         nothing has been written in this case.
+     */
+    boolean insertBulk(String schemaName, String tableName, List<AttributeType> columns,
+            Collection<Object[]> rows, Connection cx) throws SQLException, DataStoreException;
+
+
     ////////////////////////////////////////////////////////////////////////////
     // PRIMARY KEY CALCULATION METHOS //////////////////////////////////////////
     ////////////////////////////////////////////////////////////////////////////
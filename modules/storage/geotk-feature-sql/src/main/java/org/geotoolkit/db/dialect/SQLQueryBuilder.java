@@ -324,6 +324,90 @@ public class SQLQueryBuilder {
         return sqlType.toString() + sqlValues.toString();
     }
 
+    /**
+     * List the attributes written by a batch insert, in column order.
+     * Auto generated primary key columns are excluded, their values are
+     * computed by the database.
+     *
+     * @param featureType inserted feature type
+     * @return inserted columns
+     * @throws org.apache.sis.storage.DataStoreException
+     */
+    public List<AttributeType> insertColumns(final FeatureType featureType) throws DataStoreException{
+        final PrimaryKey key = store.getDatabaseModel().getPrimaryKey(featureType.getName().toString());
+        final List<ColumnMetaModel> keyColumns = key.getColumns();
+
+        final List<AttributeType> columns = new ArrayList<>();
+        fields :
+        for(PropertyType desc : featureType.getProperties(true)){
+            if (AttributeConvention.contains(desc.getName()) || !(desc instanceof AttributeType)) {
+                continue;
+            }
+            final String attName = desc.getName().tip().toString();
+            for (ColumnMetaModel col : keyColumns) {
+                if(col.getName().equals(attName) && col.getType() == ColumnMetaModel.Type.AUTO){
+                    continue fields;
+                }
+            }
+            columns.add((AttributeType) desc);
+        }
+        return columns;
+    }
+
+    /**
+     * Indicate if given columns can be inserted with a prepared statement.
+     * Coverages, and geometries when the dialect can not bind them, must be
+     * encoded as literals.
+     *
+     * @param columns inserted columns
+     * @return true if values can be bound as statement parameters
+     */
+    public boolean canInsertPrepared(final List<AttributeType> columns) {
+        for (AttributeType column : columns) {
+            final Class binding = column.getValueClass();
+            if (Coverage.class.isAssignableFrom(binding)) {
+                return false;
+            } else if (Geometry.class.isAssignableFrom(binding) && !dialect.canBindGeometry()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Generates a parameterized 'INSERT INTO' sql statement with one parameter
+     * for each given column. When there are no columns, all values are
+     * generated by the database and an 'INSERT INTO ... DEFAULT VALUES'
+     * statement is returned.
+     *
+     * @param featureType inserted feature type
+     * @param columns columns as returned by {@link #insertColumns(org.opengis.feature.FeatureType) }
+     * @return sql statement to prepare
+     */
+    public String insertPreparedSQL(final FeatureType featureType, final List<AttributeType> columns){
+        final StringBuilder sql = new StringBuilder();
+        sql.append("INSERT INTO ");
+        dialect.encodeSchemaAndTableName(sql, databaseSchema, featureType.getName().tip().toString());
+        if(columns.isEmpty()){
+            sql.append(" DEFAULT VALUES");
+            return sql.toString();
+        }
+        sql.append(" ( ");
+        for(AttributeType column : columns){
+            dialect.encodeColumnName(sql, column.getName().tip().toString());
+            sql.append(',');
+        }
+        sql.setLength(sql.length() - 1);
+        sql.append(" ) VALUES ( ");
+        for(AttributeType column : columns){
+            dialect.encodeValueParameter(sql, column);
+            sql.append(',');
+        }
+        sql.setLength(sql.length() - 1);
+        sql.append(" )");
+        return sql.toString();
+    }
+
 
     /**
      * Generates an 'UPDATE' sql statement.
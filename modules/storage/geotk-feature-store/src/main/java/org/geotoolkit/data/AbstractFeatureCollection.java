@@ -246,7 +246,7 @@ public abstract class AbstractFeatureCollection extends AbstractCollection<Featu
         //This can be really expensive, and force the us to read the full iterator.
         //that may cause out of memory errors.
         if(sorts != null && sorts.length != 0){
-            result = FeatureStreams.sort(result, sorts);
+            result = FeatureStreams.sort(result, hints, sorts);
         }
 
         //wrap filter ----------------------------------------------------------
@@ -42,6 +42,7 @@ import org.geotoolkit.data.query.Query;
 import org.geotoolkit.data.query.SortByComparator;
 import org.geotoolkit.data.session.Session;
 import org.geotoolkit.factory.Hints;
+import org.geotoolkit.factory.HintsPending;
 import org.geotoolkit.feature.FeatureSetMapper;
 import org.geotoolkit.feature.ReprojectMapper;
 import org.geotoolkit.internal.data.GenericMappedFeatureIterator;
@@ -355,6 +356,42 @@ public final class FeatureStreams {
         return GenericSortByFeatureIterator.wrap(col, orders);
     }
 
+    /**
+     * Wrap a FeatureIterator will a sort by order.
+     *
+     * @param iterator source iterator
+     * @param hints sorting hints, see {@link HintsPending#FEATURE_SORT_MEMORY_THRESHOLD}
+     * @param orders sorting order
+     * @return sorted iterator
+     */
+    public static FeatureIterator sort(final FeatureIterator iterator, final Hints hints, final SortBy ... orders){
+        return GenericSortByFeatureIterator.wrap(iterator, orders, hints);
+    }
+
+    /**
+     * Wrap a FeatureReader will a sort by order.
+     *
+     * @param reader source reader
+     * @param hints sorting hints, see {@link HintsPending#FEATURE_SORT_MEMORY_THRESHOLD}
+     * @param orders sorting order
+     * @return sorted reader
+     */
+    public static FeatureReader sort(final FeatureReader reader, final Hints hints, final SortBy ... orders){
+        return GenericSortByFeatureIterator.wrap(reader, orders, hints);
+    }
+
+    /**
+     * Wrap a FeatureCollection will a sort by order.
+     *
+     * @param col source collection
+     * @param hints sorting hints, see {@link HintsPending#FEATURE_SORT_MEMORY_THRESHOLD}
+     * @param orders sorting order
+     * @return sorted collection
+     */
+    public static FeatureCollection sort(final FeatureCollection col, final Hints hints, final SortBy ... orders){
+        return GenericSortByFeatureIterator.wrap(col, orders, hints);
+    }
+
     /**
      * Wrap a FeatureIterator with a start index.
      *
@@ -0,0 +1,249 @@
+/*
+ *    Geotoolkit.org - An Open Source Java GIS Toolkit
+ *    http://www.geotoolkit.org
+ *
+ *    (C) 2018, Geomatys
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotoolkit.internal.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
+import org.opengis.feature.AttributeType;
+import org.opengis.feature.Feature;
+import org.opengis.feature.FeatureType;
+import org.opengis.feature.Operation;
+import org.opengis.feature.PropertyType;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+
+/**
+ * Compact binary encoding of features, used to store sorted runs in temporary files.
+ *
+ * Only attribute values are written, operations are recomputed by the feature type.
+ * Feature types and coordinate reference systems are not written but kept in memory
+ * by the codec, a file must be read back with the codec which wrote it.
+ *
+ * @module
+ */
+final class FeatureRunCodec {
+
+    private static final byte NULL      = 0;
+    private static final byte STRING    = 1;
+    private static final byte INTEGER   = 2;
+    private static final byte LONG      = 3;
+    private static final byte DOUBLE    = 4;
+    private static final byte FLOAT     = 5;
+    private static final byte SHORT     = 6;
+    private static final byte BYTE      = 7;
+    private static final byte BOOLEAN   = 8;
+    private static final byte DATE      = 9;
+    private static final byte GEOMETRY  = 10;
+    private static final byte REFERENCE = 11;
+    private static final byte OBJECT    = 12;
+
+    /**
+     * Attribute names of each encoded feature type, null if type can not be encoded.
+     */
+    private final Map<FeatureType,String[]> attributes = new IdentityHashMap<>();
+    private final List<FeatureType> types = new ArrayList<>();
+    private final Map<Object,Integer> referenceIndex = new IdentityHashMap<>();
+    private final List<Object> references = new ArrayList<>();
+    private final WKBWriter wkbWriter2D = new WKBWriter(2, true);
+    private final WKBWriter wkbWriter3D = new WKBWriter(3, true);
+    private final WKBReader wkbReader = new WKBReader();
+
+    /**
+     * Test if features of given type can be encoded.
+     * Types with feature associations are not supported.
+     *
+     * @param type feature type to test
+     * @return true if features of this type can be written
+     */
+    boolean isSupported(final FeatureType type) {
+        return getAttributes(type) != null;
+    }
+
+    private String[] getAttributes(final FeatureType type) {
+        if (attributes.containsKey(type)) {
+            return attributes.get(type);
+        }
+        final List<String> names = new ArrayList<>();
+        for (PropertyType pt : type.getProperties(true)) {
+            if (pt instanceof AttributeType) {
+                names.add(pt.getName().toString());
+            } else if (!(pt instanceof Operation)) {
+                attributes.put(type, null);
+                return null;
+            }
+        }
+        final String[] array = names.toArray(new String[names.size()]);
+        attributes.put(type, array);
+        types.add(type);
+        return array;
+    }
+
+    /**
+     * Write given feature.
+     *
+     * @param out output to write into
+     * @param feature feature to write, type must be supported
+     * @throws IOException if writing failed
+     */
+    void write(final DataOutput out, final Feature feature) throws IOException {
+        final FeatureType type = feature.getType();
+        final String[] names = getAttributes(type);
+        if (names == null) {
+            throw new IOException("Feature type "+type.getName()+" can not be encoded.");
+        }
+        out.writeInt(types.indexOf(type));
+        for (String name : names) {
+            writeValue(out, feature.getPropertyValue(name));
+        }
+    }
+
+    /**
+     * Read a feature.
+     *
+     * @param in input to read from
+     * @return decoded feature
+     * @throws IOException if reading failed
+     */
+    Feature read(final DataInput in) throws IOException {
+        final FeatureType type = types.get(in.readInt());
+        final Feature feature = type.newInstance();
+        for (String name : attributes.get(type)) {
+            final Object value = readValue(in);
+            if (value != null) {
+                feature.setPropertyValue(name, value);
+            }
+        }
+        return feature;
+    }
+
+    private void writeValue(final DataOutput out, final Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            final byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Short) {
+            out.writeByte(SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value.getClass() == Date.class) {
+            out.writeByte(DATE);
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof Geometry) {
+            final Geometry geom = (Geometry) value;
+            final Coordinate coord = geom.getCoordinate();
+            final WKBWriter writer = (coord != null && !Double.isNaN(coord.z)) ? wkbWriter3D : wkbWriter2D;
+            final byte[] wkb = writer.write(geom);
+            out.writeByte(GEOMETRY);
+            out.writeInt(wkb.length);
+            out.write(wkb);
+            writeValue(out, geom.getUserData());
+        } else if (value instanceof CoordinateReferenceSystem) {
+            Integer index = referenceIndex.get(value);
+            if (index == null) {
+                index = references.size();
+                references.add(value);
+                referenceIndex.put(value, index);
+            }
+            out.writeByte(REFERENCE);
+            out.writeInt(index);
+        } else {
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(buffer)) {
+                oos.writeObject(value);
+            }
+            out.writeByte(OBJECT);
+            out.writeInt(buffer.size());
+            out.write(buffer.toByteArray());
+        }
+    }
+
+    private Object readValue(final DataInput in) throws IOException {
+        final byte tag = in.readByte();
+        switch (tag) {
+            case NULL    : return null;
+            case STRING  : return new String(readBytes(in), StandardCharsets.UTF_8);
+            case INTEGER : return in.readInt();
+            case LONG    : return in.readLong();
+            case DOUBLE  : return in.readDouble();
+            case FLOAT   : return in.readFloat();
+            case SHORT   : return in.readShort();
+            case BYTE    : return in.readByte();
+            case BOOLEAN : return in.readBoolean();
+            case DATE    : return new Date(in.readLong());
+            case GEOMETRY : {
+                final Geometry geom;
+                try {
+                    geom = wkbReader.read(readBytes(in));
+                } catch (ParseException ex) {
+                    throw new IOException(ex.getMessage(), ex);
+                }
+                geom.setUserData(readValue(in));
+                return geom;
+            }
+            case REFERENCE : return references.get(in.readInt());
+            case OBJECT : {
+                try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(readBytes(in)))) {
+                    return ois.readObject();
+                } catch (ClassNotFoundException ex) {
+                    throw new IOException(ex.getMessage(), ex);
+                }
+            }
+            default : throw new IOException("Unexpected value tag "+tag);
+        }
+    }
+
+    private static byte[] readBytes(final DataInput in) throws IOException {
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
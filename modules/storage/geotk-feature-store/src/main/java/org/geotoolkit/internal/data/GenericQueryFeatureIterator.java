@@ -67,7 +67,7 @@ public class GenericQueryFeatureIterator {
         //This can be really expensive, and force the us to read the full iterator.
         //that may cause out of memory errors.
         if(sorts != null && sorts.length != 0){
-            reader = FeatureStreams.sort(reader, sorts);
+            reader = FeatureStreams.sort(reader, hints, sorts);
         }
 
         //wrap filter ----------------------------------------------------------
@@ -17,11 +17,21 @@
 
 package org.geotoolkit.internal.data;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.logging.Level;
 import org.geotoolkit.feature.FeatureExt;
 import org.geotoolkit.data.FeatureCollection;
 import org.geotoolkit.data.FeatureIterator;
@@ -29,6 +39,7 @@ import org.geotoolkit.data.FeatureReader;
 import org.geotoolkit.data.FeatureStoreRuntimeException;
 import org.geotoolkit.data.query.SortByComparator;
 import org.geotoolkit.factory.Hints;
+import org.geotoolkit.factory.HintsPending;
 import org.apache.sis.util.Classes;
 import org.geotoolkit.data.memory.WrapFeatureCollection;
 import org.opengis.feature.Feature;
@@ -40,8 +51,10 @@ import org.opengis.filter.sort.SortBy;
  * orders. This may be very consuming in memory since this implementation must iterate
  * over all features and store them in memory in the right order.
  *
- * Don't use this class in you now that your iterator holds a great amount of features,
- * otherwise it may cause an Out Of Memory Exception.
+ * If a memory threshold is given with {@link HintsPending#FEATURE_SORT_MEMORY_THRESHOLD},
+ * features are sorted by runs of this size which are written in temporary files,
+ * runs are then merged while iterating. Otherwise do not use this class if you know
+ * that your iterator holds a great amount of features, it may cause an Out Of Memory Exception.
  *
  * @author Johann Sorel (Geomatys)
  * @module
@@ -50,18 +63,40 @@ public class GenericSortByFeatureIterator<R extends FeatureIterator> implements
 
     protected final R iterator;
     private final Comparator<Feature> comparator;
+    private final int threshold;
     protected List<Feature> ordered = null;
     protected int index = 0;
 
+    /**
+     * Sorted runs stored in temporary files, null if all features fit in memory.
+     */
+    private boolean external = false;
+    private List<Path> runFiles = null;
+    private List<FeatureRun> runs = null;
+    private PriorityQueue<FeatureRun> merge = null;
+
     /**
      * Creates a new instance of GenericSortByFeatureIterator
      *
      * @param iterator FeatureReader to sort
      * @param orders sorting orders
+     * @param hints iteration hints, may be null
      */
-    private GenericSortByFeatureIterator(final R iterator, final SortBy[] orders) {
+    private GenericSortByFeatureIterator(final R iterator, final SortBy[] orders, final Hints hints) {
         this.iterator = iterator;
         this.comparator = new SortByComparator(orders);
+        this.threshold = getThreshold(hints);
+    }
+
+    private static int getThreshold(final Hints hints) {
+        Object value = (hints != null) ? hints.get(HintsPending.FEATURE_SORT_MEMORY_THRESHOLD) : null;
+        if (value == null) {
+            value = Hints.getSystemDefault(HintsPending.FEATURE_SORT_MEMORY_THRESHOLD);
+        }
+        if (value instanceof Integer && (Integer) value > 0) {
+            return (Integer) value;
+        }
+        return Integer.MAX_VALUE;
     }
 
     private synchronized void sort() throws FeatureStoreRuntimeException{
@@ -69,11 +104,100 @@ public class GenericSortByFeatureIterator<R extends FeatureIterator> implements
 
         ordered = new ArrayList<>();
 
+        //the codec must remain to read runs already written
+        final FeatureRunCodec codec = (threshold < Integer.MAX_VALUE) ? new FeatureRunCodec() : null;
+        boolean spill = (codec != null);
         while(iterator.hasNext()){
-            ordered.add(FeatureExt.copy(iterator.next()));
+            final Feature feature = FeatureExt.copy(iterator.next());
+            if(spill && !codec.isSupported(feature.getType())){
+                //features with associations are kept in memory
+                spill = false;
+            }
+            ordered.add(feature);
+
+            if(spill && ordered.size() >= threshold && iterator.hasNext()){
+                Collections.sort(ordered,comparator);
+                if(runFiles == null) runFiles = new ArrayList<>();
+                runFiles.add(writeRun(codec, ordered));
+                ordered.clear();
+            }
         }
 
         Collections.sort(ordered,comparator);
+
+        if(runFiles != null){
+            //merge runs, the last one stay in memory
+            external = true;
+            runs = new ArrayList<>();
+            merge = new PriorityQueue<>(runFiles.size()+1, this::compare);
+            try{
+                for(Path file : runFiles){
+                    runs.add(new FileRun(runs.size(), codec, file));
+                }
+            }catch(IOException ex){
+                closeRuns();
+                throw new FeatureStoreRuntimeException(ex);
+            }
+            runs.add(new FeatureRun(runs.size(), ordered.iterator()));
+            for(FeatureRun run : runs){
+                if(run.next()) merge.add(run);
+            }
+        }
+    }
+
+    private static Path writeRun(final FeatureRunCodec codec, final List<Feature> features) throws FeatureStoreRuntimeException {
+        Path file = null;
+        try{
+            file = Files.createTempFile("sort", ".run");
+            try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))){
+                out.writeInt(features.size());
+                for(Feature feature : features){
+                    codec.write(out, feature);
+                }
+            }
+            return file;
+        }catch(IOException ex){
+            if(file != null){
+                try{
+                    Files.deleteIfExists(file);
+                }catch(IOException e){
+                    ex.addSuppressed(e);
+                }
+            }
+            throw new FeatureStoreRuntimeException(ex);
+        }
+    }
+
+    /**
+     * Compare current features of two runs, equal features are returned in
+     * run order to preserve a stable sort.
+     */
+    private int compare(final FeatureRun r1, final FeatureRun r2) {
+        final int c = comparator.compare(r1.current, r2.current);
+        return (c != 0) ? c : Integer.compare(r1.order, r2.order);
+    }
+
+    /**
+     * Close all runs and delete temporary files.
+     */
+    private synchronized void closeRuns() {
+        if(runs != null){
+            for(FeatureRun run : runs){
+                run.close();
+            }
+            runs = null;
+        }
+        if(runFiles != null){
+            for(Path file : runFiles){
+                try{
+                    Files.deleteIfExists(file);
+                }catch(IOException ex){
+                    FeatureExt.LOGGER.log(Level.WARNING, ex.getMessage(), ex);
+                }
+            }
+            runFiles = null;
+        }
+        merge = null;
     }
 
     /**
@@ -82,6 +206,19 @@ public class GenericSortByFeatureIterator<R extends FeatureIterator> implements
     @Override
     public Feature next() throws FeatureStoreRuntimeException {
         sort();
+        if(external){
+            final FeatureRun run = (merge != null) ? merge.poll() : null;
+            if(run == null){
+                throw new NoSuchElementException("No more elements.");
+            }
+            final Feature c = run.current;
+            if(run.next()){
+                merge.add(run);
+            }else if(merge.isEmpty()){
+                closeRuns();
+            }
+            return c;
+        }
         try{
             Feature c = ordered.get(index);
             index++;
@@ -96,6 +233,7 @@ public class GenericSortByFeatureIterator<R extends FeatureIterator> implements
      */
     @Override
     public void close() throws FeatureStoreRuntimeException {
+        closeRuns();
         iterator.close();
     }
 
@@ -105,6 +243,9 @@ public class GenericSortByFeatureIterator<R extends FeatureIterator> implements
     @Override
     public boolean hasNext() throws FeatureStoreRuntimeException {
         sort();
+        if(external){
+            return merge != null && !merge.isEmpty();
+        }
         return index < ordered.size();
     }
 
@@ -126,6 +267,73 @@ public class GenericSortByFeatureIterator<R extends FeatureIterator> implements
         return sb.toString();
     }
 
+    /**
+     * Sorted run of features, in memory or in a temporary file.
+     */
+    private static class FeatureRun {
+
+        private final int order;
+        private final Iterator<Feature> source;
+        Feature current;
+
+        private FeatureRun(final int order, final Iterator<Feature> source) {
+            this.order = order;
+            this.source = source;
+        }
+
+        /**
+         * Move to next feature.
+         *
+         * @return false if run is finished
+         */
+        boolean next() throws FeatureStoreRuntimeException {
+            current = source.hasNext() ? source.next() : null;
+            return current != null;
+        }
+
+        void close() {
+        }
+    }
+
+    private static final class FileRun extends FeatureRun {
+
+        private final FeatureRunCodec codec;
+        private final DataInputStream in;
+        private int remaining;
+
+        private FileRun(final int order, final FeatureRunCodec codec, final Path file) throws IOException {
+            super(order, null);
+            this.codec = codec;
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+            this.remaining = in.readInt();
+        }
+
+        @Override
+        boolean next() throws FeatureStoreRuntimeException {
+            if(remaining <= 0){
+                current = null;
+                close();
+                return false;
+            }
+            try{
+                current = codec.read(in);
+            }catch(IOException ex){
+                throw new FeatureStoreRuntimeException(ex);
+            }
+            remaining--;
+            return true;
+        }
+
+        @Override
+        void close() {
+            try{
+                in.close();
+            }catch(IOException ex){
+                FeatureExt.LOGGER.log(Level.WARNING, ex.getMessage(), ex);
+            }
+        }
+    }
+
     /**
      * Wrap a FeatureReader that will sort features using the given sort by.
      *
@@ -135,8 +343,8 @@ public class GenericSortByFeatureIterator<R extends FeatureIterator> implements
      */
     private static final class GenericSortByFeatureReader extends GenericSortByFeatureIterator<FeatureReader> implements FeatureReader{
 
-        private GenericSortByFeatureReader(final FeatureReader reader,final SortBy[] orders){
-            super(reader,orders);
+        private GenericSortByFeatureReader(final FeatureReader reader,final SortBy[] orders, final Hints hints){
+            super(reader,orders,hints);
         }
 
         @Override
@@ -149,15 +357,22 @@ public class GenericSortByFeatureIterator<R extends FeatureIterator> implements
     private static final class GenericSortByFeatureCollection extends WrapFeatureCollection{
 
         private final SortBy[] order;
+        private final Hints sortHints;
 
-        private GenericSortByFeatureCollection(final FeatureCollection original, final SortBy[] order){
+        private GenericSortByFeatureCollection(final FeatureCollection original, final SortBy[] order, final Hints sortHints){
             super(original);
             this.order = order;
+            this.sortHints = sortHints;
         }
 
         @Override
         public FeatureIterator iterator(final Hints hints) throws FeatureStoreRuntimeException {
-            return wrap(getOriginalFeatureCollection().iterator(hints), order);
+            Hints merged = sortHints;
+            if(hints != null){
+                merged = (sortHints != null) ? new Hints(sortHints) : new Hints();
+                merged.putAll(hints);
+            }
+            return wrap(getOriginalFeatureCollection().iterator(hints), order, merged);
         }
 
         @Override
@@ -171,17 +386,35 @@ public class GenericSortByFeatureIterator<R extends FeatureIterator> implements
      * Wrap a FeatureReader will a sort by order.
      */
     public static FeatureReader wrap(final FeatureReader reader, final SortBy[] orders){
-        return new GenericSortByFeatureReader(reader, orders);
+        return wrap(reader, orders, null);
+    }
+
+    /**
+     * Wrap a FeatureReader will a sort by order.
+     *
+     * @param hints may contain {@link HintsPending#FEATURE_SORT_MEMORY_THRESHOLD}, can be null
+     */
+    public static FeatureReader wrap(final FeatureReader reader, final SortBy[] orders, final Hints hints){
+        return new GenericSortByFeatureReader(reader, orders, hints);
     }
 
     /**
      * Wrap a FeatureIterator will a sort by order.
      */
     public static FeatureIterator wrap(final FeatureIterator reader, final SortBy[] orders){
+        return wrap(reader, orders, null);
+    }
+
+    /**
+     * Wrap a FeatureIterator will a sort by order.
+     *
+     * @param hints may contain {@link HintsPending#FEATURE_SORT_MEMORY_THRESHOLD}, can be null
+     */
+    public static FeatureIterator wrap(final FeatureIterator reader, final SortBy[] orders, final Hints hints){
         if(reader instanceof FeatureReader){
-            return wrap((FeatureReader)reader,orders);
+            return wrap((FeatureReader)reader,orders,hints);
         }else{
-            return new GenericSortByFeatureIterator(reader, orders);
+            return new GenericSortByFeatureIterator(reader, orders, hints);
         }
     }
 
@@ -189,7 +422,16 @@ public class GenericSortByFeatureIterator<R extends FeatureIterator> implements
      * Wrap a FeatureCollection will a sort by order.
      */
     public static FeatureCollection wrap(final FeatureCollection original, final SortBy[] orders){
-        return new GenericSortByFeatureCollection(original,orders);
+        return wrap(original, orders, null);
+    }
+
+    /**
+     * Wrap a FeatureCollection will a sort by order.
+     *
+     * @param hints may contain {@link HintsPending#FEATURE_SORT_MEMORY_THRESHOLD}, can be null
+     */
+    public static FeatureCollection wrap(final FeatureCollection original, final SortBy[] orders, final Hints hints){
+        return new GenericSortByFeatureCollection(original,orders,hints);
     }
 
 }
@@ -23,7 +23,9 @@ import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.LineString;
 import org.locationtech.jts.geom.Point;
 import org.apache.sis.referencing.CommonCRS;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import org.apache.sis.storage.DataStoreException;
@@ -624,6 +626,94 @@ public class FeatureStreamsTest extends org.geotoolkit.test.TestBase {
         assertTrue(checkIte.isClosed());
     }
 
+    @Test
+    public void testSortByIteratorExternal(){
+        SortBy[] sorts = new SortBy[]{
+            FF.sort("att_double", SortOrder.ASCENDING)
+        };
+
+        final FeatureCollection large = FeatureStoreUtilities.collection("large", originalType);
+        for(int i=0;i<100;i++){
+            final Feature f = originalType.newInstance();
+            f.setPropertyValue(AttributeConvention.IDENTIFIER_PROPERTY.toString(), i);
+            f.setPropertyValue("att_geom", GF.createPoint(new Coordinate(i, 0)));
+            f.setPropertyValue("att_string", "s"+i);
+            f.setPropertyValue("att_double", (double)((i*37) % 100));
+            large.add(f);
+        }
+
+        //features are sorted by runs of 7 elements
+        final Hints hints = new Hints(HintsPending.FEATURE_SORT_MEMORY_THRESHOLD, 7);
+        FeatureIterator ite = FeatureStreams.sort(large.iterator(), hints, sorts);
+        for(int i=0;i<100;i++){
+            assertTrue(ite.hasNext());
+            final Feature f = ite.next();
+            assertEquals((double)i, f.getPropertyValue("att_double"));
+            final int id = (Integer) f.getPropertyValue(AttributeConvention.IDENTIFIER_PROPERTY.toString());
+            assertEquals("s"+id, f.getPropertyValue("att_string"));
+            assertEquals(GF.createPoint(new Coordinate(id, 0)), f.getPropertyValue("att_geom"));
+        }
+        assertFalse(ite.hasNext());
+        ite.close();
+
+        //check sub iterator is properly closed
+        CheckCloseFeatureIterator checkIte = new CheckCloseFeatureIterator(large.iterator());
+        ite = FeatureStreams.sort(checkIte, hints, sorts);
+        assertTrue(ite.hasNext());
+        ite.next();
+        ite.close();
+        assertTrue(checkIte.isClosed());
+    }
+
+    /**
+     * Features which can not be written in runs appearing after the first
+     * run is written are kept in memory, previous runs must still be merged.
+     */
+    @Test
+    public void testSortByIteratorExternalMixedTypes(){
+        SortBy[] sorts = new SortBy[]{
+            FF.sort("att_double", SortOrder.ASCENDING)
+        };
+
+        final FeatureTypeBuilder builder = new FeatureTypeBuilder();
+        builder.setName("linked");
+        builder.addAttribute(Double.class).setName("att_double");
+        builder.addAssociation(originalType).setName("link");
+        final FeatureType linkedType = builder.build();
+
+        final List<Feature> features = new ArrayList<>();
+        for(int i=0;i<100;i++){
+            final Feature f;
+            if(i == 20 || i == 50){
+                f = linkedType.newInstance();
+            }else{
+                f = originalType.newInstance();
+                f.setPropertyValue(AttributeConvention.IDENTIFIER_PROPERTY.toString(), i);
+                f.setPropertyValue("att_geom", GF.createPoint(new Coordinate(i, 0)));
+                f.setPropertyValue("att_string", "s"+i);
+            }
+            f.setPropertyValue("att_double", (double)((i*37) % 100));
+            features.add(f);
+        }
+
+        //two runs of 7 elements are written before the first linked feature
+        final Hints hints = new Hints(HintsPending.FEATURE_SORT_MEMORY_THRESHOLD, 7);
+        final FeatureIterator ite = FeatureStreams.sort(FeatureStreams.asIterator(features.iterator()), hints, sorts);
+        for(int i=0;i<100;i++){
+            assertTrue(ite.hasNext());
+            final Feature f = ite.next();
+            assertEquals((double)i, f.getPropertyValue("att_double"));
+            if(i == (20*37) % 100 || i == (50*37) % 100){
+                assertEquals(linkedType, f.getType());
+            }else{
+                final int id = (Integer) f.getPropertyValue(AttributeConvention.IDENTIFIER_PROPERTY.toString());
+                assertEquals("s"+id, f.getPropertyValue("att_string"));
+            }
+        }
+        assertFalse(ite.hasNext());
+        ite.close();
+    }
+
     @Test
     public void testSortByIteratorOnComplex(){
 
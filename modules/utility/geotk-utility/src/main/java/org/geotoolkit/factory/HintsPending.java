@@ -85,6 +85,16 @@ public final class HintsPending extends Hints {
      */
     public static final Key UPDATE_ID_ON_INSERT = new Key(Boolean.class);
 
+    /**
+     * Number of features sent to the datastore in a single batch when
+     * {@link #UPDATE_ID_ON_INSERT} is false.
+     * Larger batches reduce the number of round trips with the database
+     * but hold more features in memory.
+     *
+     * Default value is 1000.
+     */
+    public static final Key INSERT_BATCH_SIZE = new Key(Integer.class);
+
     /**
      * An implementation of featurestore might use some properties of the feature type
      * to generate the feature id. To avoid some unexpected modification it
@@ -115,6 +125,15 @@ public final class HintsPending extends Hints {
      */
     public static final Key KEY_IGNORE_SMALL_FEATURES = new Key(double[].class);
 
+    /**
+     * Maximum number of features a sorted iterator may hold in memory.
+     * When a source holds more features, sorted runs of this size are written
+     * in temporary files and merged back while iterating.
+     *
+     * Default value is null, all features are sorted in memory.
+     */
+    public static final Key FEATURE_SORT_MEMORY_THRESHOLD = new Key(Integer.class);
+
     private HintsPending(){}
 
 }